@@ -42,12 +42,35 @@ public final class HttpHeaders implements Iterable<HttpHeader> {
             .withLocale(US)
             .withZone(UTC);
 
-    private final DefaultHttpHeaders nettyHeaders;
+    private final io.netty.handler.codec.http.HttpHeaders nettyHeaders;
 
     private HttpHeaders(Builder builder) {
         this.nettyHeaders = builder.nettyHeaders;
     }
 
+    private HttpHeaders(io.netty.handler.codec.http.HttpHeaders nettyHeaders) {
+        this.nettyHeaders = nettyHeaders;
+    }
+
+    /**
+     * Creates headers from a copy of Netty headers.
+     *
+     * @param nettyHeaders Netty headers
+     * @return headers
+     */
+    public static HttpHeaders fromNettyHeaders(io.netty.handler.codec.http.HttpHeaders nettyHeaders) {
+        return new HttpHeaders(nettyHeaders.copy());
+    }
+
+    /**
+     * Returns a copy of these headers as Netty headers. The copy can be modified without affecting these headers.
+     *
+     * @return Netty headers
+     */
+    public io.netty.handler.codec.http.HttpHeaders toNettyHeaders() {
+        return nettyHeaders.copy();
+    }
+
     /**
      * Returns an immutable set that contains the names of all headers in this object.
      *
@@ -134,17 +157,24 @@ public final class HttpHeaders implements Iterable<HttpHeader> {
 
     /**
      * Builds headers.
+     * <p>
+     * A builder created from existing headers shares their storage, and copies it only
+     * when it is first modified. Building a message from another one without touching its
+     * headers therefore does not copy them.
      */
     public static class Builder {
-        private final DefaultHttpHeaders nettyHeaders;
+        private io.netty.handler.codec.http.HttpHeaders nettyHeaders;
+
+        // True while nettyHeaders is shared with an HttpHeaders instance, which must never see modifications:
+        private boolean shared;
 
         public Builder() {
             this.nettyHeaders = new DefaultHttpHeaders(true);
         }
 
         public Builder(HttpHeaders headers) {
-            this.nettyHeaders = new DefaultHttpHeaders(true);
-            this.nettyHeaders.set(headers.nettyHeaders);
+            this.nettyHeaders = headers.nettyHeaders;
+            this.shared = true;
         }
 
 
@@ -166,7 +196,7 @@ public final class HttpHeaders implements Iterable<HttpHeader> {
          * @return this builder
          */
         public Builder add(CharSequence name, String value) {
-            this.nettyHeaders.add(name, requireNonNull(value));
+            writable().add(name, requireNonNull(value));
             return this;
         }
 
@@ -180,7 +210,7 @@ public final class HttpHeaders implements Iterable<HttpHeader> {
          * @return this builder
          */
         public Builder add(CharSequence name, Object value) {
-            this.nettyHeaders.add(name, requireNonNull(value));
+            writable().add(name, requireNonNull(value));
             return this;
         }
 
@@ -195,7 +225,7 @@ public final class HttpHeaders implements Iterable<HttpHeader> {
          */
         public Builder add(CharSequence name, Iterable values) {
             nonNullValues(values)
-                    .ifPresent(nonNullValues -> this.nettyHeaders.add(name, nonNullValues));
+                    .ifPresent(nonNullValues -> writable().add(name, nonNullValues));
 
             return this;
         }
@@ -215,7 +245,9 @@ public final class HttpHeaders implements Iterable<HttpHeader> {
          * @return this builder
          */
         public Builder remove(CharSequence name) {
-            this.nettyHeaders.remove(name);
+            if (nettyHeaders.contains(name)) {
+                writable().remove(name);
+            }
             return this;
         }
 
@@ -229,7 +261,7 @@ public final class HttpHeaders implements Iterable<HttpHeader> {
          * @return this builder
          */
         public Builder set(CharSequence name, String value) {
-            nettyHeaders.set(name, value);
+            writable().set(name, value);
             return this;
         }
 
@@ -243,7 +275,7 @@ public final class HttpHeaders implements Iterable<HttpHeader> {
          * @return this builder
          */
         public Builder set(CharSequence name, Instant value) {
-            nettyHeaders.set(name, RFC1123_DATE_FORMAT.format(value));
+            writable().set(name, RFC1123_DATE_FORMAT.format(value));
             return this;
         }
 
@@ -257,7 +289,7 @@ public final class HttpHeaders implements Iterable<HttpHeader> {
          * @return this builder
          */
         public Builder set(CharSequence name, Object value) {
-            nettyHeaders.set(name, value);
+            writable().set(name, value);
             return this;
         }
 
@@ -272,7 +304,7 @@ public final class HttpHeaders implements Iterable<HttpHeader> {
          */
         public Builder set(CharSequence name, Iterable values) {
             nonNullValues(values)
-                    .ifPresent(nonNullValues -> this.nettyHeaders.set(name, nonNullValues));
+                    .ifPresent(nonNullValues -> writable().set(name, nonNullValues));
 
             return this;
         }
@@ -287,12 +319,23 @@ public final class HttpHeaders implements Iterable<HttpHeader> {
          * @return this builder
          */
         public Builder set(CharSequence name, int value) {
-            nettyHeaders.set(name, value);
+            writable().set(name, value);
             return this;
         }
 
         public HttpHeaders build() {
+            shared = true;
             return new HttpHeaders(this);
         }
+
+        private io.netty.handler.codec.http.HttpHeaders writable() {
+            if (shared) {
+                DefaultHttpHeaders copy = new DefaultHttpHeaders(true);
+                copy.set(nettyHeaders);
+                nettyHeaders = copy;
+                shared = false;
+            }
+            return nettyHeaders;
+        }
     }
 }
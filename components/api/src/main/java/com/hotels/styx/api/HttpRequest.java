@@ -721,7 +721,7 @@ public class HttpRequest implements HttpMessage {
         }
 
         private Optional<String> requireNotDuplicatedHeader(CharSequence headerName) {
-            List<String> headerValues = headers.build().getAll(headerName);
+            List<String> headerValues = headers.getAll(headerName);
 
             if (headerValues.size() > 1) {
                 throw new IllegalArgumentException(format("Duplicate %s found. %s", headerName, headerValues));
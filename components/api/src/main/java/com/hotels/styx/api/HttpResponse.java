@@ -553,7 +553,7 @@ public class HttpResponse implements HttpMessage {
         }
 
         Builder ensureContentLengthIsValid() {
-            List<String> contentLengths = headers.build().getAll(CONTENT_LENGTH);
+            List<String> contentLengths = headers.getAll(CONTENT_LENGTH);
 
             if (contentLengths.size() > 1) {
                 throw new IllegalArgumentException(format("Duplicate Content-Length found. %s", contentLengths));
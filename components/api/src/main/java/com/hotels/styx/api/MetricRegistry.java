@@ -205,4 +205,14 @@ public interface MetricRegistry {
      */
     SortedMap<String, Metric> getMetrics();
 
+    /**
+     * A map of metric names to metrics, for the metrics whose names start with a prefix.
+     *
+     * @param prefix the name prefix
+     * @return the metrics
+     */
+    default SortedMap<String, Metric> getMetrics(String prefix) {
+        return getMetrics().subMap(prefix, prefix + Character.MAX_VALUE);
+    }
+
 }
@@ -45,6 +45,9 @@ public final class Url implements Comparable<Url> {
     private final String fragment;
     private final Optional<UrlQuery> query;
 
+    // Lazily formatted encoded URL. A benign data race, as for String.hashCode:
+    private String encodedUrl;
+
     private Url(Builder builder) {
         this.scheme = builder.scheme;
         this.authority = builder.authority;
@@ -226,7 +229,12 @@ public final class Url implements Comparable<Url> {
     }
 
     public String encodedUrl() {
-        return formattedUrl(true);
+        String url = this.encodedUrl;
+        if (url == null) {
+            url = formattedUrl(true);
+            this.encodedUrl = url;
+        }
+        return url;
     }
 
     @Override
@@ -20,13 +20,35 @@ package com.hotels.styx.api.extension.loadbalancing.spi;
  */
 public final class LoadBalancingMetric {
     private final int ongoingActivities;
+    private final long latencyEstimateNanos;
 
     public LoadBalancingMetric(int ongoingActivities) {
+        this(ongoingActivities, 0);
+    }
+
+    /**
+     * Constructs a metric with a latency estimate.
+     *
+     * @param ongoingActivities    number of ongoing connections or requests
+     * @param latencyEstimateNanos estimated response latency in nanoseconds, or 0 if unknown
+     */
+    public LoadBalancingMetric(int ongoingActivities, long latencyEstimateNanos) {
         this.ongoingActivities = ongoingActivities;
+        this.latencyEstimateNanos = latencyEstimateNanos;
     }
 
     public int ongoingActivities() {
         return ongoingActivities;
     }
 
+    /**
+     * Returns the estimated response latency of the remote host, in nanoseconds.
+     * A value of 0 means that the latency is not known.
+     *
+     * @return estimated latency in nanoseconds
+     */
+    public long latencyEstimateNanos() {
+        return latencyEstimateNanos;
+    }
+
 }
@@ -30,6 +30,9 @@ public class ConnectionPoolSettings {
     public static final int DEFAULT_SOCKET_TIMEOUT_MILLIS = 11000;
     public static final long DEFAULT_CONNECTION_EXPIRATION_SECONDS = -1L;
     public static final Http2ConnectionPoolSettings DEFAULT_HTTP2_CONNECTION_POOL_SETTINGS = new Http2ConnectionPoolSettings();
+    public static final boolean DEFAULT_EVENT_LOOP_AFFINITY = false;
+    public static final int DEFAULT_MIN_IDLE_CONNECTIONS_PER_HOST = 0;
+    public static final int DEFAULT_WARM_UP_CONNECTIONS_PER_SECOND = 10;
 
     private final int maxConnectionsPerHost;
     private final int maxPendingConnectionsPerHost;
@@ -38,6 +41,9 @@ public class ConnectionPoolSettings {
     private final int pendingConnectionTimeoutMillis;
     private final long connectionExpirationSeconds;
     private final Http2ConnectionPoolSettings http2ConnectionPoolSettings;
+    private final boolean eventLoopAffinity;
+    private final int minIdleConnectionsPerHost;
+    private final int warmUpConnectionsPerSecond;
 
     ConnectionPoolSettings(Integer maxConnectionsPerHost,
                            Integer maxPendingConnectionsPerHost,
@@ -46,6 +52,46 @@ public class ConnectionPoolSettings {
                            Integer pendingConnectionTimeoutMillis,
                            Long connectionExpirationSeconds,
                            Http2ConnectionPoolSettings http2ConnectionPoolSettings) {
+        this(maxConnectionsPerHost,
+                maxPendingConnectionsPerHost,
+                connectTimeoutMillis,
+                socketTimeoutMillis,
+                pendingConnectionTimeoutMillis,
+                connectionExpirationSeconds,
+                http2ConnectionPoolSettings,
+                null);
+    }
+
+    ConnectionPoolSettings(Integer maxConnectionsPerHost,
+                           Integer maxPendingConnectionsPerHost,
+                           Integer connectTimeoutMillis,
+                           @Deprecated Integer socketTimeoutMillis,
+                           Integer pendingConnectionTimeoutMillis,
+                           Long connectionExpirationSeconds,
+                           Http2ConnectionPoolSettings http2ConnectionPoolSettings,
+                           Boolean eventLoopAffinity) {
+        this(maxConnectionsPerHost,
+                maxPendingConnectionsPerHost,
+                connectTimeoutMillis,
+                socketTimeoutMillis,
+                pendingConnectionTimeoutMillis,
+                connectionExpirationSeconds,
+                http2ConnectionPoolSettings,
+                eventLoopAffinity,
+                null,
+                null);
+    }
+
+    ConnectionPoolSettings(Integer maxConnectionsPerHost,
+                           Integer maxPendingConnectionsPerHost,
+                           Integer connectTimeoutMillis,
+                           @Deprecated Integer socketTimeoutMillis,
+                           Integer pendingConnectionTimeoutMillis,
+                           Long connectionExpirationSeconds,
+                           Http2ConnectionPoolSettings http2ConnectionPoolSettings,
+                           Boolean eventLoopAffinity,
+                           Integer minIdleConnectionsPerHost,
+                           Integer warmUpConnectionsPerSecond) {
         this.maxConnectionsPerHost = ofNullable(maxConnectionsPerHost).orElse(DEFAULT_MAX_CONNECTIONS_PER_HOST);
         this.maxPendingConnectionsPerHost = ofNullable(maxPendingConnectionsPerHost).orElse(DEFAULT_MAX_PENDING_CONNECTIONS_PER_HOST);
         this.connectTimeoutMillis = ofNullable(connectTimeoutMillis).orElse(DEFAULT_CONNECT_TIMEOUT_MILLIS);
@@ -53,6 +99,9 @@ public class ConnectionPoolSettings {
         this.pendingConnectionTimeoutMillis = ofNullable(pendingConnectionTimeoutMillis).orElse(DEFAULT_CONNECT_TIMEOUT_MILLIS);
         this.connectionExpirationSeconds = ofNullable(connectionExpirationSeconds).orElse(DEFAULT_CONNECTION_EXPIRATION_SECONDS);
         this.http2ConnectionPoolSettings = ofNullable(http2ConnectionPoolSettings).orElse(DEFAULT_HTTP2_CONNECTION_POOL_SETTINGS);
+        this.eventLoopAffinity = ofNullable(eventLoopAffinity).orElse(DEFAULT_EVENT_LOOP_AFFINITY);
+        this.minIdleConnectionsPerHost = ofNullable(minIdleConnectionsPerHost).orElse(DEFAULT_MIN_IDLE_CONNECTIONS_PER_HOST);
+        this.warmUpConnectionsPerSecond = ofNullable(warmUpConnectionsPerSecond).orElse(DEFAULT_WARM_UP_CONNECTIONS_PER_SECOND);
     }
 
     public ConnectionPoolSettings(int maxConnectionsPerHost,
@@ -67,7 +116,8 @@ public class ConnectionPoolSettings {
                 DEFAULT_SOCKET_TIMEOUT_MILLIS,
                 pendingConnectionTimeoutMillis,
                 connectionExpirationSeconds,
-                http2ConnectionPoolSettings);
+                http2ConnectionPoolSettings,
+                DEFAULT_EVENT_LOOP_AFFINITY);
     }
 
     private ConnectionPoolSettings(Builder builder) {
@@ -78,7 +128,10 @@ public class ConnectionPoolSettings {
                 builder.socketTimeoutMillis,
                 builder.pendingConnectionTimeoutMillis,
                 builder.connectionExpirationSeconds,
-                builder.http2ConnectionPoolSettings
+                builder.http2ConnectionPoolSettings,
+                builder.eventLoopAffinity,
+                builder.minIdleConnectionsPerHost,
+                builder.warmUpConnectionsPerSecond
         );
     }
 
@@ -129,10 +182,38 @@ public class ConnectionPoolSettings {
         return http2ConnectionPoolSettings;
     }
 
+    /**
+     * Returns true if pooled connections are kept apart per event loop of the borrowers.
+     *
+     * @return true if event loop affinity is enabled
+     */
+    public boolean eventLoopAffinity() {
+        return eventLoopAffinity;
+    }
+
+    /**
+     * Returns the number of idle connections that the pool keeps open in the background.
+     *
+     * @return minimum number of idle connections
+     */
+    public int minIdleConnectionsPerHost() {
+        return minIdleConnectionsPerHost;
+    }
+
+    /**
+     * Returns the maximum number of connections opened per second to keep the minimum idle connections.
+     *
+     * @return connections opened per second
+     */
+    public int warmUpConnectionsPerSecond() {
+        return warmUpConnectionsPerSecond;
+    }
+
     @Override
     public int hashCode() {
         return Objects.hash(maxConnectionsPerHost, maxPendingConnectionsPerHost, connectTimeoutMillis,
-                socketTimeoutMillis, pendingConnectionTimeoutMillis, http2ConnectionPoolSettings);
+                socketTimeoutMillis, pendingConnectionTimeoutMillis, http2ConnectionPoolSettings, eventLoopAffinity,
+                minIdleConnectionsPerHost, warmUpConnectionsPerSecond);
     }
 
     @Override
@@ -149,7 +230,10 @@ public class ConnectionPoolSettings {
                 && Objects.equals(this.connectTimeoutMillis, other.connectTimeoutMillis)
                 && Objects.equals(this.socketTimeoutMillis, other.socketTimeoutMillis)
                 && Objects.equals(this.pendingConnectionTimeoutMillis, other.pendingConnectionTimeoutMillis)
-                && Objects.equals(this.http2ConnectionPoolSettings, other.http2ConnectionPoolSettings);
+                && Objects.equals(this.http2ConnectionPoolSettings, other.http2ConnectionPoolSettings)
+                && this.eventLoopAffinity == other.eventLoopAffinity
+                && this.minIdleConnectionsPerHost == other.minIdleConnectionsPerHost
+                && this.warmUpConnectionsPerSecond == other.warmUpConnectionsPerSecond;
     }
 
     @Override
@@ -168,6 +252,12 @@ public class ConnectionPoolSettings {
                 .append(pendingConnectionTimeoutMillis)
                 .append(", http2ConnectionPoolSettings=")
                 .append(http2ConnectionPoolSettings)
+                .append(", eventLoopAffinity=")
+                .append(eventLoopAffinity)
+                .append(", minIdleConnectionsPerHost=")
+                .append(minIdleConnectionsPerHost)
+                .append(", warmUpConnectionsPerSecond=")
+                .append(warmUpConnectionsPerSecond)
                 .append('}')
                 .toString();
     }
@@ -183,6 +273,9 @@ public class ConnectionPoolSettings {
         private int pendingConnectionTimeoutMillis = DEFAULT_CONNECT_TIMEOUT_MILLIS;
         private long connectionExpirationSeconds = DEFAULT_CONNECTION_EXPIRATION_SECONDS;
         private Http2ConnectionPoolSettings http2ConnectionPoolSettings = DEFAULT_HTTP2_CONNECTION_POOL_SETTINGS;
+        private boolean eventLoopAffinity = DEFAULT_EVENT_LOOP_AFFINITY;
+        private int minIdleConnectionsPerHost = DEFAULT_MIN_IDLE_CONNECTIONS_PER_HOST;
+        private int warmUpConnectionsPerSecond = DEFAULT_WARM_UP_CONNECTIONS_PER_SECOND;
 
         /**
          * Constructs an instance with default settings.
@@ -203,6 +296,9 @@ public class ConnectionPoolSettings {
             this.pendingConnectionTimeoutMillis = settings.pendingConnectionTimeoutMillis();
             this.connectionExpirationSeconds = settings.connectionExpirationSeconds();
             this.http2ConnectionPoolSettings = settings.http2ConnectionPoolSettings();
+            this.eventLoopAffinity = settings.eventLoopAffinity();
+            this.minIdleConnectionsPerHost = settings.minIdleConnectionsPerHost();
+            this.warmUpConnectionsPerSecond = settings.warmUpConnectionsPerSecond();
         }
 
         /**
@@ -288,6 +384,41 @@ public class ConnectionPoolSettings {
             return this;
         }
 
+        /**
+         * Keeps pooled connections apart per event loop of the borrowers. A borrower is given
+         * a connection from its own event loop when possible.
+         *
+         * @param eventLoopAffinity true to enable event loop affinity
+         * @return this builder
+         */
+        public Builder eventLoopAffinity(boolean eventLoopAffinity) {
+            this.eventLoopAffinity = eventLoopAffinity;
+            return this;
+        }
+
+        /**
+         * Sets the number of idle connections that the pool keeps open in the background, so that
+         * requests do not wait for new connections after a deploy or when an origin is added.
+         *
+         * @param minIdleConnectionsPerHost minimum number of idle connections
+         * @return this builder
+         */
+        public Builder minIdleConnectionsPerHost(int minIdleConnectionsPerHost) {
+            this.minIdleConnectionsPerHost = minIdleConnectionsPerHost;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of connections opened per second to keep the minimum idle connections.
+         *
+         * @param warmUpConnectionsPerSecond connections opened per second
+         * @return this builder
+         */
+        public Builder warmUpConnectionsPerSecond(int warmUpConnectionsPerSecond) {
+            this.warmUpConnectionsPerSecond = warmUpConnectionsPerSecond;
+            return this;
+        }
+
         /**
          * Constructs a new instance with the configured settings.
          *
@@ -32,6 +32,7 @@ public final class HealthCheckConfig {
     public static final Long DEFAULT_HEALTH_CHECK_INTERVAL = 5000L;
     public static final Long DEFAULT_TIMEOUT_VALUE = 2000L;
     public static final boolean DEFAULT_SHADOW_MODE = false;
+    public static final boolean DEFAULT_KEEP_ALIVE = false;
 
     private final Optional<String> uri;
     private final long intervalMillis;
@@ -39,6 +40,7 @@ public final class HealthCheckConfig {
     private final int healthyThreshold;
     private final int unhealthyThreshold;
     private final boolean shadowMode;
+    private final boolean keepAlive;
 
     private HealthCheckConfig() {
         this(newHealthCheckConfigBuilder());
@@ -50,7 +52,8 @@ public final class HealthCheckConfig {
                 builder.timeoutMillis,
                 builder.healthyThreshold,
                 builder.unhealthyThreshold,
-                builder.shadowMode);
+                builder.shadowMode,
+                builder.keepAlive);
     }
 
     private HealthCheckConfig(Optional<String> uri,
@@ -58,13 +61,15 @@ public final class HealthCheckConfig {
                               Optional<Long> timeoutMillis,
                               Optional<Integer> healthyThreshold,
                               Optional<Integer> unhealthyThreshold,
-                              Optional<Boolean> shadowMode) {
+                              Optional<Boolean> shadowMode,
+                              Optional<Boolean> keepAlive) {
         this.uri = uri.map(this::checkValidUri);
         this.intervalMillis = zeroToAbsent(intervalMillis).orElse(DEFAULT_HEALTH_CHECK_INTERVAL);
         this.timeoutMillis = zeroToAbsent(timeoutMillis).orElse(DEFAULT_TIMEOUT_VALUE);
         this.healthyThreshold = healthyThreshold.orElse(DEFAULT_HEALTHY_THRESHOLD_VALUE);
         this.unhealthyThreshold = unhealthyThreshold.orElse(DEFAULT_UNHEALTHY_THRESHOLD_VALUE);
         this.shadowMode = shadowMode.orElse(DEFAULT_SHADOW_MODE);
+        this.keepAlive = keepAlive.orElse(DEFAULT_KEEP_ALIVE);
 
         if (this.intervalMillis < 1) {
             throw new IllegalArgumentException(format("intervalMillis [%s] cannot be < 1 ms", intervalMillis));
@@ -145,13 +150,22 @@ public final class HealthCheckConfig {
         return shadowMode;
     }
 
+    /**
+     * Whether health-checks keep their connections to origins alive, instead of opening a new connection for each check.
+     *
+     * @return true if connections are kept alive
+     */
+    public boolean isKeepAlive() {
+        return keepAlive;
+    }
+
     public boolean isEnabled() {
         return uri.isPresent();
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(this.uri, this.intervalMillis, this.timeoutMillis, this.healthyThreshold, this.unhealthyThreshold, this.shadowMode);
+        return Objects.hash(this.uri, this.intervalMillis, this.timeoutMillis, this.healthyThreshold, this.unhealthyThreshold, this.shadowMode, this.keepAlive);
     }
 
     @Override
@@ -168,7 +182,8 @@ public final class HealthCheckConfig {
                 && Objects.equals(this.timeoutMillis, other.timeoutMillis)
                 && Objects.equals(this.healthyThreshold, other.healthyThreshold)
                 && Objects.equals(this.unhealthyThreshold, other.unhealthyThreshold)
-                && Objects.equals(this.shadowMode, other.shadowMode);
+                && Objects.equals(this.shadowMode, other.shadowMode)
+                && Objects.equals(this.keepAlive, other.keepAlive);
     }
 
     @Override
@@ -187,6 +202,8 @@ public final class HealthCheckConfig {
                 .append(unhealthyThreshold)
                 .append(", shadowMode=")
                 .append(shadowMode)
+                .append(", keepAlive=")
+                .append(keepAlive)
                 .append('}')
                 .toString();
     }
@@ -220,6 +237,7 @@ public final class HealthCheckConfig {
         private Optional<Integer> healthyThreshold = Optional.empty();
         private Optional<Integer> unhealthyThreshold = Optional.empty();
         private Optional<Boolean> shadowMode = Optional.empty();
+        private Optional<Boolean> keepAlive = Optional.empty();
 
         private Builder() {
         }
@@ -230,6 +248,7 @@ public final class HealthCheckConfig {
             this.healthyThreshold = Optional.of(healthCheckConfig.healthyThreshold);
             this.unhealthyThreshold = Optional.of(healthCheckConfig.unhealthyThreshold);
             this.shadowMode = Optional.of(healthCheckConfig.shadowMode);
+            this.keepAlive = Optional.of(healthCheckConfig.keepAlive);
         }
 
         /**
@@ -331,6 +350,18 @@ public final class HealthCheckConfig {
             return this;
         }
 
+        /**
+         * Sets whether health-checks keep their connections to origins alive between checks.
+         * Reusing connections saves a TCP (and TLS) handshake for each check of each origin.
+         *
+         * @param keepAlive true if connections should be kept alive
+         * @return this builder
+         */
+        public Builder keepAlive(boolean keepAlive) {
+            this.keepAlive = Optional.of(keepAlive);
+            return this;
+        }
+
         /**
          * Build a new config based on the properties set in this builder.
          *
@@ -0,0 +1,177 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.api.extension.service;
+
+import java.util.Optional;
+
+import static java.util.Objects.hash;
+
+/**
+ * Configures request hedging for a backend service.
+ * <p>
+ * When hedging is enabled, an idempotent request (GET or HEAD) that has not received a response
+ * after a delay is sent again to another origin, and the first response to arrive is used.
+ * The delay is fixed, or follows a percentile of recent response latencies when a percentile is
+ * configured. The fixed delay is then the minimum delay. The number of hedged requests is limited to
+ * a percentage of all requests.
+ */
+public class HedgingConfig {
+    public static final int DEFAULT_DELAY_MILLIS = 100;
+    public static final double DEFAULT_PERCENTILE = 0.0;
+    public static final int DEFAULT_BUDGET_PERCENT = 10;
+
+    private final boolean enabled;
+    private final int delayMillis;
+    private final double percentile;
+    private final int budgetPercent;
+
+    private HedgingConfig() {
+        this(false, DEFAULT_DELAY_MILLIS, DEFAULT_PERCENTILE, DEFAULT_BUDGET_PERCENT);
+    }
+
+    private HedgingConfig(boolean enabled, Integer delayMillis, Double percentile, Integer budgetPercent) {
+        this.enabled = enabled;
+        this.delayMillis = Optional.ofNullable(delayMillis).orElse(DEFAULT_DELAY_MILLIS);
+        this.percentile = Optional.ofNullable(percentile).orElse(DEFAULT_PERCENTILE);
+        this.budgetPercent = Optional.ofNullable(budgetPercent).orElse(DEFAULT_BUDGET_PERCENT);
+
+        if (this.delayMillis < 0) {
+            throw new IllegalArgumentException("Hedging delay must be greater than or equal to zero");
+        }
+        if (this.percentile < 0 || this.percentile >= 100) {
+            throw new IllegalArgumentException("Hedging percentile must be between 0 and 100");
+        }
+        if (this.budgetPercent < 0 || this.budgetPercent > 100) {
+            throw new IllegalArgumentException("Hedging budget must be between 0 and 100 percent");
+        }
+    }
+
+    private HedgingConfig(Builder builder) {
+        this(builder.enabled, builder.delayMillis, builder.percentile, builder.budgetPercent);
+    }
+
+    public static HedgingConfig hedgingDisabled() {
+        return new HedgingConfig();
+    }
+
+    public static Builder newHedgingConfigBuilder() {
+        return new Builder();
+    }
+
+    public boolean hedgingEnabled() {
+        return enabled;
+    }
+
+    /**
+     * The delay before a request is hedged. When a percentile is configured, this is the minimum delay.
+     *
+     * @return delay in milliseconds
+     */
+    public int delayMillis() {
+        return delayMillis;
+    }
+
+    /**
+     * The percentile of recent response latencies used as the hedging delay, or zero for a fixed delay.
+     *
+     * @return latency percentile
+     */
+    public double percentile() {
+        return percentile;
+    }
+
+    /**
+     * The maximum number of hedged requests, as a percentage of all requests.
+     *
+     * @return hedging budget
+     */
+    public int budgetPercent() {
+        return budgetPercent;
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder(96)
+                .append(this.getClass().getSimpleName())
+                .append("{enabled=")
+                .append(enabled)
+                .append(", delayMillis=")
+                .append(delayMillis)
+                .append(", percentile=")
+                .append(percentile)
+                .append(", budgetPercent=")
+                .append(budgetPercent)
+                .append('}')
+                .toString();
+    }
+
+    @Override
+    public int hashCode() {
+        return hash(this.enabled, this.delayMillis, this.percentile, this.budgetPercent);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        HedgingConfig that = (HedgingConfig) obj;
+
+        return this.enabled == that.enabled
+                && this.delayMillis == that.delayMillis
+                && Double.compare(this.percentile, that.percentile) == 0
+                && this.budgetPercent == that.budgetPercent;
+    }
+
+    /**
+     * A builder for the {HedgingConfig}.
+     */
+    public static final class Builder {
+        private boolean enabled;
+        private int delayMillis = DEFAULT_DELAY_MILLIS;
+        private double percentile = DEFAULT_PERCENTILE;
+        private int budgetPercent = DEFAULT_BUDGET_PERCENT;
+
+        public Builder enabled(boolean enabled) {
+            this.enabled = enabled;
+            return this;
+        }
+
+        public Builder delayMillis(int delayMillis) {
+            this.delayMillis = delayMillis;
+            return this;
+        }
+
+        public Builder percentile(double percentile) {
+            this.percentile = percentile;
+            return this;
+        }
+
+        public Builder budgetPercent(int budgetPercent) {
+            this.budgetPercent = budgetPercent;
+            return this;
+        }
+
+        public HedgingConfig build() {
+            return new HedgingConfig(this);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.api.extension.service;
+
+import java.util.Optional;
+
+import static java.util.Objects.hash;
+
+/**
+ * Configures outlier detection for a backend service.
+ * <p>
+ * When outlier detection is enabled, the outcomes of proxied requests are used to find failing origins
+ * without waiting for a health check. An origin is ejected from load balancing after a number of consecutive
+ * failures, or when its response latency is a multiple of its peers' latency. Each ejection of the same origin
+ * lasts twice as long as the previous one, up to a maximum, and only a percentage of the active origins can be
+ * ejected at the same time.
+ */
+public class OutlierDetectionConfig {
+    public static final int DEFAULT_CONSECUTIVE_FAILURES = 5;
+    public static final double DEFAULT_LATENCY_FACTOR = 3.0;
+    public static final int DEFAULT_MINIMUM_REQUESTS = 20;
+    public static final int DEFAULT_BASE_EJECTION_MILLIS = 30000;
+    public static final int DEFAULT_MAX_EJECTION_MILLIS = 300000;
+    public static final int DEFAULT_MAX_EJECTION_PERCENT = 50;
+
+    private final boolean enabled;
+    private final int consecutiveFailures;
+    private final double latencyFactor;
+    private final int minimumRequests;
+    private final int baseEjectionMillis;
+    private final int maxEjectionMillis;
+    private final int maxEjectionPercent;
+
+    private OutlierDetectionConfig() {
+        this(false, null, null, null, null, null, null);
+    }
+
+    private OutlierDetectionConfig(boolean enabled,
+                                   Integer consecutiveFailures,
+                                   Double latencyFactor,
+                                   Integer minimumRequests,
+                                   Integer baseEjectionMillis,
+                                   Integer maxEjectionMillis,
+                                   Integer maxEjectionPercent) {
+        this.enabled = enabled;
+        this.consecutiveFailures = Optional.ofNullable(consecutiveFailures).orElse(DEFAULT_CONSECUTIVE_FAILURES);
+        this.latencyFactor = Optional.ofNullable(latencyFactor).orElse(DEFAULT_LATENCY_FACTOR);
+        this.minimumRequests = Optional.ofNullable(minimumRequests).orElse(DEFAULT_MINIMUM_REQUESTS);
+        this.baseEjectionMillis = Optional.ofNullable(baseEjectionMillis).orElse(DEFAULT_BASE_EJECTION_MILLIS);
+        this.maxEjectionMillis = Optional.ofNullable(maxEjectionMillis).orElse(DEFAULT_MAX_EJECTION_MILLIS);
+        this.maxEjectionPercent = Optional.ofNullable(maxEjectionPercent).orElse(DEFAULT_MAX_EJECTION_PERCENT);
+
+        if (this.consecutiveFailures < 1) {
+            throw new IllegalArgumentException("Outlier detection consecutiveFailures must be greater than zero");
+        }
+        if (this.latencyFactor != 0 && this.latencyFactor <= 1) {
+            throw new IllegalArgumentException("Outlier detection latencyFactor must be greater than one, or zero to disable it");
+        }
+        if (this.minimumRequests < 1) {
+            throw new IllegalArgumentException("Outlier detection minimumRequests must be greater than zero");
+        }
+        if (this.baseEjectionMillis < 1) {
+            throw new IllegalArgumentException("Outlier detection baseEjectionMillis must be greater than zero");
+        }
+        if (this.maxEjectionMillis < this.baseEjectionMillis) {
+            throw new IllegalArgumentException("Outlier detection maxEjectionMillis must not be less than baseEjectionMillis");
+        }
+        if (this.maxEjectionPercent < 0 || this.maxEjectionPercent > 100) {
+            throw new IllegalArgumentException("Outlier detection maxEjectionPercent must be between 0 and 100");
+        }
+    }
+
+    private OutlierDetectionConfig(Builder builder) {
+        this(builder.enabled,
+                builder.consecutiveFailures,
+                builder.latencyFactor,
+                builder.minimumRequests,
+                builder.baseEjectionMillis,
+                builder.maxEjectionMillis,
+                builder.maxEjectionPercent);
+    }
+
+    public static OutlierDetectionConfig outlierDetectionDisabled() {
+        return new OutlierDetectionConfig();
+    }
+
+    public static Builder newOutlierDetectionConfigBuilder() {
+        return new Builder();
+    }
+
+    public boolean outlierDetectionEnabled() {
+        return enabled;
+    }
+
+    /**
+     * The number of consecutive failures after which an origin is ejected. A failure is a 5xx response,
+     * or a request that fails without a response, for example because the origin cannot be connected to.
+     *
+     * @return number of consecutive failures
+     */
+    public int consecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    /**
+     * An origin whose average latency is this many times the median latency of its peers is ejected.
+     * A value of 0 means that origins are not ejected for their latency.
+     *
+     * @return latency factor
+     */
+    public double latencyFactor() {
+        return latencyFactor;
+    }
+
+    /**
+     * The number of responses from an origin that are needed before its latency is compared with its peers.
+     *
+     * @return minimum number of responses
+     */
+    public int minimumRequests() {
+        return minimumRequests;
+    }
+
+    /**
+     * How long an origin is ejected for the first time. Each further ejection lasts twice as long.
+     *
+     * @return ejection time in milliseconds
+     */
+    public int baseEjectionMillis() {
+        return baseEjectionMillis;
+    }
+
+    /**
+     * The longest time that an origin can be ejected for.
+     *
+     * @return maximum ejection time in milliseconds
+     */
+    public int maxEjectionMillis() {
+        return maxEjectionMillis;
+    }
+
+    /**
+     * The maximum percentage of the active origins that can be ejected at the same time.
+     *
+     * @return maximum percentage of ejected origins
+     */
+    public int maxEjectionPercent() {
+        return maxEjectionPercent;
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder(192)
+                .append(this.getClass().getSimpleName())
+                .append("{enabled=")
+                .append(enabled)
+                .append(", consecutiveFailures=")
+                .append(consecutiveFailures)
+                .append(", latencyFactor=")
+                .append(latencyFactor)
+                .append(", minimumRequests=")
+                .append(minimumRequests)
+                .append(", baseEjectionMillis=")
+                .append(baseEjectionMillis)
+                .append(", maxEjectionMillis=")
+                .append(maxEjectionMillis)
+                .append(", maxEjectionPercent=")
+                .append(maxEjectionPercent)
+                .append('}')
+                .toString();
+    }
+
+    @Override
+    public int hashCode() {
+        return hash(this.enabled, this.consecutiveFailures, this.latencyFactor, this.minimumRequests,
+                this.baseEjectionMillis, this.maxEjectionMillis, this.maxEjectionPercent);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        OutlierDetectionConfig that = (OutlierDetectionConfig) obj;
+
+        return this.enabled == that.enabled
+                && this.consecutiveFailures == that.consecutiveFailures
+                && Double.compare(this.latencyFactor, that.latencyFactor) == 0
+                && this.minimumRequests == that.minimumRequests
+                && this.baseEjectionMillis == that.baseEjectionMillis
+                && this.maxEjectionMillis == that.maxEjectionMillis
+                && this.maxEjectionPercent == that.maxEjectionPercent;
+    }
+
+    /**
+     * A builder for the {OutlierDetectionConfig}.
+     */
+    public static final class Builder {
+        private boolean enabled;
+        private int consecutiveFailures = DEFAULT_CONSECUTIVE_FAILURES;
+        private double latencyFactor = DEFAULT_LATENCY_FACTOR;
+        private int minimumRequests = DEFAULT_MINIMUM_REQUESTS;
+        private int baseEjectionMillis = DEFAULT_BASE_EJECTION_MILLIS;
+        private int maxEjectionMillis = DEFAULT_MAX_EJECTION_MILLIS;
+        private int maxEjectionPercent = DEFAULT_MAX_EJECTION_PERCENT;
+
+        public Builder enabled(boolean enabled) {
+            this.enabled = enabled;
+            return this;
+        }
+
+        public Builder consecutiveFailures(int consecutiveFailures) {
+            this.consecutiveFailures = consecutiveFailures;
+            return this;
+        }
+
+        public Builder latencyFactor(double latencyFactor) {
+            this.latencyFactor = latencyFactor;
+            return this;
+        }
+
+        public Builder minimumRequests(int minimumRequests) {
+            this.minimumRequests = minimumRequests;
+            return this;
+        }
+
+        public Builder baseEjectionMillis(int baseEjectionMillis) {
+            this.baseEjectionMillis = baseEjectionMillis;
+            return this;
+        }
+
+        public Builder maxEjectionMillis(int maxEjectionMillis) {
+            this.maxEjectionMillis = maxEjectionMillis;
+            return this;
+        }
+
+        public Builder maxEjectionPercent(int maxEjectionPercent) {
+            this.maxEjectionPercent = maxEjectionPercent;
+            return this;
+        }
+
+        public OutlierDetectionConfig build() {
+            return new OutlierDetectionConfig(this);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.api.extension.service;
+
+import java.util.Optional;
+
+import static java.util.Objects.hash;
+
+/**
+ * Configures a retry budget for a backend service.
+ * <p>
+ * When the budget is enabled, failed requests are only retried while the budget has tokens left. Each
+ * successful response adds a percentage of a token, so that retries are limited to a percentage of
+ * successful requests. The budget holds a limited number of tokens, which allows short bursts of retries.
+ */
+public class RetryBudgetConfig {
+    public static final int DEFAULT_PERCENT = 20;
+    public static final int DEFAULT_BURST = 10;
+
+    private final boolean enabled;
+    private final int percent;
+    private final int burst;
+
+    private RetryBudgetConfig() {
+        this(false, DEFAULT_PERCENT, DEFAULT_BURST);
+    }
+
+    private RetryBudgetConfig(boolean enabled, Integer percent, Integer burst) {
+        this.enabled = enabled;
+        this.percent = Optional.ofNullable(percent).orElse(DEFAULT_PERCENT);
+        this.burst = Optional.ofNullable(burst).orElse(DEFAULT_BURST);
+
+        if (this.percent < 0 || this.percent > 100) {
+            throw new IllegalArgumentException("Retry budget must be between 0 and 100 percent");
+        }
+        if (this.burst < 1) {
+            throw new IllegalArgumentException("Retry budget burst must be greater than zero");
+        }
+    }
+
+    private RetryBudgetConfig(Builder builder) {
+        this(builder.enabled, builder.percent, builder.burst);
+    }
+
+    public static RetryBudgetConfig retryBudgetDisabled() {
+        return new RetryBudgetConfig();
+    }
+
+    public static Builder newRetryBudgetConfigBuilder() {
+        return new Builder();
+    }
+
+    public boolean retryBudgetEnabled() {
+        return enabled;
+    }
+
+    /**
+     * The maximum number of retries, as a percentage of successful requests.
+     *
+     * @return retry budget
+     */
+    public int percent() {
+        return percent;
+    }
+
+    /**
+     * The maximum number of retries that the budget can hold at any time.
+     *
+     * @return maximum burst of retries
+     */
+    public int burst() {
+        return burst;
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder(64)
+                .append(this.getClass().getSimpleName())
+                .append("{enabled=")
+                .append(enabled)
+                .append(", percent=")
+                .append(percent)
+                .append(", burst=")
+                .append(burst)
+                .append('}')
+                .toString();
+    }
+
+    @Override
+    public int hashCode() {
+        return hash(this.enabled, this.percent, this.burst);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        RetryBudgetConfig that = (RetryBudgetConfig) obj;
+
+        return this.enabled == that.enabled
+                && this.percent == that.percent
+                && this.burst == that.burst;
+    }
+
+    /**
+     * A builder for the {RetryBudgetConfig}.
+     */
+    public static final class Builder {
+        private boolean enabled;
+        private int percent = DEFAULT_PERCENT;
+        private int burst = DEFAULT_BURST;
+
+        public Builder enabled(boolean enabled) {
+            this.enabled = enabled;
+            return this;
+        }
+
+        public Builder percent(int percent) {
+            this.percent = percent;
+            return this;
+        }
+
+        public Builder burst(int burst) {
+            this.burst = burst;
+            return this;
+        }
+
+        public RetryBudgetConfig build() {
+            return new RetryBudgetConfig(this);
+        }
+    }
+}
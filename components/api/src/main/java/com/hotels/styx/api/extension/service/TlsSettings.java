@@ -36,6 +36,8 @@ public class TlsSettings {
             + File.separator + "lib" + File.separator + "security" + File.separator + "cacerts";
 
     private static final String DEFAULT_SSL_PROVIDER = "JDK";
+    private static final int DEFAULT_SESSION_CACHE_SIZE = 1024;
+    private static final int DEFAULT_SESSION_TIMEOUT_SECONDS = 300;
 
     private final boolean trustAllCerts;
     private final String sslProvider;
@@ -46,6 +48,8 @@ public class TlsSettings {
     private final List<String> cipherSuites;
     private final boolean sendSni;
     private final Optional<String> sniHost;
+    private final int sessionCacheSize;
+    private final int sessionTimeoutSeconds;
 
     private TlsSettings(Builder builder) {
         this.trustAllCerts = requireNonNull(builder.trustAllCerts);
@@ -57,6 +61,8 @@ public class TlsSettings {
         this.cipherSuites = List.copyOf(builder.cipherSuites);
         this.sendSni = builder.sendSni;
         this.sniHost = Optional.ofNullable(builder.sniHost);
+        this.sessionCacheSize = builder.sessionCacheSize;
+        this.sessionTimeoutSeconds = builder.sessionTimeoutSeconds;
     }
 
     private char[] toCharArray(String password) {
@@ -111,6 +117,24 @@ public class TlsSettings {
         return sniHost.orElse(null);
     }
 
+    /**
+     * The maximum number of TLS sessions cached for resumption. Sessions are cached per origin host and port.
+     *
+     * @return session cache size
+     */
+    public int sessionCacheSize() {
+        return sessionCacheSize;
+    }
+
+    /**
+     * The time, in seconds, that a cached TLS session can be resumed for.
+     *
+     * @return session timeout in seconds
+     */
+    public int sessionTimeoutSeconds() {
+        return sessionTimeoutSeconds;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
@@ -128,7 +152,9 @@ public class TlsSettings {
                 && Objects.equals(this.protocols, other.protocols)
                 && Objects.equals(this.cipherSuites, other.cipherSuites)
                 && Objects.equals(this.sniHost, other.sniHost)
-                && Objects.equals(this.sendSni, other.sendSni);
+                && Objects.equals(this.sendSni, other.sendSni)
+                && this.sessionCacheSize == other.sessionCacheSize
+                && this.sessionTimeoutSeconds == other.sessionTimeoutSeconds;
     }
 
     @Override
@@ -153,6 +179,10 @@ public class TlsSettings {
                 .append(sendSni)
                 .append(", sniHost=")
                 .append(getSniHost())
+                .append(", sessionCacheSize=")
+                .append(sessionCacheSize)
+                .append(", sessionTimeoutSeconds=")
+                .append(sessionTimeoutSeconds)
                 .append('}')
                 .toString();
     }
@@ -160,7 +190,8 @@ public class TlsSettings {
     @Override
     public int hashCode() {
         return Objects.hash(trustAllCerts, sslProvider, additionalCerts,
-                trustStorePath, Arrays.hashCode(trustStorePassword), protocols, cipherSuites, sendSni, this.getSniHost());
+                trustStorePath, Arrays.hashCode(trustStorePassword), protocols, cipherSuites, sendSni, this.getSniHost(),
+                sessionCacheSize, sessionTimeoutSeconds);
     }
 
 
@@ -178,6 +209,8 @@ public class TlsSettings {
         private List<String> cipherSuites = Collections.emptyList();
         private boolean sendSni = true;
         private String sniHost;
+        private int sessionCacheSize = DEFAULT_SESSION_CACHE_SIZE;
+        private int sessionTimeoutSeconds = DEFAULT_SESSION_TIMEOUT_SECONDS;
 
         /**
          * Skips origin authentication.
@@ -262,11 +295,39 @@ public class TlsSettings {
             return this;
         }
 
+        /**
+         * Sets the maximum number of TLS sessions cached for resumption.
+         *
+         * @param sessionCacheSize session cache size
+         * @return this builder
+         */
+        public Builder sessionCacheSize(int sessionCacheSize) {
+            this.sessionCacheSize = sessionCacheSize;
+            return this;
+        }
+
+        /**
+         * Sets the time, in seconds, that a cached TLS session can be resumed for.
+         *
+         * @param sessionTimeoutSeconds session timeout in seconds
+         * @return this builder
+         */
+        public Builder sessionTimeoutSeconds(int sessionTimeoutSeconds) {
+            this.sessionTimeoutSeconds = sessionTimeoutSeconds;
+            return this;
+        }
+
 
         public TlsSettings build() {
             if (!trustAllCerts && trustStorePassword == null) {
                 throw new IllegalArgumentException("trustStorePassword must be supplied when remote peer authentication is enabled.");
             }
+            if (sessionCacheSize < 1) {
+                throw new IllegalArgumentException("sessionCacheSize must be positive. sessionCacheSize=" + sessionCacheSize);
+            }
+            if (sessionTimeoutSeconds < 1) {
+                throw new IllegalArgumentException("sessionTimeoutSeconds must be positive. sessionTimeoutSeconds=" + sessionTimeoutSeconds);
+            }
             return new TlsSettings(this);
         }
     }
@@ -39,7 +39,10 @@ data class BackendService(
     private val responseTimeoutMillis: Int,
     private val maxHeaderSize: Int,
     private val tlsSettings: TlsSettings?,
-    private val tcpKeepAliveSettings: TcpKeepAliveSettings?
+    private val tcpKeepAliveSettings: TcpKeepAliveSettings?,
+    private val hedgingConfig: HedgingConfig = HedgingConfig.hedgingDisabled(),
+    private val retryBudgetConfig: RetryBudgetConfig = RetryBudgetConfig.retryBudgetDisabled(),
+    private val outlierDetectionConfig: OutlierDetectionConfig = OutlierDetectionConfig.outlierDetectionDisabled()
 ) : Identifiable {
     /**
      * A protocol used for the backend service. This can be either HTTP or HTTPS.
@@ -72,7 +75,10 @@ data class BackendService(
         },
         maxHeaderSize = builder.maxHeaderSize,
         tlsSettings = builder.tlsSettings,
-        tcpKeepAliveSettings = builder.tcpKeepAliveSettings
+        tcpKeepAliveSettings = builder.tcpKeepAliveSettings,
+        hedgingConfig = builder.hedgingConfig,
+        retryBudgetConfig = builder.retryBudgetConfig,
+        outlierDetectionConfig = builder.outlierDetectionConfig
     )
 
     /**
@@ -91,7 +97,10 @@ data class BackendService(
         var responseTimeoutMillis: Int = DEFAULT_RESPONSE_TIMEOUT_MILLIS,
         var maxHeaderSize: Int = USE_DEFAULT_MAX_HEADER_SIZE,
         var tlsSettings: TlsSettings? = null,
-        var tcpKeepAliveSettings: TcpKeepAliveSettings? = null
+        var tcpKeepAliveSettings: TcpKeepAliveSettings? = null,
+        var hedgingConfig: HedgingConfig = HedgingConfig.hedgingDisabled(),
+        var retryBudgetConfig: RetryBudgetConfig = RetryBudgetConfig.retryBudgetDisabled(),
+        var outlierDetectionConfig: OutlierDetectionConfig = OutlierDetectionConfig.outlierDetectionDisabled()
     ) {
         constructor(backendService: BackendService) : this() {
             this.id = backendService.id
@@ -107,6 +116,9 @@ data class BackendService(
             this.maxHeaderSize = backendService.maxHeaderSize
             this.tlsSettings = backendService.tlsSettings().orElse(null)
             this.tcpKeepAliveSettings = backendService.tcpKeepAliveSettings
+            this.hedgingConfig = backendService.hedgingConfig
+            this.retryBudgetConfig = backendService.retryBudgetConfig
+            this.outlierDetectionConfig = backendService.outlierDetectionConfig
         }
 
         fun id(id: Id) = apply {
@@ -203,6 +215,18 @@ data class BackendService(
             this.tcpKeepAliveSettings = tcpKeepAliveSettings
         }
 
+        fun hedgingConfig(hedgingConfig: HedgingConfig) = apply {
+            this.hedgingConfig = hedgingConfig
+        }
+
+        fun retryBudgetConfig(retryBudgetConfig: RetryBudgetConfig) = apply {
+            this.retryBudgetConfig = retryBudgetConfig
+        }
+
+        fun outlierDetectionConfig(outlierDetectionConfig: OutlierDetectionConfig) = apply {
+            this.outlierDetectionConfig = outlierDetectionConfig
+        }
+
         fun build() = BackendService(this)
     }
 
@@ -232,6 +256,12 @@ data class BackendService(
 
     fun tcpKeepAliveSettings(): TcpKeepAliveSettings? = tcpKeepAliveSettings
 
+    fun hedgingConfig(): HedgingConfig = hedgingConfig
+
+    fun retryBudgetConfig(): RetryBudgetConfig = retryBudgetConfig
+
+    fun outlierDetectionConfig(): OutlierDetectionConfig = outlierDetectionConfig
+
     fun isOverrideHostHeader(): Boolean = overrideHostHeader
 
     fun getTlsSettings(): TlsSettings? = tlsSettings().orElse(null)
@@ -252,6 +282,9 @@ data class BackendService(
         append(", rewrites=", rewrites)
         append(", tlsSettings=", tlsSettings)
         append(", tcpKeepAliveSettings=", tcpKeepAliveSettings)
+        append(", hedgingConfig=", hedgingConfig)
+        append(", retryBudgetConfig=", retryBudgetConfig)
+        append(", outlierDetectionConfig=", outlierDetectionConfig)
         append('}')
     }
 
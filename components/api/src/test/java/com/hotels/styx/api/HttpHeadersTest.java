@@ -16,6 +16,7 @@
 package com.hotels.styx.api;
 
 import com.hotels.styx.api.HttpHeaders.Builder;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -158,4 +159,58 @@ public class HttpHeadersTest {
 
         assertThat(headers.get("foo"), isValue("Thu, 10 Sep 2015 12:02:28 GMT"));
     }
+
+    @Test
+    public void modifyingCopiedBuilderDoesNotAffectOriginalHeaders() {
+        HttpHeaders copy = headers.newBuilder()
+                .set("header1", "changed")
+                .remove("header2")
+                .add("header3", "val3")
+                .build();
+
+        assertThat(copy, contains(header("header1", "changed"), header("header3", "val3")));
+        assertThat(headers, contains(header("header1", "val1"), header("header2", "val2a"), header("header2", "val2b")));
+    }
+
+    @Test
+    public void modifyingBuilderAfterBuildDoesNotAffectBuiltHeaders() {
+        Builder builder = headers.newBuilder();
+        HttpHeaders first = builder.build();
+
+        HttpHeaders second = builder.add("header3", "val3").build();
+        builder.remove("header1");
+
+        assertThat(first.contains("header3"), is(false));
+        assertThat(second.contains("header1"), is(true));
+        assertThat(second.get("header3"), isValue("val3"));
+    }
+
+    @Test
+    public void unmodifiedCopyEqualsOriginal() {
+        HttpHeaders copy = headers.newBuilder().remove("nonExistent").build();
+
+        assertThat(copy, is(headers));
+        assertThat(copy.newBuilder().getAll("header2"), contains("val2a", "val2b"));
+    }
+
+    @Test
+    public void createsHeadersFromACopyOfNettyHeaders() {
+        DefaultHttpHeaders nettyHeaders = new DefaultHttpHeaders();
+        nettyHeaders.add("header1", "val1");
+
+        HttpHeaders headers = HttpHeaders.fromNettyHeaders(nettyHeaders);
+        nettyHeaders.add("header2", "val2");
+
+        assertThat(headers.get("header1"), isValue("val1"));
+        assertThat(headers.contains("header2"), is(false));
+    }
+
+    @Test
+    public void modifyingNettyHeadersCopyDoesNotAffectHeaders() {
+        io.netty.handler.codec.http.HttpHeaders nettyHeaders = headers.toNettyHeaders();
+        nettyHeaders.add("header3", "val3");
+
+        assertThat(nettyHeaders.getAll("header2"), contains("val2a", "val2b"));
+        assertThat(headers.contains("header3"), is(false));
+    }
 }
@@ -63,4 +63,20 @@ public class HealthCheckConfigTest {
                 .build();
         assertThat(healthCheckConfig.isShadowMode(), is(true));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void doesNotKeepConnectionsAliveByDefault() {
+        HealthCheckConfig healthCheckConfig = newHealthCheckConfigBuilder()
+                .build();
+        assertThat(healthCheckConfig.isKeepAlive(), is(false));
+    }
+
+    @Test
+    public void keepsConnectionsAliveWhenEnabled() {
+        HealthCheckConfig healthCheckConfig = newHealthCheckConfigBuilder(newHealthCheckConfigBuilder()
+                .keepAlive(true)
+                .build())
+                .build();
+        assertThat(healthCheckConfig.isKeepAlive(), is(true));
+    }
+}
@@ -24,6 +24,8 @@ import reactor.core.publisher.Mono;
 
 import java.io.Closeable;
 import java.util.EventListener;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
 
 /**
  * A connection to an origin.
@@ -42,6 +44,29 @@ public interface Connection extends Closeable {
          * @return the newly created connection
          */
         Mono<Connection> createConnection(Origin origin, ConnectionSettings connectionSettings);
+
+        /**
+         * Creates a {@link Connection}, preferably served by the given executor. Factories that cannot
+         * honour the preference create the connection as {@link #createConnection(Origin, ConnectionSettings)} does.
+         *
+         * @param origin             origin to connect to
+         * @param connectionSettings connection pool configuration
+         * @param preferredExecutor  executor that the connection should preferably be bound to
+         * @return the newly created connection
+         */
+        default Mono<Connection> createConnection(Origin origin, ConnectionSettings connectionSettings, Executor preferredExecutor) {
+            return createConnection(origin, connectionSettings);
+        }
+
+        /**
+         * Returns an executor for background work on connections, such as opening idle connections ahead of
+         * demand. Factories without one return null, and no background work is done.
+         *
+         * @return a scheduled executor, or null
+         */
+        default ScheduledExecutorService scheduler() {
+            return null;
+        }
     }
 
     /**
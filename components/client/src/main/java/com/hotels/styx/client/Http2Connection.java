@@ -0,0 +1,97 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.client;
+
+import com.hotels.styx.api.extension.Origin;
+import reactor.core.publisher.Mono;
+
+import java.io.Closeable;
+import java.util.EventListener;
+
+/**
+ * A multiplexed HTTP/2 connection to an origin. Each request is sent on its own stream,
+ * which is exposed as a {@link Connection} for the lifetime of a single request.
+ */
+public interface Http2Connection extends Closeable {
+
+    /**
+     * A factory that creates new {@link Http2Connection}s on demand.
+     */
+    interface Factory {
+        /**
+         * Creates an {@link Http2Connection}. The returned connection has completed the
+         * protocol negotiation and is ready to open streams.
+         *
+         * @param origin             origin to connect to
+         * @param connectionSettings connection pool configuration
+         * @return the newly created connection
+         */
+        Mono<Http2Connection> createConnection(Origin origin, ConnectionSettings connectionSettings);
+    }
+
+    /**
+     * Opens a new stream on this connection.
+     *
+     * @return a single-use connection bound to the new stream
+     */
+    Mono<Connection> openStream();
+
+    /**
+     * Returns the maximum number of concurrent streams that the remote peer allows on this connection.
+     *
+     * @return maximum number of concurrent streams
+     */
+    int maxConcurrentStreams();
+
+    /**
+     * Returns true if the underlying connection is active, and new streams can still be opened on it.
+     * A connection that has received a GOAWAY frame is no longer considered connected.
+     *
+     * @return if new streams can be opened on this connection
+     */
+    boolean isConnected();
+
+    /**
+     * Returns the endpoint for this connection.
+     *
+     * @return the endpoint for this connection
+     */
+    Origin getOrigin();
+
+    /**
+     * Register a listener connection state events.
+     *
+     * @param listener listener to register
+     */
+    void addConnectionListener(Listener listener);
+
+    /**
+     * Closes the connection, and all streams open on it.
+     */
+    void close();
+
+    /**
+     * Notifies interested parties about closed connections.
+     */
+    interface Listener extends EventListener {
+        /**
+         * Called when a connection has been closed.
+         *
+         * @param connection the connection that was closed
+         */
+        void connectionClosed(Http2Connection connection);
+    }
+}
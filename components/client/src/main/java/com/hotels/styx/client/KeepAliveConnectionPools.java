@@ -0,0 +1,164 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.client;
+
+import com.hotels.styx.api.LiveHttpRequest;
+import com.hotels.styx.api.LiveHttpResponse;
+import com.hotels.styx.api.ResponseEventListener;
+import com.hotels.styx.api.extension.Origin;
+import com.hotels.styx.api.extension.service.ConnectionPoolSettings;
+import com.hotels.styx.client.connectionpool.SimpleConnectionPool;
+import com.hotels.styx.client.netty.connectionpool.NettyConnectionFactory;
+import io.netty.handler.ssl.SslContext;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Keeps the connections of a {@link StyxHttpClient} alive between requests, in a {@link SimpleConnectionPool}
+ * for each remote host, port and TLS context.
+ * <p>
+ * A pool that has not been used for the idle timeout is closed along with its connections. Idle pools are
+ * evicted when the client sends its next request, so a client that sends a request to each of its hosts
+ * regularly, such as a health-check client, only keeps connections to the hosts that it still uses.
+ */
+final class KeepAliveConnectionPools {
+    private final NettyConnectionFactory connectionFactory;
+    private final ConnectionPoolSettings poolSettings;
+    private final long idleTimeoutNanos;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<Key, Entry> pools = new ConcurrentHashMap<>();
+
+    KeepAliveConnectionPools(NettyConnectionFactory connectionFactory, ConnectionPoolSettings poolSettings, Duration idleTimeout) {
+        this(connectionFactory, poolSettings, idleTimeout, System::nanoTime);
+    }
+
+    // Visible for testing
+    KeepAliveConnectionPools(NettyConnectionFactory connectionFactory, ConnectionPoolSettings poolSettings, Duration idleTimeout, LongSupplier nanoClock) {
+        this.connectionFactory = requireNonNull(connectionFactory);
+        this.poolSettings = requireNonNull(poolSettings);
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.nanoClock = requireNonNull(nanoClock);
+    }
+
+    /**
+     * Sends a request over a pooled connection to the origin. The connection is returned to the pool once the
+     * response has been fully received, and closed if the request fails or is cancelled.
+     *
+     * @param origin     origin to send the request to
+     * @param sslContext TLS context for secure connections, or null
+     * @param request    request to send
+     * @return response
+     */
+    Mono<LiveHttpResponse> send(Origin origin, SslContext sslContext, LiveHttpRequest request) {
+        evictIdlePools();
+        SimpleConnectionPool pool = pool(origin, sslContext);
+
+        return Mono.from(pool.borrowConnection())
+                .flatMap(connection -> Mono.from(ResponseEventListener.from(connection.write(request, DummyContext.INSTANCE))
+                        .whenCancelled(() -> pool.closeConnection(connection))
+                        .whenResponseError(cause -> pool.closeConnection(connection))
+                        .whenContentError(cause -> pool.closeConnection(connection))
+                        .whenCompleted(response -> pool.returnConnection(connection))
+                        .apply()));
+    }
+
+    private SimpleConnectionPool pool(Origin origin, SslContext sslContext) {
+        long now = nanoClock.getAsLong();
+        return pools.compute(new Key(origin.host(), origin.port(), sslContext), (key, entry) -> {
+            Entry pooled = entry != null ? entry : new Entry(new SimpleConnectionPool(origin, poolSettings,
+                    (target, connectionSettings) -> connectionFactory.createConnection(target, connectionSettings, sslContext)));
+            pooled.lastUsed = now;
+            return pooled;
+        }).pool;
+    }
+
+    private void evictIdlePools() {
+        long now = nanoClock.getAsLong();
+        pools.keySet().forEach(key -> pools.computeIfPresent(key, (k, entry) -> {
+            if (now - entry.lastUsed > idleTimeoutNanos && entry.pool.stats().busyConnectionCount() == 0) {
+                entry.pool.close();
+                return null;
+            }
+            return entry;
+        }));
+    }
+
+    // Visible for testing
+    int poolCount() {
+        return pools.size();
+    }
+
+    // Visible for testing
+    int availableConnectionCount() {
+        return pools.values().stream().mapToInt(entry -> entry.pool.stats().availableConnectionCount()).sum();
+    }
+
+    /**
+     * Closes all the pools, and their connections.
+     */
+    void close() {
+        pools.keySet().forEach(key -> pools.computeIfPresent(key, (k, entry) -> {
+            entry.pool.close();
+            return null;
+        }));
+    }
+
+    private static final class Entry {
+        private final SimpleConnectionPool pool;
+        private long lastUsed;
+
+        Entry(SimpleConnectionPool pool) {
+            this.pool = pool;
+        }
+    }
+
+    private static final class Key {
+        private final String host;
+        private final int port;
+        private final SslContext sslContext;
+
+        Key(String host, int port, SslContext sslContext) {
+            this.host = host;
+            this.port = port;
+            this.sslContext = sslContext;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key that = (Key) o;
+            return port == that.port
+                    && host.equals(that.host)
+                    && Objects.equals(sslContext, that.sslContext);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(host, port, sslContext);
+        }
+    }
+}
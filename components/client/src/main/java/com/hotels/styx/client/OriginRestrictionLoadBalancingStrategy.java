@@ -73,20 +73,26 @@ public class OriginRestrictionLoadBalancingStrategy implements LoadBalancer {
                 .orElseGet(() -> delegate.choose(context));
     }
 
-    private Predicate<RemoteHost> originIsAllowed(String cookieValue) {
+    /**
+     * Returns a predicate that accepts the origins whose IDs match an origins restriction cookie value.
+     *
+     * @param cookieValue comma separated regular expressions for origin IDs
+     * @return a predicate for the origins that are allowed
+     */
+    static Predicate<RemoteHost> originIsAllowed(String cookieValue) {
         return originIdMatcherStream(cookieValue)
                 .reduce(Predicate::or)
                 .orElse(input -> false);
     }
 
-    private Stream<Predicate<RemoteHost>> originIdMatcherStream(String cookieValue) {
+    private static Stream<Predicate<RemoteHost>> originIdMatcherStream(String cookieValue) {
         return regularExpressionStream(cookieValue)
-                .map(this::compileRegularExpression)
-                .map(this::originIdMatches);
+                .map(OriginRestrictionLoadBalancingStrategy::compileRegularExpression)
+                .map(OriginRestrictionLoadBalancingStrategy::originIdMatches);
     }
 
     // CHECKSTYLE:OFF
-    private Stream<String> regularExpressionStream(String cookieValue) {
+    private static Stream<String> regularExpressionStream(String cookieValue) {
         return Collections.list(new StringTokenizer(cookieValue, ","))
                 .stream()
                 .map(String.class::cast)
@@ -94,7 +100,7 @@ public class OriginRestrictionLoadBalancingStrategy implements LoadBalancer {
     }
     // CHECKSTYLE:ON
 
-    private Pattern compileRegularExpression(String regex) {
+    private static Pattern compileRegularExpression(String regex) {
         try {
             return Pattern.compile(regex);
         } catch (Exception e) {
@@ -103,7 +109,7 @@ public class OriginRestrictionLoadBalancingStrategy implements LoadBalancer {
         }
     }
 
-    private Predicate<RemoteHost> originIdMatches(Pattern pattern) {
+    private static Predicate<RemoteHost> originIdMatches(Pattern pattern) {
         return remoteHost -> pattern.matcher(remoteHost.id().toString()).matches();
     }
 
@@ -17,18 +17,32 @@ package com.hotels.styx.client;
 
 import com.hotels.styx.api.LiveHttpRequest;
 import com.hotels.styx.api.Url;
+import com.hotels.styx.api.extension.service.RewriteConfig;
 import com.hotels.styx.api.extension.service.RewriteRule;
 
+import java.util.Arrays;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 
+import static java.lang.Character.isLetterOrDigit;
+
 /**
  * A list of rules that defines how to rewrite the URL in HTTP requests. The rules are tested in order, until a matching
  * rule is found. When the match is found, a rewrite is performed. If no match is found, the original URL is retained.
+ * <p>
+ * Implementation notes:
+ * <p>
+ * Most URL patterns start with a literal path, such as "/sp/" in "/sp/(.*)". The rules are indexed by these literal
+ * prefixes in a trie, so that a lookup walks the path once, collecting the rules whose prefix matches the path. Only
+ * these candidate rules have their regular expressions evaluated, in the configured order. Rules without a literal
+ * prefix, including {@link RewriteRule} implementations other than {@link RewriteConfig}, are candidates for every path.
  */
 public class RewriteRuleset {
+    private static final String METACHARACTERS = ".[]()*+?{}^$|";
+    private static final String OPTIONAL_QUANTIFIERS = "?*{";
+
     private final List<RewriteRule> rewriteRules;
+    private final Node root = new Node();
 
     /**
      * Constructs an instance with a list of rewrite rules.
@@ -37,6 +51,12 @@ public class RewriteRuleset {
      */
     public RewriteRuleset(List<RewriteRule> rewriteRules) {
         this.rewriteRules = List.copyOf(rewriteRules);
+
+        for (int i = 0; i < this.rewriteRules.size(); i++) {
+            RewriteRule rule = this.rewriteRules.get(i);
+            String prefix = rule instanceof RewriteConfig ? literalPrefix(((RewriteConfig) rule).urlPattern()) : "";
+            root.add(prefix, 0, i);
+        }
     }
 
     /**
@@ -46,10 +66,14 @@ public class RewriteRuleset {
      * @return a rewritten request
      */
     public LiveHttpRequest rewrite(LiveHttpRequest request) {
+        if (rewriteRules.isEmpty()) {
+            return request;
+        }
+
         String path = request.path();
         String newPath = newPath(path);
 
-        if (!Objects.equals(newPath, path)) {
+        if (newPath != null && !newPath.equals(path)) {
             Url newUrl = request.url().newBuilder().path(newPath).build();
             return request.newBuilder()
                     .url(newUrl)
@@ -59,12 +83,141 @@ public class RewriteRuleset {
         return request;
     }
 
-    private String newPath(String requestUri) {
-        return rewriteRules.stream()
-                .map(rewriteRule -> rewriteRule.rewrite(requestUri))
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .findFirst()
-                .orElse(requestUri);
+    private String newPath(String path) {
+        int[] candidates = candidates(path);
+
+        for (int candidate : candidates) {
+            Optional<String> rewritten = rewriteRules.get(candidate).rewrite(path);
+            if (rewritten.isPresent()) {
+                return rewritten.get();
+            }
+        }
+        return null;
+    }
+
+    private int[] candidates(String path) {
+        // Rules without a prefix are shared, and only copied when rules from other nodes are added:
+        int[] candidates = root.rules;
+        int count = candidates.length;
+        boolean copied = false;
+
+        Node node = root;
+        for (int i = 0; i < path.length(); i++) {
+            node = node.child(path.charAt(i));
+            if (node == null) {
+                break;
+            }
+            if (node.rules.length > 0) {
+                if (!copied || count + node.rules.length > candidates.length) {
+                    candidates = Arrays.copyOf(candidates, Math.max(2 * candidates.length, count + node.rules.length));
+                    copied = true;
+                }
+                System.arraycopy(node.rules, 0, candidates, count, node.rules.length);
+                count += node.rules.length;
+            }
+        }
+
+        if (copied) {
+            // Candidates from different prefixes are restored to the configured order:
+            Arrays.sort(candidates, 0, count);
+            return Arrays.copyOf(candidates, count);
+        }
+        return candidates;
+    }
+
+    /**
+     * Returns the literal characters that every path matching a regular expression must start with.
+     * The prefix is conservative: when in doubt, it stops early.
+     *
+     * @param regex a regular expression
+     * @return literal prefix, possibly empty
+     */
+    static String literalPrefix(String regex) {
+        if (regex.indexOf('|') >= 0) {
+            // Alternatives may start differently:
+            return "";
+        }
+
+        StringBuilder prefix = new StringBuilder();
+        int i = regex.startsWith("^") ? 1 : 0;
+
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            char literal;
+            int next;
+
+            if (c == '\\') {
+                if (i + 1 >= regex.length() || isLetterOrDigit(regex.charAt(i + 1))) {
+                    // Character classes (\d), back references (\1), quotations (\Q), etc.
+                    break;
+                }
+                literal = regex.charAt(i + 1);
+                next = i + 2;
+            } else if (METACHARACTERS.indexOf(c) >= 0) {
+                break;
+            } else {
+                literal = c;
+                next = i + 1;
+            }
+
+            if (next < regex.length() && OPTIONAL_QUANTIFIERS.indexOf(regex.charAt(next)) >= 0) {
+                // The literal may be absent:
+                break;
+            }
+            prefix.append(literal);
+            i = next;
+        }
+        return prefix.toString();
+    }
+
+    private static final class Node {
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final int[] NO_RULES = new int[0];
+
+        // Children sorted by character:
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+
+        // Indices of the rules with this prefix, in configured order:
+        private int[] rules = NO_RULES;
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        void add(String prefix, int position, int rule) {
+            if (position == prefix.length()) {
+                rules = Arrays.copyOf(rules, rules.length + 1);
+                rules[rules.length - 1] = rule;
+                return;
+            }
+
+            char key = prefix.charAt(position);
+            int i = Arrays.binarySearch(keys, key);
+            if (i < 0) {
+                i = -(i + 1);
+                keys = insert(keys, i, key);
+                children = insert(children, i, new Node());
+            }
+            children[i].add(prefix, position + 1, rule);
+        }
+
+        private static char[] insert(char[] array, int index, char value) {
+            char[] result = new char[array.length + 1];
+            System.arraycopy(array, 0, result, 0, index);
+            result[index] = value;
+            System.arraycopy(array, index, result, index + 1, array.length - index);
+            return result;
+        }
+
+        private static Node[] insert(Node[] array, int index, Node value) {
+            Node[] result = new Node[array.length + 1];
+            System.arraycopy(array, 0, result, 0, index);
+            result[index] = value;
+            System.arraycopy(array, index, result, index + 1, array.length - index);
+            return result;
+        }
     }
 }
@@ -21,6 +21,7 @@ import com.hotels.styx.api.LiveHttpResponse;
 import com.hotels.styx.api.ResponseEventListener;
 import com.hotels.styx.api.extension.loadbalancing.spi.LoadBalancingMetric;
 import com.hotels.styx.client.connectionpool.ConnectionPool;
+import com.hotels.styx.client.loadbalancing.strategies.PeakEwmaLatency;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 
@@ -33,6 +34,7 @@ public class StyxHostHttpClient implements HostHttpClient {
     public static final String ORIGINID_CONTEXT_KEY = "styx.originid";
 
     private final ConnectionPool pool;
+    private final PeakEwmaLatency latency = new PeakEwmaLatency();
 
     StyxHostHttpClient(ConnectionPool pool) {
         this.pool = requireNonNull(pool);
@@ -46,25 +48,46 @@ public class StyxHostHttpClient implements HostHttpClient {
         if (context != null) {
             context.add(ORIGINID_CONTEXT_KEY, pool.getOrigin().id());
         }
-        return Flux.from(pool.borrowConnection())
+        return Flux.from(pool.borrowConnection(context != null ? context.executor() : null))
                 .flatMap(connection -> {
+                    long startNanos = System.nanoTime();
 
-                    return ResponseEventListener.from(connection.write(request, context))
+                    return ResponseEventListener.from(
+                                    Flux.from(connection.write(request, context))
+                                            .doOnNext(response -> recordTimeToHeaders(startNanos, response)))
                             .whenCancelled(() -> pool.closeConnection(connection))
-                            .whenResponseError(cause -> pool.closeConnection(connection))
-                            .whenContentError(cause -> pool.closeConnection(connection))
+                            .whenResponseError(cause -> {
+                                latency.penalise();
+                                pool.closeConnection(connection);
+                            })
+                            .whenContentError(cause -> {
+                                latency.penalise();
+                                pool.closeConnection(connection);
+                            })
                             .whenCompleted(response -> pool.returnConnection(connection))
                             .apply();
                 });
     }
 
+    private void recordTimeToHeaders(long startNanos, LiveHttpResponse response) {
+        // The body download time depends on the response size rather than on the origin,
+        // and a fast 5xx says nothing about how quickly the origin serves real responses.
+        if (response.status().code() / 100 == 5) {
+            latency.penalise();
+        } else {
+            latency.update(System.nanoTime() - startNanos);
+        }
+    }
+
     public void close() {
         pool.close();
     }
 
     @Override
     public LoadBalancingMetric loadBalancingMetric() {
-        return new LoadBalancingMetric(this.pool.stats().busyConnectionCount() + pool.stats().pendingConnectionCount());
+        return new LoadBalancingMetric(
+                this.pool.stats().busyConnectionCount() + pool.stats().pendingConnectionCount(),
+                latency.estimateNanos());
     }
 
     /**
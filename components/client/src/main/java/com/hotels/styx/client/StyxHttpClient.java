@@ -23,6 +23,7 @@ import com.hotels.styx.api.LiveHttpRequest;
 import com.hotels.styx.api.LiveHttpResponse;
 import com.hotels.styx.api.Url;
 import com.hotels.styx.api.extension.Origin;
+import com.hotels.styx.api.extension.service.ConnectionPoolSettings;
 import com.hotels.styx.api.extension.service.TlsSettings;
 import com.hotels.styx.client.netty.connectionpool.NettyConnectionFactory;
 import com.hotels.styx.client.ssl.SslContextFactory;
@@ -30,6 +31,7 @@ import com.hotels.styx.metrics.CentralisedMetrics;
 import io.netty.handler.ssl.SslContext;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
@@ -41,6 +43,7 @@ import static com.hotels.styx.client.HttpConfig.newHttpConfigBuilder;
 import static com.hotels.styx.client.HttpRequestOperationFactory.Builder.httpRequestOperationFactoryBuilder;
 import static com.hotels.styx.common.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 /**
  * A client that uses netty as transport.
@@ -51,10 +54,12 @@ public final class StyxHttpClient implements HttpClient {
 
     private final Builder transactionParameters;
     private final NettyConnectionFactory connectionFactory;
+    private final KeepAliveConnectionPools connectionPools;
 
-    private StyxHttpClient(NettyConnectionFactory connectionFactory, Builder parameters) {
+    private StyxHttpClient(NettyConnectionFactory connectionFactory, KeepAliveConnectionPools connectionPools, Builder parameters) {
         this.transactionParameters = parameters;
         this.connectionFactory = connectionFactory;
+        this.connectionPools = connectionPools;
     }
 
     /**
@@ -63,7 +68,7 @@ public final class StyxHttpClient implements HttpClient {
      * @return a {@HttpClient.Transaction} instance that allows fluent method chaining
      */
     public HttpClient.Transaction secure() {
-        return new StyxHttpClientTransaction(connectionFactory, this.transactionParameters.copy().secure(true));
+        return new StyxHttpClientTransaction(connectionFactory, connectionPools, this.transactionParameters.copy().secure(true));
     }
 
     /**
@@ -76,7 +81,7 @@ public final class StyxHttpClient implements HttpClient {
      * @return a {@HttpClient.Transaction} instance that allows fluent method chaining
      */
     public HttpClient.Transaction secure(boolean secure) {
-        return new StyxHttpClientTransaction(connectionFactory, this.transactionParameters.copy().secure(secure));
+        return new StyxHttpClientTransaction(connectionFactory, connectionPools, this.transactionParameters.copy().secure(secure));
     }
 
     /**
@@ -88,12 +93,12 @@ public final class StyxHttpClient implements HttpClient {
         return new StreamingTransaction() {
             @Override
             public CompletableFuture<LiveHttpResponse> send(LiveHttpRequest request) {
-                return sendRequestInternal(connectionFactory, request, transactionParameters).toFuture();
+                return sendRequestInternal(connectionFactory, connectionPools, request, transactionParameters).toFuture();
             }
 
             @Override
             public CompletableFuture<LiveHttpResponse> send(HttpRequest request) {
-                return sendRequestInternal(connectionFactory, request.stream(), transactionParameters).toFuture();
+                return sendRequestInternal(connectionFactory, connectionPools, request.stream(), transactionParameters).toFuture();
             }
         };
     }
@@ -105,18 +110,36 @@ public final class StyxHttpClient implements HttpClient {
      * @return a {@link CompletableFuture} of response
      */
     public CompletableFuture<HttpResponse> send(HttpRequest request) {
-        return sendRequestInternal(connectionFactory, request.stream(), this.transactionParameters)
+        return sendRequestInternal(connectionFactory, connectionPools, request.stream(), this.transactionParameters)
                 .flatMap(response -> Mono.from(response.aggregate(this.transactionParameters.maxResponseSize())))
                 .toFuture();
     }
 
+    /**
+     * Closes the connections that this client keeps alive. A client without keep-alive holds no
+     * connections between requests, and closing it has no effect.
+     */
+    public void close() {
+        if (connectionPools != null) {
+            connectionPools.close();
+        }
+    }
+
     // Visible for testing
-    static Mono<LiveHttpResponse> sendRequestInternal(NettyConnectionFactory connectionFactory, LiveHttpRequest request, Builder params) {
+    static Mono<LiveHttpResponse> sendRequestInternal(
+            NettyConnectionFactory connectionFactory,
+            KeepAliveConnectionPools connectionPools,
+            LiveHttpRequest request,
+            Builder params) {
         LiveHttpRequest networkRequest = addUserAgent(params.userAgent(), request);
         Origin origin = originFromRequest(networkRequest, params.https());
 
         SslContext sslContext = getSslContext(params.https(), params.tlsSettings());
 
+        if (connectionPools != null) {
+            return connectionPools.send(origin, sslContext, networkRequest);
+        }
+
         return connectionFactory.createConnection(
                 origin,
                 new ConnectionSettings(params.connectTimeoutMillis()),
@@ -188,6 +211,8 @@ public final class StyxHttpClient implements HttpClient {
         private TlsSettings tlsSettings;
         private boolean isHttps;
         private String userAgent;
+        private boolean keepAlive;
+        private Duration keepAliveIdleTimeout = Duration.ofSeconds(60);
         private NettyExecutor executor = DEFAULT_EXECUTOR;
         private CentralisedMetrics metrics;
 
@@ -202,6 +227,8 @@ public final class StyxHttpClient implements HttpClient {
             this.tlsSettings = another.tlsSettings;
             this.isHttps = another.isHttps;
             this.userAgent = another.userAgent;
+            this.keepAlive = another.keepAlive;
+            this.keepAliveIdleTimeout = another.keepAliveIdleTimeout;
         }
 
         /**
@@ -315,6 +342,31 @@ public final class StyxHttpClient implements HttpClient {
             return this.userAgent;
         }
 
+        /**
+         * Specifies whether connections should be kept alive between requests. Connections are then pooled for
+         * each remote host, port and TLS settings, instead of being closed once a response has been received.
+         *
+         * @param keepAlive {@code true} if connections should be kept alive
+         * @return this {@link Builder}
+         */
+        public Builder keepAlive(boolean keepAlive) {
+            this.keepAlive = keepAlive;
+            return this;
+        }
+
+        /**
+         * Sets how long the connections to a host are kept alive once the client stops sending requests to it.
+         * Only applies when connections are kept alive.
+         *
+         * @param duration idle time after which connections to a host are closed
+         * @param timeUnit duration unit
+         * @return this {@link Builder}
+         */
+        public Builder keepAliveIdleTimeout(int duration, TimeUnit timeUnit) {
+            this.keepAliveIdleTimeout = Duration.ofMillis(timeUnit.toMillis(duration));
+            return this;
+        }
+
         Builder copy() {
             return new Builder(this);
         }
@@ -345,7 +397,18 @@ public final class StyxHttpClient implements HttpClient {
                     .executor(executor)
                     .build();
 
-            return new StyxHttpClient(connectionFactory, this.copy());
+            KeepAliveConnectionPools connectionPools = keepAlive
+                    ? new KeepAliveConnectionPools(connectionFactory, keepAlivePoolSettings(), keepAliveIdleTimeout)
+                    : null;
+
+            return new StyxHttpClient(connectionFactory, connectionPools, this.copy());
+        }
+
+        private ConnectionPoolSettings keepAlivePoolSettings() {
+            return new ConnectionPoolSettings.Builder()
+                    .connectTimeout(connectTimeoutMillis, MILLISECONDS)
+                    .pendingConnectionTimeout(connectTimeoutMillis, MILLISECONDS)
+                    .build();
         }
 
     }
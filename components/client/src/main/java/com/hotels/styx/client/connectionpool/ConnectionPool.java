@@ -21,6 +21,7 @@ import com.hotels.styx.client.Connection;
 import org.reactivestreams.Publisher;
 
 import java.io.Closeable;
+import java.util.concurrent.Executor;
 
 /**
  * A pool of connections.
@@ -124,6 +125,17 @@ public interface ConnectionPool extends Closeable {
      */
     Publisher<Connection> borrowConnection();
 
+    /**
+     * Borrow a connection from the host, preferring connections that are affiliated with the
+     * given executor. Pools that do not track affinity behave as {@link #borrowConnection()}.
+     *
+     * @param preferredExecutor the executor of the borrower, may be null
+     * @return the borrowed connection
+     */
+    default Publisher<Connection> borrowConnection(Executor preferredExecutor) {
+        return borrowConnection();
+    }
+
     /**
      * Returns back the connection to the host's pool. May close the connection if the
      * pool is down or the last exception on the connection is determined to be
@@ -164,6 +176,15 @@ public interface ConnectionPool extends Closeable {
      */
     ConnectionPoolSettings settings();
 
+    /**
+     * Tells the pool whether its origin is taking traffic. A pool that keeps idle connections open does not open
+     * them while the origin is unhealthy, disabled or ejected.
+     *
+     * @param active true if the origin is active
+     */
+    default void originActive(boolean active) {
+    }
+
     /**
      * Closes this pool and releases any system resources associated with it.
      */
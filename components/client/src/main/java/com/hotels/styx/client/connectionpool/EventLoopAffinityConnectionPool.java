@@ -0,0 +1,411 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.client.connectionpool;
+
+import com.hotels.styx.api.extension.Origin;
+import com.hotels.styx.api.extension.service.ConnectionPoolSettings;
+import com.hotels.styx.client.Connection;
+import com.hotels.styx.client.ConnectionSettings;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Stream.concat;
+
+/**
+ * A connection pool that keeps its available connections and waiting subscribers apart per
+ * executor (netty event loop) of the borrowers.
+ * <p>
+ * A borrower is preferably given a connection from its own shard, so that a connection keeps
+ * serving requests from the same event loop. Connections are stolen from the other shards only
+ * when the local shard is empty. A returned connection goes back to the shard of its last borrower,
+ * unless subscribers are waiting on other shards.
+ * <p>
+ * New connections are created on the borrower's event loop, if the connection factory supports it.
+ * A {@link com.hotels.styx.client.netty.connectionpool.NettyConnectionFactory} registers them on the
+ * server worker event loop that handles the request, so that both sides of a proxied request are
+ * handled by one event loop.
+ */
+public class EventLoopAffinityConnectionPool implements ConnectionPool, Connection.Listener {
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final ConnectionPoolSettings poolSettings;
+    private final ConnectionSettings connectionSettings;
+    private final Connection.Factory connectionFactory;
+    private final Origin origin;
+
+    private final Shard defaultShard = new Shard(null);
+    private final Map<Executor, Shard> shards = new ConcurrentHashMap<>();
+    private final Map<Connection, Shard> homeShards = new ConcurrentHashMap<>();
+
+    private final LongAdder borrowedCount = new LongAdder();
+    private final AtomicInteger waitingCount = new AtomicInteger();
+    private final AtomicInteger connectionsInEstablishment = new AtomicInteger();
+    private final LongAdder connectionAttempts = new LongAdder();
+    private final LongAdder closedConnections = new LongAdder();
+    private final LongAdder terminatedConnections = new LongAdder();
+    private final LongAdder connectionFailures = new LongAdder();
+    private final EventLoopAffinityConnectionPool.ConnectionPoolStats stats = new EventLoopAffinityConnectionPool.ConnectionPoolStats();
+    private final IdleConnectionKeeper idleConnectionKeeper;
+    private volatile boolean active;
+
+    public EventLoopAffinityConnectionPool(Origin origin, ConnectionPoolSettings poolSettings, Connection.Factory connectionFactory) {
+        this.origin = requireNonNull(origin);
+        this.poolSettings = requireNonNull(poolSettings);
+        this.connectionSettings = new ConnectionSettings(poolSettings.connectTimeoutMillis());
+        this.connectionFactory = requireNonNull(connectionFactory);
+        this.active = true;
+        this.idleConnectionKeeper = IdleConnectionKeeper.start(poolSettings, connectionFactory.scheduler(),
+                this::idleConnectionCount, () -> newConnection(defaultShard));
+    }
+
+    @Override
+    public Origin getOrigin() {
+        return origin;
+    }
+
+    @Override
+    public Publisher<Connection> borrowConnection() {
+        return borrowConnection(null);
+    }
+
+    @Override
+    public Publisher<Connection> borrowConnection(Executor preferredExecutor) {
+        if (active) {
+            Shard shard = shardFor(preferredExecutor);
+
+            return Mono.<Connection>create(sink -> {
+                Connection connection = dequeue(shard);
+                if (connection != null) {
+                    attemptBorrowConnection(sink, connection, shard);
+                } else {
+                    if (waitingCount.get() < poolSettings.maxPendingConnectionsPerHost()) {
+                        waitingCount.incrementAndGet();
+                        shard.waitingSubscribers.add(sink);
+                        sink.onDispose(() -> {
+                            if (shard.waitingSubscribers.remove(sink)) {
+                                waitingCount.decrementAndGet();
+                            }
+                        });
+                        newConnection(shard);
+                    } else {
+                        sink.error(new MaxPendingConnectionsExceededException(
+                                origin,
+                                poolSettings.maxPendingConnectionsPerHost(),
+                                poolSettings.maxPendingConnectionsPerHost()));
+                    }
+                }
+            }).timeout(
+                    Duration.ofMillis(poolSettings.pendingConnectionTimeoutMillis()),
+                    Mono.error(() -> new MaxPendingConnectionTimeoutException(origin, poolSettings.pendingConnectionTimeoutMillis())));
+        } else {
+            return Mono.error(() -> new IllegalStateException("Pool is closed"));
+        }
+    }
+
+    private Shard shardFor(Executor executor) {
+        return executor == null ? defaultShard : shards.computeIfAbsent(executor, Shard::new);
+    }
+
+    private Connection dequeue(Shard shard) {
+        Connection connection = shard.dequeue();
+        if (connection != null) {
+            return connection;
+        }
+
+        if (shard != defaultShard) {
+            connection = defaultShard.dequeue();
+        }
+        for (Shard other : shards.values()) {
+            if (connection != null) {
+                break;
+            }
+            if (other != shard) {
+                connection = other.dequeue();
+            }
+        }
+        return connection;
+    }
+
+    // Idle connections are kept in the default shard, where any borrower can take them:
+    private int idleConnectionCount() {
+        int count = connectionsInEstablishment.get();
+        for (Shard shard : allShards()) {
+            shard.availableConnections.removeIf(connection -> !connection.isConnected());
+            count += shard.availableConnections.size();
+        }
+        return count;
+    }
+
+    private void newConnection(Shard shard) {
+        long borrowed = borrowedCount.sum();
+        int inEstablishment = connectionsInEstablishment.getAndIncrement();
+
+        if ((borrowed + inEstablishment) >= poolSettings.maxConnectionsPerHost()) {
+            connectionsInEstablishment.decrementAndGet();
+            return;
+        }
+
+        connectionAttempts.increment();
+        newConnection(shard, MAX_ATTEMPTS)
+                .doOnNext(it -> it.addConnectionListener(EventLoopAffinityConnectionPool.this))
+                .subscribe(
+                        connection -> {
+                            connectionsInEstablishment.decrementAndGet();
+                            queueNewConnection(connection, shard);
+                        },
+                        cause -> {
+                            connectionsInEstablishment.decrementAndGet();
+                            connectionFailures.increment();
+                        }
+                );
+    }
+
+    private Mono<Connection> newConnection(Shard shard, int attempts) {
+        if (attempts > 0) {
+            return this.connectionFactory.createConnection(this.origin, this.connectionSettings, shard.executor)
+                    .onErrorResume(cause -> newConnection(shard, attempts - 1));
+        } else {
+            return Mono.error(new RuntimeException("Unable to create connection"));
+        }
+    }
+
+    private void queueNewConnection(Connection connection, Shard home) {
+        MonoSink<Connection> subscriber = home.waitingSubscribers.poll();
+        if (subscriber != null) {
+            waitingCount.decrementAndGet();
+            attemptBorrowConnection(subscriber, connection, home);
+            return;
+        }
+
+        if (waitingCount.get() > 0) {
+            for (Shard other : allShards()) {
+                subscriber = other.waitingSubscribers.poll();
+                if (subscriber != null) {
+                    waitingCount.decrementAndGet();
+                    attemptBorrowConnection(subscriber, connection, other);
+                    return;
+                }
+            }
+        }
+
+        homeShards.put(connection, home);
+        home.availableConnections.add(connection);
+    }
+
+    private Iterable<Shard> allShards() {
+        return () -> concat(Stream.of(defaultShard), shards.values().stream()).iterator();
+    }
+
+    private void attemptBorrowConnection(MonoSink<Connection> sink, Connection connection, Shard shard) {
+        borrowedCount.increment();
+        homeShards.put(connection, shard);
+        sink.onCancel(() -> returnConnection(connection));
+        sink.success(connection);
+    }
+
+    @Override
+    public boolean returnConnection(Connection connection) {
+        borrowedCount.decrement();
+        if (connection.isConnected()) {
+            if (active) {
+                queueNewConnection(connection, homeShard(connection));
+            } else {
+                doCloseConnection(connection);
+            }
+        }
+        return false;
+    }
+
+    private Shard homeShard(Connection connection) {
+        Shard home = homeShards.get(connection);
+        return home != null ? home : defaultShard;
+    }
+
+    private void doCloseConnection(Connection connection) {
+        homeShards.remove(connection);
+        connection.close();
+        closedConnections.increment();
+    }
+
+    @Override
+    public boolean closeConnection(Connection connection) {
+        Shard home = homeShard(connection);
+        borrowedCount.decrement();
+        doCloseConnection(connection);
+        if (active) {
+            newConnection(home);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isExhausted() {
+        long usage = borrowedCount.sum() + waitingCount.get();
+        int limit = poolSettings.maxConnectionsPerHost() + poolSettings.maxPendingConnectionsPerHost();
+
+        return usage >= limit;
+    }
+
+    @Override
+    public ConnectionPoolSettings settings() {
+        return poolSettings;
+    }
+
+    @Override
+    public void connectionClosed(Connection connection) {
+        terminatedConnections.increment();
+        Shard home = homeShards.remove(connection);
+        if (home != null) {
+            home.availableConnections.remove(connection);
+        }
+    }
+
+    @Override
+    public void originActive(boolean originActive) {
+        if (idleConnectionKeeper != null) {
+            idleConnectionKeeper.originActive(originActive);
+        }
+    }
+
+    @Override
+    public void close() {
+        active = false;
+        if (idleConnectionKeeper != null) {
+            idleConnectionKeeper.stop();
+        }
+        for (Shard shard : allShards()) {
+            Connection con;
+            while ((con = shard.availableConnections.poll()) != null) {
+                if (con.isConnected()) {
+                    doCloseConnection(con);
+                }
+            }
+        }
+    }
+
+    @Override
+    public ConnectionPool.Stats stats() {
+        return this.stats;
+    }
+
+    private int availableConnectionCount() {
+        int count = 0;
+        for (Shard shard : allShards()) {
+            count += shard.availableConnections.size();
+        }
+        return count;
+    }
+
+    /**
+     * Available connections and waiting subscribers of one executor.
+     */
+    private static final class Shard {
+        private final Executor executor;
+        private final ConcurrentLinkedDeque<Connection> availableConnections = new ConcurrentLinkedDeque<>();
+        private final ConcurrentLinkedDeque<MonoSink<Connection>> waitingSubscribers = new ConcurrentLinkedDeque<>();
+
+        Shard(Executor executor) {
+            this.executor = executor;
+        }
+
+        Connection dequeue() {
+            Connection connection = availableConnections.poll();
+
+            while (nonNull(connection) && !connection.isConnected()) {
+                connection = availableConnections.poll();
+            }
+
+            return connection;
+        }
+    }
+
+    private class ConnectionPoolStats implements Stats {
+
+        @Override
+        public int availableConnectionCount() {
+            return EventLoopAffinityConnectionPool.this.availableConnectionCount();
+        }
+
+        @Override
+        public int busyConnectionCount() {
+            return borrowedCount.intValue();
+        }
+
+        @Override
+        public int pendingConnectionCount() {
+            return waitingCount.get();
+        }
+
+        @Override
+        public int connectionAttempts() {
+            return connectionAttempts.intValue();
+        }
+
+        @Override
+        public int connectionFailures() {
+            return connectionFailures.intValue();
+        }
+
+        @Override
+        public int closedConnections() {
+            return closedConnections.intValue();
+        }
+
+        @Override
+        public int terminatedConnections() {
+            return terminatedConnections.intValue();
+        }
+
+        @Override
+        public int connectionsInEstablishment() {
+            return connectionsInEstablishment.get();
+        }
+
+        @Override
+        public String toString() {
+            return new StringBuilder(224)
+                    .append(this.getClass().getSimpleName())
+                    .append("{\navailableConnections=")
+                    .append(availableConnectionCount())
+                    .append(", \npendingConnections=")
+                    .append(pendingConnectionCount())
+                    .append(", \nbusyConnections=")
+                    .append(busyConnectionCount())
+                    .append(", \nconnectionAttempts=")
+                    .append(connectionAttempts())
+                    .append(", \nconnectionFailures=")
+                    .append(connectionFailures())
+                    .append(", \nclosedConnections=")
+                    .append(closedConnections())
+                    .append(", \nterminatedConnections=")
+                    .append(terminatedConnections())
+                    .append('}')
+                    .toString();
+        }
+    }
+}
@@ -20,14 +20,23 @@ import com.hotels.styx.client.Connection;
 import com.hotels.styx.client.ConnectionSettings;
 import reactor.core.publisher.Mono;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+
 import static com.hotels.styx.api.Clocks.systemClock;
 import static java.util.Objects.requireNonNull;
 
 /**
  * Decorator for a connection factory that wraps newly created connections into a decorator that tracks and expires the connection
  * on expiration time.
+ * <p>
+ * Each connection expires up to a fifth of the expiration time early, at random, so that connections opened together
+ * are not all recycled together.
  */
 public class ExpiringConnectionFactory implements Connection.Factory {
+    private static final int STAGGER_DIVISOR = 5;
+
     private final long connectionExpirationSeconds;
     private final Connection.Factory connectionFactory;
 
@@ -43,7 +52,24 @@ public class ExpiringConnectionFactory implements Connection.Factory {
                 .map(this::decorate);
     }
 
+    @Override
+    public Mono<Connection> createConnection(Origin origin, ConnectionSettings connectionSettings, Executor preferredExecutor) {
+        return connectionFactory
+                .createConnection(origin, connectionSettings, preferredExecutor)
+                .map(this::decorate);
+    }
+
+    @Override
+    public ScheduledExecutorService scheduler() {
+        return connectionFactory.scheduler();
+    }
+
     private Connection decorate(Connection conn) {
-        return new ExpiringConnection(conn, connectionExpirationSeconds, systemClock());
+        return new ExpiringConnection(conn, staggered(connectionExpirationSeconds), systemClock());
+    }
+
+    // Visible for testing
+    static long staggered(long connectionExpirationSeconds) {
+        return connectionExpirationSeconds - ThreadLocalRandom.current().nextLong(connectionExpirationSeconds / STAGGER_DIVISOR + 1);
     }
 }
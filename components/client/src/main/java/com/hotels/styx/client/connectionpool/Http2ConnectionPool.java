@@ -0,0 +1,528 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.client.connectionpool;
+
+import com.hotels.styx.api.Clock;
+import com.hotels.styx.api.HttpInterceptor;
+import com.hotels.styx.api.LiveHttpRequest;
+import com.hotels.styx.api.LiveHttpResponse;
+import com.hotels.styx.api.extension.Origin;
+import com.hotels.styx.api.extension.service.ConnectionPoolSettings;
+import com.hotels.styx.api.extension.service.Http2ConnectionPoolSettings;
+import com.hotels.styx.client.Connection;
+import com.hotels.styx.client.ConnectionSettings;
+import com.hotels.styx.client.Http2Connection;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hotels.styx.api.Clocks.systemClock;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.Objects.requireNonNull;
+import static java.util.Optional.ofNullable;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * A connection pool that multiplexes requests over a small number of HTTP/2 connections.
+ * <p>
+ * Each borrowed {@link Connection} is a single HTTP/2 stream. The pool opens a new connection when
+ * all established connections have reached their stream limit, up to {@code maxConnections}
+ * from the {@link Http2ConnectionPoolSettings}. The pool statistics are reported at the stream level:
+ * busy connections are streams in use, and available connections are the streams that can be
+ * opened on the established connections without having to wait.
+ * <p>
+ * A connection that has expired, or that the origin has told to go away, is drained: it takes no
+ * new streams and does not count towards {@code maxConnections}. It is closed once it has no
+ * active streams, either when its last stream is released or when the pool next looks for a stream.
+ * <p>
+ * Closing the pool fails the subscribers that are still waiting for a stream.
+ */
+public class Http2ConnectionPool implements ConnectionPool, Http2Connection.Listener {
+    private static final Logger LOG = getLogger(Http2ConnectionPool.class);
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final ConnectionPoolSettings poolSettings;
+    private final ConnectionSettings connectionSettings;
+    private final Http2Connection.Factory connectionFactory;
+    private final Origin origin;
+    private final Clock clock;
+
+    private final int maxConnections;
+    private final int minConnections;
+    private final int maxStreamsPerConnection;
+    private final int maxPendingStreams;
+
+    private final List<PooledConnection> connections = new CopyOnWriteArrayList<>();
+    private final ConcurrentLinkedDeque<MonoSink<Connection>> waitingSubscribers = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger borrowedStreams = new AtomicInteger();
+    private final AtomicInteger connectionAttempts = new AtomicInteger();
+    private final AtomicInteger closedConnections = new AtomicInteger();
+    private final AtomicInteger terminatedConnections = new AtomicInteger();
+    private final AtomicInteger connectionFailures = new AtomicInteger();
+    private final AtomicInteger connectionsInEstablishment = new AtomicInteger();
+    private final Http2ConnectionPool.ConnectionPoolStats stats = new Http2ConnectionPool.ConnectionPoolStats();
+    private volatile boolean active;
+
+    public Http2ConnectionPool(Origin origin, ConnectionPoolSettings poolSettings, Http2Connection.Factory connectionFactory) {
+        this(origin, poolSettings, connectionFactory, systemClock());
+    }
+
+    public Http2ConnectionPool(Origin origin, ConnectionPoolSettings poolSettings, Http2Connection.Factory connectionFactory, Clock clock) {
+        this.origin = requireNonNull(origin);
+        this.poolSettings = requireNonNull(poolSettings);
+        this.connectionSettings = new ConnectionSettings(poolSettings.connectTimeoutMillis());
+        this.connectionFactory = requireNonNull(connectionFactory);
+        this.clock = requireNonNull(clock);
+
+        Http2ConnectionPoolSettings http2Settings = poolSettings.http2ConnectionPoolSettings();
+        Http2ConnectionPoolSettings defaults = ConnectionPoolSettings.DEFAULT_HTTP2_CONNECTION_POOL_SETTINGS;
+        this.maxConnections = max(1, ofNullable(http2Settings.getMaxConnections()).orElse(defaults.getMaxConnections()));
+        this.minConnections = min(maxConnections, ofNullable(http2Settings.getMinConnections()).orElse(defaults.getMinConnections()));
+        this.maxStreamsPerConnection = ofNullable(http2Settings.getMaxStreamsPerConnection()).orElse(defaults.getMaxStreamsPerConnection());
+        this.maxPendingStreams = ofNullable(http2Settings.getMaxPendingStreamsPerHost()).orElse(defaults.getMaxPendingStreamsPerHost());
+        this.active = true;
+    }
+
+    @Override
+    public Origin getOrigin() {
+        return origin;
+    }
+
+    @Override
+    public Publisher<Connection> borrowConnection() {
+        if (active) {
+            return Mono.<Connection>create(sink -> {
+                PooledConnection connection = reserveStream();
+                if (connection != null) {
+                    openStream(sink, connection);
+                } else {
+                    if (waitingSubscribers.size() < maxPendingStreams) {
+                        this.waitingSubscribers.add(sink);
+                        sink.onDispose(() -> waitingSubscribers.remove(sink));
+                        if (!active && waitingSubscribers.remove(sink)) {
+                            // Closed while the subscriber was being queued:
+                            sink.error(new IllegalStateException("Pool is closed"));
+                            return;
+                        }
+                        newConnection();
+                        dispatchWaitingSubscribers();
+                    } else {
+                        sink.error(new MaxPendingConnectionsExceededException(
+                                origin,
+                                waitingSubscribers.size(),
+                                maxPendingStreams));
+                    }
+                }
+                if (connectionCount() < minConnections) {
+                    newConnection();
+                }
+            }).timeout(
+                    Duration.ofMillis(poolSettings.pendingConnectionTimeoutMillis()),
+                    Mono.error(() -> new MaxPendingConnectionTimeoutException(origin, poolSettings.pendingConnectionTimeoutMillis())));
+        } else {
+            return Mono.error(() -> new IllegalStateException("Pool is closed"));
+        }
+    }
+
+    private int connectionCount() {
+        return establishedConnectionCount() + connectionsInEstablishment.get();
+    }
+
+    private int establishedConnectionCount() {
+        int established = 0;
+        for (PooledConnection connection : connections) {
+            if (!connection.isDraining()) {
+                established++;
+            }
+        }
+        return established;
+    }
+
+    private PooledConnection reserveStream() {
+        closeIdleDrainingConnections();
+
+        while (true) {
+            PooledConnection leastBusy = null;
+            for (PooledConnection connection : connections) {
+                if (connection.availableStreams() > 0
+                        && (leastBusy == null || connection.activeStreams.get() < leastBusy.activeStreams.get())) {
+                    leastBusy = connection;
+                }
+            }
+
+            if (leastBusy == null) {
+                return null;
+            }
+            if (leastBusy.tryReserveStream()) {
+                return leastBusy;
+            }
+        }
+    }
+
+    private void openStream(MonoSink<Connection> sink, PooledConnection connection) {
+        borrowedStreams.incrementAndGet();
+        connection.delegate.openStream()
+                .subscribe(
+                        stream -> {
+                            PooledStream pooledStream = new PooledStream(connection, stream);
+                            sink.onCancel(() -> returnConnection(pooledStream));
+                            sink.success(pooledStream);
+                        },
+                        cause -> {
+                            borrowedStreams.decrementAndGet();
+                            releaseStream(connection);
+                            sink.error(cause);
+                        });
+    }
+
+    private void dispatchWaitingSubscribers() {
+        while (!waitingSubscribers.isEmpty()) {
+            PooledConnection connection = reserveStream();
+            if (connection == null) {
+                return;
+            }
+
+            MonoSink<Connection> subscriber = waitingSubscribers.poll();
+            if (subscriber == null) {
+                releaseStream(connection);
+                return;
+            }
+            openStream(subscriber, connection);
+        }
+    }
+
+    private void closeIdleDrainingConnections() {
+        for (PooledConnection connection : connections) {
+            if (connection.isDraining()) {
+                closeIfIdle(connection);
+            }
+        }
+    }
+
+    private void closeIfIdle(PooledConnection connection) {
+        if (connection.tryRetire() && connections.remove(connection)) {
+            doCloseConnection(connection.delegate);
+        }
+    }
+
+    private void newConnection() {
+        int inEstablishment;
+        do {
+            inEstablishment = connectionsInEstablishment.get();
+            if (!active || (establishedConnectionCount() + inEstablishment) >= maxConnections) {
+                return;
+            }
+        } while (!connectionsInEstablishment.compareAndSet(inEstablishment, inEstablishment + 1));
+
+        connectionAttempts.incrementAndGet();
+        newConnection(MAX_ATTEMPTS)
+                .subscribe(
+                        connection -> {
+                            connection.addConnectionListener(this);
+                            addConnection(connection);
+                        },
+                        cause -> {
+                            connectionsInEstablishment.decrementAndGet();
+                            connectionFailures.incrementAndGet();
+                            LOG.warn("Failed to establish HTTP/2 connection. origin={}, cause={}", origin, cause.getMessage());
+                        }
+                );
+    }
+
+    private Mono<Http2Connection> newConnection(int attempts) {
+        if (attempts > 0) {
+            return this.connectionFactory.createConnection(this.origin, this.connectionSettings)
+                    .onErrorResume(cause -> newConnection(attempts - 1));
+        } else {
+            return Mono.error(new RuntimeException("Unable to create connection"));
+        }
+    }
+
+    private void addConnection(Http2Connection connection) {
+        if (!active) {
+            connectionsInEstablishment.decrementAndGet();
+            doCloseConnection(connection);
+            return;
+        }
+
+        // The connection is counted as established before it stops counting as being established,
+        // so that concurrent calls to newConnection never see room for one connection too many:
+        connections.add(new PooledConnection(connection, clock.tickMillis()));
+        connectionsInEstablishment.decrementAndGet();
+        dispatchWaitingSubscribers();
+    }
+
+    private void releaseStream(PooledConnection connection) {
+        int remaining = connection.activeStreams.decrementAndGet();
+
+        if (remaining == 0 && (!active || connection.isDraining())) {
+            closeIfIdle(connection);
+        }
+
+        if (active) {
+            dispatchWaitingSubscribers();
+        }
+    }
+
+    @Override
+    public boolean returnConnection(Connection connection) {
+        PooledStream stream = (PooledStream) connection;
+        if (stream.release()) {
+            borrowedStreams.decrementAndGet();
+            if (stream.isConnected()) {
+                stream.close();
+            }
+            releaseStream(stream.owner);
+        }
+        return false;
+    }
+
+    @Override
+    public boolean closeConnection(Connection connection) {
+        PooledStream stream = (PooledStream) connection;
+        if (stream.release()) {
+            borrowedStreams.decrementAndGet();
+            stream.close();
+            releaseStream(stream.owner);
+        }
+        if (active) {
+            newConnection();
+        }
+        return true;
+    }
+
+    private void doCloseConnection(Http2Connection connection) {
+        connection.close();
+        closedConnections.incrementAndGet();
+    }
+
+    @Override
+    public boolean isExhausted() {
+        long usage = (long) borrowedStreams.get() + waitingSubscribers.size();
+        long limit = (long) maxConnections * streamLimit() + maxPendingStreams;
+
+        return usage >= limit;
+    }
+
+    private long streamLimit() {
+        return maxStreamsPerConnection > 0 ? maxStreamsPerConnection : Integer.MAX_VALUE;
+    }
+
+    @Override
+    public ConnectionPoolSettings settings() {
+        return poolSettings;
+    }
+
+    @Override
+    public void connectionClosed(Http2Connection connection) {
+        terminatedConnections.incrementAndGet();
+        connections.removeIf(it -> it.delegate == connection);
+
+        if (active && !waitingSubscribers.isEmpty()) {
+            newConnection();
+        }
+    }
+
+    @Override
+    public void close() {
+        active = false;
+        MonoSink<Connection> subscriber;
+        while ((subscriber = waitingSubscribers.poll()) != null) {
+            subscriber.error(new IllegalStateException("Pool is closed"));
+        }
+        for (PooledConnection connection : connections) {
+            closeIfIdle(connection);
+        }
+    }
+
+    @Override
+    public ConnectionPool.Stats stats() {
+        return this.stats;
+    }
+
+    /**
+     * An established HTTP/2 connection, and the number of streams borrowed from it. The stream count
+     * is set to -1 when the connection is retired, so that no more streams can be reserved on it.
+     */
+    private final class PooledConnection {
+        private final Http2Connection delegate;
+        private final long createdAtMillis;
+        private final AtomicInteger activeStreams = new AtomicInteger();
+
+        private PooledConnection(Http2Connection delegate, long createdAtMillis) {
+            this.delegate = delegate;
+            this.createdAtMillis = createdAtMillis;
+        }
+
+        int maxStreams() {
+            int remoteLimit = delegate.maxConcurrentStreams();
+            return maxStreamsPerConnection > 0 ? min(maxStreamsPerConnection, remoteLimit) : remoteLimit;
+        }
+
+        int availableStreams() {
+            int current = activeStreams.get();
+            return isDraining() || current < 0 ? 0 : max(0, maxStreams() - current);
+        }
+
+        boolean tryReserveStream() {
+            int current = activeStreams.get();
+            return current >= 0 && current < maxStreams() && activeStreams.compareAndSet(current, current + 1);
+        }
+
+        boolean tryRetire() {
+            return activeStreams.compareAndSet(0, -1);
+        }
+
+        boolean isDraining() {
+            return !delegate.isConnected() || isExpired();
+        }
+
+        private boolean isExpired() {
+            long expirationSeconds = poolSettings.connectionExpirationSeconds();
+            return expirationSeconds > 0 && clock.tickMillis() - createdAtMillis >= SECONDS.toMillis(expirationSeconds);
+        }
+    }
+
+    /**
+     * A stream borrowed from a pooled connection.
+     */
+    private static final class PooledStream implements Connection {
+        private final PooledConnection owner;
+        private final Connection stream;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private PooledStream(PooledConnection owner, Connection stream) {
+            this.owner = owner;
+            this.stream = stream;
+        }
+
+        boolean release() {
+            return released.compareAndSet(false, true);
+        }
+
+        @Override
+        public Flux<LiveHttpResponse> write(LiveHttpRequest request, HttpInterceptor.Context context) {
+            return stream.write(request, context);
+        }
+
+        @Override
+        public boolean isConnected() {
+            return stream.isConnected();
+        }
+
+        @Override
+        public Origin getOrigin() {
+            return stream.getOrigin();
+        }
+
+        @Override
+        public void addConnectionListener(Listener listener) {
+            stream.addConnectionListener(listener);
+        }
+
+        @Override
+        public void close() {
+            stream.close();
+        }
+
+        @Override
+        public String toString() {
+            return stream.toString();
+        }
+    }
+
+    private class ConnectionPoolStats implements Stats {
+
+        @Override
+        public int availableConnectionCount() {
+            int available = 0;
+            for (PooledConnection connection : connections) {
+                available += connection.availableStreams();
+            }
+            return available;
+        }
+
+        @Override
+        public int busyConnectionCount() {
+            return borrowedStreams.get();
+        }
+
+        @Override
+        public int pendingConnectionCount() {
+            return waitingSubscribers.size();
+        }
+
+        @Override
+        public int connectionAttempts() {
+            return connectionAttempts.get();
+        }
+
+        @Override
+        public int connectionFailures() {
+            return connectionFailures.get();
+        }
+
+        @Override
+        public int closedConnections() {
+            return closedConnections.get();
+        }
+
+        @Override
+        public int terminatedConnections() {
+            return terminatedConnections.get();
+        }
+
+        @Override
+        public int connectionsInEstablishment() {
+            return connectionsInEstablishment.get();
+        }
+
+        @Override
+        public String toString() {
+            return new StringBuilder(256)
+                    .append(this.getClass().getSimpleName())
+                    .append("{\nconnections=")
+                    .append(connections.size())
+                    .append(", \navailableStreams=")
+                    .append(availableConnectionCount())
+                    .append(", \npendingStreams=")
+                    .append(pendingConnectionCount())
+                    .append(", \nbusyStreams=")
+                    .append(busyConnectionCount())
+                    .append(", \nconnectionAttempts=")
+                    .append(connectionAttempts())
+                    .append(", \nconnectionFailures=")
+                    .append(connectionFailures())
+                    .append(", \nclosedConnections=")
+                    .append(closedConnections())
+                    .append(", \nterminatedConnections=")
+                    .append(terminatedConnections())
+                    .append('}')
+                    .toString();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.client.connectionpool;
+
+import com.hotels.styx.api.extension.Origin;
+import com.hotels.styx.api.extension.service.ConnectionPoolSettings;
+import com.hotels.styx.client.Http2Connection;
+import com.hotels.styx.metrics.CentralisedMetrics;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Creates {@link Http2ConnectionPool}s that report their statistics to the connection pool metrics.
+ */
+public final class Http2ConnectionPoolFactory implements ConnectionPool.Factory {
+    private final Http2Connection.Factory connectionFactory;
+    private final ConnectionPoolSettings poolSettings;
+    private final CentralisedMetrics metrics;
+
+    private Http2ConnectionPoolFactory(Builder builder) {
+        this.connectionFactory = requireNonNull(builder.connectionFactory);
+        this.poolSettings = new ConnectionPoolSettings.Builder(requireNonNull(builder.poolSettings)).build();
+        this.metrics = requireNonNull(builder.metrics);
+    }
+
+    @Override
+    public ConnectionPool create(Origin origin) {
+        return new StatsReportingConnectionPool(new Http2ConnectionPool(origin, poolSettings, connectionFactory), metrics);
+    }
+
+    /**
+     * Builder for connection pool factory.
+     */
+    public static final class Builder {
+        private Http2Connection.Factory connectionFactory;
+        private ConnectionPoolSettings poolSettings;
+        private CentralisedMetrics metrics;
+
+        public Builder connectionFactory(Http2Connection.Factory connectionFactory) {
+            this.connectionFactory = connectionFactory;
+            return this;
+        }
+
+        public Builder connectionPoolSettings(ConnectionPoolSettings poolSettings) {
+            this.poolSettings = poolSettings;
+            return this;
+        }
+
+        public Builder metrics(CentralisedMetrics metrics) {
+            this.metrics = requireNonNull(metrics);
+            return this;
+        }
+
+        public Http2ConnectionPoolFactory build() {
+            return new Http2ConnectionPoolFactory(this);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.client.connectionpool;
+
+import com.hotels.styx.api.extension.service.ConnectionPoolSettings;
+import org.slf4j.Logger;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.IntSupplier;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Keeps the minimum number of idle connections of a connection pool open, so that requests do not wait for
+ * new connections after a deploy, or when an origin is added.
+ * <p>
+ * The connections are opened in the background, once a second, and at most as many at a time as the warm-up
+ * rate allows. A connection that is being established counts as idle. No connections are opened while the
+ * origin is not active, as they would only time out or fail.
+ */
+final class IdleConnectionKeeper {
+    private static final Logger LOGGER = getLogger(IdleConnectionKeeper.class);
+
+    private final int minIdleConnections;
+    private final int warmUpConnectionsPerSecond;
+    private final IntSupplier idleConnections;
+    private final Runnable newConnection;
+    private final ScheduledFuture<?> future;
+    private volatile boolean originActive = true;
+
+    private IdleConnectionKeeper(ConnectionPoolSettings poolSettings, ScheduledExecutorService scheduler,
+                                 IntSupplier idleConnections, Runnable newConnection) {
+        this.minIdleConnections = poolSettings.minIdleConnectionsPerHost();
+        this.warmUpConnectionsPerSecond = Math.max(1, poolSettings.warmUpConnectionsPerSecond());
+        this.idleConnections = idleConnections;
+        this.newConnection = newConnection;
+        this.future = scheduler.scheduleWithFixedDelay(this::keepIdleConnections, 0, 1, SECONDS);
+    }
+
+    /**
+     * Starts keeping idle connections, if the pool settings ask for them and there is a scheduler to do it on.
+     *
+     * @param poolSettings    pool settings
+     * @param scheduler       scheduler to open the connections on, or null
+     * @param idleConnections supplies the number of idle connections of the pool
+     * @param newConnection   opens a new connection for the pool
+     * @return a keeper to stop when the pool closes, or null if idle connections are not kept
+     */
+    static IdleConnectionKeeper start(ConnectionPoolSettings poolSettings, ScheduledExecutorService scheduler,
+                                      IntSupplier idleConnections, Runnable newConnection) {
+        return poolSettings.minIdleConnectionsPerHost() > 0 && scheduler != null
+                ? new IdleConnectionKeeper(poolSettings, scheduler, idleConnections, newConnection)
+                : null;
+    }
+
+    // Visible for testing
+    void keepIdleConnections() {
+        if (!originActive) {
+            return;
+        }
+        try {
+            int missing = Math.min(minIdleConnections - idleConnections.getAsInt(), warmUpConnectionsPerSecond);
+            for (int i = 0; i < missing; i++) {
+                newConnection.run();
+            }
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to open idle connections", e);
+        }
+    }
+
+    void originActive(boolean active) {
+        this.originActive = active;
+    }
+
+    void stop() {
+        future.cancel(false);
+    }
+}
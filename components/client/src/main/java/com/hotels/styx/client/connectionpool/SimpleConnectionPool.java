@@ -54,6 +54,7 @@ public class SimpleConnectionPool implements ConnectionPool, Connection.Listener
     private final AtomicInteger terminatedConnections = new AtomicInteger();
     private final AtomicInteger connectionFailures = new AtomicInteger();
     private final AtomicInteger connectionsInEstablishment = new AtomicInteger();
+    private final IdleConnectionKeeper idleConnectionKeeper;
     private volatile boolean active;
 
 
@@ -65,6 +66,7 @@ public class SimpleConnectionPool implements ConnectionPool, Connection.Listener
         this.availableConnections = new ConcurrentLinkedDeque<>();
         this.waitingSubscribers = new ConcurrentLinkedDeque<>();
         this.active = true;
+        this.idleConnectionKeeper = IdleConnectionKeeper.start(poolSettings, connectionFactory.scheduler(), this::idleConnectionCount, this::newConnection);
     }
 
     public Origin getOrigin() {
@@ -131,6 +133,11 @@ public class SimpleConnectionPool implements ConnectionPool, Connection.Listener
         }
     }
 
+    private int idleConnectionCount() {
+        availableConnections.removeIf(connection -> !connection.isConnected());
+        return availableConnections.size() + connectionsInEstablishment.get();
+    }
+
     // Visible for testing
     Connection dequeue() {
         Connection connection = availableConnections.poll();
@@ -204,9 +211,19 @@ public class SimpleConnectionPool implements ConnectionPool, Connection.Listener
         availableConnections.remove(connection);
     }
 
+    @Override
+    public void originActive(boolean originActive) {
+        if (idleConnectionKeeper != null) {
+            idleConnectionKeeper.originActive(originActive);
+        }
+    }
+
     @Override
     public void close() {
         active = false;
+        if (idleConnectionKeeper != null) {
+            idleConnectionKeeper.stop();
+        }
         Connection con;
         while ((con = availableConnections.poll()) != null) {
             if (con.isConnected()) {
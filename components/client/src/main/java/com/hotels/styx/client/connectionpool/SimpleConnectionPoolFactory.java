@@ -41,7 +41,11 @@ public final class SimpleConnectionPoolFactory implements ConnectionPool.Factory
 
     @Override
     public ConnectionPool create(Origin origin) {
-        return new StatsReportingConnectionPool(new SimpleConnectionPool(origin, poolSettings, connectionFactory), metrics);
+        ConnectionPool pool = poolSettings.eventLoopAffinity()
+                ? new EventLoopAffinityConnectionPool(origin, poolSettings, connectionFactory)
+                : new SimpleConnectionPool(origin, poolSettings, connectionFactory);
+
+        return new StatsReportingConnectionPool(pool, metrics);
     }
 
     /**
@@ -25,12 +25,10 @@ import com.hotels.styx.api.configuration.Configuration;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
-import static java.util.Collections.shuffle;
-import static java.util.Comparator.comparingInt;
+import static com.hotels.styx.client.loadbalancing.strategies.Snapshots.asList;
 import static java.util.Objects.requireNonNull;
-import static java.util.stream.StreamSupport.stream;
+import static java.util.concurrent.ThreadLocalRandom.current;
 
 
 /**
@@ -56,12 +54,26 @@ public class BusyActivitiesStrategy implements LoadBalancer {
 
     @Override
     public Optional<RemoteHost> choose(LoadBalancer.Preferences preferences) {
-        List<RemoteHost> snapshot = stream(activeOrigins.snapshot().spliterator(), false)
-                .collect(Collectors.toList());
+        List<RemoteHost> hosts = asList(activeOrigins.snapshot());
 
-        shuffle(snapshot);
+        RemoteHost chosen = null;
+        int leastActivities = Integer.MAX_VALUE;
+        int ties = 0;
 
-        return snapshot.stream()
-                .min(comparingInt(host -> host.metric().ongoingActivities()));
+        for (int i = 0; i < hosts.size(); i++) {
+            RemoteHost host = hosts.get(i);
+            int activities = host.metric().ongoingActivities();
+
+            if (activities < leastActivities) {
+                chosen = host;
+                leastActivities = activities;
+                ties = 1;
+            } else if (activities == leastActivities && current().nextInt(++ties) == 0) {
+                // Breaks ties uniformly at random, as one pass reservoir sampling:
+                chosen = host;
+            }
+        }
+
+        return Optional.ofNullable(chosen);
     }
 }
@@ -0,0 +1,105 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.client.loadbalancing.strategies;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static java.lang.Double.doubleToRawLongBits;
+import static java.lang.Double.longBitsToDouble;
+import static java.lang.Math.exp;
+import static java.lang.Math.max;
+
+/**
+ * A decaying, peak sensitive estimate of response latency for one remote host.
+ * <p>
+ * Each sample is blended into an exponentially weighted moving average, where the weight of the
+ * previous estimate decays with the time elapsed since the last sample. A sample above the current
+ * estimate replaces it outright, so that a slowing host is noticed at once, while recovery is
+ * gradual. Reads decay the estimate towards zero, so that hosts which stop receiving traffic
+ * because they were slow are eventually tried again.
+ * <p>
+ * Failures are recorded as a penalty rather than as the time they took. A host that fails fast
+ * would otherwise look like the fastest host and attract even more traffic.
+ * <p>
+ * Updates are lock free.
+ */
+public class PeakEwmaLatency {
+    public static final Duration DEFAULT_DECAY_TIME = Duration.ofSeconds(10);
+    public static final Duration MINIMUM_PENALTY = Duration.ofSeconds(1);
+    public static final double PENALTY_FACTOR = 2.0;
+
+    private final double decayNanos;
+    private final double minimumPenaltyNanos = MINIMUM_PENALTY.toNanos();
+    private final LongSupplier nanoClock;
+    private final AtomicLong estimate = new AtomicLong(doubleToRawLongBits(0.0));
+    private volatile long lastUpdateNanos;
+
+    public PeakEwmaLatency() {
+        this(DEFAULT_DECAY_TIME, System::nanoTime);
+    }
+
+    // Visible for testing
+    PeakEwmaLatency(Duration decayTime, LongSupplier nanoClock) {
+        this.decayNanos = decayTime.toNanos();
+        this.nanoClock = nanoClock;
+        this.lastUpdateNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Records a latency sample.
+     *
+     * @param latencyNanos observed latency in nanoseconds
+     */
+    public void update(long latencyNanos) {
+        long now = nanoClock.getAsLong();
+        double weight = weight(now);
+
+        long previousBits;
+        double next;
+        do {
+            previousBits = estimate.get();
+            double previous = longBitsToDouble(previousBits);
+            next = latencyNanos > previous
+                    ? latencyNanos
+                    : previous * weight + latencyNanos * (1 - weight);
+        } while (!estimate.compareAndSet(previousBits, doubleToRawLongBits(next)));
+
+        lastUpdateNanos = now;
+    }
+
+    /**
+     * Records a failed exchange. The sample is the current peak estimate multiplied by
+     * {@link #PENALTY_FACTOR}, and at least {@link #MINIMUM_PENALTY}.
+     */
+    public void penalise() {
+        update((long) max(longBitsToDouble(estimate.get()) * PENALTY_FACTOR, minimumPenaltyNanos));
+    }
+
+    /**
+     * Returns the current latency estimate, decayed for the time elapsed since the last sample.
+     *
+     * @return latency estimate in nanoseconds, or 0 if no samples have been recorded
+     */
+    public long estimateNanos() {
+        return (long) (longBitsToDouble(estimate.get()) * weight(nanoClock.getAsLong()));
+    }
+
+    private double weight(long now) {
+        return exp(-max(0, now - lastUpdateNanos) / decayNanos);
+    }
+}
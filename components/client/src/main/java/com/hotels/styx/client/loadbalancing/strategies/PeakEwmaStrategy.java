@@ -0,0 +1,98 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.client.loadbalancing.strategies;
+
+import com.hotels.styx.api.Environment;
+import com.hotels.styx.api.configuration.Configuration;
+import com.hotels.styx.api.extension.ActiveOrigins;
+import com.hotels.styx.api.extension.RemoteHost;
+import com.hotels.styx.api.extension.loadbalancing.spi.LoadBalancer;
+import com.hotels.styx.api.extension.loadbalancing.spi.LoadBalancerFactory;
+import com.hotels.styx.api.extension.loadbalancing.spi.LoadBalancingMetric;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static com.hotels.styx.client.loadbalancing.strategies.Snapshots.asList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A latency aware load balancing strategy. Selects two hosts randomly, and chooses the one with the lower
+ * cost, where the cost is the host's peak-EWMA latency estimate multiplied by its ongoing activities plus one.
+ * <p>
+ * A host without a latency estimate costs nothing while it is idle, so that new hosts are tried promptly,
+ * and is heavily penalised while busy.
+ */
+public class PeakEwmaStrategy implements LoadBalancer {
+    private static final double PENALTY = Long.MAX_VALUE >> 16;
+
+    private final ActiveOrigins activeOrigins;
+    private final Random rng;
+
+    // Visible for testing
+    PeakEwmaStrategy(ActiveOrigins activeOrigins, Random rng) {
+        this.activeOrigins = requireNonNull(activeOrigins);
+        this.rng = requireNonNull(rng);
+    }
+
+    public PeakEwmaStrategy(ActiveOrigins activeOrigins) {
+        this(activeOrigins, new Random());
+    }
+
+    /**
+     * A load balancing strategy that favours the origin with the least expected latency.
+     */
+    public static class Factory implements LoadBalancerFactory {
+        @Override
+        public LoadBalancer create(Environment environment, Configuration strategyConfiguration, ActiveOrigins activeOrigins) {
+            return new PeakEwmaStrategy(activeOrigins);
+        }
+    }
+
+    @Override
+    public Optional<RemoteHost> choose(LoadBalancer.Preferences preferences) {
+        List<RemoteHost> hosts = asList(activeOrigins.snapshot());
+
+        if (hosts.isEmpty()) {
+            return Optional.empty();
+        } else if (hosts.size() == 1) {
+            return Optional.of(hosts.get(0));
+        } else {
+            int i1 = rng.nextInt(hosts.size());
+            int i2 = rng.nextInt(hosts.size() - 1);
+            if (i2 >= i1) {
+                i2++;
+            }
+
+            return Optional.of(betterOf(hosts.get(i1), hosts.get(i2)));
+        }
+    }
+
+    private static RemoteHost betterOf(RemoteHost host1, RemoteHost host2) {
+        return cost(host1.metric()) <= cost(host2.metric()) ? host1 : host2;
+    }
+
+    private static double cost(LoadBalancingMetric metric) {
+        long latency = metric.latencyEstimateNanos();
+        int ongoing = metric.ongoingActivities();
+
+        if (latency == 0) {
+            return ongoing == 0 ? 0 : PENALTY + ongoing;
+        }
+        return (double) latency * (ongoing + 1);
+    }
+}
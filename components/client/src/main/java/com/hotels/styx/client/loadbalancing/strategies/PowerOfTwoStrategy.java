@@ -23,10 +23,11 @@ import com.hotels.styx.api.extension.RemoteHost;
 import com.hotels.styx.api.extension.loadbalancing.spi.LoadBalancer;
 import com.hotels.styx.api.extension.loadbalancing.spi.LoadBalancerFactory;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Random;
 
-import static com.hotels.styx.javaconvenience.UtilKt.array;
+import static com.hotels.styx.client.loadbalancing.strategies.Snapshots.asList;
 import static java.util.Objects.requireNonNull;
 
 
@@ -60,17 +61,17 @@ public class PowerOfTwoStrategy implements LoadBalancer {
 
     @Override
     public Optional<RemoteHost> choose(LoadBalancer.Preferences preferences) {
-        RemoteHost[] hosts = array(activeOrigins.snapshot(), RemoteHost.class);
+        List<RemoteHost> hosts = asList(activeOrigins.snapshot());
 
-        if (hosts.length == 0) {
+        if (hosts.isEmpty()) {
             return Optional.empty();
-        } else if (hosts.length == 1) {
-            return Optional.of(hosts[0]);
+        } else if (hosts.size() == 1) {
+            return Optional.of(hosts.get(0));
         } else {
-            int i1 = rng.nextInt(hosts.length);
-            int i2 = drawFromRemaining(hosts.length, i1);
+            int i1 = rng.nextInt(hosts.size());
+            int i2 = drawFromRemaining(hosts.size(), i1);
 
-            return Optional.of(betterOf(hosts[i1], hosts[i2]));
+            return Optional.of(betterOf(hosts.get(i1), hosts.get(i2)));
         }
     }
 
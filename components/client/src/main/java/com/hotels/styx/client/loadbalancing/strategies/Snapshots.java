@@ -0,0 +1,44 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.client.loadbalancing.strategies;
+
+import java.util.List;
+import java.util.RandomAccess;
+
+import static com.hotels.styx.javaconvenience.UtilKt.iterableToList;
+
+/**
+ * Helpers for reading active origin snapshots.
+ */
+final class Snapshots {
+    private Snapshots() {
+    }
+
+    /**
+     * Provides indexed access to a snapshot. Snapshots from the origins inventory are
+     * immutable random access lists, and are returned as they are. Other iterables are copied.
+     *
+     * @param snapshot a snapshot of origins
+     * @param <T> element type
+     * @return a random access list
+     */
+    static <T> List<T> asList(Iterable<T> snapshot) {
+        if (snapshot instanceof List && snapshot instanceof RandomAccess) {
+            return (List<T>) snapshot;
+        }
+        return iterableToList(snapshot);
+    }
+}
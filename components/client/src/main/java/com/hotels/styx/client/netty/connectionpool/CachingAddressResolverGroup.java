@@ -0,0 +1,125 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.client.netty.connectionpool;
+
+import com.hotels.styx.metrics.CentralisedMetrics;
+import io.netty.resolver.AddressResolver;
+import io.netty.resolver.AddressResolverGroup;
+import io.netty.resolver.InetNameResolver;
+import io.netty.resolver.RoundRobinInetAddressResolver;
+import io.netty.util.NetUtil;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Promise;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Resolves origin host names for netty bootstraps, asynchronously and through the JVM's address cache.
+ * <p>
+ * Each connection is made to a randomly chosen address of the host name, so that the connections to an origin
+ * with several A/AAAA records are spread across all of them.
+ * <p>
+ * A resolver group keeps a resolver, and a termination listener, for each event loop it has served. So a server
+ * creates one group, shares it between all the connection factories it creates, and closes it when it stops.
+ */
+public class CachingAddressResolverGroup extends AddressResolverGroup<InetSocketAddress> {
+    // For connection factories that are not given a group. It records no metrics, and is never closed.
+    static final CachingAddressResolverGroup DEFAULT = new CachingAddressResolverGroup(null);
+
+    private final HostNameLookups lookups;
+    private final ExecutorService lookupExecutor;
+    private final CentralisedMetrics metrics;
+
+    /**
+     * Creates a resolver group with its own lookup threads.
+     *
+     * @param metrics metrics to record name lookups in, or null
+     */
+    public CachingAddressResolverGroup(CentralisedMetrics metrics) {
+        this(HostNameLookups.lookupExecutor(), metrics);
+    }
+
+    private CachingAddressResolverGroup(ExecutorService lookupExecutor, CentralisedMetrics metrics) {
+        this(new HostNameLookups(InetAddress::getAllByName, lookupExecutor), lookupExecutor, metrics);
+    }
+
+    // Visible for testing
+    CachingAddressResolverGroup(HostNameLookups lookups, ExecutorService lookupExecutor, CentralisedMetrics metrics) {
+        this.lookups = requireNonNull(lookups);
+        this.lookupExecutor = requireNonNull(lookupExecutor);
+        this.metrics = metrics;
+    }
+
+    /**
+     * Closes the resolvers of all the event loops, and stops the lookup threads.
+     */
+    @Override
+    public void close() {
+        super.close();
+        lookupExecutor.shutdown();
+    }
+
+    @Override
+    protected AddressResolver<InetSocketAddress> newResolver(EventExecutor executor) {
+        return new RoundRobinInetAddressResolver(executor, new CachingNameResolver(executor)).asAddressResolver();
+    }
+
+    private final class CachingNameResolver extends InetNameResolver {
+        CachingNameResolver(EventExecutor executor) {
+            super(executor);
+        }
+
+        @Override
+        protected void doResolve(String inetHost, Promise<InetAddress> promise) {
+            resolveAll(inetHost, promise, addresses -> promise.trySuccess(addresses.get(0)));
+        }
+
+        @Override
+        protected void doResolveAll(String inetHost, Promise<List<InetAddress>> promise) {
+            resolveAll(inetHost, promise, promise::trySuccess);
+        }
+
+        private void resolveAll(String inetHost, Promise<?> promise, Consumer<List<InetAddress>> onSuccess) {
+            byte[] literal = NetUtil.createByteArrayFromIpAddressString(inetHost);
+            CompletableFuture<List<InetAddress>> addresses = literal != null
+                    ? literalAddress(inetHost, literal)
+                    : lookups.resolveAll(inetHost, metrics);
+
+            addresses.whenComplete((resolved, cause) -> {
+                if (cause != null) {
+                    promise.tryFailure(cause);
+                } else {
+                    onSuccess.accept(resolved);
+                }
+            });
+        }
+
+        private CompletableFuture<List<InetAddress>> literalAddress(String inetHost, byte[] literal) {
+            try {
+                return CompletableFuture.completedFuture(List.of(InetAddress.getByAddress(inetHost, literal)));
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
-  Copyright (C) 2013-2022 Expedia Inc.
+  Copyright (C) 2013-2026 Expedia Inc.
 
   Licensed under the Apache License, Version 2.0 (the "License");
   you may not use this file except in compliance with the License.
@@ -131,6 +131,8 @@ class FlowControllingHttpContentProducer {
                 .transition(COMPLETED, RxBackpressureRequestEvent.class, ev -> COMPLETED)
                 .transition(COMPLETED, ContentSubscribedEvent.class, this::contentSubscribedInCompletedState)
                 .transition(COMPLETED, DelayedTearDownEvent.class, ev -> COMPLETED)
+                // An HTTP/2 stream channel is closed as soon as the response has been received:
+                .transition(COMPLETED, ChannelInactiveEvent.class, ev -> COMPLETED)
 
                 .transition(TERMINATED, ContentChunkEvent.class, this::spuriousContentChunkEvent)
                 .transition(TERMINATED, ContentSubscribedEvent.class, this::contentSubscribedInTerminatedState)
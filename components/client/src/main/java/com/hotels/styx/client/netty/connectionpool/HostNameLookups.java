@@ -0,0 +1,133 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.client.netty.connectionpool;
+
+import com.hotels.styx.metrics.CentralisedMetrics;
+import com.hotels.styx.metrics.TimerMetric;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Looks up host names asynchronously, on a small pool of lookup threads, so that a slow name server never blocks
+ * an event loop. Concurrent resolutions of a name share a single lookup.
+ * <p>
+ * Addresses are not cached here. The JDK's address cache, which follows the {@code networkaddress.cache.ttl} and
+ * {@code networkaddress.cache.negative.ttl} security properties, is the only cache. A second cache on top of it would
+ * keep addresses for up to twice as long as those properties allow.
+ * <p>
+ * The lookup queue is bounded. When it is full, a resolution fails instead of waiting behind a slow name server.
+ */
+final class HostNameLookups {
+    private static final int LOOKUP_THREADS = 4;
+    private static final int MAX_QUEUED_LOOKUPS = 1024;
+
+    private final Lookup lookup;
+    private final Executor lookupExecutor;
+    private final ConcurrentHashMap<String, CompletableFuture<List<InetAddress>>> inProgress = new ConcurrentHashMap<>();
+
+    HostNameLookups(Lookup lookup, Executor lookupExecutor) {
+        this.lookup = requireNonNull(lookup);
+        this.lookupExecutor = requireNonNull(lookupExecutor);
+    }
+
+    /**
+     * Looks up all the addresses of a host name.
+     */
+    @FunctionalInterface
+    interface Lookup {
+        InetAddress[] lookup(String hostname) throws UnknownHostException;
+    }
+
+    /**
+     * Resolves a host name to all its addresses, joining a lookup of the same name if one is in progress.
+     *
+     * @param hostname a host name
+     * @param metrics  metrics to record the lookup in, or null
+     * @return the addresses, or a failure if the name cannot be resolved
+     */
+    CompletableFuture<List<InetAddress>> resolveAll(String hostname, CentralisedMetrics metrics) {
+        CompletableFuture<List<InetAddress>> fresh = new CompletableFuture<>();
+        CompletableFuture<List<InetAddress>> existing = inProgress.putIfAbsent(hostname, fresh);
+        if (existing != null) {
+            if (metrics != null) {
+                metrics.proxy().client().nameLookupsShared().increment();
+            }
+            return existing;
+        }
+
+        lookup(hostname, fresh, metrics);
+        return fresh;
+    }
+
+    private void lookup(String hostname, CompletableFuture<List<InetAddress>> addresses, CentralisedMetrics metrics) {
+        TimerMetric.Stopper stopper = metrics == null ? null : metrics.proxy().client().nameLookupLatency().startTiming();
+        try {
+            lookupExecutor.execute(() -> {
+                try {
+                    List<InetAddress> resolved = List.of(lookup.lookup(hostname));
+                    inProgress.remove(hostname, addresses);
+                    addresses.complete(resolved);
+                } catch (Exception e) {
+                    if (metrics != null) {
+                        metrics.proxy().client().nameLookupFailures().increment();
+                    }
+                    inProgress.remove(hostname, addresses);
+                    addresses.completeExceptionally(e);
+                } finally {
+                    if (stopper != null) {
+                        stopper.stop();
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            // The lookup queue is full, or the lookup threads have been shut down:
+            inProgress.remove(hostname, addresses);
+            addresses.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Creates the lookup threads for a resolver group. They are daemon threads that time out when idle.
+     *
+     * @return an executor with a bounded queue
+     */
+    static ExecutorService lookupExecutor() {
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "Styx-NameResolver-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                LOOKUP_THREADS, LOOKUP_THREADS, 60, SECONDS, new ArrayBlockingQueue<>(MAX_QUEUED_LOOKUPS), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,264 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.client.netty.connectionpool;
+
+import com.hotels.styx.NettyExecutor;
+import com.hotels.styx.api.exceptions.OriginUnreachableException;
+import com.hotels.styx.api.extension.Origin;
+import com.hotels.styx.api.extension.service.TlsSettings;
+import com.hotels.styx.client.ChannelOptionSetting;
+import com.hotels.styx.client.ConnectionSettings;
+import com.hotels.styx.client.Http2Connection;
+import com.hotels.styx.client.HttpConfig;
+import com.hotels.styx.client.HttpRequestOperationFactory;
+import com.hotels.styx.client.ssl.SslContextFactory;
+import com.hotels.styx.metrics.CentralisedMetrics;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelPipeline;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.ssl.ApplicationProtocolNegotiationHandler;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslHandler;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.Optional;
+
+import static com.hotels.styx.client.HttpConfig.defaultHttpConfig;
+import static com.hotels.styx.client.HttpRequestOperationFactory.Builder.httpRequestOperationFactoryBuilder;
+import static com.hotels.styx.client.netty.connectionpool.OriginSslHandlers.newSslHandler;
+import static com.hotels.styx.client.netty.connectionpool.OriginSslHandlers.recordHandshake;
+import static io.netty.channel.ChannelOption.ALLOCATOR;
+import static io.netty.channel.ChannelOption.CONNECT_TIMEOUT_MILLIS;
+import static io.netty.channel.ChannelOption.SO_KEEPALIVE;
+import static io.netty.channel.ChannelOption.TCP_NODELAY;
+import static io.netty.handler.ssl.ApplicationProtocolNames.HTTP_1_1;
+import static io.netty.handler.ssl.ApplicationProtocolNames.HTTP_2;
+import static java.lang.System.currentTimeMillis;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A connection factory that creates HTTP/2 connections using netty.
+ * <p>
+ * Secure connections negotiate HTTP/2 (h2) with ALPN. Plain text connections
+ * use HTTP/2 with prior knowledge (h2c).
+ */
+public class Http2ConnectionFactory implements Http2Connection.Factory {
+    private static final ChannelHandler REJECT_PUSHED_STREAMS = new RejectPushedStreams();
+
+    private final HttpConfig httpConfig;
+    private final SslContext sslContext;
+    private final boolean sendSni;
+    private final Optional<String> sniHost;
+    private final HttpRequestOperationFactory httpRequestOperationFactory;
+    private final NettyExecutor executor;
+    private final CachingAddressResolverGroup resolver;
+    private final CentralisedMetrics metrics;
+    private Bootstrap bootstrap;
+
+    private Http2ConnectionFactory(Builder builder) {
+        this.executor = requireNonNull(builder.executor, "executor is required");
+        this.httpConfig = requireNonNull(builder.httpConfig);
+        this.sslContext = builder.tlsSettings == null ? null : SslContextFactory.getHttp2(builder.tlsSettings);
+        this.httpRequestOperationFactory = requireNonNull(builder.httpRequestOperationFactory);
+        this.sendSni = builder.tlsSettings != null && builder.tlsSettings.sendSni();
+        this.sniHost = builder.tlsSettings != null ? builder.tlsSettings.sniHost() : Optional.empty();
+        this.resolver = requireNonNull(builder.addressResolverGroup);
+        this.metrics = builder.metrics;
+    }
+
+    @Override
+    public Mono<Http2Connection> createConnection(Origin origin, ConnectionSettings connectionSettings) {
+        return Mono.create(sink -> {
+            ChannelFuture channelFuture = openConnection(origin, connectionSettings);
+
+            channelFuture.addListener(future -> {
+                if (future.isSuccess()) {
+                    addChannelHandlers(origin, channelFuture.channel(), sink);
+                } else {
+                    sink.error(new OriginUnreachableException(origin, future.cause()));
+                }
+            });
+        });
+    }
+
+    private void addChannelHandlers(Origin origin, Channel channel, MonoSink<Http2Connection> sink) {
+        if (sslContext == null) {
+            addHttp2Handlers(channel.pipeline());
+            sink.success(new NettyHttp2Connection(origin, channel, httpRequestOperationFactory, httpConfig));
+            return;
+        }
+
+        long handshakeStart = currentTimeMillis();
+        SslHandler sslHandler = newSslHandler(sslContext, channel, sendSni ? sniHost.orElse(origin.host()) : null, origin.port());
+        channel.pipeline().addLast("ssl", sslHandler);
+        recordHandshake(sslHandler, handshakeStart, origin, metrics);
+        channel.pipeline().addLast("alpn", new ApplicationProtocolNegotiationHandler(HTTP_1_1) {
+            @Override
+            protected void configurePipeline(ChannelHandlerContext ctx, String protocol) {
+                if (HTTP_2.equals(protocol)) {
+                    addHttp2Handlers(ctx.pipeline());
+                    sink.success(new NettyHttp2Connection(origin, ctx.channel(), httpRequestOperationFactory, httpConfig));
+                } else {
+                    ctx.close();
+                    sink.error(new OriginUnreachableException(origin,
+                            new IllegalStateException("Origin did not negotiate HTTP/2. protocol=" + protocol)));
+                }
+            }
+
+            @Override
+            protected void handshakeFailure(ChannelHandlerContext ctx, Throwable cause) {
+                ctx.close();
+                sink.error(new OriginUnreachableException(origin, cause));
+            }
+        });
+    }
+
+    private void addHttp2Handlers(ChannelPipeline pipeline) {
+        Http2Settings settings = Http2Settings.defaultSettings()
+                .pushEnabled(false)
+                .maxHeaderListSize(httpConfig.maxHeadersSize());
+
+        pipeline.addLast("http2-frame-codec", Http2FrameCodecBuilder.forClient().initialSettings(settings).build());
+        pipeline.addLast("http2-multiplexer", new Http2MultiplexHandler(REJECT_PUSHED_STREAMS));
+    }
+
+    private ChannelFuture openConnection(Origin origin, ConnectionSettings connectionSettings) {
+        bootstrap(connectionSettings);
+        return bootstrap.connect(origin.host(), origin.port());
+    }
+
+    private synchronized void bootstrap(ConnectionSettings connectionSettings) {
+        if (bootstrap == null) {
+            bootstrap = new Bootstrap();
+            bootstrap.group(executor.eventLoopGroup())
+                    .channel(executor.clientEventLoopClass())
+                    .handler(new Initializer())
+                    .resolver(resolver)
+                    .option(TCP_NODELAY, true)
+                    .option(SO_KEEPALIVE, true)
+                    .option(ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                    .option(CONNECT_TIMEOUT_MILLIS, connectionSettings.connectTimeoutMillis());
+
+            for (ChannelOptionSetting setting : httpConfig.channelSettings()) {
+                bootstrap.option(setting.option(), setting.value());
+            }
+        }
+    }
+
+    private static class Initializer extends ChannelInitializer<Channel> {
+        @Override
+        protected void initChannel(Channel ch) {
+        }
+    }
+
+    /**
+     * Server push is disabled in the initial settings, so any inbound stream is closed straight away.
+     */
+    @ChannelHandler.Sharable
+    private static class RejectPushedStreams extends ChannelInboundHandlerAdapter {
+        @Override
+        public void channelActive(ChannelHandlerContext ctx) {
+            ctx.close();
+        }
+    }
+
+    /**
+     * Builder.
+     */
+    public static final class Builder {
+        private HttpRequestOperationFactory httpRequestOperationFactory = httpRequestOperationFactoryBuilder().build();
+        private HttpConfig httpConfig = defaultHttpConfig();
+        private TlsSettings tlsSettings;
+        private NettyExecutor executor;
+        private CentralisedMetrics metrics;
+        private CachingAddressResolverGroup addressResolverGroup = CachingAddressResolverGroup.DEFAULT;
+
+        /**
+         * Sets the executor whose event loops the connections run on. Required.
+         *
+         * @param executor executor
+         * @return this builder
+         */
+        public Builder executor(NettyExecutor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Sets HTTP configuration settings. Uses default settings if not called.
+         *
+         * @param httpConfig HTTP configuration settings
+         * @return this builder
+         */
+        public Builder httpConfig(HttpConfig httpConfig) {
+            this.httpConfig = requireNonNull(httpConfig);
+            return this;
+        }
+
+        /**
+         * Sets the SSL settings. If not set, plain text HTTP/2 (h2c) connections are made.
+         *
+         * @param tlsSettings SSL settings
+         * @return this builder
+         */
+        public Builder tlsSettings(TlsSettings tlsSettings) {
+            this.tlsSettings = tlsSettings;
+            return this;
+        }
+
+        public Builder httpRequestOperationFactory(HttpRequestOperationFactory httpRequestOperationFactory) {
+            this.httpRequestOperationFactory = httpRequestOperationFactory;
+            return this;
+        }
+
+        /**
+         * Sets the metrics to record TLS handshakes in. If not set, they are not recorded.
+         *
+         * @param metrics metrics
+         * @return this builder
+         */
+        public Builder metrics(CentralisedMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        /**
+         * Sets the group that resolves origin host names. A server shares one group between its connection factories,
+         * and closes it when it stops. If not set, a process-wide group that records no metrics is used.
+         *
+         * @param addressResolverGroup resolver group
+         * @return this builder
+         */
+        public Builder addressResolverGroup(CachingAddressResolverGroup addressResolverGroup) {
+            this.addressResolverGroup = requireNonNull(addressResolverGroup);
+            return this;
+        }
+
+        public Http2ConnectionFactory build() {
+            return new Http2ConnectionFactory(this);
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
-  Copyright (C) 2013-2024 Expedia Inc.
+  Copyright (C) 2013-2026 Expedia Inc.
 
   Licensed under the Apache License, Version 2.0 (the "License");
   you may not use this file except in compliance with the License.
@@ -32,6 +32,7 @@ import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelPipeline;
 import io.netty.handler.codec.http.DefaultHttpContent;
 import io.netty.handler.codec.http.DefaultHttpRequest;
@@ -42,10 +43,8 @@ import reactor.core.publisher.BaseSubscriber;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxSink;
 
-import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static com.hotels.styx.api.HttpHeaderNames.HOST;
@@ -66,11 +65,8 @@ public class HttpRequestOperation {
     private final LiveHttpRequest request;
     private final Optional<OriginStatsFactory> originStatsFactory;
     private final int responseTimeoutMillis;
-    private final AtomicInteger terminationCount = new AtomicInteger(0);
-    private final AtomicInteger executeCount = new AtomicInteger(0);
     private final boolean requestLoggingEnabled;
     private final CentralisedMetrics metrics;
-    private volatile long requestTime;
     private final HttpRequestMessageLogger httpRequestMessageLogger;
 
     /**
@@ -98,15 +94,14 @@ public class HttpRequestOperation {
 
     // Visible for testing
     static DefaultHttpRequest toNettyRequest(LiveHttpRequest request) {
+        return toNettyRequest(request, request.headers().toNettyHeaders());
+    }
+
+    private static DefaultHttpRequest toNettyRequest(LiveHttpRequest request, io.netty.handler.codec.http.HttpHeaders headers) {
         HttpVersion version = request.version();
         HttpMethod method = request.method();
         String url = request.url().toString();
-        DefaultHttpRequest nettyRequest = new DefaultHttpRequest(toNettyVersion(version), toNettyMethod(method), url, true);
-
-        request.headers().forEach((name, value) ->
-                nettyRequest.headers().add(name, value));
-
-        return nettyRequest;
+        return new DefaultHttpRequest(toNettyVersion(version), toNettyMethod(method), url, headers);
     }
 
     private static io.netty.handler.codec.http.HttpMethod toNettyMethod(HttpMethod method) {
@@ -125,15 +120,15 @@ public class HttpRequestOperation {
 
     public Flux<LiveHttpResponse> execute(NettyConnection nettyConnection, HttpInterceptor.Context context) {
         AtomicReference<RequestBodyChunkSubscriber> requestRequestBodyChunkSubscriber = new AtomicReference<>();
-        requestTime = System.currentTimeMillis();
-        executeCount.incrementAndGet();
+        AtomicReference<FluxSink<LiveHttpResponse>> responseSink = new AtomicReference<>();
 
         Flux<LiveHttpResponse> responseFlux = Flux.create(sink -> {
             finishRequestTiming(context);
             if (nettyConnection.isConnected()) {
                 RequestBodyChunkSubscriber bodyChunkSubscriber = new RequestBodyChunkSubscriber(request, nettyConnection);
                 requestRequestBodyChunkSubscriber.set(bodyChunkSubscriber);
-                addProxyBridgeHandlers(nettyConnection, sink);
+                responseSink.set(sink);
+                bindProxyBridgeHandlers(nettyConnection, sink);
                 new WriteRequestToOrigin(sink, nettyConnection, request, bodyChunkSubscriber)
                         .write();
                 if (requestLoggingEnabled) {
@@ -153,7 +148,7 @@ public class HttpRequestOperation {
         return responseFlux.map(response ->
                 Requests.doFinally(response, cause -> {
                     if (nettyConnection.isConnected()) {
-                        removeProxyBridgeHandlers(nettyConnection);
+                        unbindProxyBridgeHandlers(nettyConnection, responseSink.get());
 
                         if (requestIsOngoing(requestRequestBodyChunkSubscriber.get())) {
                             LOGGER.warn("Origin responded too quickly to an ongoing request, or it was cancelled. Connection={}, Request={}.", nettyConnection.channel(), request);
@@ -163,33 +158,43 @@ public class HttpRequestOperation {
                 }));
     }
 
-    private void addProxyBridgeHandlers(NettyConnection nettyConnection, FluxSink<LiveHttpResponse> sink) {
-        Origin origin = nettyConnection.getOrigin();
+    //
+    // The bridge handlers are added to the connection pipeline on its first request, and then
+    // stay there for the lifetime of the connection. Subsequent requests on the same connection
+    // only rebind the response propagator to their response sink.
+    //
+    private void bindProxyBridgeHandlers(NettyConnection nettyConnection, FluxSink<LiveHttpResponse> sink) {
         Channel channel = nettyConnection.channel();
-        channel.pipeline().addLast(IDLE_HANDLER_NAME, new IdleStateHandler(0, 0, responseTimeoutMillis, MILLISECONDS));
-        originStatsFactory.ifPresent(
-                originStatsFactory -> channel.pipeline()
-                        .addLast(RequestsToOriginMetricsCollector.NAME,
-                                new RequestsToOriginMetricsCollector(originStatsFactory.originStats(origin))));
-        channel.pipeline().addLast(
-                NettyToStyxResponsePropagator.NAME,
-                new NettyToStyxResponsePropagator(sink, origin, responseTimeoutMillis, MILLISECONDS, request));
-    }
+        ChannelPipeline pipeline = channel.pipeline();
+        NettyToStyxResponsePropagator propagator = (NettyToStyxResponsePropagator) pipeline.get(NettyToStyxResponsePropagator.NAME);
+
+        if (propagator != null) {
+            // The response timeout starts from the new request, not from the end of the previous one:
+            IdleStateHandler idleHandler = (IdleStateHandler) pipeline.get(IDLE_HANDLER_NAME);
+            if (channel.eventLoop().inEventLoop()) {
+                idleHandler.resetReadTimeout();
+            } else {
+                channel.eventLoop().execute(idleHandler::resetReadTimeout);
+            }
+        } else {
+            Origin origin = nettyConnection.getOrigin();
+            propagator = new NettyToStyxResponsePropagator(origin);
+
+            pipeline.addLast(IDLE_HANDLER_NAME, new IdleStateHandler(0, 0, responseTimeoutMillis, MILLISECONDS));
+            originStatsFactory.ifPresent(
+                    originStatsFactory -> pipeline
+                            .addLast(RequestsToOriginMetricsCollector.NAME,
+                                    new RequestsToOriginMetricsCollector(originStatsFactory.originStats(origin))));
+            pipeline.addLast(NettyToStyxResponsePropagator.NAME, propagator);
+        }
 
-    private void removeProxyBridgeHandlers(NettyConnection connection) {
-        ChannelPipeline pipeline = connection.channel().pipeline();
-        terminationCount.incrementAndGet();
+        propagator.bind(sink, responseTimeoutMillis, MILLISECONDS, request);
+    }
 
-        try {
-            pipeline.remove(IDLE_HANDLER_NAME);
-            if (originStatsFactory.isPresent()) {
-                pipeline.remove(RequestsToOriginMetricsCollector.NAME);
-            }
-            pipeline.remove(NettyToStyxResponsePropagator.NAME);
-        } catch (NoSuchElementException cause) {
-            long elapsedTime = System.currentTimeMillis() - requestTime;
-            LOGGER.error("Failed to remove pipeline handlers from pooled connection. elapsedTime={}, request={}, terminationCount={}, executionCount={}, cause={}",
-                    new Object[]{elapsedTime, request, terminationCount.get(), executeCount.get(), cause});
+    private static void unbindProxyBridgeHandlers(NettyConnection connection, FluxSink<LiveHttpResponse> sink) {
+        ChannelHandler propagator = connection.channel().pipeline().get(NettyToStyxResponsePropagator.NAME);
+        if (propagator instanceof NettyToStyxResponsePropagator) {
+            ((NettyToStyxResponsePropagator) propagator).unbind(sink);
         }
     }
 
@@ -266,8 +271,7 @@ public class HttpRequestOperation {
 
         private io.netty.handler.codec.http.HttpRequest makeRequest(LiveHttpRequest request) {
             DefaultHttpRequest nettyRequest = toNettyRequest(request);
-            Optional<String> host = request.header(HOST);
-            if (!host.isPresent()) {
+            if (!request.header(HOST).isPresent()) {
                 nettyRequest.headers().set(HOST, nettyConnection.getOrigin().hostAndPortString());
             }
             return nettyRequest;
@@ -25,22 +25,29 @@ import com.hotels.styx.client.ConnectionSettings;
 import com.hotels.styx.client.HttpConfig;
 import com.hotels.styx.client.HttpRequestOperationFactory;
 import com.hotels.styx.client.ssl.SslContextFactory;
+import com.hotels.styx.metrics.CentralisedMetrics;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoop;
 import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslHandler;
 import reactor.core.publisher.Mono;
 
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
 
 import static com.hotels.styx.client.HttpConfig.defaultHttpConfig;
 import static com.hotels.styx.client.HttpRequestOperationFactory.Builder.httpRequestOperationFactoryBuilder;
+import static com.hotels.styx.client.netty.connectionpool.OriginSslHandlers.recordHandshake;
 import static io.netty.channel.ChannelOption.ALLOCATOR;
 import static io.netty.channel.ChannelOption.CONNECT_TIMEOUT_MILLIS;
 import static io.netty.channel.ChannelOption.SO_KEEPALIVE;
 import static io.netty.channel.ChannelOption.TCP_NODELAY;
+import static java.lang.System.currentTimeMillis;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -54,6 +61,8 @@ public class NettyConnectionFactory implements Connection.Factory {
     private final Optional<String> sniHost;
     private final HttpRequestOperationFactory httpRequestOperationFactory;
     private final NettyExecutor executor;
+    private final CachingAddressResolverGroup resolver;
+    private final CentralisedMetrics metrics;
     private Bootstrap bootstrap;
 
     private NettyConnectionFactory(Builder builder) {
@@ -63,6 +72,8 @@ public class NettyConnectionFactory implements Connection.Factory {
         this.httpRequestOperationFactory = requireNonNull(builder.httpRequestOperationFactory);
         this.sendSni = builder.tlsSettings != null && builder.tlsSettings.sendSni();
         this.sniHost = builder.tlsSettings != null ? builder.tlsSettings.sniHost() : Optional.empty();
+        this.resolver = requireNonNull(builder.addressResolverGroup);
+        this.metrics = builder.metrics;
     }
 
     @Override
@@ -70,14 +81,39 @@ public class NettyConnectionFactory implements Connection.Factory {
         return createConnection(origin, connectionSettings, sslContext);
     }
 
+    /**
+     * Creates a connection on the preferred executor, if it is a running event loop of the same transport as
+     * this factory's event loops. This includes the server worker event loops, so that a connection is handled
+     * by the same event loop as the requests that it proxies. Otherwise the event loop is chosen as usual.
+     */
+    @Override
+    public Mono<Connection> createConnection(Origin origin, ConnectionSettings connectionSettings, Executor preferredExecutor) {
+        return createConnection(origin, connectionSettings, sslContext, compatibleEventLoop(preferredExecutor));
+    }
+
+    /**
+     * Returns one of the event loops of this factory. Each call may return a different event loop.
+     */
+    @Override
+    public ScheduledExecutorService scheduler() {
+        return executor.eventLoopGroup().next();
+    }
+
     public Mono<Connection> createConnection(Origin origin, ConnectionSettings connectionSettings, SslContext sslContext) {
+        return createConnection(origin, connectionSettings, sslContext, null);
+    }
+
+    private Mono<Connection> createConnection(Origin origin, ConnectionSettings connectionSettings, SslContext sslContext, EventLoop eventLoop) {
         return Mono.create(sink -> {
-            ChannelFuture channelFuture = openConnection(origin, connectionSettings);
+            ChannelFuture channelFuture = openConnection(origin, connectionSettings, eventLoop);
 
             channelFuture.addListener(future -> {
                 if (future.isSuccess()) {
-                    sink.success(new NettyConnection(origin, channelFuture.channel(), httpRequestOperationFactory,
-                            httpConfig, sslContext, sendSni, sniHost));
+                    long handshakeStart = currentTimeMillis();
+                    NettyConnection connection = new NettyConnection(origin, channelFuture.channel(), httpRequestOperationFactory,
+                            httpConfig, sslContext, sendSni, sniHost);
+                    recordHandshake(connection.channel().pipeline().get(SslHandler.class), handshakeStart, origin, metrics);
+                    sink.success(connection);
                 } else {
                     sink.error(new OriginUnreachableException(origin, future.cause()));
                 }
@@ -85,9 +121,23 @@ public class NettyConnectionFactory implements Connection.Factory {
         });
     }
 
-    private ChannelFuture openConnection(Origin origin, ConnectionSettings connectionSettings) {
+    private ChannelFuture openConnection(Origin origin, ConnectionSettings connectionSettings, EventLoop eventLoop) {
         bootstrap(connectionSettings);
-        return bootstrap.connect(origin.host(), origin.port());
+        Bootstrap b = eventLoop == null ? bootstrap : bootstrap.clone(eventLoop);
+        return b.connect(origin.host(), origin.port());
+    }
+
+    // All Styx executors use the same transport, so their event loop groups are of the same class:
+    private EventLoop compatibleEventLoop(Executor preferredExecutor) {
+        if (preferredExecutor instanceof EventLoop) {
+            EventLoop eventLoop = (EventLoop) preferredExecutor;
+            if (eventLoop.parent() != null
+                    && eventLoop.parent().getClass() == executor.eventLoopGroup().getClass()
+                    && !eventLoop.isShuttingDown()) {
+                return eventLoop;
+            }
+        }
+        return null;
     }
 
     private synchronized void bootstrap(ConnectionSettings connectionSettings) {
@@ -96,6 +146,7 @@ public class NettyConnectionFactory implements Connection.Factory {
             bootstrap.group(executor.eventLoopGroup())
                     .channel(executor.clientEventLoopClass())
                     .handler(new Initializer())
+                    .resolver(resolver)
                     .option(TCP_NODELAY, true)
                     .option(SO_KEEPALIVE, true)
                     .option(ALLOCATOR, PooledByteBufAllocator.DEFAULT)
@@ -123,6 +174,8 @@ public class NettyConnectionFactory implements Connection.Factory {
         private HttpConfig httpConfig = defaultHttpConfig();
         private TlsSettings tlsSettings;
         private NettyExecutor executor = DEFAULT_EXECUTOR;
+        private CentralisedMetrics metrics;
+        private CachingAddressResolverGroup addressResolverGroup = CachingAddressResolverGroup.DEFAULT;
 
         public Builder executor(NettyExecutor executor) {
             this.executor = executor;
@@ -156,6 +209,29 @@ public class NettyConnectionFactory implements Connection.Factory {
             return this;
         }
 
+        /**
+         * Sets the metrics to record TLS handshakes in. If not set, they are not recorded.
+         *
+         * @param metrics metrics
+         * @return this builder
+         */
+        public Builder metrics(CentralisedMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        /**
+         * Sets the group that resolves origin host names. A server shares one group between its connection factories,
+         * and closes it when it stops. If not set, a process-wide group that records no metrics is used.
+         *
+         * @param addressResolverGroup resolver group
+         * @return this builder
+         */
+        public Builder addressResolverGroup(CachingAddressResolverGroup addressResolverGroup) {
+            this.addressResolverGroup = requireNonNull(addressResolverGroup);
+            return this;
+        }
+
         public NettyConnectionFactory build() {
             return new NettyConnectionFactory(this);
         }
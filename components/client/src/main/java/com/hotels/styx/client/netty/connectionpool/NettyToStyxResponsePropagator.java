@@ -18,6 +18,7 @@ package com.hotels.styx.client.netty.connectionpool;
 import com.hotels.styx.api.Buffer;
 import com.hotels.styx.api.Buffers;
 import com.hotels.styx.api.ByteStream;
+import com.hotels.styx.api.HttpHeaders;
 import com.hotels.styx.api.LiveHttpRequest;
 import com.hotels.styx.api.LiveHttpResponse;
 import com.hotels.styx.api.exceptions.ResponseTimeoutException;
@@ -39,7 +40,6 @@ import org.reactivestreams.Subscription;
 import org.slf4j.Logger;
 import reactor.core.publisher.FluxSink;
 
-import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -49,28 +49,25 @@ import static io.netty.handler.codec.http.HttpHeaderNames.CONNECTION;
 import static io.netty.util.ReferenceCountUtil.retain;
 import static java.lang.String.format;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
-import static java.util.stream.StreamSupport.stream;
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
  * A netty channel handler that reads from a channel and pass the message to a {@link Subscriber}.
+ * <p>
+ * The handler stays in the pipeline of a pooled origin connection, and is bound to the
+ * response sink of each request in turn. Messages and events that arrive while the handler
+ * is not bound to a request are ignored.
  */
 final class NettyToStyxResponsePropagator extends SimpleChannelInboundHandler {
     public static final String NAME = NettyToStyxResponsePropagator.class.getSimpleName();
     private static final Logger LOGGER = getLogger(NettyToStyxResponsePropagator.class);
 
-    private final AtomicBoolean responseCompleted = new AtomicBoolean(false);
-    private final AtomicBoolean responseReceived = new AtomicBoolean(false);
-    private final FluxSink<LiveHttpResponse> sink;
-    private final LiveHttpRequest request;
-
     private final Origin origin;
-    private final Long idleTimeoutMillis;
-    private Optional<FlowControllingHttpContentProducer> contentProducer = Optional.empty();
+    private volatile Exchange exchange;
 
-    // `toBeClosed` doesn't have to be volatile because all Netty events are guaranteed
-    // to be delivered from the same thread.
-    private boolean toBeClosed;
+    NettyToStyxResponsePropagator(Origin origin) {
+        this.origin = origin;
+    }
 
     NettyToStyxResponsePropagator(FluxSink<LiveHttpResponse> sink, Origin origin) {
         this(sink, origin, 5L, TimeUnit.SECONDS, null);
@@ -81,15 +78,41 @@ final class NettyToStyxResponsePropagator extends SimpleChannelInboundHandler {
                                   long idleTimeout,
                                   TimeUnit timeUnit,
                                   LiveHttpRequest request) {
-        this.sink = sink;
-        this.origin = origin;
-        this.idleTimeoutMillis = timeUnit.toMillis(idleTimeout);
-        this.request = request;
+        this(origin);
+        bind(sink, idleTimeout, timeUnit, request);
+    }
+
+    /**
+     * Binds this handler to the response of a new request. Should be called from the channel event loop.
+     *
+     * @param sink        response sink
+     * @param idleTimeout response idle timeout
+     * @param timeUnit    idle timeout unit
+     * @param request     the request, for logging purposes
+     */
+    void bind(FluxSink<LiveHttpResponse> sink, long idleTimeout, TimeUnit timeUnit, LiveHttpRequest request) {
+        this.exchange = new Exchange(sink, timeUnit.toMillis(idleTimeout), request);
+    }
+
+    /**
+     * Unbinds this handler from a response sink, unless it has already been bound to another one.
+     * Should be called from the channel event loop.
+     *
+     * @param sink response sink
+     */
+    void unbind(FluxSink<LiveHttpResponse> sink) {
+        Exchange current = this.exchange;
+        if (current != null && current.sink == sink) {
+            this.exchange = null;
+        }
     }
 
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
-        getContentProducer(ctx).channelException(toStyxException(cause));
+        Exchange current = this.exchange;
+        if (current != null) {
+            current.getContentProducer(ctx).channelException(toStyxException(cause));
+        }
     }
 
     private RuntimeException toStyxException(Throwable cause) {
@@ -102,128 +125,165 @@ final class NettyToStyxResponsePropagator extends SimpleChannelInboundHandler {
 
     @Override
     public void channelInactive(ChannelHandlerContext ctx) {
-        TransportLostException cause = new TransportLostException(ctx.channel().remoteAddress(), origin);
-        getContentProducer(ctx).channelInactive(cause);
+        Exchange current = this.exchange;
+        if (current != null) {
+            TransportLostException cause = new TransportLostException(ctx.channel().remoteAddress(), origin);
+            current.getContentProducer(ctx).channelInactive(cause);
+        }
     }
 
-    private void scheduleResourcesTearDown(ChannelHandlerContext ctx) {
-        ctx.channel().eventLoop().schedule(
-                () -> contentProducer.ifPresent(FlowControllingHttpContentProducer::tearDownResources),
-                idleTimeoutMillis,
-                MILLISECONDS);
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, Object msg) throws Exception {
+        Exchange current = this.exchange;
+        if (current != null) {
+            current.channelRead(ctx, msg);
+        } else {
+            LOGGER.debug("Discarded message received outside of a request: {}", msg);
+        }
     }
 
     @Override
-    protected void channelRead0(ChannelHandlerContext ctx, Object msg) throws Exception {
-        FlowControllingHttpContentProducer producer = getContentProducer(ctx);
+    public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+        if (evt instanceof IdleStateEvent) {
+            Exchange current = this.exchange;
+            if (current != null) {
+                FlowControllingHttpContentProducer producer = current.getContentProducer(ctx);
+                producer.channelInactive(
+                        new ResponseTimeoutException(
+                                origin,
+                                "idleStateEvent",
+                                producer.receivedBytes(),
+                                producer.receivedChunks(),
+                                producer.emittedBytes(),
+                                producer.emittedChunks()));
+            }
+        } else {
+            super.userEventTriggered(ctx, evt);
+        }
+    }
 
-        if (msg instanceof io.netty.handler.codec.http.HttpResponse) {
-            io.netty.handler.codec.http.HttpResponse nettyResponse = (io.netty.handler.codec.http.HttpResponse) msg;
+    /**
+     * The state of one request/response exchange.
+     */
+    private final class Exchange {
+        private final AtomicBoolean responseCompleted = new AtomicBoolean(false);
+        private final AtomicBoolean responseReceived = new AtomicBoolean(false);
+        private final FluxSink<LiveHttpResponse> sink;
+        private final LiveHttpRequest request;
+        private final long idleTimeoutMillis;
+        private FlowControllingHttpContentProducer contentProducer;
+
+        // `toBeClosed` doesn't have to be volatile because all Netty events are guaranteed
+        // to be delivered from the same thread.
+        private boolean toBeClosed;
+
+        Exchange(FluxSink<LiveHttpResponse> sink, long idleTimeoutMillis, LiveHttpRequest request) {
+            this.sink = sink;
+            this.idleTimeoutMillis = idleTimeoutMillis;
+            this.request = request;
+        }
 
-            if (!responseReceived.compareAndSet(false, true)) {
-                LOGGER.warn("Unexpected additional response received: " + nettyResponse);
-                ctx.channel().close();
-                return;
-            }
+        void channelRead(ChannelHandlerContext ctx, Object msg) {
+            FlowControllingHttpContentProducer producer = getContentProducer(ctx);
 
-            if (nettyResponse.getDecoderResult().isFailure()) {
-                emitResponseError(new BadHttpResponseException(origin, nettyResponse.getDecoderResult().cause()));
-                return;
-            }
+            if (msg instanceof io.netty.handler.codec.http.HttpResponse) {
+                io.netty.handler.codec.http.HttpResponse nettyResponse = (io.netty.handler.codec.http.HttpResponse) msg;
 
+                if (!responseReceived.compareAndSet(false, true)) {
+                    LOGGER.warn("Unexpected additional response received: " + nettyResponse);
+                    ctx.channel().close();
+                    return;
+                }
 
-            ctx.channel().config().setAutoRead(false);
-            ctx.channel().read();
+                if (nettyResponse.getDecoderResult().isFailure()) {
+                    emitResponseError(new BadHttpResponseException(origin, nettyResponse.getDecoderResult().cause()));
+                    return;
+                }
 
-            // Can be started with flow controlling disabled
-            EventLoop eventLoop = ctx.channel().eventLoop();
 
-            Publisher<Buffer> contentPublisher = new ContentPublisher(eventLoop, producer);
+                ctx.channel().config().setAutoRead(false);
+                ctx.channel().read();
 
-            if ("close".equalsIgnoreCase(nettyResponse.headers().get(CONNECTION))) {
-                toBeClosed = true;
-            }
+                // Can be started with flow controlling disabled
+                EventLoop eventLoop = ctx.channel().eventLoop();
 
-            LiveHttpResponse response = toStyxResponse(nettyResponse, contentPublisher, origin);
-            this.sink.next(response);
-        }
-        if (msg instanceof HttpContent) {
-            ByteBuf content = ((ByteBufHolder) msg).content();
-            if (content.isReadable()) {
-                producer.newChunk(retain(content));
+                Publisher<Buffer> contentPublisher = new ContentPublisher(eventLoop, producer);
+
+                if ("close".equalsIgnoreCase(nettyResponse.headers().get(CONNECTION))) {
+                    toBeClosed = true;
+                }
+
+                LiveHttpResponse response = toStyxResponse(nettyResponse, contentPublisher, origin);
+                this.sink.next(response);
             }
-            if (msg instanceof LastHttpContent) {
-                // Note: Netty may send a LastHttpContent as a response to TCP connection close.
-                // In this case channelReadComplete event will _not_ follow the LastHttpContent.
-                producer.lastHttpContent();
-                if (toBeClosed) {
-                    ctx.channel().close();
+            if (msg instanceof HttpContent) {
+                ByteBuf content = ((ByteBufHolder) msg).content();
+                if (content.isReadable()) {
+                    producer.newChunk(retain(content));
+                }
+                if (msg instanceof LastHttpContent) {
+                    // Note: Netty may send a LastHttpContent as a response to TCP connection close.
+                    // In this case channelReadComplete event will _not_ follow the LastHttpContent.
+                    producer.lastHttpContent();
+                    if (toBeClosed) {
+                        ctx.channel().close();
+                    }
                 }
             }
         }
-    }
-
-    @Override
-    public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
-        FlowControllingHttpContentProducer producer = getContentProducer(ctx);
 
-        if (evt instanceof IdleStateEvent) {
-            producer.channelInactive(
-                    new ResponseTimeoutException(
-                            origin,
-                            "idleStateEvent",
-                            producer.receivedBytes(),
-                            producer.receivedChunks(),
-                            producer.emittedBytes(),
-                            producer.emittedChunks()));
-        } else {
-            super.userEventTriggered(ctx, evt);
+        FlowControllingHttpContentProducer getContentProducer(ChannelHandlerContext ctx) {
+            if (this.contentProducer == null) {
+                this.contentProducer = createProducer(ctx);
+            }
+            return this.contentProducer;
         }
-    }
 
-    private FlowControllingHttpContentProducer getContentProducer(ChannelHandlerContext ctx) {
-        if (!this.contentProducer.isPresent()) {
-            this.contentProducer = Optional.of(createProducer(ctx, request));
+        private FlowControllingHttpContentProducer createProducer(ChannelHandlerContext ctx) {
+            String requestPrefix = request != null ? format("Request(method=%s, url=%s, id=%s)", request.method(), request.url(), request.id()) : "Request NA";
+            String loggingPrefix = format("%s -> %s", ctx.channel().remoteAddress(), ctx.channel().localAddress());
+
+            return new FlowControllingHttpContentProducer(
+                    () -> ctx.channel().read(),
+                    () -> {
+                        ctx.channel().config().setAutoRead(true);
+                        emitResponseCompleted();
+                    },
+                    this::emitResponseError,
+                    () -> scheduleResourcesTearDown(ctx),
+                    format("%s, %s", loggingPrefix, requestPrefix),
+                    origin);
         }
-        return this.contentProducer.get();
-    }
 
-    private FlowControllingHttpContentProducer createProducer(ChannelHandlerContext ctx, LiveHttpRequest request) {
-        String requestPrefix = request != null ? format("Request(method=%s, url=%s, id=%s)", request.method(), request.url(), request.id()) : "Request NA";
-        String loggingPrefix = format("%s -> %s", ctx.channel().remoteAddress(), ctx.channel().localAddress());
-
-        return new FlowControllingHttpContentProducer(
-                () -> ctx.channel().read(),
-                () -> {
-                    ctx.channel().config().setAutoRead(true);
-                    emitResponseCompleted();
-                },
-                this::emitResponseError,
-                () -> scheduleResourcesTearDown(ctx),
-                format("%s, %s", loggingPrefix, requestPrefix),
-                origin);
-    }
+        private void scheduleResourcesTearDown(ChannelHandlerContext ctx) {
+            FlowControllingHttpContentProducer producer = this.contentProducer;
+            ctx.channel().eventLoop().schedule(
+                    () -> {
+                        if (producer != null) {
+                            producer.tearDownResources();
+                        }
+                    },
+                    idleTimeoutMillis,
+                    MILLISECONDS);
+        }
 
-    private void emitResponseCompleted() {
-        if (responseCompleted.compareAndSet(false, true)) {
-            sink.complete();
+        private void emitResponseCompleted() {
+            if (responseCompleted.compareAndSet(false, true)) {
+                sink.complete();
+            }
         }
-    }
 
-    private void emitResponseError(Throwable cause) {
-        if (responseCompleted.compareAndSet(false, true)) {
-            this.sink.error(cause);
+        private void emitResponseError(Throwable cause) {
+            if (responseCompleted.compareAndSet(false, true)) {
+                this.sink.error(cause);
+            }
         }
     }
 
     // Visible for testing
     static LiveHttpResponse.Builder toStyxResponse(io.netty.handler.codec.http.HttpResponse nettyResponse) {
-        LiveHttpResponse.Builder responseBuilder = response(statusWithCode(nettyResponse.getStatus().code()));
-
-        stream(nettyResponse.headers().spliterator(), false)
-                .forEach(header -> responseBuilder.addHeader(header.getKey(), header.getValue()));
-
-        return responseBuilder;
+        return response(statusWithCode(nettyResponse.status().code()))
+                .headers(HttpHeaders.fromNettyHeaders(nettyResponse.headers()));
     }
 
     private static LiveHttpResponse toStyxResponse(io.netty.handler.codec.http.HttpResponse nettyResponse, Publisher<Buffer> contentPublisher, Origin origin) {
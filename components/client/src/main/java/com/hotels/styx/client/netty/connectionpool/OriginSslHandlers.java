@@ -0,0 +1,86 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.client.netty.connectionpool;
+
+import com.hotels.styx.api.extension.Origin;
+import com.hotels.styx.metrics.CentralisedMetrics;
+import io.netty.channel.Channel;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslHandler;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+
+/**
+ * Creates the TLS handlers of origin connections, and records their handshakes.
+ * <p>
+ * The client session cache of an SSL context keys sessions by the peer host and port of a handler, so each handler
+ * is given the host and port of its origin, which lets a new connection resume the session of an earlier one.
+ * When SNI is not sent, the address the channel is connected to is used as the peer host, because an IP address
+ * is never sent as a server name.
+ */
+final class OriginSslHandlers {
+    private OriginSslHandlers() {
+    }
+
+    /**
+     * Creates a TLS handler for a connection to an origin.
+     *
+     * @param sslContext SSL context
+     * @param channel    channel connected to the origin
+     * @param sniHost    the server name to send, or null to send none
+     * @param port       origin port
+     * @return a TLS handler
+     */
+    static SslHandler newSslHandler(SslContext sslContext, Channel channel, String sniHost, int port) {
+        if (sniHost != null) {
+            return sslContext.newHandler(channel.alloc(), sniHost, port);
+        }
+
+        SocketAddress remoteAddress = channel.remoteAddress();
+        if (remoteAddress instanceof InetSocketAddress && ((InetSocketAddress) remoteAddress).getAddress() != null) {
+            return sslContext.newHandler(channel.alloc(), ((InetSocketAddress) remoteAddress).getAddress().getHostAddress(), port);
+        }
+        return sslContext.newHandler(channel.alloc());
+    }
+
+    /**
+     * Counts the handshake of a TLS handler once it completes, and whether it resumed a cached session.
+     * <p>
+     * A resumed session was created before the handshake started. Some providers only report session creation
+     * times to the second, so the start time is rounded down to the second before comparing. A session resumed
+     * within a second of its creation is therefore counted as a full handshake.
+     *
+     * @param sslHandler     TLS handler
+     * @param handshakeStart the time, in milliseconds, before the handler was added to the channel
+     * @param origin         origin connected to
+     * @param metrics        metrics to record in, or null
+     */
+    static void recordHandshake(SslHandler sslHandler, long handshakeStart, Origin origin, CentralisedMetrics metrics) {
+        if (sslHandler == null || metrics == null) {
+            return;
+        }
+
+        sslHandler.handshakeFuture().addListener(future -> {
+            if (future.isSuccess()) {
+                metrics.proxy().client().tlsHandshakes(origin).increment();
+                if (sslHandler.engine().getSession().getCreationTime() < handshakeStart / 1000 * 1000) {
+                    metrics.proxy().client().tlsResumedHandshakes(origin).increment();
+                }
+            }
+        });
+    }
+}
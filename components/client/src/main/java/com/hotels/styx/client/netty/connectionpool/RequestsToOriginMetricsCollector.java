@@ -102,8 +102,14 @@ class RequestsToOriginMetricsCollector extends ChannelDuplexHandler {
 
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
-        stopAndRecordLatency();
-        stopAndRecordTimeToFirstByte();
+        // The collector stays in the pipeline between requests. An exception that arrives
+        // when no request is in flight has no timing to record.
+        if (requestLatencyTiming != null) {
+            stopAndRecordLatency();
+        }
+        if (timeToFirstByteTiming != null) {
+            stopAndRecordTimeToFirstByte();
+        }
         super.exceptionCaught(ctx, cause);
     }
 
@@ -111,16 +117,20 @@ class RequestsToOriginMetricsCollector extends ChannelDuplexHandler {
         // Should only be null in unit tests,
         // but this check is also here just in case there is some weird bug, we should not interfere with the proxying
         // just because it doesn't record metrics
-        if (requestLatencyTiming != null) {
-            requestLatencyTiming.stop();
+        TimerMetric.Stopper timing = requestLatencyTiming;
+        if (timing != null) {
+            requestLatencyTiming = null;
+            timing.stop();
         } else {
             LOG.warn("Attempted to stop timer and record latency when no timing had begun");
         }
     }
 
     private void stopAndRecordTimeToFirstByte() {
-        if (timeToFirstByteTiming != null) {
-            timeToFirstByteTiming.stop();
+        TimerMetric.Stopper timing = timeToFirstByteTiming;
+        if (timing != null) {
+            timeToFirstByteTiming = null;
+            timing.stop();
         } else {
             LOG.warn("Attempted to stop timer and record time-to-first-byte when no timing had begun");
         }
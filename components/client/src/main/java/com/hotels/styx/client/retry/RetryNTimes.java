@@ -25,11 +25,16 @@ import java.util.Optional;
 import static com.hotels.styx.javaconvenience.UtilKt.iterableToSet;
 
 /**
- * A {@link RetryPolicy} that tries a configurable <code>maxAttempts</code>.
+ * A {@link RetryPolicy} that tries a configurable <code>maxAttempts</code>, waiting <code>deltaBackoffMillis</code>
+ * before each retry.
  */
 public class RetryNTimes extends AbstractRetryPolicy {
     public RetryNTimes(int maxAttempts) {
-        super(0, maxAttempts);
+        this(maxAttempts, 0);
+    }
+
+    public RetryNTimes(int maxAttempts, int deltaBackoffMillis) {
+        super(deltaBackoffMillis, maxAttempts);
     }
 
     @Override
@@ -27,6 +27,8 @@ public final class RetryPolicyFactory implements com.hotels.styx.api.extension.r
     public RetryPolicy create(Environment environment, Configuration retryPolicyConfiguration) {
         int retriesCount = retryPolicyConfiguration.get("count", Integer.class)
                 .orElse(1);
-        return new RetryNTimes(retriesCount);
+        int backoffMillis = retryPolicyConfiguration.get("backoffMillis", Integer.class)
+                .orElse(0);
+        return new RetryNTimes(retriesCount, backoffMillis);
     }
 }
@@ -1,5 +1,5 @@
 /*
-  Copyright (C) 2013-2024 Expedia Inc.
+  Copyright (C) 2013-2026 Expedia Inc.
 
   Licensed under the Apache License, Version 2.0 (the "License");
   you may not use this file except in compliance with the License.
@@ -18,6 +18,8 @@ package com.hotels.styx.client.ssl;
 import com.hotels.styx.api.extension.service.Certificate;
 import com.hotels.styx.api.extension.service.TlsSettings;
 import com.hotels.styx.client.SslContextException;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
 import io.netty.handler.ssl.SslProvider;
@@ -37,6 +39,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import static io.netty.handler.ssl.ApplicationProtocolConfig.Protocol.ALPN;
+import static io.netty.handler.ssl.ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT;
+import static io.netty.handler.ssl.ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE;
 import static java.util.Objects.requireNonNull;
 import static javax.net.ssl.TrustManagerFactory.getDefaultAlgorithm;
 
@@ -45,6 +50,7 @@ import static javax.net.ssl.TrustManagerFactory.getDefaultAlgorithm;
  */
 public final class SslContextFactory {
     private static final Map<TlsSettings, SslContext> SSL_CONTEXT_CACHE = new ConcurrentHashMap<>();
+    private static final Map<TlsSettings, SslContext> HTTP2_SSL_CONTEXT_CACHE = new ConcurrentHashMap<>();
 
     private static final String DEFAULT_KEY_STORE_TYPE = "JKS";
     private static final String DEFAULT_CERTIFICATE_FACTORY_TYPE = "X.509";
@@ -60,6 +66,17 @@ public final class SslContextFactory {
         return SSL_CONTEXT_CACHE.computeIfAbsent(tlsSettings, settings -> create(settings, sslContextBuilder));
     }
 
+    /**
+     * Returns an SSL context that offers HTTP/2 to the origin via ALPN.
+     *
+     * @param tlsSettings TLS settings
+     * @return SSL context
+     */
+    public static SslContext getHttp2(TlsSettings tlsSettings) {
+        return HTTP2_SSL_CONTEXT_CACHE.computeIfAbsent(tlsSettings, settings -> create(settings, SslContextBuilder.forClient()
+                .applicationProtocolConfig(new ApplicationProtocolConfig(ALPN, NO_ADVERTISE, ACCEPT, ApplicationProtocolNames.HTTP_2))));
+    }
+
     private static SslContext create(TlsSettings tlsSettings, SslContextBuilder sslContextBuilder) {
         try {
             return createSslContext(tlsSettings, sslContextBuilder);
@@ -75,6 +92,8 @@ public final class SslContextFactory {
                 .trustManager(trustManagerFactory(tlsSettings))
                 .protocols(toNettyProtocols(tlsSettings.protocols()))
                 .ciphers(toNettyCiphers(tlsSettings.cipherSuites()))
+                .sessionCacheSize(tlsSettings.sessionCacheSize())
+                .sessionTimeout(tlsSettings.sessionTimeoutSeconds())
                 .build();
     }
 
@@ -28,6 +28,7 @@ import com.hotels.styx.api.extension.Origin
 import com.hotels.styx.api.extension.OriginsChangeListener
 import com.hotels.styx.api.extension.OriginsSnapshot
 import com.hotels.styx.api.extension.RemoteHost
+import com.hotels.styx.api.extension.service.OutlierDetectionConfig
 import com.hotels.styx.client.healthcheck.OriginHealthStatusMonitor
 import com.hotels.styx.client.healthcheck.monitors.NoOriginHealthStatusMonitor
 import com.hotels.styx.client.origincommands.DisableOrigin
@@ -41,12 +42,21 @@ import com.hotels.styx.metrics.Deleter
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
 import java.io.Closeable
+import java.util.Arrays
+import java.util.Collections
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.ScheduledThreadPoolExecutor
+import java.util.concurrent.TimeUnit.MILLISECONDS
 import java.util.concurrent.atomic.AtomicBoolean
+import java.util.function.LongSupplier
+import kotlin.math.min
 abstract class OriginsInventory(
     protected val eventBus: EventBus,
     protected val originHealthStatusMonitor: OriginHealthStatusMonitor,
     private val appId: Id,
     private val metrics: CentralisedMetrics,
+    ejectionScheduler: ScheduledExecutorService? = null,
+    private val nanoClock: LongSupplier = LongSupplier { System.nanoTime() },
 ) : OriginHealthStatusMonitor.Listener,
     OriginsCommandsListener,
     ActiveOrigins,
@@ -56,8 +66,14 @@ abstract class OriginsInventory(
     protected abstract val eventQueue: QueueDrainingEventProcessor
     private val inventoryListeners = Announcer.to(OriginsChangeListener::class.java)
     private val closed = AtomicBoolean(false)
+    private val ejectionScheduler = ejectionScheduler ?: EJECTION_SCHEDULER
     private var monitoredOrigins: Map<Id, MonitoredOrigin> = emptyMap()
 
+    // Immutable, array backed lists of remote hosts per origin state. Replaced only
+    // when the inventory changes, so that load balancers can read them on every request.
+    @Volatile
+    private var snapshots: Map<OriginState, List<RemoteHost>> = OriginState.values().associateWith { emptyList() }
+
     init {
         register()
     }
@@ -82,6 +98,19 @@ abstract class OriginsInventory(
         eventQueue.submit(OriginHealthEvent(origin, UNHEALTHY))
     }
 
+    /**
+     * Ejects an active origin from load balancing, because outlier detection has found it to be failing.
+     * The origin keeps its state, and is readmitted once its ejection time has passed. Each ejection of
+     * the same origin lasts twice as long as the previous one, up to the configured maximum. The origin
+     * is not ejected if that would exceed the maximum percentage of ejected origins.
+     *
+     * @param origin origin to eject
+     * @param config outlier detection configuration
+     */
+    fun eject(origin: Origin, config: OutlierDetectionConfig) {
+        eventQueue.submit(EjectOriginEvent(origin, config))
+    }
+
     @Subscribe
     override fun onCommand(enableOrigin: EnableOrigin) {
         eventQueue.submit(EnableOriginCommand(enableOrigin))
@@ -107,6 +136,8 @@ abstract class OriginsInventory(
             is OriginHealthEvent -> handleOriginHealthEvent(event)
             is EnableOriginCommand -> handleEnableOriginCommand(event)
             is DisableOriginCommand -> handleDisableOriginCommand(event)
+            is EjectOriginEvent -> handleEjectOriginEvent(event)
+            is ReadmitOriginEvent -> handleReadmitOriginEvent(event)
             is CloseEvent -> handleCloseEvent()
         }
     }
@@ -142,14 +173,23 @@ abstract class OriginsInventory(
         setOrigins(newOrigins.toSet())
     }
 
+    /**
+     * Counts the origins in a state. Ejected origins are counted as inactive, as they are in the snapshots.
+     *
+     * @param state origin state
+     * @return number of origins in the state
+     */
     fun originCount(state: OriginState): Int =
         monitoredOrigins.values
-            .map { monitoredOrigin -> monitoredOrigin.state() }
+            .map { monitoredOrigin -> monitoredOrigin.reportedState() }
             .count { other: OriginState -> state == other }
 
+    fun ejectedOriginCount(): Int = monitoredOrigins.values.count { it.ejected }
+
     fun closed(): Boolean = closed.get()
 
     fun notifyStateChange() {
+        snapshots = OriginState.values().associateWith { state -> remoteHosts(state) }
         val event =
             OriginsSnapshot(
                 appId,
@@ -163,16 +203,14 @@ abstract class OriginsInventory(
         eventBus.post(event)
     }
 
-    open fun pools(state: OriginState): Collection<RemoteHost> =
+    open fun pools(state: OriginState): Collection<RemoteHost> = snapshots.getValue(state)
+
+    private fun remoteHosts(state: OriginState): List<RemoteHost> =
         monitoredOrigins.values
-            .filter { monitoredOrigin -> monitoredOrigin.state() == state }
-            .map { monitoredOrigin ->
-                val hostClient =
-                    HttpHandler { request: LiveHttpRequest, context: HttpInterceptor.Context ->
-                        Eventual(monitoredOrigin.hostClient.sendRequest(request, context))
-                    }
-                RemoteHost.remoteHost(monitoredOrigin.origin, hostClient, monitoredOrigin.hostClient)
-            }.toList()
+            .filter { monitoredOrigin -> monitoredOrigin.reportedState() == state }
+            .map { monitoredOrigin -> monitoredOrigin.remoteHost }
+            .toTypedArray()
+            .let { Collections.unmodifiableList(Arrays.asList(*it)) }
 
     private fun handleSetOriginsEvent(event: SetOriginsEvent) {
         val newOriginsMap = event.newOrigins.associateBy { origin: Origin -> origin.id() }
@@ -236,6 +274,38 @@ abstract class OriginsInventory(
         }
     }
 
+    private fun handleEjectOriginEvent(event: EjectOriginEvent) {
+        val monitoredOrigin = monitoredOrigins[event.origin.id()]
+        if (closed.get() || monitoredOrigin == null || monitoredOrigin.origin != event.origin ||
+            monitoredOrigin.state() != OriginState.ACTIVE || monitoredOrigin.ejected
+        ) {
+            return
+        }
+
+        val healthyOrigins = monitoredOrigins.values.count { it.state() == OriginState.ACTIVE }
+        if ((ejectedOriginCount() + 1) * 100 > healthyOrigins * event.config.maxEjectionPercent()) {
+            LOG.debug("Outlier not ejected, too many origins are ejected already. Origin={}:{}", appId, event.origin.id())
+            return
+        }
+
+        val ejectionMillis = monitoredOrigin.eject(event.config)
+        metrics.proxy.client.outlierEjections(event.origin).increment()
+        LOG.info("Origin ejected as an outlier: origin=\"{}={}\", ejectionMillis={}", appId, event.origin.id(), ejectionMillis)
+        ejectionScheduler.schedule({ eventQueue.submit(ReadmitOriginEvent(monitoredOrigin)) }, ejectionMillis, MILLISECONDS)
+        notifyStateChange()
+    }
+
+    private fun handleReadmitOriginEvent(event: ReadmitOriginEvent) {
+        val monitoredOrigin = event.monitoredOrigin
+        if (monitoredOrigin.ejected) {
+            monitoredOrigin.readmit()
+            if (!closed.get() && monitoredOrigins[monitoredOrigin.origin.id()] === monitoredOrigin) {
+                LOG.info("Ejected origin readmitted: origin=\"{}={}\"", appId, monitoredOrigin.origin.id())
+                notifyStateChange()
+            }
+        }
+    }
+
     private fun addMonitoredEndpoint(origin: Origin): MonitoredOrigin {
         val monitoredOrigin = origin.toMonitoredOrigin()
         monitoredOrigin.startMonitoring()
@@ -314,9 +384,24 @@ abstract class OriginsInventory(
         val origin: Origin,
     ) {
         abstract val hostClient: HostHttpClient
+        val remoteHost: RemoteHost by lazy {
+            val handler =
+                HttpHandler { request: LiveHttpRequest, context: HttpInterceptor.Context ->
+                    Eventual(hostClient.sendRequest(request, context))
+                }
+            RemoteHost.remoteHost(origin, handler, hostClient)
+        }
         private val machine: StateMachine<OriginState>
         private val statusGaugeDeleter: Deleter
 
+        // Changed by the event queue only, but read by load balancers.
+        @Volatile
+        var ejected: Boolean = false
+            private set
+        private var ejections: Int = 0
+        private var readmittedAtNanos: Long = 0
+        private var active = true
+
         init {
             machine =
                 StateMachine
@@ -354,6 +439,49 @@ abstract class OriginsInventory(
 
         fun state(): OriginState = machine.currentState
 
+        /**
+         * The state shown to load balancers and in snapshots. An ejected origin takes no traffic, so it is
+         * reported as inactive until it is readmitted, while its health state stays active.
+         */
+        fun reportedState(): OriginState = if (ejected && state() == OriginState.ACTIVE) OriginState.INACTIVE else state()
+
+        /**
+         * Called when the origin starts or stops taking traffic, because of its health, an operator command,
+         * or outlier ejection.
+         */
+        protected open fun activeChanged(active: Boolean) {
+        }
+
+        private fun updateActive() {
+            val nowActive = reportedState() == OriginState.ACTIVE
+            if (nowActive != active) {
+                active = nowActive
+                activeChanged(nowActive)
+            }
+        }
+
+        /**
+         * Marks the origin as ejected, and returns how long it is ejected for. An origin that has not been
+         * ejected for the maximum ejection time since it was last readmitted starts again from the base
+         * ejection time.
+         */
+        internal fun eject(config: OutlierDetectionConfig): Long {
+            if (ejections > 0 && nanoClock.asLong - readmittedAtNanos > MILLISECONDS.toNanos(config.maxEjectionMillis().toLong())) {
+                ejections = 0
+            }
+            val ejectionMillis = min(config.baseEjectionMillis().toLong() shl min(ejections, MAX_EJECTION_DOUBLINGS), config.maxEjectionMillis().toLong())
+            ejections++
+            ejected = true
+            updateActive()
+            return ejectionMillis
+        }
+
+        internal fun readmit() {
+            ejected = false
+            readmittedAtNanos = nanoClock.asLong
+            updateActive()
+        }
+
         private fun stopMonitoring() {
             originHealthStatusMonitor.stopMonitoring(setOf(origin))
         }
@@ -375,6 +503,7 @@ abstract class OriginsInventory(
                 } else if (oldState == OriginState.DISABLED) {
                     startMonitoring()
                 }
+                updateActive()
                 notifyStateChange()
             }
         }
@@ -401,6 +530,15 @@ abstract class OriginsInventory(
         val disableOrigin: DisableOrigin,
     )
 
+    private class EjectOriginEvent(
+        val origin: Origin,
+        val config: OutlierDetectionConfig,
+    )
+
+    private class ReadmitOriginEvent(
+        val monitoredOrigin: MonitoredOrigin,
+    )
+
     private class CloseEvent
 
     private class UnhealthyEvent
@@ -439,5 +577,11 @@ abstract class OriginsInventory(
         protected val LOG: Logger = LoggerFactory.getLogger(OriginsInventory::class.java)
         private val HEALTHY = HealthyEvent()
         private val UNHEALTHY = UnhealthyEvent()
+        private const val MAX_EJECTION_DOUBLINGS = 20
+
+        private val EJECTION_SCHEDULER: ScheduledExecutorService =
+            ScheduledThreadPoolExecutor(1) { runnable ->
+                Thread(runnable, "Styx-OutlierEjection").apply { isDaemon = true }
+            }
     }
 }
@@ -0,0 +1,178 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.client
+
+import com.hotels.styx.api.HttpResponseStatus
+import com.hotels.styx.api.Id
+import com.hotels.styx.api.extension.Origin
+import com.hotels.styx.api.extension.OriginsChangeListener
+import com.hotels.styx.api.extension.OriginsSnapshot
+import com.hotels.styx.api.extension.service.OutlierDetectionConfig
+import com.hotels.styx.client.connectionpool.ResourceExhaustedException
+import java.lang.Double.doubleToRawLongBits
+import java.lang.Double.longBitsToDouble
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit.SECONDS
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+import java.util.function.LongSupplier
+
+/**
+ * Finds outlier origins from the outcomes of the requests proxied to them, so that they can be ejected from
+ * load balancing without waiting for a health check.
+ *
+ * An origin is an outlier after a number of consecutive failures, which are 5xx responses and requests that fail
+ * without a response. It is also an outlier when its average latency is a multiple of the median latency of its
+ * peers. Hedged requests cancelled because another origin responded first count towards the latency too. Failures to borrow a
+ * connection from a busy connection pool are not counted, as they say nothing about the origin.
+ *
+ * How long an outlier stays ejected, and how many can be ejected at once, is up to the [OriginEjector].
+ */
+class OutlierDetector @JvmOverloads constructor(
+    private val config: OutlierDetectionConfig,
+    private val ejector: OriginEjector,
+    private val nanoClock: LongSupplier = LongSupplier { System.nanoTime() },
+) : OriginsChangeListener {
+    private val outcomes = ConcurrentHashMap<Id, Outcomes>()
+
+    /**
+     * Records a response from an origin.
+     *
+     * @param origin origin that responded
+     * @param status response status
+     * @param latencyNanos time taken for the response headers to arrive
+     */
+    fun responseReceived(origin: Origin, status: HttpResponseStatus, latencyNanos: Long) {
+        val originOutcomes = outcomesOf(origin)
+        if (status.code() >= 500) {
+            failed(origin, originOutcomes)
+        } else {
+            originOutcomes.consecutiveFailures.set(0)
+            recordLatency(origin, originOutcomes, latencyNanos)
+        }
+    }
+
+    /**
+     * Records a hedged request that was cancelled because the other hedged request responded first.
+     * The time until it was cancelled is recorded as its latency. This is less than the time the origin would
+     * have taken to respond, but without it a slow origin would go unnoticed while hedging cancels its requests.
+     *
+     * @param origin origin that the request was sent to
+     * @param elapsedNanos time from sending the request until it was cancelled
+     */
+    fun requestCancelled(origin: Origin, elapsedNanos: Long) {
+        recordLatency(origin, outcomesOf(origin), elapsedNanos)
+    }
+
+    /**
+     * Forgets the outcomes of origins that are no longer in the inventory.
+     */
+    override fun originsChanged(snapshot: OriginsSnapshot) {
+        outcomes.keys.retainAll { snapshot.containsOrigin(it) }
+    }
+
+    private fun recordLatency(origin: Origin, originOutcomes: Outcomes, latencyNanos: Long) {
+        if (config.latencyFactor() > 0) {
+            val samples = originOutcomes.recordLatency(latencyNanos, nanoClock.asLong)
+            if (samples >= config.minimumRequests() && samples % LATENCY_CHECK_INTERVAL == 0L && isSlowerThanPeers(origin, originOutcomes)) {
+                eject(origin)
+            }
+        }
+    }
+
+    /**
+     * Records a request that failed without a response.
+     *
+     * @param origin origin that the request was sent to
+     * @param cause cause of the failure
+     */
+    fun requestFailed(origin: Origin, cause: Throwable) {
+        if (cause !is ResourceExhaustedException) {
+            failed(origin, outcomesOf(origin))
+        }
+    }
+
+    private fun failed(origin: Origin, originOutcomes: Outcomes) {
+        if (originOutcomes.consecutiveFailures.incrementAndGet() >= config.consecutiveFailures()) {
+            eject(origin)
+        }
+    }
+
+    private fun isSlowerThanPeers(origin: Origin, originOutcomes: Outcomes): Boolean {
+        val recent = nanoClock.asLong - PEER_SAMPLE_AGE_NANOS
+        val peerLatencies = outcomes.entries
+            .filter { (id, peer) -> id != origin.id() && peer.samples() >= config.minimumRequests() && peer.lastSampleNanos - recent > 0 }
+            .map { (_, peer) -> peer.latencyNanos() }
+            .sorted()
+
+        if (peerLatencies.size < MIN_PEERS) {
+            return false
+        }
+
+        val median = peerLatencies[peerLatencies.size / 2]
+        return originOutcomes.latencyNanos() > median * config.latencyFactor()
+    }
+
+    private fun eject(origin: Origin) {
+        // An ejected origin starts afresh when it is readmitted, and so does one that could not be ejected.
+        outcomes.remove(origin.id())
+        ejector.eject(origin)
+    }
+
+    private fun outcomesOf(origin: Origin): Outcomes = outcomes.computeIfAbsent(origin.id()) { Outcomes() }
+
+    /**
+     * Ejects outlier origins from load balancing.
+     */
+    fun interface OriginEjector {
+        fun eject(origin: Origin)
+    }
+
+    private class Outcomes {
+        val consecutiveFailures = AtomicInteger()
+        private val samples = AtomicLong()
+        private val latency = AtomicLong(doubleToRawLongBits(0.0))
+
+        @Volatile
+        var lastSampleNanos: Long = 0
+            private set
+
+        fun recordLatency(latencyNanos: Long, now: Long): Long {
+            val count = samples.incrementAndGet()
+            var previousBits: Long
+            var next: Double
+            do {
+                previousBits = latency.get()
+                val previous = longBitsToDouble(previousBits)
+                next = if (count == 1L) latencyNanos.toDouble() else previous + (latencyNanos - previous) * LATENCY_WEIGHT
+            } while (!latency.compareAndSet(previousBits, doubleToRawLongBits(next)))
+            lastSampleNanos = now
+            return count
+        }
+
+        fun samples(): Long = samples.get()
+
+        fun latencyNanos(): Double = longBitsToDouble(latency.get())
+    }
+
+    companion object {
+        // Weight of each new sample in the moving average of an origin's latency:
+        private const val LATENCY_WEIGHT = 0.1
+        private const val LATENCY_CHECK_INTERVAL = 10L
+        private const val MIN_PEERS = 2
+        private val PEER_SAMPLE_AGE_NANOS = SECONDS.toNanos(10)
+    }
+}
@@ -0,0 +1,70 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.client
+
+import java.util.concurrent.atomic.AtomicLong
+import kotlin.math.min
+
+/**
+ * A token bucket that limits an activity, such as hedging or retrying requests, to a fraction of requests.
+ *
+ * Each [deposit] adds a fraction of a token to the bucket, up to a maximum number of tokens.
+ * Each [tryWithdraw] takes a whole token, if one is available. The bucket starts with [initialTokens].
+ */
+internal class RequestBudget(tokensPerDeposit: Double, maxTokens: Int, initialTokens: Int = 0) {
+    private val deposit = (tokensPerDeposit * TOKEN).toLong()
+    private val capacity = maxTokens * TOKEN
+    private val balance = AtomicLong(initialTokens * TOKEN)
+
+    init {
+        require(tokensPerDeposit >= 0) { "Tokens per deposit must be greater than or equal to zero" }
+        require(maxTokens > 0) { "Maximum number of tokens must be greater than zero" }
+        require(initialTokens in 0..maxTokens) { "Initial number of tokens must be between zero and the maximum number of tokens" }
+    }
+
+    fun deposit() {
+        if (deposit == 0L) {
+            return
+        }
+        var current = balance.get()
+        while (current < capacity) {
+            if (balance.compareAndSet(current, min(current + deposit, capacity))) {
+                return
+            }
+            current = balance.get()
+        }
+    }
+
+    fun tryWithdraw(): Boolean {
+        var current = balance.get()
+        while (current >= TOKEN) {
+            if (balance.compareAndSet(current, current - TOKEN)) {
+                return true
+            }
+            current = balance.get()
+        }
+        return false
+    }
+
+    fun tokens(): Double = balance.get().toDouble() / TOKEN
+
+    override fun toString(): String = "RequestBudget{tokens=${tokens()}, maxTokens=${capacity / TOKEN}}"
+
+    companion object {
+        // Fractions of tokens are counted in thousandths:
+        private const val TOKEN = 1000L
+    }
+}
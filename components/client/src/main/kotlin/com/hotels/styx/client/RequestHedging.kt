@@ -0,0 +1,263 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.client
+
+import com.hotels.styx.api.HttpMethod.GET
+import com.hotels.styx.api.HttpMethod.HEAD
+import com.hotels.styx.api.Id
+import com.hotels.styx.api.LiveHttpRequest
+import com.hotels.styx.api.LiveHttpResponse
+import com.hotels.styx.api.extension.service.HedgingConfig
+import com.hotels.styx.api.metrics.SlidingWindowHistogram
+import com.hotels.styx.metrics.CentralisedMetrics
+import org.reactivestreams.Publisher
+import reactor.core.Disposable
+import reactor.core.publisher.BaseSubscriber
+import reactor.core.publisher.Mono
+import reactor.core.publisher.MonoSink
+import reactor.core.scheduler.Scheduler
+import reactor.util.context.Context
+import java.lang.System.nanoTime
+import java.util.concurrent.TimeUnit.MILLISECONDS
+import java.util.concurrent.TimeUnit.NANOSECONDS
+import kotlin.math.max
+
+/**
+ * Hedges slow idempotent requests: when a request has not been responded to after a delay,
+ * a duplicate is sent to another origin. The first response is used, and the other request is cancelled.
+ *
+ * The delay is either fixed, or a percentile of the response latencies seen over the last few seconds.
+ * Hedges are limited by a [RequestBudget] that each request adds to.
+ *
+ * Each attempt is a [HedgedAttempt] in the subscriber context of its request, so that the exchange
+ * can tell a request cancelled for losing to the other attempt from one cancelled by the client.
+ */
+internal class RequestHedging(
+    private val config: HedgingConfig,
+    appId: Id,
+    metrics: CentralisedMetrics,
+) {
+    private val budget = RequestBudget(config.budgetPercent() / 100.0, MAX_HEDGE_BURST)
+    private val latencies: SlidingWindowHistogram? = if (config.percentile() > 0) {
+        SlidingWindowHistogram.Builder().autoResize(true).build()
+    } else {
+        null
+    }
+
+    private val hedgedRequests = metrics.proxy.client.hedgedRequests(appId.toString())
+    private val hedgesWon = metrics.proxy.client.hedgesWon(appId.toString())
+    private val hedgesRejected = metrics.proxy.client.hedgesRejected(appId.toString())
+    private val hedgesSkipped = metrics.proxy.client.hedgesSkipped(appId.toString())
+
+    @Volatile
+    private var delayMillis: Long = config.delayMillis().toLong()
+
+    @Volatile
+    private var delayExpiryNanos: Long = nanoTime()
+
+    /**
+     * Only requests that can safely be sent twice are hedged. That is, GET and HEAD requests without a body.
+     */
+    fun appliesTo(request: LiveHttpRequest): Boolean =
+        (request.method() == GET || request.method() == HEAD)
+            && !request.chunked()
+            && request.contentLength().orElse(0L) == 0L
+
+    /**
+     * Subscribes to the primary response, and to a hedge if the primary response does not arrive within the hedging delay.
+     *
+     * @param primary primary response
+     * @param scheduler schedules the hedge, normally on the event loop that is handling the request
+     * @param hedge provides a hedged response from another origin, or null if there is no other origin
+     * @return the first response to arrive
+     */
+    fun hedge(primary: Publisher<LiveHttpResponse>, scheduler: Scheduler, hedge: () -> Publisher<LiveHttpResponse>?): Mono<LiveHttpResponse> =
+        Mono.create { sink -> HedgedExchange(sink, scheduler, hedge).start(primary) }
+
+    private fun hedgingDelayMillis(): Long {
+        val histogram = latencies ?: return delayMillis
+
+        // Reading percentiles merges the histogram intervals, so the delay is only refreshed periodically:
+        val now = nanoTime()
+        if (now - delayExpiryNanos >= 0) {
+            delayExpiryNanos = now + DELAY_REFRESH_NANOS
+            delayMillis = max(config.delayMillis().toLong(), histogram.getValueAtPercentile(config.percentile()).toLong())
+        }
+        return delayMillis
+    }
+
+    private inner class HedgedExchange(
+        private val sink: MonoSink<LiveHttpResponse>,
+        private val scheduler: Scheduler,
+        private val hedge: () -> Publisher<LiveHttpResponse>?
+    ) {
+        private val startTime = nanoTime()
+        private val primary = Attempt(hedged = false, startTime)
+        private var secondary: Attempt? = null
+        private var timer: Disposable? = null
+        private var primaryCause: Throwable? = null
+        private var done = false
+
+        fun start(publisher: Publisher<LiveHttpResponse>) {
+            budget.deposit()
+            sink.onCancel { cancel() }
+
+            publisher.subscribe(primary)
+            synchronized(this) {
+                if (!done) {
+                    timer = scheduler.schedule({ hedgeIfPending() }, hedgingDelayMillis(), MILLISECONDS)
+                }
+            }
+        }
+
+        private fun hedgeIfPending() {
+            val hedgeTime = nanoTime()
+            synchronized(this) {
+                if (done) {
+                    return
+                }
+            }
+
+            val publisher = hedge()
+            if (publisher == null) {
+                hedgesSkipped.increment()
+                return
+            }
+            if (!budget.tryWithdraw()) {
+                hedgesRejected.increment()
+                return
+            }
+
+            val attempt = Attempt(hedged = true, hedgeTime)
+            synchronized(this) {
+                if (done) {
+                    return
+                }
+                secondary = attempt
+            }
+            hedgedRequests.increment()
+            publisher.subscribe(attempt)
+        }
+
+        private fun responded(attempt: Attempt, response: LiveHttpResponse) {
+            val won: Boolean
+            val other: Attempt?
+            synchronized(this) {
+                won = !done
+                done = true
+                other = if (attempt === primary) secondary else primary
+            }
+
+            if (!won) {
+                // Already responded to by the other attempt:
+                response.consume()
+                return
+            }
+
+            timer?.dispose()
+            other?.lose()
+            latencies?.recordValue(NANOSECONDS.toMillis(nanoTime() - startTime))
+            if (attempt.hedged) {
+                hedgesWon.increment()
+            }
+            sink.success(response)
+        }
+
+        private fun failed(attempt: Attempt, cause: Throwable?) {
+            synchronized(this) {
+                if (done) {
+                    return
+                }
+                attempt.failed = true
+                if (attempt === primary) {
+                    primaryCause = cause
+                }
+                val other = if (attempt === primary) secondary else primary
+                if (other != null && !other.failed) {
+                    // Wait for the other attempt:
+                    return
+                }
+                done = true
+            }
+
+            timer?.dispose()
+            val error = primaryCause ?: cause
+            if (error != null) {
+                sink.error(error)
+            } else {
+                sink.success()
+            }
+        }
+
+        private fun cancel() {
+            synchronized(this) {
+                done = true
+            }
+            timer?.dispose()
+            primary.dispose()
+            secondary?.dispose()
+        }
+
+        private inner class Attempt(val hedged: Boolean, private val sentNanos: Long) : BaseSubscriber<LiveHttpResponse>(), HedgedAttempt {
+            var failed = false
+            private var responded = false
+
+            @Volatile
+            private var lostAfterNanos: Long? = null
+
+            fun lose() {
+                lostAfterNanos = nanoTime() - sentNanos
+                dispose()
+            }
+
+            override fun lostAfterNanos(): Long? = lostAfterNanos
+
+            override fun currentContext(): Context = Context.of(HedgedAttempt::class.java, this)
+
+            override fun hookOnNext(value: LiveHttpResponse) {
+                responded = true
+                responded(this, value)
+            }
+
+            override fun hookOnError(throwable: Throwable) = failed(this, throwable)
+
+            override fun hookOnComplete() {
+                if (!responded) {
+                    failed(this, null)
+                }
+            }
+        }
+    }
+
+    /**
+     * An attempt to get a response for a hedged request, either the primary request or its hedge.
+     */
+    interface HedgedAttempt {
+        /**
+         * Time from sending this attempt until it was cancelled because the other attempt responded first,
+         * or null if it has not been cancelled for that. A hedge is sent once the hedging delay has passed,
+         * so its time is counted from then.
+         */
+        fun lostAfterNanos(): Long?
+    }
+
+    override fun toString(): String = "RequestHedging{config=$config, budget=$budget}"
+
+    companion object {
+        private const val MAX_HEDGE_BURST = 10
+        private val DELAY_REFRESH_NANOS = MILLISECONDS.toNanos(500)
+    }
+}
@@ -15,9 +15,12 @@
  */
 package com.hotels.styx.client
 
+import com.hotels.styx.api.ByteStream
 import com.hotels.styx.api.HttpHeaderNames
 import com.hotels.styx.api.extension.loadbalancing.spi.LoadBalancer
 import com.hotels.styx.api.extension.retrypolicy.spi.RetryPolicy
+import com.hotels.styx.api.extension.service.HedgingConfig
+import com.hotels.styx.api.extension.service.RetryBudgetConfig
 import com.hotels.styx.api.extension.service.StickySessionConfig
 import com.hotels.styx.metrics.CentralisedMetrics
 import com.hotels.styx.api.LiveHttpRequest
@@ -27,19 +30,29 @@ import com.hotels.styx.api.HttpResponseStatus
 import com.hotels.styx.api.Id
 import com.hotels.styx.api.LiveHttpResponse
 import reactor.core.publisher.Flux
+import reactor.core.scheduler.Scheduler
+import reactor.core.scheduler.Schedulers
 import com.hotels.styx.api.exceptions.NoAvailableHostsException
 import com.hotels.styx.api.ResponseEventListener
+import com.hotels.styx.api.extension.ActiveOrigins
 import com.hotels.styx.api.extension.Origin
 import com.hotels.styx.api.extension.RemoteHost
 import com.hotels.styx.api.extension.service.RewriteRule
 import com.hotels.styx.client.stickysession.StickySessionLoadBalancingStrategy
 import com.hotels.styx.client.stickysession.StickySessionCookie
 import com.hotels.styx.client.retry.RetryNTimes
+import com.hotels.styx.client.RequestHedging.HedgedAttempt
+import io.netty.util.concurrent.EventExecutor
+import io.netty.util.concurrent.FastThreadLocal
 import org.reactivestreams.Publisher
 import org.slf4j.LoggerFactory
 import java.lang.StringBuilder
+import java.time.Duration
 import java.util.Objects.nonNull
 import java.util.Optional
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.atomic.AtomicBoolean
 
 /**
  * A configurable HTTP client that uses connection pooling, load balancing, etc.
@@ -54,9 +67,21 @@ class StyxBackendServiceClient(
     private val loadBalancer: LoadBalancer,
     private val retryPolicy: RetryPolicy,
     private val metrics: CentralisedMetrics,
-    private val overrideHostHeader: Boolean
+    private val overrideHostHeader: Boolean,
+    private val hedgingConfig: HedgingConfig = HedgingConfig.hedgingDisabled(),
+    private val retryBudgetConfig: RetryBudgetConfig = RetryBudgetConfig.retryBudgetDisabled(),
+    private val outlierDetector: OutlierDetector? = null,
+    private val activeOrigins: ActiveOrigins? = null
 ) : BackendServiceClient {
     private val rewriteRuleset: RewriteRuleset = RewriteRuleset(rewriteRules)
+    private val hedging: RequestHedging? = if (hedgingConfig.hedgingEnabled()) RequestHedging(hedgingConfig, id, metrics) else null
+    private val retryBudget: RequestBudget? = if (retryBudgetConfig.retryBudgetEnabled()) {
+        RequestBudget(retryBudgetConfig.percent() / 100.0, retryBudgetConfig.burst(), retryBudgetConfig.burst())
+    } else {
+        null
+    }
+    private val retries = metrics.proxy.client.retries(id.toString())
+    private val retriesRejected = metrics.proxy.client.retriesRejected(id.toString())
 
     private constructor(builder: Builder): this(
         id = builder.id,
@@ -68,7 +93,11 @@ class StyxBackendServiceClient(
         stickySessionConfig = builder.stickySessionConfig,
         originIdHeader = builder.originIdHeader,
         retryPolicy = builder.retryPolicy,
-        overrideHostHeader = builder.overrideHostHeader
+        overrideHostHeader = builder.overrideHostHeader,
+        hedgingConfig = builder.hedgingConfig,
+        retryBudgetConfig = builder.retryBudgetConfig,
+        outlierDetector = builder.outlierDetector,
+        activeOrigins = builder.activeOrigins
     )
 
     /**
@@ -86,6 +115,10 @@ class StyxBackendServiceClient(
         var originIdHeader: CharSequence = StyxHeaderConfig.ORIGIN_ID_DEFAULT
         var retryPolicy: RetryPolicy = RetryNTimes(3)
         var overrideHostHeader: Boolean = false
+        var hedgingConfig: HedgingConfig = HedgingConfig.hedgingDisabled()
+        var retryBudgetConfig: RetryBudgetConfig = RetryBudgetConfig.retryBudgetDisabled()
+        var outlierDetector: OutlierDetector? = null
+        var activeOrigins: ActiveOrigins? = null
 
         fun id(id: Id) = apply {
             this.id = id
@@ -127,6 +160,22 @@ class StyxBackendServiceClient(
             this.overrideHostHeader = overrideHostHeader
         }
 
+        fun hedgingConfig(hedgingConfig: HedgingConfig) = apply {
+            this.hedgingConfig = hedgingConfig
+        }
+
+        fun retryBudgetConfig(retryBudgetConfig: RetryBudgetConfig) = apply {
+            this.retryBudgetConfig = retryBudgetConfig
+        }
+
+        fun outlierDetector(outlierDetector: OutlierDetector?) = apply {
+            this.outlierDetector = outlierDetector
+        }
+
+        fun activeOrigins(activeOrigins: ActiveOrigins?) = apply {
+            this.activeOrigins = activeOrigins
+        }
+
         fun build(): StyxBackendServiceClient {
             if(loadBalancer == null) {
                 throw IllegalStateException("load balancer property is required")
@@ -141,8 +190,17 @@ class StyxBackendServiceClient(
         }
     }
 
-    override fun sendRequest(request: LiveHttpRequest, context: HttpInterceptor.Context): Publisher<LiveHttpResponse> =
-        sendRequest(rewriteUrl(request), emptyList(), 0, context)
+    override fun sendRequest(request: LiveHttpRequest, context: HttpInterceptor.Context): Publisher<LiveHttpResponse> {
+        val rewrittenRequest = rewriteUrl(request)
+        return if (hedging != null && hedging.appliesTo(rewrittenRequest)) {
+            val attemptedOrigins = ConcurrentLinkedQueue<RemoteHost>()
+            hedging.hedge(sendRequest(rewrittenRequest, emptyList(), 0, context, attemptedOrigins), eventLoopScheduler(context)) {
+                sendHedgedRequest(rewrittenRequest, context, attemptedOrigins)
+            }
+        } else {
+            sendRequest(rewrittenRequest, emptyList(), 0, context)
+        }
+    }
 
     private fun isError(status: HttpResponseStatus): Boolean = status.code() >= 400
 
@@ -171,7 +229,8 @@ class StyxBackendServiceClient(
         request: LiveHttpRequest,
         previousOrigins: List<RemoteHost>,
         attempt: Int,
-        context: HttpInterceptor.Context
+        context: HttpInterceptor.Context,
+        attemptedOrigins: MutableCollection<RemoteHost>? = null
     ): Publisher<LiveHttpResponse> {
         if (attempt >= MAX_RETRY_ATTEMPTS) {
             return Flux.error(NoAvailableHostsException(id))
@@ -179,29 +238,94 @@ class StyxBackendServiceClient(
         val remoteHost = selectOrigin(request)
         return if (remoteHost.isPresent) {
             val host = remoteHost.get()
+            attemptedOrigins?.add(host)
             val updatedRequest = shouldOverrideHostHeader(host, request)
             val newPreviousOrigins = previousOrigins.toMutableList()
             newPreviousOrigins.add(host)
-            ResponseEventListener.from(host.hostClient().handle(updatedRequest, context)
-                .map { addStickySessionIdentifier(it, host.origin()) })
-                .whenResponseError { logError(updatedRequest, it) }
-                .whenCancelled { originStatsFactory.originStats(host.origin()).requestCancelled() }
-                .apply()
-                .doOnNext { recordErrorStatusMetrics(it) }
-                .map { removeUnexpectedResponseBody(updatedRequest, it) }
-                .map { removeRedundantContentLengthHeader(it) }
+            exchange(host, updatedRequest, context)
                 .onErrorResume { cause ->
                     val retryContext = RetryPolicyContext(id, attempt + 1, cause, updatedRequest, previousOrigins)
-                    retry(updatedRequest, retryContext, newPreviousOrigins, attempt + 1, cause, context)
+                    retry(updatedRequest, retryContext, newPreviousOrigins, attempt + 1, cause, context, attemptedOrigins)
                 }
                 .map { addOriginId(host.id(), it) }
                 .map { LiveHttpResponse.Builder(it).request(updatedRequest).build() }
         } else {
             val retryContext = RetryPolicyContext(id, attempt + 1, null, request, previousOrigins)
-            retry(request, retryContext, previousOrigins, attempt + 1, NoAvailableHostsException(id), context)
+            retry(request, retryContext, previousOrigins, attempt + 1, NoAvailableHostsException(id), context, attemptedOrigins)
         }
     }
 
+    /**
+     * Sends a copy of a request to an origin that has not been attempted yet. A hedged request is not retried,
+     * because the original request is still in progress.
+     */
+    private fun sendHedgedRequest(
+        request: LiveHttpRequest,
+        context: HttpInterceptor.Context,
+        attemptedOrigins: Collection<RemoteHost>
+    ): Publisher<LiveHttpResponse>? {
+        val preferences = preferences(request, attemptedOrigins)
+        val host = loadBalancer.choose(preferences)
+            .filter { chosen -> !isAttempted(chosen, attemptedOrigins) }
+            .or { leastBusyUnattemptedOrigin(preferences, attemptedOrigins) }
+            .orElse(null)
+            ?: return null
+        val updatedRequest = LiveHttpRequest.Builder(shouldOverrideHostHeader(host, request), ByteStream(Flux.empty())).build()
+
+        return Flux.defer { exchange(host, updatedRequest, context) }
+            .map { addOriginId(host.id(), it) }
+            .map { LiveHttpResponse.Builder(it).request(updatedRequest).build() }
+    }
+
+    /**
+     * Load balancing strategies may ignore the origins to avoid. A hedge then goes to the least busy
+     * active origin that has not been attempted yet, among the origins that the request prefers.
+     */
+    private fun leastBusyUnattemptedOrigin(preferences: LoadBalancer.Preferences, attemptedOrigins: Collection<RemoteHost>): Optional<RemoteHost> {
+        val preferred = preferences.preferredOrigins()
+            .map { OriginRestrictionLoadBalancingStrategy.originIsAllowed(it) }
+            .orElse(null)
+
+        return Optional.ofNullable(
+            activeOrigins?.snapshot()
+                ?.filter { !isAttempted(it, attemptedOrigins) && (preferred == null || preferred.test(it)) }
+                ?.minByOrNull { it.metric().ongoingActivities() }
+        )
+    }
+
+    private fun isAttempted(host: RemoteHost, attemptedOrigins: Collection<RemoteHost>): Boolean =
+        attemptedOrigins.any { it.id() == host.id() }
+
+    private fun exchange(host: RemoteHost, request: LiveHttpRequest, context: HttpInterceptor.Context): Flux<LiveHttpResponse> {
+        val startNanos = System.nanoTime()
+        val responded = AtomicBoolean()
+        return ResponseEventListener.from(host.hostClient().handle(request, context)
+            .map { addStickySessionIdentifier(it, host.origin()) })
+            .whenResponseError {
+                logError(request, it)
+                outlierDetector?.requestFailed(host.origin(), it)
+            }
+            .whenCancelled { originStatsFactory.originStats(host.origin()).requestCancelled() }
+            .apply()
+            .transformDeferredContextual { responses, subscriberContext ->
+                // Only the slower of two hedged requests says something about the origin's latency:
+                val hedgedAttempt = subscriberContext.getOrEmpty<HedgedAttempt>(HedgedAttempt::class.java).orElse(null)
+                responses.doOnCancel {
+                    hedgedAttempt?.lostAfterNanos()
+                        ?.takeIf { !responded.get() }
+                        ?.let { outlierDetector?.requestCancelled(host.origin(), it) }
+                }
+            }
+            .doOnNext {
+                responded.set(true)
+                outlierDetector?.responseReceived(host.origin(), it.status(), System.nanoTime() - startNanos)
+            }
+            .doOnNext { recordErrorStatusMetrics(it) }
+            .doOnNext { if (it.status().code() < 500) retryBudget?.deposit() }
+            .map { removeUnexpectedResponseBody(request, it) }
+            .map { removeRedundantContentLengthHeader(it) }
+    }
+
     private fun addOriginId(originId: Id, response: LiveHttpResponse): LiveHttpResponse = response.newBuilder()
             .header(originIdHeader, originId)
             .build()
@@ -212,20 +336,47 @@ class StyxBackendServiceClient(
         previousOrigins: List<RemoteHost>,
         attempt: Int,
         cause: Throwable,
-        context: HttpInterceptor.Context
+        context: HttpInterceptor.Context,
+        attemptedOrigins: MutableCollection<RemoteHost>?
     ): Flux<LiveHttpResponse> {
         val lbContext: LoadBalancer.Preferences = object : LoadBalancer.Preferences {
             override fun preferredOrigins(): Optional<String> = Optional.empty()
 
             override fun avoidOrigins(): List<Origin> = previousOrigins.map { it.origin() }
         }
-        return if (retryPolicy.evaluate(retryContext, loadBalancer, lbContext).shouldRetry()) {
-            Flux.from(sendRequest(request, previousOrigins, attempt, context))
+        val outcome = retryPolicy.evaluate(retryContext, loadBalancer, lbContext)
+        if (!outcome.shouldRetry()) {
+            return Flux.error(cause)
+        }
+        if (retryBudget != null && !retryBudget.tryWithdraw()) {
+            retriesRejected.increment()
+            return Flux.error(cause)
+        }
+        retries.increment()
+
+        val retried = Flux.defer { sendRequest(request, previousOrigins, attempt, context, attemptedOrigins) }
+        val backoffMillis = outcome.retryIntervalMillis()
+        return if (backoffMillis > 0) {
+            retried.delaySubscription(Duration.ofMillis(backoffMillis), eventLoopScheduler(context))
         } else {
-            Flux.error(cause)
+            retried
         }
     }
 
+    /**
+     * Retries and hedges are delayed on the event loop that is handling the request, when there is one.
+     */
+    private fun eventLoopScheduler(context: HttpInterceptor.Context): Scheduler =
+        when (val executor = context.executor()) {
+            is EventExecutor -> if (executor.inEventLoop()) eventLoopScheduler(executor) else Schedulers.fromExecutorService(executor)
+            is ScheduledExecutorService -> Schedulers.fromExecutorService(executor)
+            else -> Schedulers.parallel()
+        }
+
+    private fun eventLoopScheduler(eventLoop: EventExecutor): Scheduler =
+        EVENT_LOOP_SCHEDULER.get()
+            ?: Schedulers.fromExecutorService(eventLoop).also { EVENT_LOOP_SCHEDULER.set(it) }
+
     private class RetryPolicyContext(
         private val appId: Id,
         private val retryCount: Int,
@@ -287,8 +438,11 @@ class StyxBackendServiceClient(
         }
     }
 
-    private fun selectOrigin(rewrittenRequest: LiveHttpRequest): Optional<RemoteHost> {
-        val preferences: LoadBalancer.Preferences = object : LoadBalancer.Preferences {
+    private fun selectOrigin(rewrittenRequest: LiveHttpRequest): Optional<RemoteHost> =
+        loadBalancer.choose(preferences(rewrittenRequest, emptyList()))
+
+    private fun preferences(rewrittenRequest: LiveHttpRequest, avoid: Collection<RemoteHost>): LoadBalancer.Preferences =
+        object : LoadBalancer.Preferences {
             override fun preferredOrigins(): Optional<String> {
                 return if (nonNull(originsRestrictionCookieName)) {
                     rewrittenRequest.cookie(originsRestrictionCookieName)
@@ -299,11 +453,9 @@ class StyxBackendServiceClient(
                 }
             }
 
-            override fun avoidOrigins(): List<Origin> = emptyList()
+            override fun avoidOrigins(): List<Origin> = avoid.map { it.origin() }
 
         }
-        return loadBalancer.choose(preferences)
-    }
 
     private fun addStickySessionIdentifier(httpResponse: LiveHttpResponse, origin: Origin): LiveHttpResponse =
         if (loadBalancer is StickySessionLoadBalancingStrategy) {
@@ -324,12 +476,18 @@ class StyxBackendServiceClient(
         .append(", rewriteRuleset", rewriteRuleset)
         .append(", loadBalancingStrategy", loadBalancer)
         .append(", overrideHostHeader", overrideHostHeader)
+        .append(", hedgingConfig", hedgingConfig)
+        .append(", retryBudgetConfig", retryBudgetConfig)
         .toString()
 
     companion object {
         private val LOGGER = LoggerFactory.getLogger(StyxBackendServiceClient::class.java)
         private const val MAX_RETRY_ATTEMPTS = 3
 
+        // Each event loop thread keeps the scheduler of its own event loop, shared by all clients. It is released
+        // when the thread terminates, and it is never disposed because disposing it would shut the event loop down.
+        private val EVENT_LOOP_SCHEDULER = FastThreadLocal<Scheduler>()
+
         @JvmStatic fun newHttpClientBuilder(backendServiceId: Id): Builder = Builder(backendServiceId)
     }
 }
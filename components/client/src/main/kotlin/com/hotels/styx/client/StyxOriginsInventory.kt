@@ -26,17 +26,21 @@ import com.hotels.styx.client.healthcheck.monitors.NoOriginHealthStatusMonitor
 import com.hotels.styx.common.QueueDrainingEventProcessor
 import com.hotels.styx.common.StyxFutures.await
 import com.hotels.styx.metrics.CentralisedMetrics
+import java.util.concurrent.ScheduledExecutorService
+import java.util.function.LongSupplier
 /**
  * An inventory of the origins configured for a single application.
  */
-class StyxOriginsInventory(
+class StyxOriginsInventory @JvmOverloads constructor(
     eventBus: EventBus,
     appId: Id,
     originHealthStatusMonitor: OriginHealthStatusMonitor,
     private val hostConnectionPoolFactory: ConnectionPool.Factory,
     private val hostClientFactory: StyxHostHttpClient.Factory,
     metrics: CentralisedMetrics,
-) : OriginsInventory(eventBus, originHealthStatusMonitor, appId, metrics) {
+    ejectionScheduler: ScheduledExecutorService? = null,
+    nanoClock: LongSupplier = LongSupplier { System.nanoTime() },
+) : OriginsInventory(eventBus, originHealthStatusMonitor, appId, metrics, ejectionScheduler, nanoClock) {
     override val eventQueue: QueueDrainingEventProcessor = QueueDrainingEventProcessor(this, true)
 
     override fun Origin.toMonitoredOrigin(): OriginsInventory.MonitoredOrigin = MonitoredOrigin(this)
@@ -112,6 +116,10 @@ class StyxOriginsInventory(
         private val connectionPool: ConnectionPool = hostConnectionPoolFactory.create(origin)
         override val hostClient: StyxHostHttpClient = hostClientFactory.create(connectionPool)
 
+        override fun activeChanged(active: Boolean) {
+            connectionPool.originActive(active)
+        }
+
         override fun close() {
             super.close()
             connectionPool.close()
@@ -16,10 +16,13 @@
 package com.hotels.styx.client.connectionpool
 
 import com.hotels.styx.api.extension.Origin
+import com.hotels.styx.client.Connection
 import com.hotels.styx.metrics.CentralisedMetrics
 import com.hotels.styx.metrics.Deleter
+import org.reactivestreams.Publisher
+import java.util.concurrent.Executor
 
-class StatsReportingConnectionPool(connectionPool: ConnectionPool, metrics: CentralisedMetrics) : ConnectionPool by connectionPool {
+class StatsReportingConnectionPool(private val connectionPool: ConnectionPool, metrics: CentralisedMetrics) : ConnectionPool by connectionPool {
     private val deleters: Set<Deleter>
 
     init {
@@ -40,6 +43,11 @@ class StatsReportingConnectionPool(connectionPool: ConnectionPool, metrics: Cent
         }
     }
 
+    override fun borrowConnection(preferredExecutor: Executor?): Publisher<Connection> =
+        connectionPool.borrowConnection(preferredExecutor)
+
+    override fun originActive(active: Boolean) = connectionPool.originActive(active)
+
     override fun close() {
         super.close()
         deleters.forEach { it.delete() }
@@ -37,23 +37,18 @@ import java.util.Optional
 /**
  * A connection using a netty channel.
  *
+ * The primary constructor wraps a channel whose pipeline has already been set up to
+ * encode and decode HTTP messages, such as an HTTP/2 stream channel.
+ *
  * @param origin                  the origin connected to
  * @param channel                 the netty channel associated with this connection
  * @param requestOperationFactory used to create operation objects that send http requests via this connection
- * @param httpConfig              configuration settings for the **origin**
- * @param sslContext              TLS context in case of secure connections
- * @param sendSni                 include the servername extension (server name indicator) in the TLS handshake
- * @param sniHost                 hostname override for the server name indicator
  */
 class NettyConnection(
     private val origin: Origin,
     @get:JvmName("channel")
     val channel: Channel,
-    private val requestOperationFactory: HttpRequestOperationFactory,
-    httpConfig: HttpConfig,
-    sslContext: SslContext?,
-    sendSni: Boolean,
-    sniHost: Optional<String>
+    private val requestOperationFactory: HttpRequestOperationFactory
 ) : Connection {
     private val listeners = Announcer.to(Connection.Listener::class.java)
 
@@ -61,7 +56,29 @@ class NettyConnection(
         channel.closeFuture().addListener {
             listeners.announce().connectionClosed(this)
         }
-        addChannelHandlers(channel, httpConfig, sslContext, sendSni, sniHost.orElse(origin.host()))
+    }
+
+    /**
+     * Creates an HTTP/1.1 connection, and adds the codec handlers to the channel pipeline.
+     *
+     * @param origin                  the origin connected to
+     * @param channel                 the netty channel associated with this connection
+     * @param requestOperationFactory used to create operation objects that send http requests via this connection
+     * @param httpConfig              configuration settings for the **origin**
+     * @param sslContext              TLS context in case of secure connections
+     * @param sendSni                 include the servername extension (server name indicator) in the TLS handshake
+     * @param sniHost                 hostname override for the server name indicator
+     */
+    constructor(
+        origin: Origin,
+        channel: Channel,
+        requestOperationFactory: HttpRequestOperationFactory,
+        httpConfig: HttpConfig,
+        sslContext: SslContext?,
+        sendSni: Boolean,
+        sniHost: Optional<String>
+    ) : this(origin, channel, requestOperationFactory) {
+        addChannelHandlers(channel, httpConfig, sslContext, if (sendSni) sniHost.orElse(origin.host()) else null, origin.port())
     }
 
     override fun write(request: LiveHttpRequest, context: Context): Flux<LiveHttpResponse> =
@@ -90,18 +107,10 @@ class NettyConnection(
     }
 
     companion object {
-        private const val IGNORED_PORT_NUMBER = -1
-
-        private fun addChannelHandlers(channel: Channel, httpConfig: HttpConfig, sslContext: SslContext?, sendSni: Boolean, targetHost: String?) {
+        private fun addChannelHandlers(channel: Channel, httpConfig: HttpConfig, sslContext: SslContext?, sniHost: String?, port: Int) {
             channel.pipeline().run {
-                sslContext?.run {
-                    val sslHandler = if (sendSni) {
-                        newHandler(channel.alloc(), targetHost, IGNORED_PORT_NUMBER)
-                    } else {
-                        newHandler(channel.alloc())
-                    }
-
-                    addLast("ssl", sslHandler)
+                sslContext?.let {
+                    addLast("ssl", OriginSslHandlers.newSslHandler(it, channel, sniHost, port))
                 }
 
                 addLast("http-codec", HttpClientCodec(
@@ -0,0 +1,131 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.client.netty.connectionpool
+
+import com.hotels.styx.api.exceptions.TransportLostException
+import com.hotels.styx.api.exceptions.TransportLostException.Companion.CLOSED_BY_STYX
+import com.hotels.styx.api.extension.Announcer
+import com.hotels.styx.api.extension.Origin
+import com.hotels.styx.client.Connection
+import com.hotels.styx.client.Http2Connection
+import com.hotels.styx.client.HttpConfig
+import com.hotels.styx.client.HttpRequestOperationFactory
+import io.netty.channel.Channel
+import io.netty.channel.ChannelHandlerContext
+import io.netty.channel.ChannelInboundHandlerAdapter
+import io.netty.channel.ChannelInitializer
+import io.netty.handler.codec.http.HttpContentDecompressor
+import io.netty.handler.codec.http2.Http2FrameCodec
+import io.netty.handler.codec.http2.Http2GoAwayFrame
+import io.netty.handler.codec.http2.Http2StreamChannelBootstrap
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec
+import io.netty.util.ReferenceCountUtil
+import reactor.core.publisher.Mono
+
+/**
+ * An HTTP/2 connection using a netty channel. The channel pipeline must already contain
+ * an [Http2FrameCodec] and an [io.netty.handler.codec.http2.Http2MultiplexHandler].
+ *
+ * Each stream is opened as a child channel with an [Http2StreamFrameToHttpObjectCodec],
+ * so that it can be driven by the same [HttpRequestOperation] as an HTTP/1.1 connection.
+ *
+ * @param origin                  the origin connected to
+ * @param channel                 the netty channel associated with this connection
+ * @param requestOperationFactory used to create operation objects that send http requests via the streams
+ * @param httpConfig              configuration settings for the **origin**
+ */
+class NettyHttp2Connection(
+    private val origin: Origin,
+    @get:JvmName("channel")
+    val channel: Channel,
+    private val requestOperationFactory: HttpRequestOperationFactory,
+    private val httpConfig: HttpConfig
+) : Http2Connection {
+    private val listeners = Announcer.to(Http2Connection.Listener::class.java)
+    private val streamBootstrap = Http2StreamChannelBootstrap(channel).handler(StreamInitializer())
+    private val frameCodec: Http2FrameCodec? = channel.pipeline().get(Http2FrameCodec::class.java)
+
+    @Volatile
+    private var goAwayReceived = false
+
+    init {
+        channel.closeFuture().addListener {
+            listeners.announce().connectionClosed(this)
+        }
+        channel.pipeline().addLast(GO_AWAY_HANDLER_NAME, GoAwayHandler())
+    }
+
+    override fun openStream(): Mono<Connection> = Mono.create { sink ->
+        val future = streamBootstrap.open()
+        future.addListener {
+            if (future.isSuccess) {
+                sink.success(NettyConnection(origin, future.now, requestOperationFactory))
+            } else {
+                sink.error(TransportLostException(channel, origin))
+            }
+        }
+    }
+
+    override fun maxConcurrentStreams(): Int = frameCodec?.connection()?.local()?.maxActiveStreams() ?: 0
+
+    override fun isConnected() = channel.isActive && !goAwayReceived
+
+    override fun getOrigin() = origin
+
+    override fun addConnectionListener(listener: Http2Connection.Listener) = listeners.addListener(listener)
+
+    override fun close() {
+        if (channel.isOpen) {
+            channel.attr(CLOSED_BY_STYX).set(true)
+            channel.close()
+        }
+    }
+
+    override fun toString() = buildString(160) {
+        append(javaClass.simpleName)
+        append("{host=")
+        append(origin.hostAndPortString())
+        append(", channel=")
+        append(channel)
+        append(", goAwayReceived=")
+        append(goAwayReceived)
+        append('}')
+    }
+
+    private inner class StreamInitializer : ChannelInitializer<Channel>() {
+        override fun initChannel(ch: Channel) {
+            ch.pipeline().addLast("http2-codec", Http2StreamFrameToHttpObjectCodec(false))
+            if (httpConfig.compress()) {
+                ch.pipeline().addLast("decompressor", HttpContentDecompressor(0))
+            }
+        }
+    }
+
+    private inner class GoAwayHandler : ChannelInboundHandlerAdapter() {
+        override fun channelRead(ctx: ChannelHandlerContext, msg: Any) {
+            if (msg is Http2GoAwayFrame) {
+                goAwayReceived = true
+                ReferenceCountUtil.release(msg)
+            } else {
+                ctx.fireChannelRead(msg)
+            }
+        }
+    }
+
+    companion object {
+        private const val GO_AWAY_HANDLER_NAME = "http2-go-away"
+    }
+}
@@ -0,0 +1,130 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.client;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.hotels.styx.api.HttpResponse;
+import com.hotels.styx.api.LiveHttpRequest;
+import com.hotels.styx.api.extension.Origin;
+import com.hotels.styx.api.extension.service.ConnectionPoolSettings;
+import com.hotels.styx.client.netty.connectionpool.NettyConnectionFactory;
+import io.netty.handler.ssl.SslContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static com.hotels.styx.api.HttpHeaderNames.HOST;
+import static com.hotels.styx.api.HttpResponseStatus.OK;
+import static com.hotels.styx.api.LiveHttpRequest.get;
+import static com.hotels.styx.api.extension.Origin.newOriginBuilder;
+import static com.hotels.styx.support.server.UrlMatchingStrategies.urlStartingWith;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class KeepAliveConnectionPoolsTest {
+    private static final Duration IDLE_TIMEOUT = Duration.ofSeconds(60);
+
+    private final AtomicLong nanoClock = new AtomicLong();
+    private WireMockServer server;
+    private NettyConnectionFactory connectionFactory;
+    private KeepAliveConnectionPools pools;
+
+    @BeforeEach
+    public void setUp() {
+        server = new WireMockServer(wireMockConfig().dynamicPort());
+        server.start();
+        server.stubFor(WireMock.get(urlStartingWith("/")).willReturn(aResponse().withStatus(200).withBody("ok")));
+
+        connectionFactory = spy(new NettyConnectionFactory.Builder().build());
+        pools = new KeepAliveConnectionPools(connectionFactory, new ConnectionPoolSettings.Builder().build(), IDLE_TIMEOUT, nanoClock::get);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pools.close();
+        server.stop();
+    }
+
+    @Test
+    public void reusesConnectionForConsecutiveRequests() throws InterruptedException {
+        Origin origin = newOriginBuilder("localhost", server.port()).build();
+
+        assertThat(send(origin).status(), is(OK));
+        assertThat(send(origin).status(), is(OK));
+
+        verify(connectionFactory, times(1)).createConnection(any(Origin.class), any(ConnectionSettings.class), isNull(SslContext.class));
+        assertThat(pools.poolCount(), is(1));
+    }
+
+    @Test
+    public void evictsPoolsThatHaveBeenIdleForTheTimeout() throws InterruptedException {
+        Origin origin = newOriginBuilder("localhost", server.port()).build();
+        Origin other = newOriginBuilder("127.0.0.1", server.port()).build();
+
+        send(origin);
+        nanoClock.addAndGet(IDLE_TIMEOUT.toNanos() + 1);
+        send(other);
+
+        assertThat(pools.poolCount(), is(1));
+
+        send(origin);
+
+        verify(connectionFactory, times(3)).createConnection(any(Origin.class), any(ConnectionSettings.class), isNull(SslContext.class));
+        assertThat(pools.poolCount(), is(2));
+    }
+
+    @Test
+    public void keepsPoolsThatAreInUse() throws InterruptedException {
+        Origin origin = newOriginBuilder("localhost", server.port()).build();
+
+        send(origin);
+        nanoClock.addAndGet(IDLE_TIMEOUT.toNanos() / 2);
+        send(origin);
+        nanoClock.addAndGet(IDLE_TIMEOUT.toNanos() / 2 + 1);
+        send(origin);
+
+        verify(connectionFactory, times(1)).createConnection(any(Origin.class), any(ConnectionSettings.class), isNull(SslContext.class));
+    }
+
+    private HttpResponse send(Origin origin) throws InterruptedException {
+        LiveHttpRequest request = get("/").header(HOST, origin.hostAndPortString()).build();
+
+        HttpResponse response = pools.send(origin, null, request)
+                .flatMap(it -> Mono.from(it.aggregate(1024)))
+                .block();
+
+        // The connection can be returned to its pool just after the response has been received,
+        // and is only available again once it has been queued, after it stops counting as busy:
+        long deadline = System.nanoTime() + SECONDS.toNanos(5);
+        while (pools.availableConnectionCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.client;
+
+import com.hotels.styx.api.extension.Origin;
+import com.hotels.styx.api.extension.OriginsSnapshot;
+import com.hotels.styx.api.extension.service.OutlierDetectionConfig;
+import com.hotels.styx.client.connectionpool.ResourceExhaustedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hotels.styx.api.HttpResponseStatus.BAD_GATEWAY;
+import static com.hotels.styx.api.HttpResponseStatus.NOT_FOUND;
+import static com.hotels.styx.api.HttpResponseStatus.OK;
+import static com.hotels.styx.api.Id.GENERIC_APP;
+import static com.hotels.styx.api.extension.Origin.newOriginBuilder;
+import static com.hotels.styx.api.extension.service.OutlierDetectionConfig.newOutlierDetectionConfigBuilder;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+
+public class OutlierDetectorTest {
+    private static final Origin ORIGIN_1 = newOriginBuilder("localhost", 8001).applicationId(GENERIC_APP).id("app-01").build();
+    private static final Origin ORIGIN_2 = newOriginBuilder("localhost", 8002).applicationId(GENERIC_APP).id("app-02").build();
+    private static final Origin ORIGIN_3 = newOriginBuilder("localhost", 8003).applicationId(GENERIC_APP).id("app-03").build();
+
+    private static final OutlierDetectionConfig CONFIG = newOutlierDetectionConfigBuilder()
+            .enabled(true)
+            .consecutiveFailures(3)
+            .latencyFactor(3.0)
+            .minimumRequests(20)
+            .build();
+
+    private final AtomicLong clock = new AtomicLong();
+    private List<Origin> ejected;
+    private OutlierDetector detector;
+
+    @BeforeEach
+    public void setUp() {
+        ejected = new ArrayList<>();
+        detector = new OutlierDetector(CONFIG, ejected::add, clock::get);
+    }
+
+    @Test
+    public void ejectsOriginAfterConsecutiveFailures() {
+        detector.responseReceived(ORIGIN_1, BAD_GATEWAY, 1000);
+        detector.requestFailed(ORIGIN_1, new IOException("Connection refused"));
+        assertThat(ejected, is(empty()));
+
+        detector.responseReceived(ORIGIN_1, BAD_GATEWAY, 1000);
+        assertThat(ejected, contains(ORIGIN_1));
+    }
+
+    @Test
+    public void successfulResponsesResetFailureCount() {
+        detector.responseReceived(ORIGIN_1, BAD_GATEWAY, 1000);
+        detector.responseReceived(ORIGIN_1, BAD_GATEWAY, 1000);
+        detector.responseReceived(ORIGIN_1, NOT_FOUND, 1000);
+        detector.responseReceived(ORIGIN_1, BAD_GATEWAY, 1000);
+        detector.responseReceived(ORIGIN_1, BAD_GATEWAY, 1000);
+
+        assertThat(ejected, is(empty()));
+    }
+
+    @Test
+    public void ignoresExhaustedConnectionPools() {
+        for (int i = 0; i < 5; i++) {
+            detector.requestFailed(ORIGIN_1, mock(ResourceExhaustedException.class));
+        }
+
+        assertThat(ejected, is(empty()));
+    }
+
+    @Test
+    public void ejectsOriginsSlowerThanTheirPeers() {
+        respond(ORIGIN_1, 20, 10);
+        respond(ORIGIN_2, 20, 12);
+        respond(ORIGIN_3, 19, 100);
+        assertThat(ejected, is(empty()));
+
+        respond(ORIGIN_3, 1, 100);
+        assertThat(ejected, contains(ORIGIN_3));
+    }
+
+    @Test
+    public void doesNotEjectOriginsWithinLatencyFactorOfPeers() {
+        respond(ORIGIN_1, 20, 10);
+        respond(ORIGIN_2, 20, 12);
+        respond(ORIGIN_3, 40, 25);
+
+        assertThat(ejected, is(empty()));
+    }
+
+    @Test
+    public void ejectsOriginsWhoseCancelledRequestsAreSlowerThanPeers() {
+        respond(ORIGIN_1, 20, 10);
+        respond(ORIGIN_2, 20, 12);
+        for (int i = 0; i < 20; i++) {
+            detector.requestCancelled(ORIGIN_3, MILLISECONDS.toNanos(100));
+        }
+
+        assertThat(ejected, contains(ORIGIN_3));
+    }
+
+    @Test
+    public void forgetsOutcomesOfRemovedOrigins() {
+        detector.responseReceived(ORIGIN_1, BAD_GATEWAY, 1000);
+        detector.responseReceived(ORIGIN_1, BAD_GATEWAY, 1000);
+
+        detector.originsChanged(new OriginsSnapshot(GENERIC_APP, List.of(), List.of(), List.of()));
+        detector.responseReceived(ORIGIN_1, BAD_GATEWAY, 1000);
+
+        assertThat(ejected, is(empty()));
+    }
+
+    @Test
+    public void ignoresPeersWithoutRecentResponses() {
+        respond(ORIGIN_1, 20, 10);
+        respond(ORIGIN_2, 20, 12);
+        clock.addAndGet(SECONDS.toNanos(11));
+        respond(ORIGIN_3, 20, 100);
+
+        assertThat(ejected, is(empty()));
+    }
+
+    private void respond(Origin origin, int count, long latencyMillis) {
+        for (int i = 0; i < count; i++) {
+            detector.responseReceived(origin, OK, MILLISECONDS.toNanos(latencyMillis));
+        }
+    }
+}
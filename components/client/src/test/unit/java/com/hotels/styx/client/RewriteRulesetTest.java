@@ -20,7 +20,10 @@ import com.hotels.styx.api.extension.service.RewriteConfig;
 import com.hotels.styx.api.extension.service.RewriteRule;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.Random;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
@@ -87,6 +90,79 @@ public class RewriteRulesetTest {
         assertThat(rewriter.rewrite(requestWithUrl("/significant/path?a=b&c=d")).url().toString(), is("/significant/path?a=b&c=d"));
     }
 
+    @Test
+    public void appliesRulesWithoutLiteralPrefixInConfiguredOrder() {
+        List<RewriteRule> config = asList(
+                new RewriteConfig("/sp/foo/(.*)", "/foo/$1"),
+                new RewriteConfig("(.*)/bar", "$1/baz"),
+                new RewriteConfig("/sp/(.*)", "/$1"),
+                new RewriteConfig("/(?:sp|xp)/bar", "/qux")
+        );
+
+        RewriteRuleset rewriter = new RewriteRuleset(config);
+        assertThat(rewriter.rewrite(requestWithUrl("/sp/foo/bar")).path(), is("/foo/bar"));
+        assertThat(rewriter.rewrite(requestWithUrl("/sp/x/bar")).path(), is("/sp/x/baz"));
+        assertThat(rewriter.rewrite(requestWithUrl("/sp/x")).path(), is("/x"));
+        assertThat(rewriter.rewrite(requestWithUrl("/xp/bar")).path(), is("/xp/baz"));
+    }
+
+    @Test
+    public void appliesCustomRewriteRulesToAllPaths() {
+        RewriteRule custom = uri -> uri.startsWith("/custom") ? Optional.of("/replaced") : Optional.empty();
+        RewriteRuleset rewriter = new RewriteRuleset(asList(new RewriteConfig("/sp/(.*)", "/$1"), custom));
+
+        assertThat(rewriter.rewrite(requestWithUrl("/custom/path")).path(), is("/replaced"));
+        assertThat(rewriter.rewrite(requestWithUrl("/sp/path")).path(), is("/path"));
+    }
+
+    @Test
+    public void extractsLiteralPrefixesFromUrlPatterns() {
+        assertThat(RewriteRuleset.literalPrefix("/sp/(.*)"), is("/sp/"));
+        assertThat(RewriteRuleset.literalPrefix("^/sp/foo"), is("/sp/foo"));
+        assertThat(RewriteRuleset.literalPrefix("/sp\\.html"), is("/sp.html"));
+        assertThat(RewriteRuleset.literalPrefix("/sp/foo?"), is("/sp/fo"));
+        assertThat(RewriteRuleset.literalPrefix("/sp/foo*"), is("/sp/fo"));
+        assertThat(RewriteRuleset.literalPrefix("/sp/fo{0,2}"), is("/sp/f"));
+        assertThat(RewriteRuleset.literalPrefix("/sp/foo+"), is("/sp/foo"));
+        assertThat(RewriteRuleset.literalPrefix("/sp\\d+"), is("/sp"));
+        assertThat(RewriteRuleset.literalPrefix("/sp/[a-z]+"), is("/sp/"));
+        assertThat(RewriteRuleset.literalPrefix("/foo|/bar"), is(""));
+        assertThat(RewriteRuleset.literalPrefix("(?i)/sp"), is(""));
+        assertThat(RewriteRuleset.literalPrefix(".*"), is(""));
+    }
+
+    @Test
+    public void agreesWithTryingEveryRuleInOrder() {
+        Random random = new Random(11);
+        List<RewriteRule> rules = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            rules.add(new RewriteConfig(randomPath(random) + (random.nextBoolean() ? "(.*)" : "([ab]?)"), "/rule" + i + "/$1"));
+        }
+        RewriteRuleset rewriter = new RewriteRuleset(rules);
+
+        for (int i = 0; i < 2000; i++) {
+            String path = randomPath(random);
+            String expected = rules.stream()
+                    .map(rule -> rule.rewrite(path))
+                    .filter(Optional::isPresent)
+                    .map(Optional::get)
+                    .findFirst()
+                    .orElse(path);
+
+            assertThat(path, rewriter.rewrite(requestWithUrl(path)).path(), is(expected));
+        }
+    }
+
+    private static String randomPath(Random random) {
+        // Paths starting with "//" would be parsed as a URL authority:
+        StringBuilder path = new StringBuilder("/").append("ab".charAt(random.nextInt(2)));
+        int length = random.nextInt(6);
+        for (int i = 0; i < length; i++) {
+            path.append("/ab".charAt(random.nextInt(3)));
+        }
+        return path.toString();
+    }
+
     private LiveHttpRequest requestWithUrl(String url) {
         return LiveHttpRequest.get(url).build();
     }
@@ -29,15 +29,21 @@ import com.hotels.styx.api.MicrometerRegistry;
 import com.hotels.styx.api.HttpInterceptor.Context;
 import com.hotels.styx.api.exceptions.NoAvailableHostsException;
 import com.hotels.styx.api.exceptions.OriginUnreachableException;
+import com.hotels.styx.api.extension.ActiveOrigins;
 import com.hotels.styx.api.extension.Origin;
 import com.hotels.styx.api.extension.RemoteHost;
 import com.hotels.styx.api.extension.loadbalancing.spi.LoadBalancer;
+import com.hotels.styx.api.extension.loadbalancing.spi.LoadBalancingMetric;
 import com.hotels.styx.api.extension.retrypolicy.spi.RetryPolicy;
 import com.hotels.styx.api.extension.service.BackendService;
+import com.hotels.styx.api.extension.service.HedgingConfig;
+import com.hotels.styx.api.extension.service.RetryBudgetConfig;
 import com.hotels.styx.api.extension.service.StickySessionConfig;
 import com.hotels.styx.client.retry.RetryNTimes;
 import com.hotels.styx.metrics.CentralisedMetrics;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.channel.DefaultEventLoop;
+import io.netty.util.concurrent.DefaultThreadFactory;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -50,7 +56,14 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static com.hotels.styx.api.HttpHeaderNames.CHUNKED;
 import static com.hotels.styx.api.HttpHeaderNames.CONTENT_LENGTH;
@@ -62,20 +75,29 @@ import static com.hotels.styx.api.HttpResponseStatus.OK;
 import static com.hotels.styx.api.HttpResponseStatus.UNAUTHORIZED;
 import static com.hotels.styx.api.Id.GENERIC_APP;
 import static com.hotels.styx.api.LiveHttpRequest.get;
+import static com.hotels.styx.api.LiveHttpRequest.post;
 import static com.hotels.styx.api.LiveHttpResponse.response;
 import static com.hotels.styx.api.RequestCookie.requestCookie;
 import static com.hotels.styx.api.extension.Origin.newOriginBuilder;
 import static com.hotels.styx.api.extension.RemoteHost.remoteHost;
+import static com.hotels.styx.api.extension.service.HedgingConfig.newHedgingConfigBuilder;
+import static com.hotels.styx.api.extension.service.OutlierDetectionConfig.newOutlierDetectionConfigBuilder;
+import static com.hotels.styx.api.extension.service.RetryBudgetConfig.newRetryBudgetConfigBuilder;
 import static com.hotels.styx.api.extension.service.StickySessionConfig.stickySessionDisabled;
 import static com.hotels.styx.support.Support.requestContext;
 import static java.util.Arrays.asList;
 import static java.util.Arrays.stream;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.longThat;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -161,6 +183,34 @@ public class StyxBackendServiceClientTest {
         assertThat(response.status(), is(OK));
     }
 
+    @Test
+    public void reportsFailedRequestsToOutlierDetector() {
+        List<Origin> ejected = new ArrayList<>();
+        OutlierDetector outlierDetector = new OutlierDetector(
+                newOutlierDetectionConfigBuilder().enabled(true).consecutiveFailures(1).build(),
+                ejected::add);
+
+        StyxHostHttpClient firstClient = mockHostClient(Flux.error(
+                new OriginUnreachableException(ORIGIN_1, new RuntimeException("An error occurred"))));
+        StyxHostHttpClient secondClient = mockHostClient(Flux.just(response(INTERNAL_SERVER_ERROR).build()));
+
+        StyxBackendServiceClient styxHttpClient = new StyxBackendServiceClient.Builder(backendService.id())
+                .metrics(metrics)
+                .loadBalancer(
+                        mockLoadBalancer(
+                                Optional.of(remoteHost(ORIGIN_1, toHandler(firstClient), firstClient)),
+                                Optional.of(remoteHost(ORIGIN_2, toHandler(secondClient), secondClient))
+                        ))
+                .retryPolicy(mockRetryPolicy(true, false))
+                .outlierDetector(outlierDetector)
+                .build();
+
+        LiveHttpResponse response = Mono.from(styxHttpClient.sendRequest(SOME_REQ, requestContext())).block();
+
+        assertThat(response.status(), is(INTERNAL_SERVER_ERROR));
+        assertThat(ejected, contains(ORIGIN_1, ORIGIN_2));
+    }
+
     @Test
     public void retriesWhenRetryPolicyTellsToRetry() {
         RetryPolicy retryPolicy = mockRetryPolicy(true, false);
@@ -567,6 +617,373 @@ public class StyxBackendServiceClientTest {
                 ).verifyComplete();
     }
 
+    @Test
+    public void hedgesSlowIdempotentRequestsToAnotherOrigin() {
+        StyxHostHttpClient slowClient = mockHostClient(Flux.never());
+        StyxHostHttpClient fastClient = mockHostClient(Flux.just(response(OK).build()));
+
+        StyxBackendServiceClient styxHttpClient = new StyxBackendServiceClient.Builder(Id.id("app"))
+                .metrics(metrics)
+                .hedgingConfig(hedgingConfig(10, 100))
+                .loadBalancer(mockLoadBalancer(
+                        Optional.of(remoteHost(ORIGIN_1, toHandler(slowClient), slowClient)),
+                        Optional.of(remoteHost(ORIGIN_2, toHandler(fastClient), fastClient))))
+                .build();
+
+        StepVerifier.create(styxHttpClient.sendRequest(SOME_REQ, requestContext()))
+                .expectNextMatches(it -> it.header(StyxHeaderConfig.ORIGIN_ID_DEFAULT).equals(Optional.of("app-02")))
+                .verifyComplete();
+
+        assertThat(meterRegistry.get("proxy.client.hedging.sent").tags("appId", "app").counter().count(), is(1.0));
+        assertThat(meterRegistry.get("proxy.client.hedging.won").tags("appId", "app").counter().count(), is(1.0));
+        assertThat(meterRegistry.get("proxy.client.requests.cancelled")
+                .tags("appId", "app", "originId", "app-01")
+                .counter().count(), is(1.0));
+    }
+
+    @Test
+    public void reportsCancelledHedgedRequestsToOutlierDetector() {
+        OutlierDetector outlierDetector = mock(OutlierDetector.class);
+        StyxHostHttpClient slowClient = mockHostClient(Flux.never());
+        StyxHostHttpClient fastClient = mockHostClient(Flux.just(response(OK).build()));
+
+        StyxBackendServiceClient styxHttpClient = new StyxBackendServiceClient.Builder(Id.id("app"))
+                .metrics(metrics)
+                .hedgingConfig(hedgingConfig(10, 100))
+                .loadBalancer(mockLoadBalancer(
+                        Optional.of(remoteHost(ORIGIN_1, toHandler(slowClient), slowClient)),
+                        Optional.of(remoteHost(ORIGIN_2, toHandler(fastClient), fastClient))))
+                .outlierDetector(outlierDetector)
+                .build();
+
+        StepVerifier.create(styxHttpClient.sendRequest(SOME_REQ, requestContext()))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(outlierDetector).requestCancelled(eq(ORIGIN_1), longThat(elapsed -> elapsed >= MILLISECONDS.toNanos(10)));
+        verify(outlierDetector).responseReceived(eq(ORIGIN_2), eq(OK), anyLong());
+        verify(outlierDetector, never()).requestCancelled(eq(ORIGIN_2), anyLong());
+    }
+
+    @Test
+    public void doesNotReportRequestsCancelledByClientToOutlierDetector() {
+        OutlierDetector outlierDetector = mock(OutlierDetector.class);
+        StyxHostHttpClient slowClient = mockHostClient(Flux.never());
+        StyxHostHttpClient otherSlowClient = mockHostClient(Flux.never());
+
+        StyxBackendServiceClient styxHttpClient = new StyxBackendServiceClient.Builder(Id.id("app"))
+                .metrics(metrics)
+                .hedgingConfig(hedgingConfig(10, 100))
+                .loadBalancer(mockLoadBalancer(
+                        Optional.of(remoteHost(ORIGIN_1, toHandler(slowClient), slowClient)),
+                        Optional.of(remoteHost(ORIGIN_2, toHandler(otherSlowClient), otherSlowClient))))
+                .outlierDetector(outlierDetector)
+                .build();
+
+        StepVerifier.create(styxHttpClient.sendRequest(SOME_REQ, requestContext()))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(50))
+                .thenCancel()
+                .verify();
+
+        verify(otherSlowClient).sendRequest(any(LiveHttpRequest.class), any(Context.class));
+        verify(outlierDetector, never()).requestCancelled(any(Origin.class), anyLong());
+    }
+
+    @Test
+    public void doesNotHedgeNonIdempotentRequests() {
+        StyxHostHttpClient slowClient = mockHostClient(Mono.delay(Duration.ofMillis(100)).map(it -> response(OK).build()));
+        StyxHostHttpClient fastClient = mockHostClient(Flux.just(response(OK).build()));
+
+        StyxBackendServiceClient styxHttpClient = new StyxBackendServiceClient.Builder(Id.id("app"))
+                .metrics(metrics)
+                .hedgingConfig(hedgingConfig(10, 100))
+                .loadBalancer(mockLoadBalancer(
+                        Optional.of(remoteHost(ORIGIN_1, toHandler(slowClient), slowClient)),
+                        Optional.of(remoteHost(ORIGIN_2, toHandler(fastClient), fastClient))))
+                .build();
+
+        StepVerifier.create(styxHttpClient.sendRequest(post("/some-req").build(), requestContext()))
+                .expectNextMatches(it -> it.header(StyxHeaderConfig.ORIGIN_ID_DEFAULT).equals(Optional.of("app-01")))
+                .verifyComplete();
+
+        verify(fastClient, never()).sendRequest(any(LiveHttpRequest.class), any(Context.class));
+    }
+
+    @Test
+    public void doesNotHedgeWhenHedgingBudgetIsUsedUp() {
+        StyxHostHttpClient slowClient = mockHostClient(Mono.delay(Duration.ofMillis(100)).map(it -> response(OK).build()));
+        StyxHostHttpClient fastClient = mockHostClient(Flux.just(response(OK).build()));
+
+        StyxBackendServiceClient styxHttpClient = new StyxBackendServiceClient.Builder(Id.id("app"))
+                .metrics(metrics)
+                .hedgingConfig(hedgingConfig(10, 0))
+                .loadBalancer(mockLoadBalancer(
+                        Optional.of(remoteHost(ORIGIN_1, toHandler(slowClient), slowClient)),
+                        Optional.of(remoteHost(ORIGIN_2, toHandler(fastClient), fastClient))))
+                .build();
+
+        StepVerifier.create(styxHttpClient.sendRequest(SOME_REQ, requestContext()))
+                .expectNextMatches(it -> it.header(StyxHeaderConfig.ORIGIN_ID_DEFAULT).equals(Optional.of("app-01")))
+                .verifyComplete();
+
+        verify(fastClient, never()).sendRequest(any(LiveHttpRequest.class), any(Context.class));
+        assertThat(meterRegistry.get("proxy.client.hedging.budgetExhausted").tags("appId", "app").counter().count(), is(1.0));
+    }
+
+    @Test
+    public void waitsForOriginalResponseWhenHedgedRequestFails() {
+        StyxHostHttpClient slowClient = mockHostClient(Mono.delay(Duration.ofMillis(100)).map(it -> response(OK).build()));
+        StyxHostHttpClient failingClient = mockHostClient(Flux.error(new OriginUnreachableException(ORIGIN_2, new RuntimeException("Unreachable"))));
+
+        StyxBackendServiceClient styxHttpClient = new StyxBackendServiceClient.Builder(Id.id("app"))
+                .metrics(metrics)
+                .retryPolicy(mockRetryPolicy(false))
+                .hedgingConfig(hedgingConfig(10, 100))
+                .loadBalancer(mockLoadBalancer(
+                        Optional.of(remoteHost(ORIGIN_1, toHandler(slowClient), slowClient)),
+                        Optional.of(remoteHost(ORIGIN_2, toHandler(failingClient), failingClient))))
+                .build();
+
+        StepVerifier.create(styxHttpClient.sendRequest(SOME_REQ, requestContext()))
+                .expectNextMatches(it -> it.header(StyxHeaderConfig.ORIGIN_ID_DEFAULT).equals(Optional.of("app-01")))
+                .verifyComplete();
+
+        assertThat(meterRegistry.get("proxy.client.hedging.sent").tags("appId", "app").counter().count(), is(1.0));
+        assertThat(meterRegistry.get("proxy.client.hedging.won").tags("appId", "app").counter().count(), is(0.0));
+    }
+
+    @Test
+    public void doesNotHedgeToTheSameOrigin() {
+        StyxHostHttpClient slowClient = mockHostClient(Mono.delay(Duration.ofMillis(100)).map(it -> response(OK).build()));
+        RemoteHost onlyHost = remoteHost(ORIGIN_1, toHandler(slowClient), slowClient);
+
+        StyxBackendServiceClient styxHttpClient = new StyxBackendServiceClient.Builder(Id.id("app"))
+                .metrics(metrics)
+                .hedgingConfig(hedgingConfig(10, 100))
+                .loadBalancer(mockLoadBalancer(Optional.of(onlyHost)))
+                .build();
+
+        StepVerifier.create(styxHttpClient.sendRequest(SOME_REQ, requestContext()))
+                .expectNextMatches(it -> it.header(StyxHeaderConfig.ORIGIN_ID_DEFAULT).equals(Optional.of("app-01")))
+                .verifyComplete();
+
+        verify(slowClient).sendRequest(any(LiveHttpRequest.class), any(Context.class));
+        assertThat(meterRegistry.get("proxy.client.hedging.noOriginAvailable").tags("appId", "app").counter().count(), is(1.0));
+    }
+
+    @Test
+    public void hedgesToAnUnattemptedOriginWhenLoadBalancerChoosesAttemptedOne() {
+        StyxHostHttpClient slowClient = mockHostClient(Flux.never());
+        StyxHostHttpClient busyClient = mockHostClient(Flux.just(response(OK).build()));
+        StyxHostHttpClient idleClient = mockHostClient(Flux.just(response(OK).build()));
+        RemoteHost slowHost = remoteHost(ORIGIN_1, toHandler(slowClient), () -> new LoadBalancingMetric(0));
+        RemoteHost busyHost = remoteHost(ORIGIN_2, toHandler(busyClient), () -> new LoadBalancingMetric(5));
+        RemoteHost idleHost = remoteHost(ORIGIN_3, toHandler(idleClient), () -> new LoadBalancingMetric(1));
+
+        ActiveOrigins activeOrigins = mock(ActiveOrigins.class);
+        when(activeOrigins.snapshot()).thenReturn(List.of(slowHost, busyHost, idleHost));
+
+        StyxBackendServiceClient styxHttpClient = new StyxBackendServiceClient.Builder(Id.id("app"))
+                .metrics(metrics)
+                .hedgingConfig(hedgingConfig(10, 100))
+                .loadBalancer(mockLoadBalancer(Optional.of(slowHost)))
+                .activeOrigins(activeOrigins)
+                .build();
+
+        StepVerifier.create(styxHttpClient.sendRequest(SOME_REQ, requestContext()))
+                .expectNextMatches(it -> it.header(StyxHeaderConfig.ORIGIN_ID_DEFAULT).equals(Optional.of("app-03")))
+                .verifyComplete();
+
+        verify(busyClient, never()).sendRequest(any(LiveHttpRequest.class), any(Context.class));
+        assertThat(meterRegistry.get("proxy.client.hedging.sent").tags("appId", "app").counter().count(), is(1.0));
+    }
+
+    @Test
+    public void hedgesOnlyToOriginsAllowedByOriginsRestrictionCookie() {
+        StyxHostHttpClient slowClient = mockHostClient(Flux.never());
+        StyxHostHttpClient busyClient = mockHostClient(Flux.just(response(OK).build()));
+        StyxHostHttpClient idleClient = mockHostClient(Flux.just(response(OK).build()));
+        RemoteHost slowHost = remoteHost(ORIGIN_1, toHandler(slowClient), () -> new LoadBalancingMetric(0));
+        RemoteHost busyHost = remoteHost(ORIGIN_2, toHandler(busyClient), () -> new LoadBalancingMetric(5));
+        RemoteHost idleHost = remoteHost(ORIGIN_3, toHandler(idleClient), () -> new LoadBalancingMetric(1));
+
+        ActiveOrigins activeOrigins = mock(ActiveOrigins.class);
+        when(activeOrigins.snapshot()).thenReturn(List.of(slowHost, busyHost, idleHost));
+
+        StyxBackendServiceClient styxHttpClient = new StyxBackendServiceClient.Builder(Id.id("app"))
+                .metrics(metrics)
+                .hedgingConfig(hedgingConfig(10, 100))
+                .originsRestrictionCookieName("restrictedOrigin")
+                .loadBalancer(mockLoadBalancer(Optional.of(slowHost)))
+                .activeOrigins(activeOrigins)
+                .build();
+
+        LiveHttpRequest request = get("/foo")
+                .cookies(requestCookie("restrictedOrigin", "app-01, app-02"))
+                .build();
+
+        StepVerifier.create(styxHttpClient.sendRequest(request, requestContext()))
+                .expectNextMatches(it -> it.header(StyxHeaderConfig.ORIGIN_ID_DEFAULT).equals(Optional.of("app-02")))
+                .verifyComplete();
+
+        verify(idleClient, never()).sendRequest(any(LiveHttpRequest.class), any(Context.class));
+    }
+
+    @Test
+    public void sendsHedgedRequestFromTheEventLoopHandlingTheRequest() {
+        ScheduledExecutorService eventLoop = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "test-event-loop"));
+        try {
+            StyxHostHttpClient slowClient = mockHostClient(Flux.never());
+            AtomicReference<String> hedgeThread = new AtomicReference<>();
+            StyxHostHttpClient fastClient = mock(StyxHostHttpClient.class);
+            when(fastClient.sendRequest(any(LiveHttpRequest.class), any(Context.class))).thenAnswer(invocation -> {
+                hedgeThread.set(Thread.currentThread().getName());
+                return Flux.just(response(OK).build());
+            });
+
+            StyxBackendServiceClient styxHttpClient = new StyxBackendServiceClient.Builder(Id.id("app"))
+                    .metrics(metrics)
+                    .hedgingConfig(hedgingConfig(10, 100))
+                    .loadBalancer(mockLoadBalancer(
+                            Optional.of(remoteHost(ORIGIN_1, toHandler(slowClient), slowClient)),
+                            Optional.of(remoteHost(ORIGIN_2, toHandler(fastClient), fastClient))))
+                    .build();
+
+            Context context = mock(Context.class);
+            when(context.executor()).thenReturn(eventLoop);
+
+            StepVerifier.create(styxHttpClient.sendRequest(SOME_REQ, context))
+                    .expectNextCount(1)
+                    .verifyComplete();
+
+            assertThat(hedgeThread.get(), is("test-event-loop"));
+        } finally {
+            eventLoop.shutdownNow();
+        }
+    }
+
+    @Test
+    public void sendsHedgedRequestFromTheNettyEventLoopHandlingTheRequest() throws Exception {
+        DefaultEventLoop eventLoop = new DefaultEventLoop(new DefaultThreadFactory("test-netty-event-loop"));
+        try {
+            StyxHostHttpClient slowClient = mockHostClient(Flux.never());
+            AtomicReference<Thread> hedgeThread = new AtomicReference<>();
+            StyxHostHttpClient fastClient = mock(StyxHostHttpClient.class);
+            when(fastClient.sendRequest(any(LiveHttpRequest.class), any(Context.class))).thenAnswer(invocation -> {
+                hedgeThread.set(Thread.currentThread());
+                return Flux.just(response(OK).build());
+            });
+
+            StyxBackendServiceClient styxHttpClient = new StyxBackendServiceClient.Builder(Id.id("app"))
+                    .metrics(metrics)
+                    .hedgingConfig(hedgingConfig(10, 100))
+                    .loadBalancer(mockLoadBalancer(
+                            Optional.of(remoteHost(ORIGIN_1, toHandler(slowClient), slowClient)),
+                            Optional.of(remoteHost(ORIGIN_2, toHandler(fastClient), fastClient))))
+                    .build();
+
+            Context context = mock(Context.class);
+            when(context.executor()).thenReturn(eventLoop);
+
+            CompletableFuture<LiveHttpResponse> response = new CompletableFuture<>();
+            eventLoop.execute(() -> Mono.from(styxHttpClient.sendRequest(SOME_REQ, context))
+                    .subscribe(response::complete, response::completeExceptionally));
+
+            assertThat(response.get(5, SECONDS).status(), is(OK));
+            assertThat(eventLoop.inEventLoop(hedgeThread.get()), is(true));
+        } finally {
+            eventLoop.shutdownGracefully(0, 0, SECONDS);
+        }
+    }
+
+    @Test
+    public void waitsForRetryIntervalBeforeRetrying() {
+        StyxHostHttpClient firstClient = mockHostClient(Flux.error(new OriginUnreachableException(ORIGIN_1, new RuntimeException("An error occurred"))));
+        StyxHostHttpClient secondClient = mockHostClient(Flux.just(response(OK).build()));
+
+        RetryPolicy.Outcome retryOutcome = mock(RetryPolicy.Outcome.class);
+        when(retryOutcome.shouldRetry()).thenReturn(true);
+        when(retryOutcome.retryIntervalMillis()).thenReturn(200L);
+        RetryPolicy retryPolicy = mock(RetryPolicy.class);
+        when(retryPolicy.evaluate(any(RetryPolicy.Context.class), any(LoadBalancer.class), any(LoadBalancer.Preferences.class)))
+                .thenReturn(retryOutcome);
+
+        StyxBackendServiceClient styxHttpClient = new StyxBackendServiceClient.Builder(backendService.id())
+                .metrics(metrics)
+                .loadBalancer(
+                        mockLoadBalancer(
+                                Optional.of(remoteHost(ORIGIN_1, toHandler(firstClient), firstClient)),
+                                Optional.of(remoteHost(ORIGIN_2, toHandler(secondClient), secondClient))
+                        ))
+                .retryPolicy(retryPolicy)
+                .build();
+
+        Duration elapsed = StepVerifier.create(styxHttpClient.sendRequest(SOME_REQ, requestContext()))
+                .expectNextMatches(it -> it.status().equals(OK))
+                .verifyComplete();
+
+        assertThat(elapsed.toMillis() >= 200, is(true));
+        assertThat(meterRegistry.get("proxy.client.retries.sent").tags("appId", backendService.id().toString()).counter().count(), is(1.0));
+    }
+
+    @Test
+    public void doesNotRetryWhenRetryBudgetIsUsedUp() {
+        StyxHostHttpClient failingClient = mockHostClient(Flux.error(new OriginUnreachableException(ORIGIN_1, new RuntimeException("An error occurred"))));
+        StyxHostHttpClient healthyClient = mockHostClient(Flux.just(response(OK).build()));
+
+        StyxBackendServiceClient styxHttpClient = new StyxBackendServiceClient.Builder(Id.id("app"))
+                .metrics(metrics)
+                .retryBudgetConfig(retryBudgetConfig(0, 1))
+                .loadBalancer(
+                        mockLoadBalancer(
+                                Optional.of(remoteHost(ORIGIN_1, toHandler(failingClient), failingClient)),
+                                Optional.of(remoteHost(ORIGIN_2, toHandler(healthyClient), healthyClient)),
+                                Optional.of(remoteHost(ORIGIN_1, toHandler(failingClient), failingClient))
+                        ))
+                .retryPolicy(mockRetryPolicy(true, true))
+                .build();
+
+        StepVerifier.create(styxHttpClient.sendRequest(SOME_REQ, requestContext()))
+                .expectNextMatches(it -> it.status().equals(OK))
+                .verifyComplete();
+
+        StepVerifier.create(styxHttpClient.sendRequest(SOME_REQ, requestContext()))
+                .verifyError(OriginUnreachableException.class);
+
+        assertThat(meterRegistry.get("proxy.client.retries.sent").tags("appId", "app").counter().count(), is(1.0));
+        assertThat(meterRegistry.get("proxy.client.retries.budgetExhausted").tags("appId", "app").counter().count(), is(1.0));
+    }
+
+    @Test
+    public void refillsRetryBudgetFromSuccessfulResponses() {
+        StyxHostHttpClient failingClient = mockHostClient(Flux.error(new OriginUnreachableException(ORIGIN_1, new RuntimeException("An error occurred"))));
+        StyxHostHttpClient healthyClient = mockHostClient(Flux.just(response(OK).build()));
+
+        StyxBackendServiceClient styxHttpClient = new StyxBackendServiceClient.Builder(Id.id("app"))
+                .metrics(metrics)
+                .retryBudgetConfig(retryBudgetConfig(50, 1))
+                .loadBalancer(
+                        mockLoadBalancer(
+                                Optional.of(remoteHost(ORIGIN_1, toHandler(failingClient), failingClient)),
+                                Optional.of(remoteHost(ORIGIN_2, toHandler(healthyClient), healthyClient)),
+                                Optional.of(remoteHost(ORIGIN_2, toHandler(healthyClient), healthyClient)),
+                                Optional.of(remoteHost(ORIGIN_1, toHandler(failingClient), failingClient)),
+                                Optional.of(remoteHost(ORIGIN_2, toHandler(healthyClient), healthyClient))
+                        ))
+                .retryPolicy(mockRetryPolicy(true, true))
+                .build();
+
+        // The first request uses up the budget, and two successful responses refill it for the third request:
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(styxHttpClient.sendRequest(SOME_REQ, requestContext()))
+                    .expectNextMatches(it -> it.status().equals(OK))
+                    .verifyComplete();
+        }
+
+        assertThat(meterRegistry.get("proxy.client.retries.sent").tags("appId", "app").counter().count(), is(2.0));
+    }
+
     private HttpHandler toHandler(StyxHostHttpClient hostClient) {
         return (request, ctx) -> new Eventual<>(hostClient.sendRequest(request, ctx));
     }
@@ -605,6 +1022,22 @@ public class StyxBackendServiceClientTest {
         return secondClient;
     }
 
+    private static HedgingConfig hedgingConfig(int delayMillis, int budgetPercent) {
+        return newHedgingConfigBuilder()
+                .enabled(true)
+                .delayMillis(delayMillis)
+                .budgetPercent(budgetPercent)
+                .build();
+    }
+
+    private static RetryBudgetConfig retryBudgetConfig(int percent, int burst) {
+        return newRetryBudgetConfigBuilder()
+                .enabled(true)
+                .percent(percent)
+                .burst(burst)
+                .build();
+    }
+
     private static BackendService.Builder backendBuilderWithOrigins(int originPort) {
         return new BackendService.Builder()
                 .origins(newOriginBuilder("localhost", originPort).build());
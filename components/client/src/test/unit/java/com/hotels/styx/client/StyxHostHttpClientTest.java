@@ -39,9 +39,15 @@ import reactor.test.publisher.TestPublisher;
 
 import java.util.concurrent.atomic.AtomicReference;
 
+import static com.hotels.styx.api.HttpResponseStatus.INTERNAL_SERVER_ERROR;
 import static com.hotels.styx.api.HttpResponseStatus.OK;
 import static com.hotels.styx.client.StyxHostHttpClient.ORIGINID_CONTEXT_KEY;
+import static com.hotels.styx.client.loadbalancing.strategies.PeakEwmaLatency.MINIMUM_PENALTY;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -78,7 +84,7 @@ public class StyxHostHttpClientTest {
                 .expectComplete()
                 .verify();
 
-        verify(pool).borrowConnection();
+        verify(pool).borrowConnection(any());
         verify(connection).write(any(LiveHttpRequest.class), any(Context.class));
         verify(pool).returnConnection(any(Connection.class));
         verify(context).add(ORIGINID_CONTEXT_KEY, Id.id("mockorigin"));
@@ -199,6 +205,52 @@ public class StyxHostHttpClientTest {
         verify(context).add(ORIGINID_CONTEXT_KEY, Id.id("mockorigin"));
     }
 
+    @Test
+    public void penalisesLatencyEstimateWhenResponseFails() {
+        Connection connection = mockConnection(Flux.error(new RuntimeException()));
+        ConnectionPool pool = mockPool(connection);
+
+        StyxHostHttpClient hostClient = new StyxHostHttpClient(pool);
+
+        StepVerifier.create(hostClient.sendRequest(request, mockContext()))
+                .expectError()
+                .verify();
+
+        assertThat(hostClient.loadBalancingMetric().latencyEstimateNanos(), greaterThanOrEqualTo(MINIMUM_PENALTY.toNanos() / 2));
+    }
+
+    @Test
+    public void penalisesLatencyEstimateForServerErrors() {
+        Connection connection = mockConnection(just(HttpResponse.response(INTERNAL_SERVER_ERROR).build().stream()));
+        ConnectionPool pool = mockPool(connection);
+
+        StyxHostHttpClient hostClient = new StyxHostHttpClient(pool);
+
+        StepVerifier.create(hostClient.sendRequest(request, mockContext()))
+                .consumeNextWith(response -> response.consume())
+                .verifyComplete();
+
+        assertThat(hostClient.loadBalancingMetric().latencyEstimateNanos(), greaterThanOrEqualTo(MINIMUM_PENALTY.toNanos() / 2));
+    }
+
+    @Test
+    public void recordsLatencyUpToResponseHeaders() {
+        TestPublisher<Buffer> body = TestPublisher.create();
+        Connection connection = mockConnection(just(LiveHttpResponse.response(OK).body(new ByteStream(body)).build()));
+        ConnectionPool pool = mockPool(connection);
+        AtomicReference<LiveHttpResponse> receivedResponse = new AtomicReference<>();
+
+        StyxHostHttpClient hostClient = new StyxHostHttpClient(pool);
+
+        StepVerifier.create(hostClient.sendRequest(request, mockContext()))
+                .consumeNextWith(receivedResponse::set)
+                .verifyComplete();
+
+        // The body is still streaming, but the headers have been timed already:
+        assertThat(hostClient.loadBalancingMetric().latencyEstimateNanos(), greaterThan(0L));
+        assertThat(hostClient.loadBalancingMetric().latencyEstimateNanos(), lessThan(MINIMUM_PENALTY.toNanos()));
+    }
+
     @Test
     public void terminatesConnectionDueToUnsubscribedBody() {
         TestPublisher<Buffer> testPublisher = TestPublisher.create();
@@ -240,9 +292,10 @@ public class StyxHostHttpClientTest {
 
     ConnectionPool mockPool(Connection connection) {
         ConnectionPool pool = mock(ConnectionPool.class);
-        when(pool.borrowConnection()).thenReturn(Flux.just(connection));
+        when(pool.borrowConnection(any())).thenReturn(Flux.just(connection));
         Origin origin = mockOrigin("mockorigin");
         when(pool.getOrigin()).thenReturn(origin);
+        when(pool.stats()).thenReturn(mock(ConnectionPool.Stats.class));
         return pool;
     }
 
@@ -134,6 +134,27 @@ public class StyxHttpClientTest {
         );
     }
 
+    /*
+     * StyxHttpClient
+     * - Keeps connections alive between requests when enabled.
+     */
+    @Test
+    public void sendsRequestsOverKeptAliveConnections() throws ExecutionException, InterruptedException {
+        StyxHttpClient client = new StyxHttpClient.Builder()
+                .keepAlive(true)
+                .build();
+
+        try {
+            assertThat(client.send(httpRequest).get().status(), is(OK));
+            assertThat(client.secure().send(secureRequest).get().status(), is(OK));
+            assertThat(client.send(httpRequest).get().status(), is(OK));
+        } finally {
+            client.close();
+        }
+
+        server.verify(3, getRequestedFor(urlEqualTo("/")));
+    }
+
     /*
      * StyxHttpClient
      * - Doesn't set any user-agent string if none is specified.
@@ -383,7 +404,7 @@ public class StyxHttpClientTest {
         NettyConnectionFactory factory = mockConnectionFactory();
         ArgumentCaptor<Origin> originCaptor = ArgumentCaptor.forClass(Origin.class);
 
-        StyxHttpClient.sendRequestInternal(factory, get("/")
+        StyxHttpClient.sendRequestInternal(factory, null, get("/")
                         .header(HOST, "localhost")
                         .build()
                         .stream(),
@@ -402,7 +423,7 @@ public class StyxHttpClientTest {
         NettyConnectionFactory factory = mockConnectionFactory();
         ArgumentCaptor<Origin> originCaptor = ArgumentCaptor.forClass(Origin.class);
 
-        StyxHttpClient.sendRequestInternal(factory, get("/")
+        StyxHttpClient.sendRequestInternal(factory, null, get("/")
                         .header(HOST, "localhost")
                         .build()
                         .stream(),
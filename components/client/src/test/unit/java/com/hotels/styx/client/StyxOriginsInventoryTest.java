@@ -21,6 +21,8 @@ import com.hotels.styx.api.MicrometerRegistry;
 import com.hotels.styx.api.extension.Origin;
 import com.hotels.styx.api.extension.OriginsChangeListener;
 import com.hotels.styx.api.extension.OriginsSnapshot;
+import com.hotels.styx.api.extension.RemoteHost;
+import com.hotels.styx.api.extension.service.OutlierDetectionConfig;
 import com.hotels.styx.client.connectionpool.ConnectionPool;
 import com.hotels.styx.client.connectionpool.SimpleConnectionPoolFactory;
 import com.hotels.styx.client.connectionpool.stubs.StubConnectionFactory;
@@ -35,9 +37,13 @@ import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static ch.qos.logback.classic.Level.INFO;
 import static com.hotels.styx.api.Id.GENERIC_APP;
@@ -46,15 +52,25 @@ import static com.hotels.styx.api.Metrics.APPID_TAG;
 import static com.hotels.styx.api.Metrics.ORIGINID_TAG;
 import static com.hotels.styx.api.extension.Origin.newOriginBuilder;
 import static com.hotels.styx.api.extension.service.ConnectionPoolSettings.defaultConnectionPoolSettings;
+import static com.hotels.styx.api.extension.service.OutlierDetectionConfig.newOutlierDetectionConfigBuilder;
 import static com.hotels.styx.client.OriginsInventory.OriginState.ACTIVE;
 import static com.hotels.styx.client.OriginsInventory.OriginState.DISABLED;
+import static com.hotels.styx.client.OriginsInventory.OriginState.INACTIVE;
+import static com.hotels.styx.javaconvenience.UtilKt.iterableToList;
 import static com.hotels.styx.support.matchers.ContainsExactlyOneMatcher.containsExactlyOne;
 import static com.hotels.styx.support.matchers.IsOptional.isAbsent;
 import static com.hotels.styx.support.matchers.IsOptional.isValue;
 import static com.hotels.styx.support.matchers.LoggingEventMatcher.loggingEvent;
 import static java.util.Collections.singleton;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.stream.Collectors.toList;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
@@ -66,6 +82,13 @@ public class StyxOriginsInventoryTest {
     private static final Origin ORIGIN_1 = newOriginBuilder("localhost", 8001).applicationId(GENERIC_APP).id("app-01").build();
     private static final Origin ORIGIN_2 = newOriginBuilder("localhost", 8002).applicationId(GENERIC_APP).id("app-02").build();
 
+    private static final OutlierDetectionConfig OUTLIER_DETECTION = newOutlierDetectionConfigBuilder()
+            .enabled(true)
+            .baseEjectionMillis(1000)
+            .maxEjectionMillis(60000)
+            .maxEjectionPercent(50)
+            .build();
+
     private final ConnectionPool.Factory connectionFactory = connectionPoolFactory();
 
     private MeterRegistry meterRegistry;
@@ -352,6 +375,24 @@ public class StyxOriginsInventoryTest {
         verify(eventBus, times(3)).post(any(OriginsSnapshot.class));
     }
 
+    @Test
+    public void reusesActiveOriginsSnapshotUntilInventoryChanges() {
+        inventory.setOrigins(ORIGIN_1, ORIGIN_2);
+
+        Iterable<RemoteHost> snapshot = inventory.snapshot();
+        assertThat(inventory.snapshot(), is(sameInstance(snapshot)));
+        assertThat(iterableToList(snapshot).size(), is(2));
+
+        inventory.originUnhealthy(ORIGIN_1);
+
+        assertThat(inventory.snapshot(), is(not(sameInstance(snapshot))));
+        assertThat(iterableToList(inventory.snapshot()).size(), is(1));
+
+        RemoteHost remaining = inventory.snapshot().iterator().next();
+        assertThat(remaining.origin(), is(ORIGIN_2));
+        assertThat(snapshot, hasItem(sameInstance(remaining)));
+    }
+
     @Test
     public void reportingUpRepeatedlyDoesNotAffectCurrentActiveOrigins() {
         inventory.setOrigins(ORIGIN_1);
@@ -444,6 +485,97 @@ public class StyxOriginsInventoryTest {
                 "Origin state change: origin=\"generic-app=app-01\", change=\"DISABLED->INACTIVE\"")));
     }
 
+    @Test
+    public void ejectsOutliersFromActiveOrigins() {
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        inventory = new StyxOriginsInventory(eventBus, GENERIC_APP, monitor, connectionFactory, hostClientFactory, new CentralisedMetrics(meterRegistry), scheduler);
+        inventory.setOrigins(ORIGIN_1, ORIGIN_2);
+
+        inventory.eject(ORIGIN_1, OUTLIER_DETECTION);
+
+        assertThat(originIds(inventory.snapshot()), contains("app-02"));
+        assertThat(originIds(inventory.pools(INACTIVE)), contains("app-01"));
+        assertThat(inventory.originCount(ACTIVE), is(1));
+        assertThat(inventory.originCount(INACTIVE), is(1));
+        assertThat(gaugeValue("generic-app", "app-01"), isValue(1.0));
+        assertThat(meterRegistry.get("proxy.client.outlier.ejections").tags(ORIGINID_TAG, "app-01").counter().count(), is(1.0));
+        verify(scheduler).schedule(any(Runnable.class), eq(1000L), eq(MILLISECONDS));
+    }
+
+    @Test
+    public void readmitsOutliersWhenEjectionEnds() {
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        inventory = new StyxOriginsInventory(eventBus, GENERIC_APP, monitor, connectionFactory, hostClientFactory, new CentralisedMetrics(meterRegistry), scheduler);
+        inventory.setOrigins(ORIGIN_1, ORIGIN_2);
+
+        inventory.eject(ORIGIN_1, OUTLIER_DETECTION);
+        ArgumentCaptor<Runnable> readmission = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(readmission.capture(), eq(1000L), eq(MILLISECONDS));
+        readmission.getValue().run();
+
+        assertThat(originIds(inventory.snapshot()), containsInAnyOrder("app-01", "app-02"));
+        assertThat(inventory.ejectedOriginCount(), is(0));
+
+        inventory.eject(ORIGIN_1, OUTLIER_DETECTION);
+        verify(scheduler).schedule(any(Runnable.class), eq(2000L), eq(MILLISECONDS));
+    }
+
+    @Test
+    public void resetsEjectionTimeOfOriginsNotEjectedForMaximumEjectionTime() {
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        AtomicLong clock = new AtomicLong();
+        inventory = new StyxOriginsInventory(eventBus, GENERIC_APP, monitor, connectionFactory, hostClientFactory, new CentralisedMetrics(meterRegistry), scheduler, clock::get);
+        inventory.setOrigins(ORIGIN_1, ORIGIN_2);
+
+        inventory.eject(ORIGIN_1, OUTLIER_DETECTION);
+        ArgumentCaptor<Runnable> readmission = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(readmission.capture(), eq(1000L), eq(MILLISECONDS));
+        readmission.getValue().run();
+
+        clock.addAndGet(MILLISECONDS.toNanos(60001));
+        inventory.eject(ORIGIN_1, OUTLIER_DETECTION);
+
+        verify(scheduler, times(2)).schedule(any(Runnable.class), eq(1000L), eq(MILLISECONDS));
+    }
+
+    @Test
+    public void tellsConnectionPoolWhenOriginStopsAndStartsTakingTraffic() {
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        ConnectionPool.Factory connectionFactory = mock(ConnectionPool.Factory.class);
+        ConnectionPool pool1 = mock(ConnectionPool.class);
+        ConnectionPool pool2 = mock(ConnectionPool.class);
+        when(connectionFactory.create(eq(ORIGIN_1))).thenReturn(pool1);
+        when(connectionFactory.create(eq(ORIGIN_2))).thenReturn(pool2);
+
+        inventory = new StyxOriginsInventory(eventBus, GENERIC_APP, monitor, connectionFactory, hostClientFactory, new CentralisedMetrics(meterRegistry), scheduler);
+        inventory.setOrigins(ORIGIN_1, ORIGIN_2);
+
+        inventory.originUnhealthy(ORIGIN_1);
+        verify(pool1).originActive(false);
+        inventory.originHealthy(ORIGIN_1);
+        verify(pool1).originActive(true);
+
+        inventory.eject(ORIGIN_2, OUTLIER_DETECTION);
+        verify(pool2).originActive(false);
+        ArgumentCaptor<Runnable> readmission = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(readmission.capture(), eq(1000L), eq(MILLISECONDS));
+        readmission.getValue().run();
+        verify(pool2).originActive(true);
+    }
+
+    @Test
+    public void doesNotEjectMoreThanMaximumPercentageOfOrigins() {
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        inventory = new StyxOriginsInventory(eventBus, GENERIC_APP, monitor, connectionFactory, hostClientFactory, new CentralisedMetrics(meterRegistry), scheduler);
+        inventory.setOrigins(ORIGIN_1, ORIGIN_2);
+
+        inventory.eject(ORIGIN_1, OUTLIER_DETECTION);
+        inventory.eject(ORIGIN_2, OUTLIER_DETECTION);
+
+        assertThat(originIds(inventory.snapshot()), contains("app-02"));
+        assertThat(inventory.ejectedOriginCount(), is(1));
+    }
+
     @Test
     public void registersToEventBusWhenCreated() {
         verify(eventBus).register(eq(inventory));
@@ -478,6 +610,10 @@ public class StyxOriginsInventoryTest {
         verify(eventBus).unregister(eq(inventory));
     }
 
+    private static List<String> originIds(Iterable<RemoteHost> hosts) {
+        return iterableToList(hosts).stream().map(host -> host.id().toString()).collect(toList());
+    }
+
     private Optional<Double> gaugeValue(String appId, String originId) {
         String name = "proxy.client.originHealthStatus";
         Tags tags = Tags.of(APPID_TAG, appId, ORIGINID_TAG, originId);
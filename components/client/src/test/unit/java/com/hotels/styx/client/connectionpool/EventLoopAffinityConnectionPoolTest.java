@@ -0,0 +1,170 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.client.connectionpool;
+
+import com.hotels.styx.api.extension.Origin;
+import com.hotels.styx.api.extension.service.ConnectionPoolSettings;
+import com.hotels.styx.client.Connection;
+import com.hotels.styx.client.ConnectionSettings;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.Executor;
+
+import static com.hotels.styx.api.extension.Origin.newOriginBuilder;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class EventLoopAffinityConnectionPoolTest {
+    private final Origin origin = newOriginBuilder("localhost", 9090).build();
+    private final Executor loop1 = mock(Executor.class);
+    private final Executor loop2 = mock(Executor.class);
+    private Connection.Factory connectionFactory;
+    private Connection connection1;
+    private Connection connection2;
+
+    @BeforeEach
+    public void setUp() {
+        connectionFactory = mock(Connection.Factory.class);
+        connection1 = connection();
+        connection2 = connection();
+    }
+
+    @Test
+    public void createsConnectionsOnBorrowersExecutor() {
+        when(connectionFactory.createConnection(any(Origin.class), any(ConnectionSettings.class), eq(loop1)))
+                .thenReturn(Mono.just(connection1));
+
+        EventLoopAffinityConnectionPool pool = new EventLoopAffinityConnectionPool(origin, poolSettings(2, 2), connectionFactory);
+
+        StepVerifier.create(pool.borrowConnection(loop1))
+                .expectNext(connection1)
+                .verifyComplete();
+
+        verify(connectionFactory).createConnection(any(Origin.class), any(ConnectionSettings.class), eq(loop1));
+        assertEquals(1, pool.stats().busyConnectionCount());
+    }
+
+    @Test
+    public void prefersConnectionsReturnedOnTheSameExecutor() {
+        when(connectionFactory.createConnection(any(Origin.class), any(ConnectionSettings.class), eq(loop1)))
+                .thenReturn(Mono.just(connection1));
+        when(connectionFactory.createConnection(any(Origin.class), any(ConnectionSettings.class), eq(loop2)))
+                .thenReturn(Mono.just(connection2));
+
+        EventLoopAffinityConnectionPool pool = new EventLoopAffinityConnectionPool(origin, poolSettings(2, 2), connectionFactory);
+
+        Connection borrowed1 = Mono.from(pool.borrowConnection(loop1)).block();
+        Connection borrowed2 = Mono.from(pool.borrowConnection(loop2)).block();
+        pool.returnConnection(borrowed1);
+        pool.returnConnection(borrowed2);
+
+        assertEquals(2, pool.stats().availableConnectionCount());
+        assertSame(connection2, Mono.from(pool.borrowConnection(loop2)).block());
+        assertSame(connection1, Mono.from(pool.borrowConnection(loop1)).block());
+    }
+
+    @Test
+    public void stealsConnectionFromOtherExecutorWhenNoneIsAvailableLocally() {
+        when(connectionFactory.createConnection(any(Origin.class), any(ConnectionSettings.class), eq(loop1)))
+                .thenReturn(Mono.just(connection1));
+
+        EventLoopAffinityConnectionPool pool = new EventLoopAffinityConnectionPool(origin, poolSettings(2, 2), connectionFactory);
+
+        pool.returnConnection(Mono.from(pool.borrowConnection(loop1)).block());
+
+        assertSame(connection1, Mono.from(pool.borrowConnection(loop2)).block());
+        verify(connectionFactory, never()).createConnection(any(Origin.class), any(ConnectionSettings.class), eq(loop2));
+        assertEquals(1, pool.stats().connectionAttempts());
+    }
+
+    @Test
+    public void givesReturnedConnectionToSubscriberWaitingOnAnotherExecutor() {
+        when(connectionFactory.createConnection(any(Origin.class), any(ConnectionSettings.class), eq(loop1)))
+                .thenReturn(Mono.just(connection1));
+
+        EventLoopAffinityConnectionPool pool = new EventLoopAffinityConnectionPool(origin, poolSettings(1, 1), connectionFactory);
+
+        Connection borrowed = Mono.from(pool.borrowConnection(loop1)).block();
+
+        StepVerifier.create(pool.borrowConnection(loop2))
+                .then(() -> {
+                    assertEquals(1, pool.stats().pendingConnectionCount());
+                    pool.returnConnection(borrowed);
+                })
+                .expectNext(connection1)
+                .verifyComplete();
+
+        assertEquals(0, pool.stats().pendingConnectionCount());
+        assertEquals(1, pool.stats().busyConnectionCount());
+    }
+
+    @Test
+    public void rejectsBorrowersWhenPendingQueueIsFull() {
+        when(connectionFactory.createConnection(any(Origin.class), any(ConnectionSettings.class), any()))
+                .thenReturn(Mono.never());
+
+        EventLoopAffinityConnectionPool pool = new EventLoopAffinityConnectionPool(origin, poolSettings(1, 0), connectionFactory);
+
+        StepVerifier.create(pool.borrowConnection(loop1))
+                .expectError(MaxPendingConnectionsExceededException.class)
+                .verify();
+    }
+
+    @Test
+    public void closesAvailableConnectionsOfAllExecutors() {
+        when(connectionFactory.createConnection(any(Origin.class), any(ConnectionSettings.class), eq(loop1)))
+                .thenReturn(Mono.just(connection1));
+        when(connectionFactory.createConnection(any(Origin.class), any(ConnectionSettings.class), eq(loop2)))
+                .thenReturn(Mono.just(connection2));
+
+        EventLoopAffinityConnectionPool pool = new EventLoopAffinityConnectionPool(origin, poolSettings(2, 2), connectionFactory);
+
+        Connection borrowed1 = Mono.from(pool.borrowConnection(loop1)).block();
+        Connection borrowed2 = Mono.from(pool.borrowConnection(loop2)).block();
+        pool.returnConnection(borrowed1);
+        pool.returnConnection(borrowed2);
+
+        pool.close();
+
+        verify(connection1).close();
+        verify(connection2).close();
+        assertEquals(0, pool.stats().availableConnectionCount());
+        assertEquals(2, pool.stats().closedConnections());
+    }
+
+    private static Connection connection() {
+        Connection connection = mock(Connection.class);
+        when(connection.isConnected()).thenReturn(true);
+        return connection;
+    }
+
+    private static ConnectionPoolSettings poolSettings(int maxConnections, int maxPending) {
+        return new ConnectionPoolSettings.Builder()
+                .maxConnectionsPerHost(maxConnections)
+                .maxPendingConnectionsPerHost(maxPending)
+                .eventLoopAffinity(true)
+                .build();
+    }
+}
@@ -34,6 +34,15 @@ public class ExpiringConnectionTest {
         assertThat(connectionTracker.isConnected(), is(false));
     }
 
+    @Test
+    public void staggersExpirationBelowConfiguredTime() {
+        for (int i = 0; i < 100; i++) {
+            long expiration = ExpiringConnectionFactory.staggered(100);
+            assertThat(expiration >= 80 && expiration <= 100, is(true));
+        }
+        assertThat(ExpiringConnectionFactory.staggered(1), is(1L));
+    }
+
     /**
      * Dummy ticker that ticks one second every time a owner stop watch is checked.
      */
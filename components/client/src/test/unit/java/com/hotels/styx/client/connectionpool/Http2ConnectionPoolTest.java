@@ -0,0 +1,305 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.client.connectionpool;
+
+import com.hotels.styx.api.extension.Origin;
+import com.hotels.styx.api.extension.service.ConnectionPoolSettings;
+import com.hotels.styx.api.extension.service.Http2ConnectionPoolSettings;
+import com.hotels.styx.client.Connection;
+import com.hotels.styx.client.ConnectionSettings;
+import com.hotels.styx.client.Http2Connection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.hotels.styx.api.extension.Origin.newOriginBuilder;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class Http2ConnectionPoolTest {
+    private final Origin origin = newOriginBuilder("localhost", 9090).build();
+    private Http2Connection.Factory connectionFactory;
+    private Http2Connection connection1;
+    private Http2Connection connection2;
+    private List<Connection> streams;
+
+    @BeforeEach
+    public void setUp() {
+        streams = new ArrayList<>();
+        connectionFactory = mock(Http2Connection.Factory.class);
+        connection1 = http2Connection(100);
+        connection2 = http2Connection(100);
+    }
+
+    @Test
+    public void multiplexesStreamsOverOneConnection() {
+        when(connectionFactory.createConnection(any(Origin.class), any(ConnectionSettings.class)))
+                .thenReturn(Mono.just(connection1));
+
+        Http2ConnectionPool pool = new Http2ConnectionPool(origin, poolSettings(2, 1, 10, 10), connectionFactory);
+
+        Connection stream1 = Mono.from(pool.borrowConnection()).block();
+        Connection stream2 = Mono.from(pool.borrowConnection()).block();
+
+        assertEquals(2, streams.size());
+        verify(connectionFactory, times(1)).createConnection(any(Origin.class), any(ConnectionSettings.class));
+        verify(connection1, times(2)).openStream();
+
+        assertEquals(2, pool.stats().busyConnectionCount());
+        assertEquals(8, pool.stats().availableConnectionCount());
+        assertEquals(1, pool.stats().connectionAttempts());
+
+        pool.returnConnection(stream1);
+        pool.returnConnection(stream2);
+
+        assertEquals(0, pool.stats().busyConnectionCount());
+        assertEquals(10, pool.stats().availableConnectionCount());
+    }
+
+    @Test
+    public void opensNewConnectionWhenStreamLimitIsReached() {
+        when(connectionFactory.createConnection(any(Origin.class), any(ConnectionSettings.class)))
+                .thenReturn(Mono.just(connection1))
+                .thenReturn(Mono.just(connection2));
+
+        Http2ConnectionPool pool = new Http2ConnectionPool(origin, poolSettings(2, 1, 1, 10), connectionFactory);
+
+        Mono.from(pool.borrowConnection()).block();
+        Mono.from(pool.borrowConnection()).block();
+
+        verify(connection1, times(1)).openStream();
+        verify(connection2, times(1)).openStream();
+        assertEquals(2, pool.stats().connectionAttempts());
+        assertEquals(2, pool.stats().busyConnectionCount());
+        assertEquals(0, pool.stats().availableConnectionCount());
+    }
+
+    @Test
+    public void honoursRemoteMaxConcurrentStreams() {
+        Http2Connection limited = http2Connection(1);
+        when(connectionFactory.createConnection(any(Origin.class), any(ConnectionSettings.class)))
+                .thenReturn(Mono.just(limited))
+                .thenReturn(Mono.just(connection2));
+
+        Http2ConnectionPool pool = new Http2ConnectionPool(origin, poolSettings(2, 1, -1, 10), connectionFactory);
+
+        Mono.from(pool.borrowConnection()).block();
+        Mono.from(pool.borrowConnection()).block();
+
+        verify(limited, times(1)).openStream();
+        verify(connection2, times(1)).openStream();
+    }
+
+    @Test
+    public void givesReturnedStreamCapacityToWaitingSubscriber() {
+        when(connectionFactory.createConnection(any(Origin.class), any(ConnectionSettings.class)))
+                .thenReturn(Mono.just(connection1));
+
+        Http2ConnectionPool pool = new Http2ConnectionPool(origin, poolSettings(1, 1, 1, 10), connectionFactory);
+
+        Connection stream1 = Mono.from(pool.borrowConnection()).block();
+        AtomicReference<Connection> stream2 = new AtomicReference<>();
+
+        StepVerifier.create(pool.borrowConnection())
+                .then(() -> {
+                    assertEquals(1, pool.stats().pendingConnectionCount());
+                    pool.returnConnection(stream1);
+                })
+                .consumeNextWith(stream2::set)
+                .verifyComplete();
+
+        assertEquals(0, pool.stats().pendingConnectionCount());
+        assertEquals(1, pool.stats().busyConnectionCount());
+        verify(connection1, times(2)).openStream();
+    }
+
+    @Test
+    public void rejectsBorrowersWhenPendingQueueIsFull() {
+        when(connectionFactory.createConnection(any(Origin.class), any(ConnectionSettings.class)))
+                .thenReturn(Mono.never());
+
+        Http2ConnectionPool pool = new Http2ConnectionPool(origin, poolSettings(1, 1, 1, 0), connectionFactory);
+
+        StepVerifier.create(pool.borrowConnection())
+                .expectError(MaxPendingConnectionsExceededException.class)
+                .verify();
+    }
+
+    @Test
+    public void closesDrainingConnectionWhenItsLastStreamIsReturned() {
+        when(connectionFactory.createConnection(any(Origin.class), any(ConnectionSettings.class)))
+                .thenReturn(Mono.just(connection1))
+                .thenReturn(Mono.just(connection2));
+
+        Http2ConnectionPool pool = new Http2ConnectionPool(origin, poolSettings(2, 1, 10, 10), connectionFactory);
+
+        Connection stream = Mono.from(pool.borrowConnection()).block();
+
+        // Simulates a GOAWAY frame from the origin:
+        when(connection1.isConnected()).thenReturn(false);
+        verify(connection1, never()).close();
+
+        pool.returnConnection(stream);
+
+        verify(connection1).close();
+        assertEquals(1, pool.stats().closedConnections());
+
+        Mono.from(pool.borrowConnection()).block();
+        verify(connection2).openStream();
+    }
+
+    @Test
+    public void closesIdleConnectionThatHasExpired() {
+        AtomicLong time = new AtomicLong();
+        when(connectionFactory.createConnection(any(Origin.class), any(ConnectionSettings.class)))
+                .thenReturn(Mono.just(connection1))
+                .thenReturn(Mono.just(connection2));
+
+        ConnectionPoolSettings settings = new ConnectionPoolSettings.Builder(poolSettings(1, 1, 10, 10))
+                .connectionExpirationSeconds(60)
+                .build();
+        Http2ConnectionPool pool = new Http2ConnectionPool(origin, settings, connectionFactory, time::get);
+
+        pool.returnConnection(Mono.from(pool.borrowConnection()).block());
+        time.set(SECONDS.toMillis(60));
+
+        Mono.from(pool.borrowConnection()).block();
+
+        verify(connection1).close();
+        verify(connection2).openStream();
+        assertEquals(1, pool.stats().closedConnections());
+        assertEquals(2, pool.stats().connectionAttempts());
+    }
+
+    @Test
+    public void opensNewConnectionWhileDrainingConnectionIsBusy() {
+        when(connectionFactory.createConnection(any(Origin.class), any(ConnectionSettings.class)))
+                .thenReturn(Mono.just(connection1))
+                .thenReturn(Mono.just(connection2));
+
+        Http2ConnectionPool pool = new Http2ConnectionPool(origin, poolSettings(1, 1, 10, 10), connectionFactory);
+
+        Connection stream = Mono.from(pool.borrowConnection()).block();
+        when(connection1.isConnected()).thenReturn(false);
+
+        Mono.from(pool.borrowConnection()).block();
+
+        verify(connection2).openStream();
+        verify(connection1, never()).close();
+
+        pool.returnConnection(stream);
+        verify(connection1).close();
+    }
+
+    @Test
+    public void closingStreamDoesNotCloseConnection() {
+        when(connectionFactory.createConnection(any(Origin.class), any(ConnectionSettings.class)))
+                .thenReturn(Mono.just(connection1));
+
+        Http2ConnectionPool pool = new Http2ConnectionPool(origin, poolSettings(2, 1, 10, 10), connectionFactory);
+
+        Connection stream = Mono.from(pool.borrowConnection()).block();
+
+        assertTrue(pool.closeConnection(stream));
+
+        verify(streams.get(0)).close();
+        verify(connection1, never()).close();
+        assertEquals(0, pool.stats().busyConnectionCount());
+        assertEquals(0, pool.stats().closedConnections());
+    }
+
+    @Test
+    public void failsWaitingSubscribersWhenClosed() {
+        when(connectionFactory.createConnection(any(Origin.class), any(ConnectionSettings.class)))
+                .thenReturn(Mono.never());
+
+        Http2ConnectionPool pool = new Http2ConnectionPool(origin, poolSettings(1, 1, 1, 10), connectionFactory);
+
+        StepVerifier.create(pool.borrowConnection())
+                .then(pool::close)
+                .expectErrorMessage("Pool is closed")
+                .verify(Duration.ofSeconds(1));
+
+        assertEquals(0, pool.stats().pendingConnectionCount());
+    }
+
+    @Test
+    public void doesNotOpenMoreThanMaxConnectionsWhileTheyAreBeingEstablished() {
+        when(connectionFactory.createConnection(any(Origin.class), any(ConnectionSettings.class)))
+                .thenReturn(Mono.never());
+
+        Http2ConnectionPool pool = new Http2ConnectionPool(origin, poolSettings(2, 1, 1, 10), connectionFactory);
+
+        for (int i = 0; i < 5; i++) {
+            Mono.from(pool.borrowConnection()).subscribe();
+        }
+
+        verify(connectionFactory, times(2)).createConnection(any(Origin.class), any(ConnectionSettings.class));
+        assertEquals(2, pool.stats().connectionAttempts());
+    }
+
+    @Test
+    public void isExhaustedWhenAllStreamsAndPendingSlotsAreUsed() {
+        when(connectionFactory.createConnection(any(Origin.class), any(ConnectionSettings.class)))
+                .thenReturn(Mono.just(connection1));
+
+        Http2ConnectionPool pool = new Http2ConnectionPool(origin, poolSettings(1, 1, 2, 1), connectionFactory);
+
+        Mono.from(pool.borrowConnection()).block();
+        Mono.from(pool.borrowConnection()).block();
+        assertFalse(pool.isExhausted());
+
+        Mono.from(pool.borrowConnection()).subscribe();
+        assertTrue(pool.isExhausted());
+    }
+
+    private Http2Connection http2Connection(int maxConcurrentStreams) {
+        Http2Connection connection = mock(Http2Connection.class);
+        when(connection.isConnected()).thenReturn(true);
+        when(connection.getOrigin()).thenReturn(origin);
+        when(connection.maxConcurrentStreams()).thenReturn(maxConcurrentStreams);
+        when(connection.openStream()).thenAnswer(invocation -> Mono.fromSupplier(this::newStream));
+        return connection;
+    }
+
+    private Connection newStream() {
+        Connection stream = mock(Connection.class);
+        when(stream.isConnected()).thenReturn(true);
+        streams.add(stream);
+        return stream;
+    }
+
+    private static ConnectionPoolSettings poolSettings(int maxConnections, int minConnections, int maxStreams, int maxPending) {
+        return new ConnectionPoolSettings.Builder()
+                .http2ConnectionPoolSettings(new Http2ConnectionPoolSettings(maxConnections, minConnections, maxStreams, maxPending))
+                .build();
+    }
+}
@@ -22,6 +22,7 @@ import com.hotels.styx.client.Connection;
 import com.hotels.styx.client.ConnectionSettings;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.mockito.internal.stubbing.answers.AnswersWithDelay;
 import org.mockito.invocation.InvocationOnMock;
@@ -35,17 +36,23 @@ import reactor.test.publisher.TestPublisher;
 import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeoutException;
 
 import static com.hotels.styx.api.extension.Origin.newOriginBuilder;
 import static com.hotels.styx.api.extension.service.ConnectionPoolSettings.defaultConnectionPoolSettings;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -57,6 +64,7 @@ public class SimpleConnectionPoolTest {
     private Connection connection2;
     private Connection connection3;
     private Connection connection4;
+    private ScheduledExecutorService scheduler;
 
     @BeforeEach
     public void setUp() {
@@ -999,5 +1007,113 @@ public class SimpleConnectionPoolTest {
         assertEquals(pool.stats().closedConnections(), 0);
     }
 
+    @Test
+    public void opensMinimumIdleConnectionsInBackground() {
+        when(connectionFactory.createConnection(any(Origin.class), any(ConnectionSettings.class)))
+                .thenReturn(Mono.just(connection1), Mono.just(connection2), Mono.just(connection3));
+        givenScheduler(mock(ScheduledFuture.class));
+
+        SimpleConnectionPool pool = new SimpleConnectionPool(origin, minIdleSettings(2, 10), connectionFactory);
+        Runnable keeper = idleConnectionKeeper();
+        keeper.run();
+
+        assertEquals(2, pool.stats().availableConnectionCount());
+        assertEquals(2, pool.stats().connectionAttempts());
+
+        keeper.run();
+        assertEquals(2, pool.stats().connectionAttempts());
+    }
+
+    @Test
+    public void rampsUpIdleConnectionsAtWarmUpRate() {
+        when(connectionFactory.createConnection(any(Origin.class), any(ConnectionSettings.class)))
+                .thenReturn(Mono.just(connection1), Mono.just(connection2), Mono.just(connection3), Mono.just(connection4));
+        givenScheduler(mock(ScheduledFuture.class));
+
+        SimpleConnectionPool pool = new SimpleConnectionPool(origin, minIdleSettings(4, 3), connectionFactory);
+        Runnable keeper = idleConnectionKeeper();
+
+        keeper.run();
+        assertEquals(3, pool.stats().availableConnectionCount());
+
+        keeper.run();
+        assertEquals(4, pool.stats().availableConnectionCount());
+    }
+
+    @Test
+    public void replacesDisconnectedIdleConnections() {
+        when(connectionFactory.createConnection(any(Origin.class), any(ConnectionSettings.class)))
+                .thenReturn(Mono.just(connection1), Mono.just(connection2));
+        givenScheduler(mock(ScheduledFuture.class));
+
+        SimpleConnectionPool pool = new SimpleConnectionPool(origin, minIdleSettings(1, 10), connectionFactory);
+        Runnable keeper = idleConnectionKeeper();
+        keeper.run();
+
+        when(connection1.isConnected()).thenReturn(false);
+        keeper.run();
+
+        assertEquals(1, pool.stats().availableConnectionCount());
+        assertEquals(2, pool.stats().connectionAttempts());
+        assertEquals(connection2, pool.dequeue());
+    }
+
+    @Test
+    public void pausesIdleConnectionsWhileOriginIsNotActive() {
+        when(connectionFactory.createConnection(any(Origin.class), any(ConnectionSettings.class)))
+                .thenReturn(Mono.just(connection1));
+        givenScheduler(mock(ScheduledFuture.class));
+
+        SimpleConnectionPool pool = new SimpleConnectionPool(origin, minIdleSettings(1, 10), connectionFactory);
+        Runnable keeper = idleConnectionKeeper();
+
+        pool.originActive(false);
+        keeper.run();
+        assertEquals(0, pool.stats().connectionAttempts());
+
+        pool.originActive(true);
+        keeper.run();
+        assertEquals(1, pool.stats().connectionAttempts());
+        assertEquals(1, pool.stats().availableConnectionCount());
+    }
+
+    @Test
+    public void stopsKeepingIdleConnectionsWhenClosed() {
+        ScheduledFuture<?> future = mock(ScheduledFuture.class);
+        givenScheduler(future);
+
+        SimpleConnectionPool pool = new SimpleConnectionPool(origin, minIdleSettings(1, 10), connectionFactory);
+        pool.close();
+
+        verify(future).cancel(false);
+    }
+
+    @Test
+    public void keepsNoIdleConnectionsByDefault() {
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        when(connectionFactory.scheduler()).thenReturn(scheduler);
+
+        new SimpleConnectionPool(origin, defaultConnectionPoolSettings(), connectionFactory);
+
+        verify(scheduler, never()).scheduleWithFixedDelay(any(Runnable.class), anyLong(), anyLong(), any());
+    }
 
+    private void givenScheduler(ScheduledFuture<?> future) {
+        scheduler = mock(ScheduledExecutorService.class);
+        doAnswer(invocation -> future).when(scheduler).scheduleWithFixedDelay(any(Runnable.class), eq(0L), eq(1L), eq(SECONDS));
+        when(connectionFactory.scheduler()).thenReturn(scheduler);
+    }
+
+    private Runnable idleConnectionKeeper() {
+        ArgumentCaptor<Runnable> keeper = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).scheduleWithFixedDelay(keeper.capture(), eq(0L), eq(1L), eq(SECONDS));
+        return keeper.getValue();
+    }
+
+    private static ConnectionPoolSettings minIdleSettings(int minIdleConnections, int warmUpConnectionsPerSecond) {
+        return new ConnectionPoolSettings.Builder()
+                .minIdleConnectionsPerHost(minIdleConnections)
+                .warmUpConnectionsPerSecond(warmUpConnectionsPerSecond)
+                .build();
+    }
 }
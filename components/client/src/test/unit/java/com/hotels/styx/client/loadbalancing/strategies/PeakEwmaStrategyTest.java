@@ -0,0 +1,135 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.client.loadbalancing.strategies;
+
+import com.hotels.styx.api.HttpHandler;
+import com.hotels.styx.api.extension.ActiveOrigins;
+import com.hotels.styx.api.extension.RemoteHost;
+import com.hotels.styx.api.extension.loadbalancing.spi.LoadBalancer;
+import com.hotels.styx.api.extension.loadbalancing.spi.LoadBalancingMetric;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hotels.styx.api.extension.Origin.newOriginBuilder;
+import static com.hotels.styx.api.extension.RemoteHost.remoteHost;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PeakEwmaStrategyTest {
+    private final ActiveOrigins activeOrigins = mock(ActiveOrigins.class);
+    private final LoadBalancer strategy = new PeakEwmaStrategy(activeOrigins, new Random(5));
+
+    @Test
+    public void prefersFasterHostOverLessBusyHost() {
+        RemoteHost slow = host("slow", 0, 200_000_000);
+        RemoteHost fast = host("fast", 3, 10_000_000);
+        when(activeOrigins.snapshot()).thenReturn(asList(slow, fast));
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(strategy.choose(null), is(Optional.of(fast)));
+        }
+    }
+
+    @Test
+    public void prefersLessBusyHostWhenLatenciesAreEqual() {
+        RemoteHost busy = host("busy", 4, 10_000_000);
+        RemoteHost idle = host("idle", 1, 10_000_000);
+        when(activeOrigins.snapshot()).thenReturn(asList(busy, idle));
+
+        assertThat(strategy.choose(null), is(Optional.of(idle)));
+    }
+
+    @Test
+    public void triesIdleHostWithoutLatencyEstimate() {
+        RemoteHost known = host("known", 0, 1_000_000);
+        RemoteHost unknown = host("unknown", 0, 0);
+        when(activeOrigins.snapshot()).thenReturn(asList(known, unknown));
+
+        assertThat(strategy.choose(null), is(Optional.of(unknown)));
+    }
+
+    @Test
+    public void penalisesBusyHostWithoutLatencyEstimate() {
+        RemoteHost known = host("known", 5, 500_000_000);
+        RemoteHost unknown = host("unknown", 1, 0);
+        when(activeOrigins.snapshot()).thenReturn(asList(known, unknown));
+
+        assertThat(strategy.choose(null), is(Optional.of(known)));
+    }
+
+    @Test
+    public void choosesOnlyAvailableHost() {
+        RemoteHost host = host("one", 10, 10);
+        when(activeOrigins.snapshot()).thenReturn(singletonList(host));
+
+        assertThat(strategy.choose(null), is(Optional.of(host)));
+    }
+
+    @Test
+    public void returnsEmptyWhenNoHostsAreAvailable() {
+        when(activeOrigins.snapshot()).thenReturn(emptyList());
+
+        assertThat(strategy.choose(null), is(Optional.empty()));
+    }
+
+    @Test
+    public void latencyEstimateFollowsPeaksAndDecays() {
+        AtomicLong clock = new AtomicLong();
+        PeakEwmaLatency latency = new PeakEwmaLatency(Duration.ofSeconds(10), clock::get);
+
+        latency.update(100);
+        assertThat(latency.estimateNanos(), is(100L));
+
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        latency.update(50);
+        assertThat(latency.estimateNanos(), lessThan(100L));
+
+        latency.update(1_000);
+        assertThat(latency.estimateNanos(), is(1_000L));
+
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertThat(latency.estimateNanos(), lessThan(400L));
+    }
+
+    @Test
+    public void failuresAreRecordedAsPenalty() {
+        AtomicLong clock = new AtomicLong();
+        PeakEwmaLatency latency = new PeakEwmaLatency(Duration.ofSeconds(10), clock::get);
+
+        latency.penalise();
+        assertThat(latency.estimateNanos(), is(Duration.ofSeconds(1).toNanos()));
+
+        latency.penalise();
+        assertThat(latency.estimateNanos(), is(Duration.ofSeconds(2).toNanos()));
+    }
+
+    private static RemoteHost host(String id, int ongoingActivities, long latencyNanos) {
+        return remoteHost(
+                newOriginBuilder("localhost", 8080).id(id).build(),
+                mock(HttpHandler.class),
+                () -> new LoadBalancingMetric(ongoingActivities, latencyNanos));
+    }
+}
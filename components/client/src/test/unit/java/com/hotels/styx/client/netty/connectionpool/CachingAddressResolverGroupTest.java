@@ -0,0 +1,38 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.client.netty.connectionpool;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.util.concurrent.ExecutorService;
+
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class CachingAddressResolverGroupTest {
+    @Test
+    public void stopsLookupThreadsWhenClosed() {
+        ExecutorService lookupExecutor = newSingleThreadExecutor();
+        CachingAddressResolverGroup group = new CachingAddressResolverGroup(
+                new HostNameLookups(InetAddress::getAllByName, lookupExecutor), lookupExecutor, null);
+
+        group.close();
+
+        assertThat(lookupExecutor.isShutdown(), is(true));
+    }
+}
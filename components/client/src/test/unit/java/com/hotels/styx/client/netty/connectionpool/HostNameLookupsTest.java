@@ -0,0 +1,162 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.client.netty.connectionpool;
+
+import com.hotels.styx.api.MicrometerRegistry;
+import com.hotels.styx.metrics.CentralisedMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class HostNameLookupsTest {
+    private static final InetAddress ADDRESS_1 = address(10, 0, 0, 1);
+    private static final InetAddress ADDRESS_2 = address(10, 0, 0, 2);
+
+    private final List<Runnable> pendingLookups = new ArrayList<>();
+    private final AtomicInteger lookups = new AtomicInteger();
+    private InetAddress[] answer;
+    private SimpleMeterRegistry registry;
+    private CentralisedMetrics metrics;
+    private HostNameLookups hostNameLookups;
+
+    @BeforeEach
+    public void setUp() {
+        answer = new InetAddress[]{ADDRESS_1, ADDRESS_2};
+        registry = new SimpleMeterRegistry();
+        metrics = new CentralisedMetrics(new MicrometerRegistry(registry));
+        hostNameLookups = new HostNameLookups(
+                hostname -> {
+                    lookups.incrementAndGet();
+                    if (answer == null) {
+                        throw new UnknownHostException(hostname);
+                    }
+                    return answer;
+                },
+                pendingLookups::add);
+    }
+
+    @Test
+    public void resolvesAllAddressesOfHostName() throws Exception {
+        CompletableFuture<List<InetAddress>> addresses = hostNameLookups.resolveAll("origin.example", metrics);
+
+        assertThat(addresses.isDone(), is(false));
+        runPendingLookups();
+
+        assertThat(addresses.get(), contains(ADDRESS_1, ADDRESS_2));
+        assertThat(registry.get("proxy.client.dns.latency").timer().count(), is(1L));
+    }
+
+    @Test
+    public void sharesLookupBetweenConcurrentResolutions() throws Exception {
+        CompletableFuture<List<InetAddress>> first = hostNameLookups.resolveAll("origin.example", metrics);
+        CompletableFuture<List<InetAddress>> second = hostNameLookups.resolveAll("origin.example", metrics);
+        runPendingLookups();
+
+        assertThat(first.get(), contains(ADDRESS_1, ADDRESS_2));
+        assertThat(second.get(), contains(ADDRESS_1, ADDRESS_2));
+        assertThat(lookups.get(), is(1));
+        assertThat(registry.get("proxy.client.dns.sharedLookups").counter().count(), is(1.0));
+    }
+
+    @Test
+    public void looksUpAgainOnceLookupHasCompleted() throws Exception {
+        hostNameLookups.resolveAll("origin.example", metrics);
+        runPendingLookups();
+
+        answer = new InetAddress[]{ADDRESS_2};
+        CompletableFuture<List<InetAddress>> addresses = hostNameLookups.resolveAll("origin.example", metrics);
+        runPendingLookups();
+
+        assertThat(addresses.get(), contains(ADDRESS_2));
+        assertThat(lookups.get(), is(2));
+    }
+
+    @Test
+    public void looksUpAgainAfterFailedLookup() {
+        answer = null;
+        CompletableFuture<List<InetAddress>> failed = hostNameLookups.resolveAll("unknown.example", metrics);
+        runPendingLookups();
+
+        ExecutionException e = assertThrows(ExecutionException.class, failed::get);
+        assertThat(e.getCause(), instanceOf(UnknownHostException.class));
+        assertThat(registry.get("proxy.client.dns.failures").counter().count(), is(1.0));
+
+        answer = new InetAddress[]{ADDRESS_1};
+        CompletableFuture<List<InetAddress>> retried = hostNameLookups.resolveAll("unknown.example", metrics);
+        runPendingLookups();
+
+        assertThat(retried.join(), contains(ADDRESS_1));
+        assertThat(lookups.get(), is(2));
+    }
+
+    @Test
+    public void failsResolutionWhenLookupIsRejected() {
+        HostNameLookups rejecting = new HostNameLookups(
+                hostname -> answer,
+                runnable -> {
+                    throw new RejectedExecutionException("Lookup queue is full");
+                });
+
+        CompletableFuture<List<InetAddress>> rejected = rejecting.resolveAll("origin.example", metrics);
+        ExecutionException e = assertThrows(ExecutionException.class, rejected::get);
+        assertThat(e.getCause(), instanceOf(RejectedExecutionException.class));
+
+        CompletableFuture<List<InetAddress>> resolved = hostNameLookups.resolveAll("origin.example", metrics);
+        runPendingLookups();
+        assertThat(resolved.join(), contains(ADDRESS_1, ADDRESS_2));
+    }
+
+    @Test
+    public void resolvesWithoutMetrics() {
+        CompletableFuture<List<InetAddress>> addresses = hostNameLookups.resolveAll("origin.example", null);
+        runPendingLookups();
+
+        assertThat(addresses.join(), contains(ADDRESS_1, ADDRESS_2));
+    }
+
+    private void runPendingLookups() {
+        List<Runnable> pending = new ArrayList<>(pendingLookups);
+        pendingLookups.clear();
+        pending.forEach(Runnable::run);
+    }
+
+    private static InetAddress address(int... octets) {
+        byte[] bytes = new byte[octets.length];
+        for (int i = 0; i < octets.length; i++) {
+            bytes[i] = (byte) octets[i];
+        }
+        try {
+            return InetAddress.getByAddress(bytes);
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
-  Copyright (C) 2013-2021 Expedia Inc.
+  Copyright (C) 2013-2026 Expedia Inc.
 
   Licensed under the Apache License, Version 2.0 (the "License");
   you may not use this file except in compliance with the License.
@@ -21,6 +21,8 @@ import io.netty.handler.codec.http.cookie.DefaultCookie;
 import io.netty.handler.codec.http.cookie.ServerCookieDecoder;
 import org.junit.jupiter.api.Test;
 
+import java.util.Optional;
+
 import static com.hotels.styx.api.HttpMethod.GET;
 import static com.hotels.styx.api.RequestCookie.requestCookie;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -73,4 +75,19 @@ public class HttpRequestOperationTest {
         assertThat(nettyRequest.uri(), is("https://www.example.com/foo?some=value&blah=blah&format=json"));
         assertThat(nettyRequest.headers().get("X-Forwarded-Proto"), is("https"));
     }
+
+    @Test
+    public void doesNotShareRequestHeadersWithNettyRequest() {
+        LiveHttpRequest request = new LiveHttpRequest.Builder()
+                .method(GET)
+                .header("X-Forwarded-Proto", "https")
+                .uri("/foo")
+                .build();
+
+        DefaultHttpRequest nettyRequest = HttpRequestOperation.toNettyRequest(request);
+        nettyRequest.headers().set("x-http2-scheme", "https");
+
+        assertThat(nettyRequest.headers().get("X-Forwarded-Proto"), is("https"));
+        assertThat(request.header("x-http2-scheme"), is(Optional.empty()));
+    }
 }
@@ -15,14 +15,22 @@
  */
 package com.hotels.styx.client.netty.connectionpool;
 
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.hotels.styx.NettyExecutor;
+import com.hotels.styx.api.MicrometerRegistry;
 import com.hotels.styx.api.exceptions.OriginUnreachableException;
 import com.hotels.styx.api.extension.Origin;
+import com.hotels.styx.api.extension.service.TlsSettings;
 import com.hotels.styx.client.Connection;
 import com.hotels.styx.client.ConnectionSettings;
+import com.hotels.styx.metrics.CentralisedMetrics;
 import com.hotels.styx.support.server.FakeHttpServer;
 import com.hotels.styx.support.server.UrlMatchingStrategies;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.EventLoop;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.handler.codec.TooLongFrameException;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
@@ -43,6 +51,7 @@ import reactor.test.StepVerifier;
 import java.util.List;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
 import static com.hotels.styx.api.HttpHeaderNames.HOST;
 import static com.hotels.styx.api.extension.Origin.newOriginBuilder;
 import static com.hotels.styx.client.HttpConfig.newHttpConfigBuilder;
@@ -58,6 +67,7 @@ import static java.util.stream.StreamSupport.stream;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -104,6 +114,29 @@ public class NettyConnectionFactoryTest {
                 .expectError(OriginUnreachableException.class);
     }
 
+    @Test
+    public void createsConnectionsOnThePreferredEventLoopOfAnotherExecutor() {
+        NettyExecutor serverExecutor = NettyExecutor.create("Server-Worker", 1);
+        try {
+            EventLoop serverEventLoop = serverExecutor.eventLoopGroup().next();
+
+            NettyConnection connection = (NettyConnection) connectionFactory.createConnection(healthyOrigin, connectionSettings, serverEventLoop).block();
+
+            assertThat(connection.channel().eventLoop(), is(sameInstance(serverEventLoop)));
+            connection.close();
+        } finally {
+            serverExecutor.shut();
+        }
+    }
+
+    @Test
+    public void ignoresPreferredExecutorsThatAreNotEventLoops() {
+        NettyConnection connection = (NettyConnection) connectionFactory.createConnection(healthyOrigin, connectionSettings, Runnable::run).block();
+
+        assertThat(connection.isConnected(), is(true));
+        connection.close();
+    }
+
     @Test
     public void createsWorkingHttpConnection() {
         server.stub(urlStartingWith("/"), aResponse().withStatus(200));
@@ -132,6 +165,40 @@ public class NettyConnectionFactoryTest {
 
     }
 
+    @Test
+    public void resumesTlsSessionsOfEarlierConnections() throws InterruptedException {
+        WireMockServer httpsServer = new WireMockServer(wireMockConfig().httpDisabled(true).dynamicHttpsPort());
+        httpsServer.start();
+        try {
+            httpsServer.stubFor(WireMock.get(urlStartingWith("/")).willReturn(aResponse().withStatus(200)));
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            NettyConnectionFactory tlsConnectionFactory = new NettyConnectionFactory.Builder()
+                    .tlsSettings(new TlsSettings.Builder().build())
+                    .metrics(new CentralisedMetrics(new MicrometerRegistry(registry)))
+                    .build();
+            Origin tlsOrigin = newOriginBuilder("localhost", httpsServer.httpsPort()).build();
+
+            sendOverNewConnection(tlsConnectionFactory, tlsOrigin);
+            // Resumption is detected from session creation times, which can have a granularity of a second:
+            Thread.sleep(1100);
+            sendOverNewConnection(tlsConnectionFactory, tlsOrigin);
+
+            assertThat(registry.get("proxy.client.tls.handshakes").counter().count(), is(2.0));
+            assertThat(registry.get("proxy.client.tls.resumedHandshakes").counter().count(), is(1.0));
+        } finally {
+            httpsServer.stop();
+        }
+    }
+
+    private void sendOverNewConnection(NettyConnectionFactory factory, Origin origin) {
+        NettyConnection connection = (NettyConnection) factory.createConnection(origin, connectionSettings).block();
+        DefaultFullHttpRequest request = new DefaultFullHttpRequest(HTTP_1_1, GET, "/");
+        request.headers().set(HOST, "localhost:" + origin.port());
+
+        sendRequestAndReceiveResponse(request, connection.channel());
+        connection.close();
+    }
+
     private FullHttpRequest requestToOrigin() {
         DefaultFullHttpRequest request = new DefaultFullHttpRequest(HTTP_1_1, GET, "/");
         request.headers().set(HOST, "localhost:" + server.port());
@@ -51,6 +51,7 @@ import static io.netty.handler.codec.http.HttpVersion.HTTP_1_1;
 import static io.netty.handler.codec.http.LastHttpContent.EMPTY_LAST_CONTENT;
 import static io.netty.handler.timeout.IdleStateEvent.ALL_IDLE_STATE_EVENT;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
@@ -257,6 +258,50 @@ public class NettyToStyxResponsePropagatorTest {
         return constructor.newInstance(message);
     }
 
+    @Test
+    public void propagatesNextResponseToReboundSink() {
+        NettyToStyxResponsePropagator handler = new NettyToStyxResponsePropagator(responseSubscriber, SOME_ORIGIN);
+        EmbeddedChannel channel = new EmbeddedChannel(handler);
+
+        channel.writeInbound(httpResponseHeaders);
+        channel.writeInbound(EMPTY_LAST_CONTENT);
+        handler.unbind(responseSubscriber);
+
+        FluxSink<LiveHttpResponse> nextSubscriber = mock(FluxSink.class);
+        handler.bind(nextSubscriber, 5, SECONDS, null);
+        channel.writeInbound(new DefaultHttpResponse(HTTP_1_1, OK));
+
+        verify(responseSubscriber, times(1)).next(any(LiveHttpResponse.class));
+        verify(nextSubscriber, times(1)).next(any(LiveHttpResponse.class));
+        assertThat(channel.isOpen(), is(true));
+    }
+
+    @Test
+    public void ignoresEventsWhenUnbound() {
+        NettyToStyxResponsePropagator handler = new NettyToStyxResponsePropagator(SOME_ORIGIN);
+        EmbeddedChannel channel = new EmbeddedChannel(handler);
+
+        HttpContent content = newHttpContent("stray chunk");
+        channel.writeInbound(content);
+        channel.pipeline().fireUserEventTriggered(ALL_IDLE_STATE_EVENT);
+        channel.pipeline().fireExceptionCaught(new RuntimeException("Error"));
+        channel.pipeline().fireChannelInactive();
+
+        assertThat(content.refCnt(), is(0));
+        verify(responseSubscriber, never()).error(any());
+    }
+
+    @Test
+    public void doesNotUnbindFromAnotherSink() {
+        NettyToStyxResponsePropagator handler = new NettyToStyxResponsePropagator(responseSubscriber, SOME_ORIGIN);
+        EmbeddedChannel channel = new EmbeddedChannel(handler);
+
+        handler.unbind(mock(FluxSink.class));
+        channel.pipeline().fireChannelInactive();
+
+        verify(responseSubscriber).error(any(TransportLostException.class));
+    }
+
     @Test
     public void shouldReleaseAlreadyReadBufferInCaseOfChannelGetsInactive() throws Exception {
         FluxSink subscriber = mock(FluxSink.class);
@@ -0,0 +1,72 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.client.netty.connectionpool;
+
+import com.hotels.styx.api.extension.service.TlsSettings;
+import com.hotels.styx.client.ssl.SslContextFactory;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class OriginSslHandlersTest {
+    private final SslContext sslContext = SslContextFactory.get(new TlsSettings.Builder().build());
+    private final EmbeddedChannel channel = new EmbeddedChannel() {
+        @Override
+        protected SocketAddress remoteAddress0() {
+            return new InetSocketAddress("10.0.0.1", 8443);
+        }
+    };
+
+    @AfterEach
+    public void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void keysSessionsByServerNameAndPort() {
+        SslHandler sslHandler = OriginSslHandlers.newSslHandler(sslContext, channel, "origin.example", 8443);
+
+        assertThat(sslHandler.engine().getPeerHost(), is("origin.example"));
+        assertThat(sslHandler.engine().getPeerPort(), is(8443));
+    }
+
+    @Test
+    public void keysSessionsByAddressAndPortWithoutServerName() {
+        SslHandler sslHandler = OriginSslHandlers.newSslHandler(sslContext, channel, null, 8443);
+
+        assertThat(sslHandler.engine().getPeerHost(), is("10.0.0.1"));
+        assertThat(sslHandler.engine().getPeerPort(), is(8443));
+    }
+
+    @Test
+    public void omitsPeerWhenChannelHasNoInetAddress() {
+        EmbeddedChannel embedded = new EmbeddedChannel();
+
+        SslHandler sslHandler = OriginSslHandlers.newSslHandler(sslContext, embedded, null, 8443);
+
+        assertThat(sslHandler.engine().getPeerHost(), is(nullValue()));
+        embedded.finishAndReleaseAll();
+    }
+}
@@ -277,6 +277,51 @@ public class RequestsToOriginMetricsCollectorTest {
         verify(stopper, atMostOnce()).stop();
     }
 
+    @Test
+    public void exceptionAfterResponseDoesNotRecordTimersAgain() {
+        TimerMetric latencyTimer = mock(TimerMetric.class);
+        TimerMetric firstByteTimer = mock(TimerMetric.class);
+        when(originMetrics.requestLatencyTimer()).thenReturn(latencyTimer);
+        when(originMetrics.timeToFirstByteTimer()).thenReturn(firstByteTimer);
+        Stopper latencyStopper = mock(Stopper.class);
+        Stopper firstByteStopper = mock(Stopper.class);
+        when(latencyTimer.startTiming()).thenReturn(latencyStopper);
+        when(firstByteTimer.startTiming()).thenReturn(firstByteStopper);
+
+        EmbeddedChannel channel = buildEmbeddedChannel();
+
+        channel.writeOutbound(httpRequest(GET, "http://www.hotels.com/foo/bar/request"));
+        channel.writeInbound(httpResponseAsBuf(OK, STOCK_BODY));
+        verify(latencyStopper).stop();
+        verify(firstByteStopper).stop();
+
+        channel.pipeline().fireExceptionCaught(new RuntimeException("connection reset"));
+
+        verify(latencyStopper).stop();
+        verify(firstByteStopper).stop();
+    }
+
+    @Test
+    public void exceptionDuringRequestStopsTimers() {
+        TimerMetric latencyTimer = mock(TimerMetric.class);
+        TimerMetric firstByteTimer = mock(TimerMetric.class);
+        when(originMetrics.requestLatencyTimer()).thenReturn(latencyTimer);
+        when(originMetrics.timeToFirstByteTimer()).thenReturn(firstByteTimer);
+        Stopper latencyStopper = mock(Stopper.class);
+        Stopper firstByteStopper = mock(Stopper.class);
+        when(latencyTimer.startTiming()).thenReturn(latencyStopper);
+        when(firstByteTimer.startTiming()).thenReturn(firstByteStopper);
+
+        EmbeddedChannel channel = buildEmbeddedChannel();
+
+        channel.writeOutbound(httpRequest(GET, "http://www.hotels.com/foo/bar/request"));
+        channel.pipeline().fireExceptionCaught(new RuntimeException("connection reset"));
+        channel.pipeline().fireExceptionCaught(new RuntimeException("connection reset"));
+
+        verify(latencyStopper).stop();
+        verify(firstByteStopper).stop();
+    }
+
 
     @Test
     public void response100ContinueUpdatesInformationalMeterOnly() {
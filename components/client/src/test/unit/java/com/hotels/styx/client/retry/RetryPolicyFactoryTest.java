@@ -47,4 +47,21 @@ public class RetryPolicyFactoryTest {
         assertThat(retryPolicy, is(instanceOf(RetryNTimes.class)));
         assertThat(((RetryNTimes) retryPolicy).maxAttempts(), is(1));
     }
+
+    @Test
+    public void readsBackoffFromConfiguration() {
+        Configuration configuration = new MapBackedConfiguration().set("count", 2).set("backoffMillis", 50);
+
+        RetryPolicy retryPolicy = new RetryPolicyFactory().create(environment, configuration);
+
+        assertThat(((RetryNTimes) retryPolicy).deltaBackoffMillis(), is(50));
+        assertThat(((RetryNTimes) retryPolicy).evaluate(mock(RetryPolicy.Context.class), null, null).retryIntervalMillis(), is(50L));
+    }
+
+    @Test
+    public void doesNotBackOffIfNotSpecified() {
+        RetryPolicy retryPolicy = new RetryPolicyFactory().create(environment, EMPTY_CONFIGURATION);
+
+        assertThat(((RetryNTimes) retryPolicy).deltaBackoffMillis(), is(0));
+    }
 }
\ No newline at end of file
@@ -188,4 +188,9 @@ public class ScopedMetricRegistry implements MetricRegistry {
     public SortedMap<String, Metric> getMetrics() {
         return this.parent.getMetrics();
     }
+
+    @Override
+    public SortedMap<String, Metric> getMetrics(String prefix) {
+        return this.parent.getMetrics(prefix);
+    }
 }
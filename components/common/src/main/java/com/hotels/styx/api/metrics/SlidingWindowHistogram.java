@@ -18,33 +18,48 @@ package com.hotels.styx.api.metrics;
 import com.hotels.styx.api.Clock;
 import com.hotels.styx.api.Clocks;
 import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
 
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static com.hotels.styx.common.Preconditions.checkArgument;
-import static java.lang.System.currentTimeMillis;
 import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
  * Implements an HDR histogram with a sliding window behaviour. The sliding
  * window size is fixed to 10 seconds and window granularity is one second.
+ * <p>
+ * Values are recorded into an HdrHistogram {@link Recorder}, which is wait-free for
+ * concurrent writers. Recorded values are moved into the per-interval histograms when
+ * the histogram is read, and when the first value of a new interval is recorded.
+ * Only readers, and the writer that crosses an interval boundary, take a lock.
  */
 public final class SlidingWindowHistogram {
     private static final int DEFAULT_NUMBER_OF_INTERVALS = 10;
     private final Clock clock;
+    private final Recorder recorder;
     private final Histogram aggregateHistogram;
     private final IntervalBucket[] window;
+    private final ReentrantLock lock = new ReentrantLock();
 
     private final int numberOfIntervals;
     private final long intervalDurationMillis;
-    private long lastUpdateTime;
+
+    // The interval that values currently held by the recorder belong to:
+    private volatile long recordingInterval;
+    private Histogram recycledIntervalHistogram;
 
     private SlidingWindowHistogram(Builder builder) {
         this.numberOfIntervals = builder.numberOfIntervals;
         this.intervalDurationMillis = builder.intervalDurationMillis;
         this.clock = builder.clock;
 
+        this.recorder = builder.autoResize
+                ? new Recorder(builder.numberOfSignificantDigits)
+                : new Recorder(builder.lowestDiscernibleValue, builder.highestTrackableValue, builder.numberOfSignificantDigits);
+
         this.aggregateHistogram = new Histogram(builder.lowestDiscernibleValue, builder.highestTrackableValue, builder.numberOfSignificantDigits);
         if (builder.autoResize) {
             this.aggregateHistogram.setAutoResize(true);
@@ -56,35 +71,59 @@ public final class SlidingWindowHistogram {
                     builder.highestTrackableValue, builder.numberOfSignificantDigits, builder.autoResize);
         }
 
-        this.lastUpdateTime = currentTimeMillis();
+        this.recordingInterval = intervalNumber(clock.tickMillis());
     }
 
-    public synchronized void recordValue(long msValue) {
+    public void recordValue(long msValue) {
         checkArgument(msValue >= 0, "Recorded value must be a positive number.");
 
-        long currentTime = clock.tickMillis();
-        purgeOldHistograms(currentTime);
-
-        int bucket = bucketFromTime(currentTime);
-        window[bucket].recordValue(msValue);
+        long interval = intervalNumber(clock.tickMillis());
+        if (interval > recordingInterval) {
+            lock.lock();
+            try {
+                advanceTo(interval);
+            } finally {
+                lock.unlock();
+            }
+        }
 
-        lastUpdateTime = currentTime;
+        recorder.recordValue(msValue);
     }
 
-    public synchronized double getMean() {
-        return getAggregateHistogram().getMean();
+    public double getMean() {
+        lock.lock();
+        try {
+            return getAggregateHistogram().getMean();
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized double getValueAtPercentile(double percentile) {
-        return getAggregateHistogram().getValueAtPercentile(percentile);
+    public double getValueAtPercentile(double percentile) {
+        lock.lock();
+        try {
+            return getAggregateHistogram().getValueAtPercentile(percentile);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized double getStdDeviation() {
-        return getAggregateHistogram().getStdDeviation();
+    public double getStdDeviation() {
+        lock.lock();
+        try {
+            return getAggregateHistogram().getStdDeviation();
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized Histogram copy() {
-        return getAggregateHistogram().copy();
+    public Histogram copy() {
+        lock.lock();
+        try {
+            return getAggregateHistogram().copy();
+        } finally {
+            lock.unlock();
+        }
     }
 
     public int windowSize() {
@@ -96,30 +135,34 @@ public final class SlidingWindowHistogram {
     }
 
     private Histogram getAggregateHistogram() {
-        long currentTime = clock.tickMillis();
-        purgeOldHistograms(currentTime);
+        advanceTo(intervalNumber(clock.tickMillis()));
 
         aggregateHistograms();
         return aggregateHistogram;
     }
 
-    private boolean timePassed(long currentTime) {
-        return intervalNumber(lastUpdateTime) < intervalNumber(currentTime);
-    }
+    //
+    // Moves recorded values to the bucket of the interval they were recorded in, and then
+    // expires the buckets of any intervals that have passed since. Must hold the lock.
+    //
+    private void advanceTo(long interval) {
+        long current = recordingInterval;
+
+        recycledIntervalHistogram = recorder.getIntervalHistogram(recycledIntervalHistogram);
+        if (recycledIntervalHistogram.getTotalCount() > 0) {
+            window[bucketFromInterval(current)].add(recycledIntervalHistogram);
+        }
 
-    private void purgeOldHistograms(long currentTime) {
-        if (timePassed(currentTime)) {
-            int i = 0;
-            long startTime = Math.min(lastUpdateTime + intervalDurationMillis, currentTime);
-            for (long t = startTime; i < numberOfIntervals && t <= currentTime; i++, t += intervalDurationMillis) {
-                int bucket = bucketFromTime(t);
-                window[bucket].reset();
+        if (interval > current) {
+            for (long i = current + 1; i <= interval && i <= current + numberOfIntervals; i++) {
+                window[bucketFromInterval(i)].reset();
             }
+            recordingInterval = interval;
         }
     }
 
-    private int bucketFromTime(long timeMs) {
-        return (int) (intervalNumber(timeMs) % numberOfIntervals);
+    private int bucketFromInterval(long interval) {
+        return (int) (interval % numberOfIntervals);
     }
 
     private long intervalNumber(long timeMs) {
@@ -146,10 +189,10 @@ public final class SlidingWindowHistogram {
             this.state = IntervalState.EMPTY;
         }
 
-        public void recordValue(long msValue) {
-            intervalHistogram.recordValue(msValue);
+        public void add(Histogram values) {
+            intervalHistogram.add(values);
             if (this.state == IntervalState.AGGREGATED) {
-                aggregateHistogram.recordValue(msValue);
+                aggregateHistogram.add(values);
             } else {
                 this.state = IntervalState.UPDATED;
             }
@@ -44,8 +44,8 @@ import java.util.SortedMap;
 import java.util.SortedSet;
 import java.util.TreeMap;
 import java.util.TreeSet;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.function.ToDoubleFunction;
@@ -113,7 +113,8 @@ public class CodaHaleMetricRegistry implements MetricRegistry {
         }
     }
 
-    private final ConcurrentMap<String, MetricAndMeters> dropwizardMeters = new ConcurrentHashMap<>();
+    // Sorted by name, so that the metrics under a name prefix can be looked up as one range:
+    private final ConcurrentNavigableMap<String, MetricAndMeters> dropwizardMeters = new ConcurrentSkipListMap<>();
 
     private final MeterRegistry registry;
     private final Set<MetricRegistryListener> listeners = new HashSet<>();
@@ -239,9 +240,18 @@ public class CodaHaleMetricRegistry implements MetricRegistry {
         return getGauges(MetricFilter.ALL);
     }
 
+    @Override
+    public SortedMap<String, Metric> getMetrics(String prefix) {
+        return getMetrics(dropwizardMeters.subMap(prefix, prefix + Character.MAX_VALUE), Metric.class, MetricFilter.ALL);
+    }
+
     private <T extends Metric> SortedMap<String, T> getMetrics(Class<T> tClass, MetricFilter filter) {
+        return getMetrics(dropwizardMeters, tClass, filter);
+    }
+
+    private static <T extends Metric> SortedMap<String, T> getMetrics(Map<String, MetricAndMeters> meters, Class<T> tClass, MetricFilter filter) {
         SortedMap<String, T> metrics = new TreeMap<>();
-        dropwizardMeters.forEach((name, metricAndMeters) -> {
+        meters.forEach((name, metricAndMeters) -> {
             Metric metric = metricAndMeters.metric();
             if (tClass.isInstance(metric) && filter.matches(name, metric)) {
                 metrics.put(name, (T) metric);
@@ -39,7 +39,7 @@ public class SlidingWindowHistogramReservoir implements Reservoir {
     private final SlidingWindowHistogram histogram;
     private final Clock clock;
     private volatile HistogramSnapshot snapshot;
-    private boolean updated = true;
+    private volatile boolean updated = true;
     private long snapshotCreationTime;
 
     public SlidingWindowHistogramReservoir() {
@@ -66,16 +66,19 @@ public class SlidingWindowHistogramReservoir implements Reservoir {
     }
 
     @Override
-    public synchronized void update(long value) {
-        updated = true;
+    public void update(long value) {
         histogram.recordValue(value);
+        if (!updated) {
+            updated = true;
+        }
     }
 
     @Override
     public synchronized Snapshot getSnapshot() {
         if (updated || snapshotExpired(clock.tickMillis())) {
-            snapshot = new HistogramSnapshot(histogram);
+            // Cleared before copying, so that a concurrent update is either in the copy or flags the next read:
             updated = false;
+            snapshot = new HistogramSnapshot(histogram);
             snapshotCreationTime = clock.tickMillis();
         }
         return snapshot;
@@ -31,6 +31,7 @@ import static com.hotels.styx.config.schema.SchemaDsl.optional;
 import static com.hotels.styx.config.schema.SchemaDsl.string;
 import static com.hotels.styx.config.schema.SchemaDsl.union;
 import static com.hotels.styx.javaconvenience.UtilKt.iteratorToList;
+import static java.lang.Double.parseDouble;
 import static java.lang.Integer.parseInt;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
@@ -260,6 +261,35 @@ public class Schema {
         }
     }
 
+    /**
+     * Number schema field type. Accepts integer and decimal values.
+     */
+    public static class NumberField implements FieldType {
+        @Override
+        public void validate(List<String> parents, JsonNode parent, JsonNode value, Function<String, FieldType> typeExtensions) {
+            if (!value.isNumber() && !canParseAsNumber(value)) {
+                throw new SchemaValidationException(message(parents, describe(), value));
+            }
+        }
+
+        @Override
+        public String describe() {
+            return "NUMBER";
+        }
+
+        private static boolean canParseAsNumber(JsonNode value) {
+            if (!value.isTextual()) {
+                return false;
+            }
+            try {
+                parseDouble(value.textValue());
+                return true;
+            } catch (NumberFormatException cause) {
+                return false;
+            }
+        }
+    }
+
     /**
      * String schema field type.
      */
@@ -68,6 +68,15 @@ public final class SchemaDsl {
         return new Schema.IntegerField();
     }
 
+    /**
+     * A number field value type. Both integer and decimal values are valid.
+     *
+     * @return A FieldType instance.
+     */
+    public static Schema.FieldType number() {
+        return new Schema.NumberField();
+    }
+
     /**
      * A string field value type.
      *
@@ -397,6 +397,16 @@ class CentralisedMetrics(
             fun connectionsInEstablishment(origin: Origin): GaugeId =
                 InnerGaugeId("proxy.client.connectionpool.connectionsInEstablishment", origin.tags)
 
+            /**
+             * Number of completed TLS handshakes with an origin, including resumed ones.
+             */
+            fun tlsHandshakes(origin: Origin): Counter = registry.counter("proxy.client.tls.handshakes", origin.tags)
+
+            /**
+             * Number of TLS handshakes with an origin that resumed a cached session.
+             */
+            fun tlsResumedHandshakes(origin: Origin): Counter = registry.counter("proxy.client.tls.resumedHandshakes", origin.tags)
+
             /**
              * The health status of a given origin. The values can be understood as follows:
              *
@@ -427,6 +437,11 @@ class CentralisedMetrics(
                     registry.counter("proxy.client.originHealthChecks", it.tags)
                 }
 
+            /**
+             * Number of times an origin was ejected from load balancing by outlier detection.
+             */
+            fun outlierEjections(origin: Origin): Counter = registry.counter("proxy.client.outlier.ejections", origin.tags)
+
             /**
              * Counts request cancellations that happen at the client, i.e. sent out from Styx.
              *
@@ -503,6 +518,58 @@ class CentralisedMetrics(
              * Number of ongoing requests for a particular origin.
              */
             fun ongoingRequests(origin: Origin): GaugeId = InnerGaugeId("proxy.client.ongoingRequests", origin.tags)
+
+            /**
+             * Counts hedged requests, i.e. duplicates of slow idempotent requests sent to another origin.
+             *
+             * They are tagged by application.
+             */
+            fun hedgedRequests(applicationId: String): Counter = registry.counter("proxy.client.hedging.sent", "appId", applicationId)
+
+            /**
+             * Counts hedged requests that were responded to before the request they duplicate.
+             */
+            fun hedgesWon(applicationId: String): Counter = registry.counter("proxy.client.hedging.won", "appId", applicationId)
+
+            /**
+             * Counts slow requests that were not hedged because the hedging budget was used up.
+             */
+            fun hedgesRejected(applicationId: String): Counter = registry.counter("proxy.client.hedging.budgetExhausted", "appId", applicationId)
+
+            /**
+             * Counts slow requests that were not hedged because there was no other active origin to send them to.
+             */
+            fun hedgesSkipped(applicationId: String): Counter = registry.counter("proxy.client.hedging.noOriginAvailable", "appId", applicationId)
+
+            /**
+             * Counts requests retried to an origin after a failed attempt.
+             *
+             * They are tagged by application.
+             */
+            fun retries(applicationId: String): Counter = registry.counter("proxy.client.retries.sent", "appId", applicationId)
+
+            /**
+             * Counts failed requests that were not retried because the retry budget was used up.
+             */
+            fun retriesRejected(applicationId: String): Counter = registry.counter("proxy.client.retries.budgetExhausted", "appId", applicationId)
+
+            /**
+             * Measures the time taken to look up origin host names, including lookups answered from the JVM's address cache.
+             */
+            @get:JvmName("nameLookupLatency")
+            val nameLookupLatency: TimerMetric = InnerTimer("proxy.client.dns.latency")
+
+            /**
+             * Counts origin host name resolutions that joined a lookup of the same name already in progress.
+             */
+            @get:JvmName("nameLookupsShared")
+            val nameLookupsShared: Counter = registry.counter("proxy.client.dns.sharedLookups")
+
+            /**
+             * Counts origin host name lookups that failed.
+             */
+            @get:JvmName("nameLookupFailures")
+            val nameLookupFailures: Counter = registry.counter("proxy.client.dns.failures")
         }
 
         inner class Plugins {
@@ -545,10 +612,18 @@ class CentralisedMetrics(
             }
         }
 
-        override fun register(supplier: () -> Int): Deleter =
-            InnerDeleter(
-                Gauge.builder(name, supplier).tags(tags).register(registry.micrometerRegistry()),
+        // A later registration replaces an earlier gauge with the same ID. This lets a reloaded
+        // object register its gauges before the object it replaces is closed.
+        override fun register(supplier: () -> Int): Deleter {
+            val micrometerRegistry = registry.micrometerRegistry()
+            micrometerRegistry.find(name).tags(tags).gauges()
+                .filter { Tags.of(it.id.tags) == tags }
+                .forEach { micrometerRegistry.remove(it) }
+
+            return InnerDeleter(
+                Gauge.builder(name, supplier).tags(tags).register(micrometerRegistry),
             )
+        }
 
         override fun register(number: Number) {
             registry.gauge(name, number)
@@ -559,7 +634,10 @@ class CentralisedMetrics(
         val gauge: Gauge,
     ) : Deleter {
         override fun delete() {
-            registry.remove(gauge)
+            // The gauge may have been replaced by a later registration, which is not ours to remove:
+            if (registry.micrometerRegistry().find(gauge.id.name).gauges().any { it === gauge }) {
+                registry.remove(gauge)
+            }
         }
     }
 
@@ -21,9 +21,13 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Stream;
 
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.closeTo;
@@ -237,6 +241,31 @@ public class SlidingWindowHistogramTest {
         assertThat(histogram.getMean(), is(closeTo(20, 1.0)));
     }
 
+    @Test
+    public void recordsValuesFromConcurrentWriters() throws Exception {
+        SlidingWindowHistogram histogram = newHistogram(windowSize, INTERVAL_SIZE_MS);
+        int writers = 4;
+        int valuesPerWriter = 10000;
+
+        ExecutorService executor = newFixedThreadPool(writers);
+        CountDownLatch done = new CountDownLatch(writers);
+        for (int i = 0; i < writers; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < valuesPerWriter; j++) {
+                    histogram.recordValue(10);
+                    histogram.recordValue(30);
+                }
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(10, SECONDS), is(true));
+        executor.shutdown();
+
+        assertThat(histogram.copy().getTotalCount(), is(2L * writers * valuesPerWriter));
+        assertThat(histogram.getMean(), is(closeTo(20.0, 1.0)));
+    }
+
     private static Stream<Arguments> getWindowSizeAndInterval() {
         return Stream.of(
             Arguments.of(10, 1000),
@@ -29,6 +29,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.sameInstance;
@@ -66,6 +67,17 @@ public class CodaHaleMetricRegistryTest {
                 () -> metricRegistry.timer("foo"));
     }
 
+    @Test
+    public void retrievesMetricsWithNamePrefix() {
+        metricRegistry.counter("foo");
+        metricRegistry.counter("foo.bar");
+        metricRegistry.counter("foobar");
+        metricRegistry.counter("fo");
+        metricRegistry.counter("baz.foo");
+
+        assertThat(metricRegistry.getMetrics("foo").keySet(), contains("foo", "foo.bar", "foobar"));
+    }
+
     @Test
     public void notifiesListenersOnGaugeRegistration() {
         metricRegistry.addListener(listener);
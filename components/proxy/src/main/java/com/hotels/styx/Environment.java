@@ -17,6 +17,7 @@ package com.hotels.styx;
 
 import com.google.common.eventbus.EventBus;
 import com.hotels.styx.api.MetricRegistry;
+import com.hotels.styx.client.netty.connectionpool.CachingAddressResolverGroup;
 import com.hotels.styx.common.format.DefaultHttpMessageFormatter;
 import com.hotels.styx.common.format.HttpMessageFormatter;
 import com.hotels.styx.metrics.CentralisedMetrics;
@@ -47,6 +48,7 @@ public final class Environment implements com.hotels.styx.api.Environment, Centr
     private final ServerEnvironment serverEnvironment;
     private final HttpMessageFormatter httpMessageFormatter;
     private final CentralisedMetrics metrics;
+    private final CachingAddressResolverGroup addressResolverGroup;
 
     private Environment(Builder builder) {
         this.eventBus = firstNonNull(builder.eventBus, () -> new EventBus("Styx"));
@@ -58,6 +60,7 @@ public final class Environment implements com.hotels.styx.api.Environment, Centr
         this.httpMessageFormatter = builder.httpMessageFormatter;
 
         this.metrics = new CentralisedMetrics(serverEnvironment.registry());
+        this.addressResolverGroup = new CachingAddressResolverGroup(metrics);
         this.httpErrorStatusListener = HttpErrorStatusListener.compose(
                 new HttpErrorStatusCauseLogger(httpMessageFormatter),
                 new HttpErrorStatusMetrics(metrics));
@@ -123,6 +126,16 @@ public final class Environment implements com.hotels.styx.api.Environment, Centr
         return metrics;
     }
 
+    /**
+     * Returns the group that resolves origin host names for all the connection factories of this server.
+     * It is closed when the server stops.
+     *
+     * @return resolver group
+     */
+    public CachingAddressResolverGroup addressResolverGroup() {
+        return addressResolverGroup;
+    }
+
     /**
      * Builder for {@link com.hotels.styx.Environment}.
      */
@@ -22,6 +22,7 @@ import com.hotels.styx.proxy.HttpCompressor;
 import com.hotels.styx.proxy.ServerProtocolDistributionRecorder;
 import com.hotels.styx.proxy.encoders.ConfigurableUnwiseCharsEncoder;
 import com.hotels.styx.server.ConnectorConfig;
+import com.hotels.styx.server.HttpConnectorConfig;
 import com.hotels.styx.server.HttpErrorStatusListener;
 import com.hotels.styx.server.HttpsConnectorConfig;
 import com.hotels.styx.server.RequestStatsCollector;
@@ -34,18 +35,33 @@ import com.hotels.styx.server.netty.connectors.HttpPipelineHandler;
 import com.hotels.styx.server.netty.connectors.ResponseEnhancer;
 import com.hotels.styx.server.netty.handlers.ChannelActivityEventConstrainer;
 import com.hotels.styx.server.netty.handlers.ExcessConnectionRejector;
+import com.hotels.styx.server.netty.handlers.Http2PriorKnowledgeDetector;
 import com.hotels.styx.server.netty.handlers.RequestTimeoutHandler;
 import com.hotels.styx.server.track.CurrentRequestTracker;
 import com.hotels.styx.server.track.RequestTracker;
 import io.micrometer.core.instrument.DistributionSummary;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelPipeline;
 import io.netty.channel.ChannelPromise;
 import io.netty.channel.group.DefaultChannelGroup;
 import io.netty.handler.codec.http.HttpDecoderConfig;
+import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpServerCodec;
 import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.codec.http2.Http2FrameCodec;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+import io.netty.handler.codec.http2.HttpConversionUtil.ExtensionHeaderNames;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.ApplicationProtocolNegotiationHandler;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.timeout.IdleStateEvent;
@@ -100,6 +116,8 @@ public class ProxyConnectorFactory implements ServerConnectorFactory {
     }
 
     private static final class ProxyConnector implements ServerConnector {
+        private static final ChannelHandler HTTP2_EXTENSION_HEADERS_REMOVER = new Http2ExtensionHeadersRemover();
+
         private final ConnectorConfig config;
         private final NettyServerConfig serverConfig;
         private final CentralisedMetrics metrics;
@@ -155,8 +173,30 @@ public class ProxyConnectorFactory implements ServerConnectorFactory {
                     .addLast("connection-throttler", excessConnectionRejector)
                     .addLast("channel-activity-event-constrainer", new ChannelActivityEventConstrainer())
                     .addLast("idle-handler", new IdleStateHandler(serverConfig.requestTimeoutMillis(), 0, serverConfig.keepAliveTimeoutMillis(), MILLISECONDS))
-                    .addLast("channel-stats", channelStatsHandler)
+                    .addLast("channel-stats", channelStatsHandler);
+
+            if (!isHttp2Enabled()) {
+                configureHttp1(channel.pipeline(), httpPipeline);
+            } else if (sslContext.isPresent()) {
+                channel.pipeline().addLast("protocol-negotiator", new ApplicationProtocolNegotiationHandler(ApplicationProtocolNames.HTTP_1_1) {
+                    @Override
+                    protected void configurePipeline(ChannelHandlerContext ctx, String protocol) {
+                        if (ApplicationProtocolNames.HTTP_2.equals(protocol)) {
+                            configureHttp2(ctx.pipeline(), httpPipeline);
+                        } else {
+                            configureHttp1(ctx.pipeline(), httpPipeline);
+                        }
+                    }
+                });
+            } else {
+                channel.pipeline().addLast("protocol-negotiator", new Http2PriorKnowledgeDetector(
+                        pipeline -> configureHttp2(pipeline, httpPipeline),
+                        pipeline -> configureHttp1(pipeline, httpPipeline)));
+            }
+        }
 
+        private void configureHttp1(ChannelPipeline pipeline, HttpHandler httpPipeline) {
+            pipeline
                     // Http Server Codec
                     .addLast("http-server-codec", new HttpServerCodec(new HttpDecoderConfig()
                             .setMaxInitialLineLength(serverConfig.maxInitialLength())
@@ -169,10 +209,55 @@ public class ProxyConnectorFactory implements ServerConnectorFactory {
                     // timeout handler cannot see the incoming HTTP chunks.
                     .addLast("timeout-handler", new RequestTimeoutHandler())
 
+                    .addLast("keep-alive-handler", new IdleTransactionConnectionCloser(metrics));
+
+            addRequestHandlers(pipeline, httpPipeline);
+        }
+
+        private void configureHttp2(ChannelPipeline pipeline, HttpHandler httpPipeline) {
+            Http2Settings settings = Http2Settings.defaultSettings()
+                    .maxHeaderListSize(serverConfig.maxHeaderSize());
+
+            pipeline
+                    // keep-alive-handler must be before the frame codec, because it does
+                    // not propagate the stream events that the multiplexer depends on.
                     .addLast("keep-alive-handler", new IdleTransactionConnectionCloser(metrics))
+                    .addLast("http2-frame-codec", Http2FrameCodecBuilder.forServer()
+                            .initialSettings(settings)
+                            .validateHeaders(true)
+                            .build())
+                    .addLast("http2-multiplexer", new Http2MultiplexHandler(new ChannelInitializer<Http2StreamChannel>() {
+                        @Override
+                        protected void initChannel(Http2StreamChannel stream) {
+                            configureHttp2Stream(stream.pipeline(), httpPipeline);
+                        }
+                    }));
+        }
 
-                    .addLast("server-protocol-distribution-recorder", new ServerProtocolDistributionRecorder(metrics, sslContext.isPresent()))
+        /*
+         * Each HTTP/2 stream is a child channel with its own copy of the request handlers.
+         * The streams of a connection are therefore proxied concurrently and independently.
+         */
+        private void configureHttp2Stream(ChannelPipeline pipeline, HttpHandler httpPipeline) {
+            pipeline
+                    .addLast("http2-stream-codec", new Http2StreamFrameToHttpObjectCodec(true))
+                    .addLast("http2-extension-headers-remover", HTTP2_EXTENSION_HEADERS_REMOVER)
 
+                    // The connection level idle-handler cannot see the streams:
+                    .addLast("idle-handler", new IdleStateHandler(serverConfig.requestTimeoutMillis(), 0, 0, MILLISECONDS))
+                    .addLast("timeout-handler", new RequestTimeoutHandler());
+
+            addRequestHandlers(pipeline, httpPipeline);
+        }
+
+        private void addRequestHandlers(ChannelPipeline pipeline, HttpHandler httpPipeline) {
+            pipeline.addLast("server-protocol-distribution-recorder", new ServerProtocolDistributionRecorder(metrics, sslContext.isPresent()));
+
+            if (serverConfig.compressResponses()) {
+                pipeline.addLast("compression", new HttpCompressor());
+            }
+
+            pipeline
                     .addLast("styx-decoder", requestTranslator())
 
                     .addLast("proxy", new HttpPipelineHandler.Builder(httpPipeline)
@@ -183,14 +268,10 @@ public class ProxyConnectorFactory implements ServerConnectorFactory {
                             .secure(sslContext.isPresent())
                             .requestTracker(requestTracker)
                             .xOriginsHeader(originsHeader)
+                            .coalesceResponseWrites(serverConfig.coalesceResponseWrites())
                             .build());
-
-            if (serverConfig.compressResponses()) {
-                channel.pipeline().addBefore("styx-decoder", "compression", new HttpCompressor());
-            }
         }
 
-
         private NettyToStyxRequestDecoder requestTranslator() {
             return new NettyToStyxRequestDecoder.Builder()
                     .flowControlEnabled(true)
@@ -203,6 +284,28 @@ public class ProxyConnectorFactory implements ServerConnectorFactory {
             return "https".equals(config.type());
         }
 
+        private boolean isHttp2Enabled() {
+            return config instanceof HttpConnectorConfig && ((HttpConnectorConfig) config).http2Enabled();
+        }
+
+        /**
+         * Removes the extension headers that netty adds when converting HTTP/2 requests,
+         * so that they are not forwarded to the origins.
+         */
+        @ChannelHandler.Sharable
+        private static class Http2ExtensionHeadersRemover extends ChannelInboundHandlerAdapter {
+            @Override
+            public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+                if (msg instanceof io.netty.handler.codec.http.HttpRequest) {
+                    HttpHeaders headers = ((io.netty.handler.codec.http.HttpRequest) msg).headers();
+                    for (ExtensionHeaderNames name : ExtensionHeaderNames.values()) {
+                        headers.remove(name.text());
+                    }
+                }
+                super.channelRead(ctx, msg);
+            }
+        }
+
         private static class IdleTransactionConnectionCloser extends ChannelDuplexHandler {
             private static final Logger LOGGER = getLogger(IdleTransactionConnectionCloser.class);
             private final DistributionSummary idleConnectionClosed;
@@ -233,7 +336,7 @@ public class ProxyConnectorFactory implements ServerConnectorFactory {
             public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
                 if (evt instanceof IdleStateEvent) {
                     IdleStateEvent e = (IdleStateEvent) evt;
-                    if (e.state() == ALL_IDLE && !httpTransactionOngoing) {
+                    if (e.state() == ALL_IDLE && !httpTransactionOngoing && !http2StreamsOngoing(ctx)) {
                         if (ctx.channel().isActive()) {
                             LOGGER.warn("Closing an idle connection={}", ctx.channel().remoteAddress());
                             ctx.close();
@@ -242,6 +345,11 @@ public class ProxyConnectorFactory implements ServerConnectorFactory {
                     }
                 }
             }
+
+            private static boolean http2StreamsOngoing(ChannelHandlerContext ctx) {
+                Http2FrameCodec codec = ctx.pipeline().get(Http2FrameCodec.class);
+                return codec != null && codec.connection().numActiveStreams() > 0;
+            }
         }
     }
 }
@@ -74,6 +74,7 @@ final class ServerConfigSchema {
                     .rootSchema(object(
                             optional("proxy", object(
                                     optional("compressResponses", bool()),
+                                    optional("coalesceResponseWrites", bool()),
                                     field("connectors", serverConnectorsSchema),
                                     optional("bossThreadsCount", integer()),
                                     optional("clientWorkerThreadsCount", integer()),
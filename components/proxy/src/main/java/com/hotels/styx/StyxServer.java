@@ -338,6 +338,7 @@ public final class StyxServer extends AbstractService {
         this.components.executors()
                 .entrySet()
                 .forEach(entry -> entry.getValue().component4().shut());
+        this.components.environment().addressResolverGroup().close();
 
         this.phase1Services.stopAsync().awaitStopped();
     }
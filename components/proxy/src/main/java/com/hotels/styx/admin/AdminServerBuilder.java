@@ -162,8 +162,8 @@ public class AdminServerBuilder {
         httpRouter.aggregate("/admin/threads", new ThreadsHandler());
         httpRouter.aggregate("/admin/current_requests", new CurrentRequestsHandler(CurrentRequestTracker.INSTANCE));
         MetricsHandler metricsHandler = new MetricsHandler(environment.metricRegistry(), metricsCacheExpiration);
-        httpRouter.aggregate("/admin/metrics", metricsHandler);
-        httpRouter.aggregate("/admin/metrics/", metricsHandler);
+        httpRouter.stream("/admin/metrics", metricsHandler);
+        httpRouter.stream("/admin/metrics/", metricsHandler);
         httpRouter.aggregate("/admin/configuration", new StyxConfigurationHandler(configuration));
         httpRouter.aggregate("/admin/jvm", new JVMMetricsHandler(environment.metricRegistry(), metricsCacheExpiration));
         httpRouter.aggregate("/admin/configuration/logging", new LoggingConfigurationHandler(startupConfig.logConfigLocation()));
@@ -212,7 +212,7 @@ public class AdminServerBuilder {
                 findRegistry(environment.meterRegistry().micrometerRegistry(), PrometheusMeterRegistry.class));
 
         if (optPrometheus.isPresent()) {
-            httpRouter.aggregate("/metrics", new PrometheusHandler(optPrometheus.get()));
+            httpRouter.stream("/metrics", new PrometheusHandler(optPrometheus.get()));
         } else {
             LOG.warn("No PrometheusMeterRegistry present, so we cannot publish to prometheus.");
         }
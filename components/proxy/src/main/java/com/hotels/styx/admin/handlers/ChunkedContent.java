@@ -0,0 +1,187 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.admin.handlers;
+
+import com.hotels.styx.api.Buffer;
+import com.hotels.styx.api.ByteStream;
+import com.hotels.styx.api.LiveHttpRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.zip.GZIPOutputStream;
+
+import static com.hotels.styx.api.Buffers.fromByteBuf;
+import static io.netty.buffer.Unpooled.wrappedBuffer;
+import static io.netty.handler.codec.http.HttpHeaderNames.ACCEPT_ENCODING;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.copyOf;
+
+/**
+ * Streams text content to a response body in fixed size chunks, as the content is written.
+ * <p>
+ * The content is written when the body is subscribed, on a worker thread, so that large responses
+ * neither block the admin event loop nor have to be held in memory as a single string. The writer
+ * waits for downstream demand before each chunk, so a slow client holds back the writer rather
+ * than letting chunks pile up in memory.
+ */
+final class ChunkedContent {
+    private static final int CHUNK_SIZE = 16 * 1024;
+
+    private ChunkedContent() {
+    }
+
+    /**
+     * Writes text content.
+     */
+    @FunctionalInterface
+    interface ContentWriter {
+        void writeTo(Writer writer) throws IOException;
+    }
+
+    /**
+     * Returns a byte stream of the content that a content writer writes, optionally gzip compressed.
+     *
+     * @param gzip    true if the content should be compressed
+     * @param content writes the content
+     * @return a byte stream
+     */
+    static ByteStream chunkedContent(boolean gzip, ContentWriter content) {
+        Flux<Buffer> chunks = Flux.create(sink -> {
+            try (Writer writer = new OutputStreamWriter(compressed(gzip, new ChunkOutputStream(sink)), UTF_8)) {
+                content.writeTo(writer);
+            } catch (Exception e) {
+                if (!sink.isCancelled()) {
+                    sink.error(e);
+                }
+                return;
+            }
+            sink.complete();
+        });
+
+        // Requests must not be queued behind the writer, which may be waiting for them:
+        return new ByteStream(chunks.subscribeOn(Schedulers.boundedElastic(), false));
+    }
+
+    /**
+     * Returns true if the client accepts gzip compressed content.
+     *
+     * @param request a request
+     * @return true if the client accepts gzip
+     */
+    static boolean acceptsGzip(LiveHttpRequest request) {
+        for (String value : request.headers(ACCEPT_ENCODING)) {
+            for (String coding : value.split(",")) {
+                String[] parameters = coding.split(";");
+                if (parameters[0].trim().equalsIgnoreCase("gzip")
+                        && (parameters.length == 1 || !parameters[1].replace(" ", "").matches("q=0(\\.0*)?"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static OutputStream compressed(boolean gzip, OutputStream out) throws IOException {
+        return gzip ? new GZIPOutputStream(out, CHUNK_SIZE) : out;
+    }
+
+    /**
+     * Emits the bytes written to it as buffers of CHUNK_SIZE bytes, and the remainder when closed.
+     */
+    private static final class ChunkOutputStream extends OutputStream {
+        private final FluxSink<Buffer> sink;
+        private final Object demandSignal = new Object();
+        private byte[] chunk = new byte[CHUNK_SIZE];
+        private int size;
+        private boolean closed;
+
+        ChunkOutputStream(FluxSink<Buffer> sink) {
+            this.sink = sink;
+            sink.onRequest(n -> signalDemand());
+            sink.onCancel(this::signalDemand);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (size == chunk.length) {
+                emit();
+            }
+            chunk[size++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            while (length > 0) {
+                if (size == chunk.length) {
+                    emit();
+                }
+                int count = Math.min(length, chunk.length - size);
+                System.arraycopy(bytes, offset, chunk, size, count);
+                size += count;
+                offset += count;
+                length -= count;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                if (size > 0) {
+                    emit(copyOf(chunk, size));
+                }
+            }
+        }
+
+        private void emit() throws IOException {
+            emit(chunk);
+            chunk = new byte[CHUNK_SIZE];
+            size = 0;
+        }
+
+        private void emit(byte[] bytes) throws IOException {
+            awaitDemand();
+            if (sink.isCancelled()) {
+                throw new IOException("Response body was cancelled");
+            }
+            sink.next(fromByteBuf(wrappedBuffer(bytes)));
+        }
+
+        private void awaitDemand() throws IOException {
+            synchronized (demandSignal) {
+                while (sink.requestedFromDownstream() == 0 && !sink.isCancelled()) {
+                    try {
+                        demandSignal.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException("Interrupted while waiting for demand", e);
+                    }
+                }
+            }
+        }
+
+        private void signalDemand() {
+            synchronized (demandSignal) {
+                demandSignal.notifyAll();
+            }
+        }
+    }
+}
@@ -17,39 +17,52 @@ package com.hotels.styx.admin.handlers;
 
 import com.codahale.metrics.Metric;
 import com.codahale.metrics.json.MetricsModule;
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.hotels.styx.api.Eventual;
+import com.hotels.styx.api.HttpHandler;
 import com.hotels.styx.api.HttpInterceptor;
-import com.hotels.styx.api.HttpRequest;
-import com.hotels.styx.api.HttpResponse;
+import com.hotels.styx.api.LiveHttpRequest;
+import com.hotels.styx.api.LiveHttpResponse;
 import com.hotels.styx.api.MetricRegistry;
-import com.hotels.styx.api.WebServiceHandler;
 import com.hotels.styx.api.metrics.codahale.CodaHaleMetricRegistry;
+import com.hotels.styx.common.http.handler.HttpAggregator;
 import com.hotels.styx.infrastructure.configuration.json.mixins.CodaHaleMetricRegistryMixin;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.time.Duration;
 import java.util.Map;
 import java.util.Optional;
+import java.util.SortedMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import static com.hotels.styx.api.HttpResponse.response;
+import static com.hotels.styx.admin.handlers.ChunkedContent.acceptsGzip;
+import static com.hotels.styx.admin.handlers.ChunkedContent.chunkedContent;
+import static com.hotels.styx.api.HttpMethod.GET;
 import static com.hotels.styx.api.HttpResponseStatus.NOT_FOUND;
 import static com.hotels.styx.api.HttpResponseStatus.OK;
-import static com.hotels.styx.common.MapStream.stream;
-import static java.nio.charset.StandardCharsets.UTF_8;
+import static com.hotels.styx.api.LiveHttpResponse.response;
+import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_ENCODING;
+import static io.netty.handler.codec.http.HttpHeaderValues.GZIP;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
  * Handler for showing all registered metrics for styx server. Can cache page content.
+ * <p>
+ * The metrics under a name prefix are streamed as they are serialised.
  */
-public class MetricsHandler implements WebServiceHandler {
+public class MetricsHandler implements HttpHandler {
+    private static final Pattern ROOT_METRICS_PATH_PATTERN = Pattern.compile(".*/metrics");
     private static final Pattern SPECIFIC_METRICS_PATH_PATTERN = Pattern.compile(".*/metrics/(.+)/?");
+    private static final Pattern ALL_METRICS_PATH_PATTERN = Pattern.compile(".*/metrics/.*");
     private static final boolean DO_NOT_SHOW_SAMPLES = false;
     private static final String FILTER_PARAM = "filter";
     private static final String PRETTY_PRINT_PARAM = "pretty";
@@ -59,7 +72,7 @@ public class MetricsHandler implements WebServiceHandler {
             .addMixIn(CodaHaleMetricRegistry.class, CodaHaleMetricRegistryMixin.class);
 
     private final MetricRegistry metricRegistry;
-    private final UrlPatternRouter urlMatcher;
+    private final HttpHandler rootMetricsHandler;
 
     /**
      * Constructs a new handler.
@@ -68,21 +81,28 @@ public class MetricsHandler implements WebServiceHandler {
      * @param cacheExpiration duration for which generated page content should be cached
      */
     public MetricsHandler(MetricRegistry metricRegistry, Optional<Duration> cacheExpiration) {
-        this.urlMatcher = new UrlPatternRouter.Builder()
-                .get(".*/metrics", new RootMetricsHandler(
-                        metricRegistry,
-                        cacheExpiration,
-                        new MetricsModule(SECONDS, MILLISECONDS, DO_NOT_SHOW_SAMPLES),
-                        new FullMetricsModule()))
-                .get(".*/metrics/.*", (request, context) -> Eventual.of(filteredMetricResponse(request)))
-                .build();
+        this.rootMetricsHandler = new HttpAggregator(new RootMetricsHandler(
+                metricRegistry,
+                cacheExpiration,
+                new MetricsModule(SECONDS, MILLISECONDS, DO_NOT_SHOW_SAMPLES),
+                new FullMetricsModule()));
 
         this.metricRegistry = metricRegistry;
     }
 
     @Override
-    public Eventual<HttpResponse> handle(HttpRequest request, HttpInterceptor.Context context) {
-        return this.urlMatcher.handle(request, context);
+    public Eventual<LiveHttpResponse> handle(LiveHttpRequest request, HttpInterceptor.Context context) {
+        if (request.method().equals(GET)) {
+            if (ROOT_METRICS_PATH_PATTERN.matcher(request.path()).matches()) {
+                return rootMetricsHandler.handle(request, context);
+            }
+            if (ALL_METRICS_PATH_PATTERN.matcher(request.path()).matches()) {
+                // The metrics are collected on a worker thread, so as not to block the admin event loop:
+                return new Eventual<>(Mono.fromCallable(() -> filteredMetricResponse(request))
+                        .subscribeOn(Schedulers.boundedElastic()));
+            }
+        }
+        return Eventual.of(response(NOT_FOUND).build());
     }
 
     private static boolean matchesRoot(String metricName, String root) {
@@ -93,7 +113,7 @@ public class MetricsHandler implements WebServiceHandler {
         return searchTerm == null || name.contains(searchTerm);
     }
 
-    private HttpResponse filteredMetricResponse(HttpRequest request) {
+    private LiveHttpResponse filteredMetricResponse(LiveHttpRequest request) {
         String root = Optional.of(SPECIFIC_METRICS_PATH_PATTERN.matcher(request.path()))
                 .filter(Matcher::matches)
                 .map(matcher -> matcher.group(1))
@@ -102,30 +122,36 @@ public class MetricsHandler implements WebServiceHandler {
         boolean prettyPrint = request.queryParam(PRETTY_PRINT_PARAM).isPresent();
         String searchTerm = request.queryParam(FILTER_PARAM).orElse(null);
 
-        Map<String, Metric> result = stream(metricRegistry.getMetrics())
-                .filter((name, metric) -> matchesRoot(name, root))
-                .toMap();
+        SortedMap<String, Metric> candidates = root == null ? metricRegistry.getMetrics() : metricRegistry.getMetrics(root);
 
-        if (result.isEmpty()) {
+        if (candidates.keySet().stream().noneMatch(name -> matchesRoot(name, root))) {
             return response(NOT_FOUND).build();
         } else {
-            return response(OK)
-                    .body(serialise(
-                            stream(result)
-                                    .filter((name, metric) -> containsSearchTerm(name, searchTerm))
-                                    .toMap(), prettyPrint), UTF_8)
-                    .disableCaching()
+            boolean gzip = acceptsGzip(request);
+            LiveHttpResponse.Builder response = response(OK)
+                    .disableCaching();
+            if (gzip) {
+                response.header(CONTENT_ENCODING, GZIP);
+            }
+
+            return response
+                    .body(chunkedContent(gzip, writer -> serialise(writer, candidates, root, searchTerm, prettyPrint)))
                     .build();
         }
     }
 
-    private String serialise(Object object, boolean pretty) {
-        ObjectWriter writer = pretty ? metricSerialiser.writerWithDefaultPrettyPrinter() : metricSerialiser.writer();
-
-        try {
-            return writer.writeValueAsString(object);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
+    private void serialise(Writer writer, SortedMap<String, Metric> metrics, String root, String searchTerm, boolean pretty) throws IOException {
+        ObjectWriter objectWriter = pretty ? metricSerialiser.writerWithDefaultPrettyPrinter() : metricSerialiser.writer();
+
+        try (JsonGenerator generator = objectWriter.createGenerator(writer)) {
+            generator.writeStartObject();
+            for (Map.Entry<String, Metric> entry : metrics.entrySet()) {
+                if (matchesRoot(entry.getKey(), root) && containsSearchTerm(entry.getKey(), searchTerm)) {
+                    generator.writeFieldName(entry.getKey());
+                    generator.writeObject(entry.getValue());
+                }
+            }
+            generator.writeEndObject();
         }
     }
 
@@ -16,40 +16,66 @@
 package com.hotels.styx.admin.handlers;
 
 import com.hotels.styx.api.Eventual;
+import com.hotels.styx.api.HttpHandler;
 import com.hotels.styx.api.HttpInterceptor;
-import com.hotels.styx.api.HttpRequest;
-import com.hotels.styx.api.HttpResponse;
-import com.hotels.styx.api.WebServiceHandler;
+import com.hotels.styx.api.LiveHttpRequest;
+import com.hotels.styx.api.LiveHttpResponse;
 import io.micrometer.prometheus.PrometheusMeterRegistry;
+import io.prometheus.client.exporter.common.TextFormat;
 import org.slf4j.Logger;
 
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.hotels.styx.admin.handlers.ChunkedContent.acceptsGzip;
+import static com.hotels.styx.admin.handlers.ChunkedContent.chunkedContent;
 import static com.hotels.styx.api.HttpHeaderNames.CONTENT_TYPE;
-import static com.hotels.styx.api.HttpHeaderValues.PLAIN_TEXT;
 import static com.hotels.styx.api.HttpResponseStatus.OK;
-import static java.nio.charset.StandardCharsets.UTF_8;
+import static io.netty.handler.codec.http.HttpHeaderNames.ACCEPT;
+import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_ENCODING;
+import static io.netty.handler.codec.http.HttpHeaderValues.GZIP;
 import static java.util.Objects.requireNonNull;
 import static org.slf4j.LoggerFactory.getLogger;
 
-public class PrometheusHandler implements WebServiceHandler {
-    private final PrometheusMeterRegistry prometheusRegistry;
+/**
+ * Streams the Prometheus scrape of the registry.
+ * <p>
+ * The response is in the Prometheus text format, or in the OpenMetrics text format if the client accepts it, and
+ * is gzip compressed if the client accepts it. The {@code name[]} query parameter restricts the scrape to the named
+ * metric families.
+ */
+public class PrometheusHandler implements HttpHandler {
     private static final Logger LOGGER = getLogger(PrometheusHandler.class);
+    private static final String NAME_PARAM = "name[]";
+
+    private final PrometheusMeterRegistry prometheusRegistry;
 
     public PrometheusHandler(PrometheusMeterRegistry prometheusRegistry) {
         this.prometheusRegistry = requireNonNull(prometheusRegistry);
     }
 
     @Override
-    public Eventual<HttpResponse> handle(final HttpRequest request, final HttpInterceptor.Context context) {
-        try {
-            return Eventual.of(HttpResponse
-                .response(OK)
+    public Eventual<LiveHttpResponse> handle(LiveHttpRequest request, HttpInterceptor.Context context) {
+        String contentType = TextFormat.chooseContentType(request.header(ACCEPT).orElse(null));
+        Set<String> includedNames = new HashSet<>();
+        request.queryParams(NAME_PARAM).forEach(includedNames::add);
+        boolean gzip = acceptsGzip(request);
+
+        LiveHttpResponse.Builder response = LiveHttpResponse.response(OK)
                 .disableCaching()
-                .header(CONTENT_TYPE, PLAIN_TEXT)
-                .body(prometheusRegistry.scrape(), UTF_8, true)
-                .build());
-        } catch (Exception ex) {
-            LOGGER.error("Error in handling metrics", ex);
-            return Eventual.error(ex);
+                .header(CONTENT_TYPE, contentType);
+        if (gzip) {
+            response.header(CONTENT_ENCODING, GZIP);
         }
+
+        return Eventual.of(response
+                .body(chunkedContent(gzip, writer -> {
+                    if (includedNames.isEmpty()) {
+                        prometheusRegistry.scrape(writer, contentType);
+                    } else {
+                        prometheusRegistry.scrape(writer, contentType, includedNames);
+                    }
+                }).doOnEnd(end -> end.ifPresent(cause -> LOGGER.error("Error in handling metrics", cause))))
+                .build());
     }
 }
@@ -23,6 +23,9 @@ import com.hotels.styx.api.extension.service.BackendService;
 import com.hotels.styx.api.extension.service.Certificate;
 import com.hotels.styx.api.extension.service.ConnectionPoolSettings;
 import com.hotels.styx.api.extension.service.HealthCheckConfig;
+import com.hotels.styx.api.extension.service.HedgingConfig;
+import com.hotels.styx.api.extension.service.OutlierDetectionConfig;
+import com.hotels.styx.api.extension.service.RetryBudgetConfig;
 import com.hotels.styx.api.extension.service.RewriteConfig;
 import com.hotels.styx.api.extension.service.StickySessionConfig;
 import com.hotels.styx.api.extension.service.TlsSettings;
@@ -30,6 +33,9 @@ import com.hotels.styx.infrastructure.configuration.json.mixins.BackendServiceMi
 import com.hotels.styx.infrastructure.configuration.json.mixins.CertificateMixin;
 import com.hotels.styx.infrastructure.configuration.json.mixins.ConnectionPoolSettingsMixin;
 import com.hotels.styx.infrastructure.configuration.json.mixins.HealthCheckConfigMixin;
+import com.hotels.styx.infrastructure.configuration.json.mixins.HedgingConfigMixin;
+import com.hotels.styx.infrastructure.configuration.json.mixins.RetryBudgetConfigMixin;
+import com.hotels.styx.infrastructure.configuration.json.mixins.OutlierDetectionConfigMixin;
 import com.hotels.styx.infrastructure.configuration.json.mixins.IdMixin;
 import com.hotels.styx.infrastructure.configuration.json.mixins.OriginMixin;
 import com.hotels.styx.infrastructure.configuration.json.mixins.OriginsSnapshotMixin;
@@ -61,6 +67,9 @@ public final class ObjectMappers {
                 .addMixIn(ConnectionPoolSettings.class, ConnectionPoolSettingsMixin.class)
                 .addMixIn(RewriteConfig.class, RewriteConfigMixin.class)
                 .addMixIn(StickySessionConfig.class, StickySessionConfigMixin.class)
+                .addMixIn(HedgingConfig.class, HedgingConfigMixin.class)
+                .addMixIn(RetryBudgetConfig.class, RetryBudgetConfigMixin.class)
+                .addMixIn(OutlierDetectionConfig.class, OutlierDetectionConfigMixin.class)
                 .addMixIn(TlsSettings.class, TlsSettingsMixin.class)
                 .addMixIn(TlsSettings.Builder.class, TlsSettingsMixin.Builder.class)
                 .addMixIn(Origin.class, OriginMixin.class)
@@ -23,6 +23,9 @@ import com.hotels.styx.api.extension.Origin;
 import com.hotels.styx.api.extension.service.BackendService;
 import com.hotels.styx.api.extension.service.ConnectionPoolSettings;
 import com.hotels.styx.api.extension.service.HealthCheckConfig;
+import com.hotels.styx.api.extension.service.HedgingConfig;
+import com.hotels.styx.api.extension.service.OutlierDetectionConfig;
+import com.hotels.styx.api.extension.service.RetryBudgetConfig;
 import com.hotels.styx.api.extension.service.RewriteConfig;
 import com.hotels.styx.api.extension.service.StickySessionConfig;
 import com.hotels.styx.api.extension.service.TcpKeepAliveSettings;
@@ -76,6 +79,15 @@ public interface BackendServiceMixin {
     @JsonProperty("tcpKeepAliveSettings")
     TcpKeepAliveSettings tcpKeepAliveSettings();
 
+    @JsonProperty("hedging")
+    HedgingConfig hedgingConfig();
+
+    @JsonProperty("retryBudget")
+    RetryBudgetConfig retryBudgetConfig();
+
+    @JsonProperty("outlierDetection")
+    OutlierDetectionConfig outlierDetectionConfig();
+
     /**
      * Jackson annotations for {@link BackendService.Builder}.
      */
@@ -122,5 +134,14 @@ public interface BackendServiceMixin {
 
         @JsonProperty("tcpKeepAliveSettings")
         BackendService.Builder tcpKeepAliveSettings(TcpKeepAliveSettings tcpKeepAliveSettings);
+
+        @JsonProperty("hedging")
+        BackendService.Builder hedgingConfig(HedgingConfig hedgingConfig);
+
+        @JsonProperty("retryBudget")
+        BackendService.Builder retryBudgetConfig(RetryBudgetConfig retryBudgetConfig);
+
+        @JsonProperty("outlierDetection")
+        BackendService.Builder outlierDetectionConfig(OutlierDetectionConfig outlierDetectionConfig);
     }
 }
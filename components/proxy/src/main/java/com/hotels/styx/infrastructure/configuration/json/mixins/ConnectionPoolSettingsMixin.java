@@ -31,7 +31,10 @@ public abstract class ConnectionPoolSettingsMixin {
                                 @JsonProperty("socketTimeoutMillis") Integer socketTimeoutMillis,
                                 @JsonProperty("pendingConnectionTimeoutMillis") Integer pendingConnectionTimeoutMillis,
                                 @JsonProperty("connectionExpirationSeconds") Long connectionExpirationSeconds,
-                                @JsonProperty("http2ConnectionPoolSettings") Http2ConnectionPoolSettings http2ConnectionPoolSettings) {
+                                @JsonProperty("http2ConnectionPoolSettings") Http2ConnectionPoolSettings http2ConnectionPoolSettings,
+                                @JsonProperty("eventLoopAffinity") Boolean eventLoopAffinity,
+                                @JsonProperty("minIdleConnectionsPerHost") Integer minIdleConnectionsPerHost,
+                                @JsonProperty("warmUpConnectionsPerSecond") Integer warmUpConnectionsPerSecond) {
     }
 
     @JsonProperty("socketTimeoutMillis")
@@ -54,4 +57,13 @@ public abstract class ConnectionPoolSettingsMixin {
 
     @JsonProperty("http2ConnectionPoolSettings")
     public abstract Http2ConnectionPoolSettings http2ConnectionPoolSettings();
+
+    @JsonProperty("eventLoopAffinity")
+    public abstract boolean eventLoopAffinity();
+
+    @JsonProperty("minIdleConnectionsPerHost")
+    public abstract int minIdleConnectionsPerHost();
+
+    @JsonProperty("warmUpConnectionsPerSecond")
+    public abstract int warmUpConnectionsPerSecond();
 }
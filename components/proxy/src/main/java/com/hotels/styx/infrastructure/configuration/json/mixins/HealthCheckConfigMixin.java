@@ -41,6 +41,9 @@ public interface HealthCheckConfigMixin {
     @JsonProperty("unhealthyThreshold")
     public int unhealthyThreshold();
 
+    @JsonProperty("keepAlive")
+    public boolean isKeepAlive();
+
     @JsonIgnore
     public boolean isEnabled();
 
@@ -63,5 +66,8 @@ public interface HealthCheckConfigMixin {
 
         @JsonProperty("unhealthyThreshold")
         public Builder unhealthyThreshold(int unhealthyThreshold);
+
+        @JsonProperty("keepAlive")
+        public Builder keepAlive(boolean keepAlive);
     }
 }
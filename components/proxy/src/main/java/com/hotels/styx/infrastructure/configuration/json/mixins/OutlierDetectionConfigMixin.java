@@ -0,0 +1,55 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.infrastructure.configuration.json.mixins;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Jackson annotations for {@link com.hotels.styx.api.extension.service.OutlierDetectionConfig}.
+ */
+public abstract class OutlierDetectionConfigMixin {
+    @JsonCreator
+    OutlierDetectionConfigMixin(@JsonProperty("enabled") boolean enabled,
+                                @JsonProperty("consecutiveFailures") Integer consecutiveFailures,
+                                @JsonProperty("latencyFactor") Double latencyFactor,
+                                @JsonProperty("minimumRequests") Integer minimumRequests,
+                                @JsonProperty("baseEjectionMillis") Integer baseEjectionMillis,
+                                @JsonProperty("maxEjectionMillis") Integer maxEjectionMillis,
+                                @JsonProperty("maxEjectionPercent") Integer maxEjectionPercent) {
+    }
+
+    @JsonProperty("enabled")
+    public abstract boolean outlierDetectionEnabled();
+
+    @JsonProperty("consecutiveFailures")
+    public abstract int consecutiveFailures();
+
+    @JsonProperty("latencyFactor")
+    public abstract double latencyFactor();
+
+    @JsonProperty("minimumRequests")
+    public abstract int minimumRequests();
+
+    @JsonProperty("baseEjectionMillis")
+    public abstract int baseEjectionMillis();
+
+    @JsonProperty("maxEjectionMillis")
+    public abstract int maxEjectionMillis();
+
+    @JsonProperty("maxEjectionPercent")
+    public abstract int maxEjectionPercent();
+}
@@ -0,0 +1,39 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.infrastructure.configuration.json.mixins;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Jackson annotations for {@link com.hotels.styx.api.extension.service.RetryBudgetConfig}.
+ */
+public abstract class RetryBudgetConfigMixin {
+    @JsonCreator
+    RetryBudgetConfigMixin(@JsonProperty("enabled") boolean enabled,
+                           @JsonProperty("percent") Integer percent,
+                           @JsonProperty("burst") Integer burst) {
+    }
+
+    @JsonProperty("enabled")
+    public abstract boolean retryBudgetEnabled();
+
+    @JsonProperty("percent")
+    public abstract int percent();
+
+    @JsonProperty("burst")
+    public abstract int burst();
+}
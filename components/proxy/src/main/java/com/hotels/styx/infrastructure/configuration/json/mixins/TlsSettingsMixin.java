@@ -60,6 +60,12 @@ public interface TlsSettingsMixin {
     @JsonProperty("sniHost")
     String getSniHost();
 
+    @JsonProperty("sessionCacheSize")
+    int sessionCacheSize();
+
+    @JsonProperty("sessionTimeoutSeconds")
+    int sessionTimeoutSeconds();
+
     /**
      * The builder for SSL settings.
      */
@@ -94,6 +100,12 @@ public interface TlsSettingsMixin {
 
         @JsonProperty("sniHost")
         Builder sniHost(String sniHost);
+
+        @JsonProperty("sessionCacheSize")
+        Builder sessionCacheSize(int sessionCacheSize);
+
+        @JsonProperty("sessionTimeoutSeconds")
+        Builder sessionTimeoutSeconds(int sessionTimeoutSeconds);
     }
 }
 
@@ -1,5 +1,5 @@
 /*
-  Copyright (C) 2013-2023 Expedia Inc.
+  Copyright (C) 2013-2026 Expedia Inc.
 
   Licensed under the Apache License, Version 2.0 (the "License");
   you may not use this file except in compliance with the License.
@@ -29,6 +29,7 @@ import com.hotels.styx.api.extension.service.HealthCheckConfig;
 import com.hotels.styx.api.extension.service.spi.Registry;
 import com.hotels.styx.client.BackendServiceClient;
 import com.hotels.styx.client.Connection;
+import com.hotels.styx.client.HttpRequestOperationFactory;
 import com.hotels.styx.client.StyxOriginsInventory;
 import com.hotels.styx.client.OriginStatsFactory;
 import com.hotels.styx.client.OriginStatsFactory.CachingOriginStatsFactory;
@@ -37,21 +38,27 @@ import com.hotels.styx.client.StyxHostHttpClient;
 import com.hotels.styx.client.StyxHttpClient;
 import com.hotels.styx.client.connectionpool.ConnectionPool;
 import com.hotels.styx.client.connectionpool.ExpiringConnectionFactory;
+import com.hotels.styx.client.connectionpool.Http2ConnectionPoolFactory;
 import com.hotels.styx.client.connectionpool.SimpleConnectionPoolFactory;
 import com.hotels.styx.client.healthcheck.OriginHealthCheckFunction;
 import com.hotels.styx.client.healthcheck.OriginHealthStatusMonitor;
 import com.hotels.styx.client.healthcheck.OriginHealthStatusMonitorFactory;
 import com.hotels.styx.client.healthcheck.UrlRequestHealthCheck;
+import com.hotels.styx.client.netty.connectionpool.Http2ConnectionFactory;
 import com.hotels.styx.client.netty.connectionpool.NettyConnectionFactory;
 import com.hotels.styx.metrics.CentralisedMetrics;
 import com.hotels.styx.server.HttpRouter;
+import com.hotels.styx.server.PathPrefixTrie;
 import org.slf4j.Logger;
 
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 
+import static com.hotels.styx.api.HttpVersion.HTTP_2;
 import static com.hotels.styx.javaconvenience.UtilKt.concatenatedForEach;
 import static com.hotels.styx.client.HttpConfig.newHttpConfigBuilder;
 import static com.hotels.styx.client.HttpRequestOperationFactory.Builder.httpRequestOperationFactoryBuilder;
@@ -71,6 +78,7 @@ public class BackendServicesRouter implements HttpRouter, Registry.ChangeListene
     private final Environment environment;
     private final NettyExecutor executor;
     private final ConcurrentMap<String, ProxyToClientPipeline> routes;
+    private volatile PathPrefixTrie<ProxyToClientPipeline> routesTrie = new PathPrefixTrie<>();
 
     public BackendServicesRouter(BackendServiceClientFactory clientFactory,
                                  Environment environment,
@@ -90,24 +98,18 @@ public class BackendServicesRouter implements HttpRouter, Registry.ChangeListene
 
     @Override
     public Optional<HttpHandler> route(LiveHttpRequest request, HttpInterceptor.Context ignore) {
-        String path = request.path();
-
-        return routes.entrySet().stream()
-                .filter(entry -> path.startsWith(entry.getKey()))
-                .findFirst()
-                .map(Map.Entry::getValue);
+        return Optional.ofNullable(routesTrie.longestPrefixOf(request.path()));
     }
 
     @Override
     public void onChange(Registry.Changes<BackendService> changes) {
-        changes.removed().forEach(backendService -> routes.remove(backendService.path()).close());
+        // Replaced pipelines are closed only after the new routes are published,
+        // so that no request is routed to a pipeline that has been closed:
+        List<ProxyToClientPipeline> replaced = new ArrayList<>();
 
-        concatenatedForEach(changes.added(), changes.updated(), backendService -> {
+        changes.removed().forEach(backendService -> replaced.add(routes.remove(backendService.path())));
 
-            ProxyToClientPipeline pipeline = routes.get(backendService.path());
-            if (pipeline != null) {
-                pipeline.close();
-            }
+        concatenatedForEach(changes.added(), changes.updated(), backendService -> {
 
             boolean requestLoggingEnabled = environment.styxConfig().get("request-logging.outbound.enabled", Boolean.class)
                     .orElse(false);
@@ -116,22 +118,15 @@ public class BackendServicesRouter implements HttpRouter, Registry.ChangeListene
                     .orElse(false);
 
             OriginStatsFactory originStatsFactory = new CachingOriginStatsFactory(environment.centralisedMetrics());
-            ConnectionPoolSettings poolSettings = backendService.connectionPoolConfig();
 
-            Connection.Factory connectionFactory = connectionFactory(
+            ConnectionPool.Factory connectionPoolFactory = connectionPoolFactory(
                     backendService,
                     requestLoggingEnabled,
                     longFormat,
-                    originStatsFactory,
-                    poolSettings.connectionExpirationSeconds());
-
-            ConnectionPool.Factory connectionPoolFactory = new SimpleConnectionPoolFactory.Builder()
-                    .connectionFactory(connectionFactory)
-                    .connectionPoolSettings(backendService.connectionPoolConfig())
-                    .metrics(environment.centralisedMetrics())
-                    .build();
+                    originStatsFactory);
 
-            OriginHealthStatusMonitor healthStatusMonitor = healthStatusMonitor(backendService);
+            StyxHttpClient healthCheckClient = healthCheckClient(backendService);
+            OriginHealthStatusMonitor healthStatusMonitor = healthStatusMonitor(backendService, healthCheckClient);
 
             OriginsInventory inventory = new StyxOriginsInventory.Builder(backendService.id())
                     .eventBus(environment.eventBus())
@@ -142,17 +137,33 @@ public class BackendServicesRouter implements HttpRouter, Registry.ChangeListene
                     .hostClientFactory(StyxHostHttpClient::create)
                     .build();
 
-            pipeline = new ProxyToClientPipeline(newClientHandler(backendService, inventory, originStatsFactory), () -> {
+            ProxyToClientPipeline pipeline = new ProxyToClientPipeline(newClientHandler(backendService, inventory, originStatsFactory), () -> {
                 inventory.close();
                 healthStatusMonitor.stop();
+                healthCheckClient.close();
             });
 
-            routes.put(backendService.path(), pipeline);
+            ProxyToClientPipeline previous = routes.put(backendService.path(), pipeline);
+            if (previous != null) {
+                replaced.add(previous);
+            }
             LOG.info("added path={} current routes={}", backendService.path(), routes.keySet());
         });
+
+        rebuildRoutesTrie();
+
+        replaced.stream()
+                .filter(Objects::nonNull)
+                .forEach(ProxyToClientPipeline::close);
+    }
+
+    private synchronized void rebuildRoutesTrie() {
+        PathPrefixTrie<ProxyToClientPipeline> trie = new PathPrefixTrie<>();
+        routes.forEach(trie::put);
+        this.routesTrie = trie;
     }
 
-    private OriginHealthStatusMonitor healthStatusMonitor(BackendService backendService) {
+    private OriginHealthStatusMonitor healthStatusMonitor(BackendService backendService, StyxHttpClient healthCheckClient) {
         return new OriginHealthStatusMonitorFactory()
                         .create(backendService.id(),
                                 backendService.healthCheckConfig(),
@@ -160,41 +171,71 @@ public class BackendServicesRouter implements HttpRouter, Registry.ChangeListene
                                         backendService.id(),
                                         environment.centralisedMetrics(),
                                         backendService.healthCheckConfig()),
-                                healthCheckClient(backendService));
+                                healthCheckClient);
     }
 
     private StyxHttpClient healthCheckClient(BackendService backendService) {
         StyxHttpClient.Builder builder = new StyxHttpClient.Builder()
                 .connectTimeout(backendService.connectionPoolConfig().connectTimeoutMillis(), MILLISECONDS)
-                .userAgent("Styx/" + environment.buildInfo().releaseVersion());
+                .userAgent("Styx/" + environment.buildInfo().releaseVersion())
+                .keepAlive(backendService.healthCheckConfig() != null && backendService.healthCheckConfig().isKeepAlive());
 
         backendService.tlsSettings().ifPresent(builder::tlsSettings);
 
         return builder.build();
     }
 
-    private Connection.Factory connectionFactory(
+    private ConnectionPool.Factory connectionPoolFactory(
             BackendService backendService,
             boolean requestLoggingEnabled,
             boolean longFormat,
-            OriginStatsFactory originStatsFactory,
+            OriginStatsFactory originStatsFactory) {
+
+        ConnectionPoolSettings poolSettings = backendService.connectionPoolConfig();
+        HttpRequestOperationFactory requestOperationFactory = httpRequestOperationFactoryBuilder()
+                .flowControlEnabled(true)
+                .originStatsFactory(originStatsFactory)
+                .responseTimeoutMillis(backendService.responseTimeoutMillis())
+                .requestLoggingEnabled(requestLoggingEnabled)
+                .longFormat(longFormat)
+                .httpMessageFormatter(environment.httpMessageFormatter())
+                .metrics(environment.centralisedMetrics())
+                .build();
+
+        if (HTTP_2.toString().equals(backendService.httpVersion())) {
+            return new Http2ConnectionPoolFactory.Builder()
+                    .connectionFactory(new Http2ConnectionFactory.Builder()
+                            .executor(executor)
+                            .httpRequestOperationFactory(requestOperationFactory)
+                            .tlsSettings(backendService.tlsSettings().orElse(null))
+                            .httpConfig(newHttpConfigBuilder().setMaxHeadersSize(backendService.maxHeaderSize()).build())
+                            .metrics(environment.centralisedMetrics())
+                            .addressResolverGroup(environment.addressResolverGroup())
+                            .build())
+                    .connectionPoolSettings(poolSettings)
+                    .metrics(environment.centralisedMetrics())
+                    .build();
+        }
+
+        return new SimpleConnectionPoolFactory.Builder()
+                .connectionFactory(connectionFactory(backendService, requestOperationFactory, poolSettings.connectionExpirationSeconds()))
+                .connectionPoolSettings(poolSettings)
+                .metrics(environment.centralisedMetrics())
+                .build();
+    }
+
+    private Connection.Factory connectionFactory(
+            BackendService backendService,
+            HttpRequestOperationFactory requestOperationFactory,
             long connectionExpiration) {
 
         Connection.Factory factory = new NettyConnectionFactory.Builder()
                 .executor(executor)
-                .httpRequestOperationFactory(
-                        httpRequestOperationFactoryBuilder()
-                                .flowControlEnabled(true)
-                                .originStatsFactory(originStatsFactory)
-                                .responseTimeoutMillis(backendService.responseTimeoutMillis())
-                                .requestLoggingEnabled(requestLoggingEnabled)
-                                .longFormat(longFormat)
-                                .httpMessageFormatter(environment.httpMessageFormatter())
-                                .metrics(environment.centralisedMetrics())
-                                .build()
-                )
+                .httpRequestOperationFactory(requestOperationFactory)
                 .tlsSettings(backendService.tlsSettings().orElse(null))
                 .httpConfig(newHttpConfigBuilder().setMaxHeadersSize(backendService.maxHeaderSize()).build())
+                .metrics(environment.centralisedMetrics())
+                .addressResolverGroup(environment.addressResolverGroup())
                 .build();
 
         if (connectionExpiration > 0) {
@@ -146,6 +146,12 @@ public class ProxyServerConfig extends NettyServerConfig {
             return this;
         }
 
+        @JsonProperty("coalesceResponseWrites")
+        public Builder setCoalesceResponseWrites(boolean coalesceResponseWrites) {
+            builder.setCoalesceResponseWrites(coalesceResponseWrites);
+            return this;
+        }
+
         @JsonProperty("via")
         public Builder setVia(final String via) {
             this.via = via;
@@ -19,6 +19,7 @@ import com.hotels.styx.Environment
 import com.hotels.styx.api.configuration.Configuration
 import com.hotels.styx.client.OriginsInventory
 import com.hotels.styx.client.OriginStatsFactory
+import com.hotels.styx.client.OutlierDetector
 import com.hotels.styx.client.BackendServiceClient
 import com.hotels.styx.api.extension.retrypolicy.spi.RetryPolicy
 import com.hotels.styx.serviceproviders.ServiceProvision
@@ -76,10 +77,20 @@ class StyxBackendServiceClientFactory(    // Todo: This can be package private i
             loadBalancer = loadBalancingStrategy,
             retryPolicy = retryPolicy,
             metrics = environment.centralisedMetrics(),
-            overrideHostHeader = backendService.isOverrideHostHeader()
+            overrideHostHeader = backendService.isOverrideHostHeader(),
+            hedgingConfig = backendService.hedgingConfig(),
+            retryBudgetConfig = backendService.retryBudgetConfig(),
+            outlierDetector = outlierDetector(backendService, originsInventory),
+            activeOrigins = originsInventory
         )
     }
 
+    private fun outlierDetector(backendService: BackendService, originsInventory: OriginsInventory): OutlierDetector? =
+        backendService.outlierDetectionConfig()
+            .takeIf { it.outlierDetectionEnabled() }
+            ?.let { config -> OutlierDetector(config, ejector = { originsInventory.eject(it, config) }) }
+            ?.also { originsInventory.addOriginsChangeListener(it) }
+
     private fun decorateLoadBalancer(
         configuredLbStrategy: LoadBalancer,
         stickySessionEnabled: Boolean,
@@ -165,7 +165,7 @@ public class FileBackedBackendServicesRegistry extends AbstractStyxService imple
         private static Registry<BackendService> registry(String originsFile, FileMonitorSettings monitorSettings) {
             requireNonEmpty(originsFile);
 
-            FileMonitor monitor = monitorSettings.enabled() ? new FileChangeMonitor(originsFile) : FileMonitor.DISABLED;
+            FileMonitor monitor = monitorSettings.enabled() ? new FileWatchMonitor(originsFile) : FileMonitor.DISABLED;
             Resource resource = newResource(originsFile);
 
             return new FileBackedBackendServicesRegistry(resource, monitor);
@@ -0,0 +1,105 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.proxy.backends.file;
+
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+import static java.lang.String.format;
+import static java.nio.file.Files.isReadable;
+import static java.util.Objects.requireNonNull;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Monitors a file and notifies the listener of any changes, using file change notifications from the
+ * operating system. All the monitors share one {@link FileWatcher} thread.
+ * <p>
+ * The listener is notified when the monitor starts, and then after each change, once the file has been quiet
+ * for the debounce period. If the file system cannot be watched, the monitor polls the file instead.
+ */
+public class FileWatchMonitor implements FileMonitor {
+    private static final Logger LOGGER = getLogger(FileWatchMonitor.class);
+
+    private static final Duration DEFAULT_DEBOUNCE = Duration.ofMillis(100);
+    private static final Duration DEFAULT_POLL_PERIOD = Duration.ofSeconds(1);
+
+    private final Path monitoredFile;
+    private final Duration debounce;
+    private final Duration fallbackPollPeriod;
+    private final FileWatcher watcher;
+
+    private FileWatcher.Watch watch;
+    private FileChangeMonitor fallback;
+
+    // Visible for testing
+    FileWatchMonitor(String monitoredFile, Duration debounce, Duration fallbackPollPeriod, FileWatcher watcher) {
+        requireExists(requireNonNull(monitoredFile));
+        this.monitoredFile = Paths.get(monitoredFile);
+        this.debounce = requireNonNull(debounce);
+        this.fallbackPollPeriod = requireNonNull(fallbackPollPeriod);
+        this.watcher = requireNonNull(watcher);
+    }
+
+    public FileWatchMonitor(String monitoredFile, Duration debounce, Duration fallbackPollPeriod) {
+        this(monitoredFile, debounce, fallbackPollPeriod, FileWatcher.shared());
+    }
+
+    public FileWatchMonitor(String monitoredFile) {
+        this(monitoredFile, DEFAULT_DEBOUNCE, DEFAULT_POLL_PERIOD);
+    }
+
+    @Override
+    public void start(Listener listener) {
+        FileWatcher.Watch started;
+        synchronized (this) {
+            if (watch != null || fallback != null) {
+                throw new IllegalStateException(format("File monitor for '%s' is already started", monitoredFile));
+            }
+
+            try {
+                watch = watcher.watch(monitoredFile, debounce, listener::fileChanged);
+            } catch (IOException | UnsupportedOperationException e) {
+                LOGGER.warn("Cannot watch file for changes, polling it instead. Path={}, cause={}", monitoredFile, e.toString());
+                fallback = new FileChangeMonitor(monitoredFile.toString(), Duration.ZERO, fallbackPollPeriod);
+                fallback.start(listener);
+                return;
+            }
+            started = watch;
+        }
+
+        // Initial notification:
+        started.check(true);
+    }
+
+    public synchronized void stop() {
+        if (watch != null) {
+            watch.cancel();
+        }
+        if (fallback != null) {
+            fallback.stop();
+        }
+    }
+
+    private static void requireExists(String path) {
+        if (!isReadable(Paths.get(path))) {
+            throw new IllegalArgumentException(format("File '%s' does not exist or is not readable.", path));
+        }
+    }
+}
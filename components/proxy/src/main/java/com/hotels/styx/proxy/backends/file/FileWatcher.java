@@ -0,0 +1,327 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.proxy.backends.file;
+
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static java.nio.file.Files.isReadable;
+import static java.nio.file.Files.readAttributes;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Watches files for changes with a {@link WatchService}, which uses the native file change notifications
+ * of the operating system (such as inotify on Linux) where they are available.
+ * <p>
+ * Implementation notes:
+ * <p>
+ * A WatchService watches directories, so the parent directory of each watched file is registered, and its
+ * events are matched to the watched files. One thread serves all the watched files, and also notifies their
+ * listeners. A change is only reported once a file has been quiet for a debounce period, so that a file
+ * written in several steps is reported once.
+ * <p>
+ * Files can also change without an event that names them, for example when a symbolic link elsewhere in the
+ * directory is replaced, as Kubernetes does for config maps. Any event in the directory therefore also checks
+ * the size, modification time and identity of the watched files. The content of a file is never read.
+ */
+final class FileWatcher {
+    private static final Logger LOGGER = getLogger(FileWatcher.class);
+    private static final FileWatcher SHARED = new FileWatcher("Styx-FileWatcher");
+
+    private final String threadName;
+    private final Map<Path, Directory> directories = new HashMap<>();
+    private final Map<WatchKey, Directory> directoriesByKey = new HashMap<>();
+    private WatchService watchService;
+
+    // Visible for testing
+    FileWatcher(String threadName) {
+        this.threadName = threadName;
+    }
+
+    /**
+     * Returns the file watcher that is shared by all file monitors.
+     *
+     * @return shared file watcher
+     */
+    static FileWatcher shared() {
+        return SHARED;
+    }
+
+    /**
+     * Starts watching a file. The listener is called on the watcher thread.
+     *
+     * @param file     file to watch
+     * @param debounce time that a file must be quiet for before a change is reported
+     * @param listener listener to notify of changes
+     * @return a watch that can be cancelled
+     * @throws IOException if the parent directory of the file cannot be watched
+     */
+    synchronized Watch watch(Path file, Duration debounce, Runnable listener) throws IOException {
+        Path path = file.toAbsolutePath().normalize();
+        Path parent = path.getParent();
+
+        if (watchService == null) {
+            watchService = FileSystems.getDefault().newWatchService();
+            Thread thread = new Thread(this::run, threadName);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        Directory directory = directories.get(parent);
+        if (directory == null) {
+            WatchKey key = parent.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+            directory = new Directory(parent, key);
+            directories.put(parent, directory);
+            directoriesByKey.put(key, directory);
+        }
+
+        Watch watch = new Watch(path, debounce, listener);
+        directory.watches.add(watch);
+        return watch;
+    }
+
+    // Visible for testing
+    synchronized int watchedDirectories() {
+        return directories.size();
+    }
+
+    private synchronized void cancel(Watch watch) {
+        Directory directory = directories.get(watch.path.getParent());
+        if (directory != null && directory.watches.remove(watch) && directory.watches.isEmpty()) {
+            directory.key.cancel();
+            directories.remove(directory.path);
+            directoriesByKey.remove(directory.key);
+        }
+    }
+
+    private void run() {
+        while (true) {
+            try {
+                long waitNanos = nanosUntilNextChange();
+                WatchKey key = waitNanos == Long.MAX_VALUE
+                        ? watchService.take()
+                        : watchService.poll(waitNanos, NANOSECONDS);
+
+                if (key != null) {
+                    eventsReceived(key);
+                }
+                notifyQuietWatches();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ClosedWatchServiceException e) {
+                return;
+            } catch (RuntimeException e) {
+                LOGGER.warn("Unexpected error while watching files", e);
+            }
+        }
+    }
+
+    private void eventsReceived(WatchKey key) {
+        List<WatchEvent<?>> events = key.pollEvents();
+        boolean valid = key.reset();
+        long now = System.nanoTime();
+
+        synchronized (this) {
+            Directory directory = directoriesByKey.get(key);
+            if (directory == null) {
+                return;
+            }
+
+            for (WatchEvent<?> event : events) {
+                Path name = event.kind() == OVERFLOW ? null : (Path) event.context();
+                for (Watch watch : directory.watches) {
+                    watch.eventReceived(name == null || name.equals(watch.path.getFileName()), now);
+                }
+            }
+
+            if (!valid) {
+                LOGGER.warn("Directory can no longer be watched. Path={}", directory.path);
+                directories.remove(directory.path);
+                directoriesByKey.remove(key);
+            }
+        }
+    }
+
+    private synchronized long nanosUntilNextChange() {
+        long now = System.nanoTime();
+        long wait = Long.MAX_VALUE;
+        for (Directory directory : directories.values()) {
+            for (Watch watch : directory.watches) {
+                if (watch.pending) {
+                    wait = Math.min(wait, Math.max(0, watch.deadline - now));
+                }
+            }
+        }
+        return wait;
+    }
+
+    private void notifyQuietWatches() {
+        List<Watch> quiet = new ArrayList<>();
+        List<Boolean> named = new ArrayList<>();
+        long now = System.nanoTime();
+
+        synchronized (this) {
+            for (Directory directory : directories.values()) {
+                for (Watch watch : directory.watches) {
+                    if (watch.pending && now - watch.deadline >= 0) {
+                        quiet.add(watch);
+                        named.add(watch.named);
+                        watch.pending = false;
+                        watch.named = false;
+                    }
+                }
+            }
+        }
+
+        for (int i = 0; i < quiet.size(); i++) {
+            quiet.get(i).check(named.get(i));
+        }
+    }
+
+    private static final class Directory {
+        private final Path path;
+        private final WatchKey key;
+        private final List<Watch> watches = new ArrayList<>();
+
+        Directory(Path path, WatchKey key) {
+            this.path = path;
+            this.key = key;
+        }
+    }
+
+    /**
+     * A watched file.
+     */
+    final class Watch {
+        private final Path path;
+        private final long debounceNanos;
+        private final Runnable listener;
+
+        // Guarded by the watcher:
+        private boolean pending;
+        private boolean named;
+        private long deadline;
+
+        // Guarded by this watch:
+        private FileState state;
+        private boolean cancelled;
+
+        private Watch(Path path, Duration debounce, Runnable listener) {
+            this.path = path;
+            this.debounceNanos = debounce.toNanos();
+            this.listener = listener;
+        }
+
+        private void eventReceived(boolean named, long now) {
+            this.pending = true;
+            this.named |= named;
+            this.deadline = now + debounceNanos;
+        }
+
+        /**
+         * Notifies the listener if the file exists and has changed. The listener is always notified of a file that
+         * an event has named, since a file can be rewritten without a change to its size or modification time.
+         *
+         * @param named true if an event named the file
+         */
+        synchronized void check(boolean named) {
+            if (cancelled) {
+                return;
+            }
+
+            FileState previous = state;
+            state = FileState.of(path);
+
+            if (state != null && (named || !state.equals(previous))) {
+                try {
+                    listener.run();
+                } catch (RuntimeException e) {
+                    LOGGER.warn("File change listener failed. Path={}", path, e);
+                }
+            }
+        }
+
+        void cancel() {
+            synchronized (this) {
+                cancelled = true;
+            }
+            FileWatcher.this.cancel(this);
+        }
+    }
+
+    private static final class FileState {
+        private final FileTime lastModifiedTime;
+        private final long size;
+        private final Object fileKey;
+
+        private FileState(BasicFileAttributes attributes) {
+            this.lastModifiedTime = attributes.lastModifiedTime();
+            this.size = attributes.size();
+            this.fileKey = attributes.fileKey();
+        }
+
+        static FileState of(Path path) {
+            if (!isReadable(path)) {
+                return null;
+            }
+            try {
+                return new FileState(readAttributes(path, BasicFileAttributes.class));
+            } catch (IOException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            FileState that = (FileState) o;
+            return size == that.size
+                    && lastModifiedTime.equals(that.lastModifiedTime)
+                    && Objects.equals(fileKey, that.fileKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(lastModifiedTime, size, fileKey);
+        }
+    }
+}
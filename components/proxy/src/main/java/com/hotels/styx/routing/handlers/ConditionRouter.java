@@ -32,6 +32,7 @@ import com.hotels.styx.routing.config.StyxObjectConfiguration;
 import com.hotels.styx.routing.config.StyxObjectDefinition;
 import com.hotels.styx.server.HttpRouter;
 import com.hotels.styx.server.routing.AntlrMatcher;
+import com.hotels.styx.server.routing.antlr.CompiledConditions;
 import com.hotels.styx.server.routing.antlr.DslFunctionResolutionError;
 import com.hotels.styx.server.routing.antlr.DslSyntaxError;
 
@@ -67,21 +68,21 @@ public class ConditionRouter implements HttpRouter {
             optional("fallback", routingObject())
     );
 
-    private final List<Route> routes;
+    private final CompiledConditions conditions;
+    private final List<RoutingObject> destinations;
     private final RoutingObject fallback;
 
-    private ConditionRouter(List<Route> routes, RoutingObject fallback) {
-        this.routes = routes;
+    private ConditionRouter(CompiledConditions conditions, List<RoutingObject> destinations, RoutingObject fallback) {
+        this.conditions = conditions;
+        this.destinations = destinations;
         this.fallback = fallback;
     }
 
     @Override
     public Optional<HttpHandler> route(LiveHttpRequest request, HttpInterceptor.Context context) {
-        for (Route route : routes) {
-            HttpHandler handler = route.match(request, context);
-            if (handler != null) {
-                return Optional.of(handler);
-            }
+        int index = conditions.firstMatch(request, context);
+        if (index >= 0) {
+            return Optional.of(destinations.get(index));
         }
 
         return Optional.ofNullable(fallback);
@@ -103,16 +104,18 @@ public class ConditionRouter implements HttpRouter {
             }
         }
 
-        private static Route buildRoute(
+        private static RoutingObject buildRoute(
                 List<String> parents,
                 Context context,
                 int index,
                 String condition,
-                StyxObjectConfiguration destination) {
+                StyxObjectConfiguration destination,
+                CompiledConditions.Builder conditions) {
             try {
                 String attribute = format("destination[%d]", index);
                 RoutingObject handler = Builtins.build(append(parents, attribute), context, destination);
-                return new Route(condition, handler);
+                conditions.add(condition);
+                return handler;
             } catch (DslSyntaxError | DslFunctionResolutionError e) {
                 String attribute = format("condition[%d]", index);
                 String path = join(".", append(parents, attribute));
@@ -128,28 +131,27 @@ public class ConditionRouter implements HttpRouter {
                 throw missingAttributeError(configBlock, join(".", fullName), "routes");
             }
 
+            CompiledConditions.Builder conditions = AntlrMatcher.compiledConditions();
             AtomicInteger index = new AtomicInteger(0);
-            List<Route> routes = config.routes.stream()
+            List<RoutingObject> destinations = config.routes.stream()
                     .map(routeConfig -> buildRoute(
                             append(fullName, "routes"),
                             context,
                             index.getAndIncrement(),
                             routeConfig.condition,
-                            routeConfig.destination))
+                            routeConfig.destination,
+                            conditions))
                     .collect(Collectors.toList());
 
             RoutingObject fallbackHandler = buildFallbackHandler(fullName, context, config);
 
-            ConditionRouter router = new ConditionRouter(routes, fallbackHandler);
+            ConditionRouter router = new ConditionRouter(conditions.build(), destinations, fallbackHandler);
 
             return new RouteHandlerAdapter(router) {
                 @Override
                 public CompletableFuture<Void> stop() {
                     fallbackHandler.stop();
-
-                    routes.stream()
-                            .map(route -> route.routingObject)
-                            .forEach(RoutingObject::stop);
+                    destinations.forEach(RoutingObject::stop);
 
                     return completedFuture(null);
                 }
@@ -179,18 +181,4 @@ public class ConditionRouter implements HttpRouter {
         }
     }
 
-    private static class Route {
-        private final AntlrMatcher matcher;
-        private final RoutingObject routingObject;
-
-        Route(String condition, RoutingObject routingObject) {
-            this.matcher = AntlrMatcher.antlrMatcher(condition);
-            this.routingObject = routingObject;
-        }
-
-        public HttpHandler match(LiveHttpRequest request, HttpInterceptor.Context context) {
-            return matcher.apply(request, context) ? routingObject : null;
-        }
-    }
-
 }
@@ -1,5 +1,5 @@
 /*
-  Copyright (C) 2013-2023 Expedia Inc.
+  Copyright (C) 2013-2026 Expedia Inc.
 
   Licensed under the Apache License, Version 2.0 (the "License");
   you may not use this file except in compliance with the License.
@@ -30,12 +30,16 @@ import com.hotels.styx.api.extension.service.TcpKeepAliveSettings;
 import com.hotels.styx.api.extension.service.TlsSettings;
 import com.hotels.styx.client.ChannelOptionSetting;
 import com.hotels.styx.client.Connection;
-import com.hotels.styx.client.OriginStatsFactory;
+import com.hotels.styx.client.HttpConfig;
+import com.hotels.styx.client.HttpRequestOperationFactory;
 import com.hotels.styx.client.StyxHostHttpClient;
 import com.hotels.styx.client.applications.metrics.OriginMetrics;
 import com.hotels.styx.client.connectionpool.ConnectionPool;
 import com.hotels.styx.client.connectionpool.ExpiringConnectionFactory;
+import com.hotels.styx.client.connectionpool.Http2ConnectionPoolFactory;
 import com.hotels.styx.client.connectionpool.SimpleConnectionPoolFactory;
+import com.hotels.styx.client.netty.connectionpool.CachingAddressResolverGroup;
+import com.hotels.styx.client.netty.connectionpool.Http2ConnectionFactory;
 import com.hotels.styx.client.netty.connectionpool.NettyConnectionFactory;
 import com.hotels.styx.config.schema.Schema;
 import com.hotels.styx.infrastructure.configuration.yaml.JsonNodeConfig;
@@ -55,6 +59,8 @@ import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
+import static com.hotels.styx.api.HttpVersion.HTTP_1_1;
+import static com.hotels.styx.api.HttpVersion.HTTP_2;
 import static com.hotels.styx.api.extension.Origin.newOriginBuilder;
 import static com.hotels.styx.api.extension.service.ConnectionPoolSettings.defaultConnectionPoolSettings;
 import static com.hotels.styx.client.HttpConfig.newHttpConfigBuilder;
@@ -107,18 +113,25 @@ public class HostProxy implements RoutingObject {
                     optional("socketTimeoutMillis", integer()),
                     optional("pendingConnectionTimeoutMillis", integer()),
                     optional("connectionExpirationSeconds", integer()),
+                    optional("eventLoopAffinity", bool()),
+                    optional("minIdleConnectionsPerHost", integer()),
+                    optional("warmUpConnectionsPerSecond", integer()),
                     atLeastOne("maxConnections",
                             "maxPendingConnections",
                             "connectTimeoutMillis",
                             "socketTimeoutMillis",
                             "pendingConnectionTimeoutMillis",
-                            "connectionExpirationSeconds")
+                            "connectionExpirationSeconds",
+                            "eventLoopAffinity",
+                            "minIdleConnectionsPerHost",
+                            "warmUpConnectionsPerSecond")
             )),
             optional("responseTimeoutMillis", integer()),
             optional("maxHeaderSize", integer()),
             optional("metricPrefix", string()),
             optional("executor", string()),
             optional("overrideHostHeader", bool()),
+            optional("httpVersion", string()),
             optional("tcpKeepAliveSettings", object(
                     optional("keepAliveIdleTimeSeconds", integer()),
                     optional("keepAliveIntervalSeconds", integer()),
@@ -193,6 +206,7 @@ public class HostProxy implements RoutingObject {
         private final String executor;
         private final boolean overrideHostHeader;
         private final TcpKeepAliveSettings tcpKeepAliveSettings;
+        private final String httpVersion;
 
         public HostProxyConfiguration(
                 String host,
@@ -203,7 +217,8 @@ public class HostProxy implements RoutingObject {
                 String metricPrefix,
                 String executor,
                 boolean overrideHostHeader,
-                TcpKeepAliveSettings tcpKeepAliveSettings) {
+                TcpKeepAliveSettings tcpKeepAliveSettings,
+                String httpVersion) {
             this.host = host;
             this.connectionPool = connectionPool;
             this.tlsSettings = tlsSettings;
@@ -213,6 +228,7 @@ public class HostProxy implements RoutingObject {
             this.executor = executor;
             this.overrideHostHeader = overrideHostHeader;
             this.tcpKeepAliveSettings = tcpKeepAliveSettings;
+            this.httpVersion = httpVersion;
         }
 
         @JsonProperty("host")
@@ -259,6 +275,11 @@ public class HostProxy implements RoutingObject {
         public TcpKeepAliveSettings tcpKeepAliveSettings() {
             return tcpKeepAliveSettings;
         }
+
+        @JsonProperty("httpVersion")
+        public String httpVersion() {
+            return httpVersion;
+        }
     }
 
     /**
@@ -311,9 +332,12 @@ public class HostProxy implements RoutingObject {
             TcpKeepAliveSettings tcpKeepAliveSettings = config.get("tcpKeepAliveSettings", TcpKeepAliveSettings.class)
                     .orElse(null);
 
+            String httpVersion = config.get("httpVersion", String.class).orElse(HTTP_1_1.toString());
+
             return createHostProxyHandler(
                     executor,
                     context.environment().centralisedMetrics(),
+                    context.environment().addressResolverGroup(),
                     hostAndPort,
                     poolSettings,
                     tlsSettings,
@@ -322,7 +346,8 @@ public class HostProxy implements RoutingObject {
                     metricPrefix,
                     objectName,
                     overrideHostHeader,
-                    tcpKeepAliveSettings);
+                    tcpKeepAliveSettings,
+                    httpVersion);
         }
 
         private static HostAndPort addDefaultPort(HostAndPort hostAndPort, TlsSettings tlsSettings) {
@@ -341,6 +366,7 @@ public class HostProxy implements RoutingObject {
         public static HostProxy createHostProxyHandler(
                 NettyExecutor executor,
                 CentralisedMetrics metrics,
+                CachingAddressResolverGroup addressResolverGroup,
                 HostAndPort hostAndPort,
                 ConnectionPoolSettings poolSettings,
                 TlsSettings tlsSettings,
@@ -349,7 +375,8 @@ public class HostProxy implements RoutingObject {
                 String appId,
                 String originId,
                 boolean overrideHostHeader,
-                TcpKeepAliveSettings tcpKeepAliveSettings) {
+                TcpKeepAliveSettings tcpKeepAliveSettings,
+                String httpVersion) {
 
             String host = hostAndPort.getHost();
             int port = hostAndPort.getPort();
@@ -364,21 +391,45 @@ public class HostProxy implements RoutingObject {
             Iterable<ChannelOptionSetting<?>> channelOptionSettings =
                 extractChannelOptionSettings(tcpKeepAliveSettings);
 
-            ConnectionPool.Factory connectionPoolFactory = new SimpleConnectionPoolFactory.Builder()
-                    .connectionFactory(
-                            connectionFactory(
-                                    executor,
-                                    tlsSettings,
-                                    responseTimeoutMillis,
-                                    maxHeaderSize,
-                                    theOrigin -> originMetrics,
-                                    poolSettings.connectionExpirationSeconds(),
-                                    channelOptionSettings,
-                                    metrics))
-                    .connectionPoolSettings(poolSettings)
+            HttpRequestOperationFactory requestOperationFactory = httpRequestOperationFactoryBuilder()
+                    .flowControlEnabled(true)
+                    .originStatsFactory(theOrigin -> originMetrics)
+                    .responseTimeoutMillis(responseTimeoutMillis)
                     .metrics(metrics)
                     .build();
 
+            HttpConfig httpConfig = newHttpConfigBuilder()
+                    .setMaxHeadersSize(maxHeaderSize)
+                    .setSettings(channelOptionSettings)
+                    .build();
+
+            ConnectionPool.Factory connectionPoolFactory = HTTP_2.toString().equals(httpVersion)
+                    ? new Http2ConnectionPoolFactory.Builder()
+                            .connectionFactory(new Http2ConnectionFactory.Builder()
+                                    .httpRequestOperationFactory(requestOperationFactory)
+                                    .executor(executor)
+                                    .tlsSettings(tlsSettings)
+                                    .httpConfig(httpConfig)
+                                    .metrics(metrics)
+                                    .addressResolverGroup(addressResolverGroup)
+                                    .build())
+                            .connectionPoolSettings(poolSettings)
+                            .metrics(metrics)
+                            .build()
+                    : new SimpleConnectionPoolFactory.Builder()
+                            .connectionFactory(
+                                    connectionFactory(
+                                            executor,
+                                            tlsSettings,
+                                            requestOperationFactory,
+                                            httpConfig,
+                                            metrics,
+                                            addressResolverGroup,
+                                            poolSettings.connectionExpirationSeconds()))
+                            .connectionPoolSettings(poolSettings)
+                            .metrics(metrics)
+                            .build();
+
             return new HostProxy(host,
                     port,
                     StyxHostHttpClient.create(connectionPoolFactory.create(origin)),
@@ -390,29 +441,20 @@ public class HostProxy implements RoutingObject {
         private static Connection.Factory connectionFactory(
                 NettyExecutor executor,
                 TlsSettings tlsSettings,
-                int responseTimeoutMillis,
-                int maxHeaderSize,
-                OriginStatsFactory originStatsFactory,
-                long connectionExpiration,
-                Iterable<ChannelOptionSetting<?>> channelOptionSettings,
-                CentralisedMetrics metrics) {
+                HttpRequestOperationFactory requestOperationFactory,
+                HttpConfig httpConfig,
+                CentralisedMetrics metrics,
+                CachingAddressResolverGroup addressResolverGroup,
+                long connectionExpiration) {
 
             // Uses the default executor for now:
             NettyConnectionFactory factory = new NettyConnectionFactory.Builder()
-                    .httpRequestOperationFactory(
-                            httpRequestOperationFactoryBuilder()
-                                    .flowControlEnabled(true)
-                                    .originStatsFactory(originStatsFactory)
-                                    .responseTimeoutMillis(responseTimeoutMillis)
-                                    .metrics(metrics)
-                                    .build()
-                    )
+                    .httpRequestOperationFactory(requestOperationFactory)
                     .executor(executor)
                     .tlsSettings(tlsSettings)
-                    .httpConfig(newHttpConfigBuilder()
-                        .setMaxHeadersSize(maxHeaderSize)
-                        .setSettings(channelOptionSettings)
-                        .build())
+                    .httpConfig(httpConfig)
+                    .metrics(metrics)
+                    .addressResolverGroup(addressResolverGroup)
                     .build();
 
             if (connectionExpiration > 0) {
@@ -29,9 +29,8 @@ import com.hotels.styx.routing.config.RoutingObjectFactory;
 import com.hotels.styx.routing.config.StyxObjectConfiguration;
 import com.hotels.styx.routing.config.StyxObjectDefinition;
 import com.hotels.styx.server.NoServiceConfiguredException;
-import org.jetbrains.annotations.NotNull;
+import com.hotels.styx.server.PathPrefixTrie;
 
-import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
@@ -54,20 +53,23 @@ import static java.util.Objects.requireNonNull;
  */
 public class PathPrefixRouter implements RoutingObject {
     private final PrefixRoute[] routes;
+    private final PathPrefixTrie<RoutingObject> trie = new PathPrefixTrie<>();
 
     PathPrefixRouter(PrefixRoute[] routes) {
         this.routes = routes;
-        Arrays.sort(this.routes);
+        for (PrefixRoute route : routes) {
+            // When a prefix is configured more than once, the first one wins:
+            trie.putIfAbsent(route.prefix, route.routingObject);
+        }
     }
 
     @Override
     public Eventual<LiveHttpResponse> handle(LiveHttpRequest request, HttpInterceptor.Context context) {
         String path = request.path();
+        RoutingObject routingObject = trie.longestPrefixOf(path);
 
-        for (PrefixRoute route : routes) {
-            if (path.startsWith(route.prefix)) {
-                return route.routingObject.handle(request, context);
-            }
+        if (routingObject != null) {
+            return routingObject.handle(request, context);
         }
 
         return Eventual.error(new NoServiceConfiguredException(path));
@@ -82,7 +84,7 @@ public class PathPrefixRouter implements RoutingObject {
         return CompletableFuture.allOf(stopFutures);
     }
 
-    static class PrefixRoute implements Comparable<PrefixRoute> {
+    static class PrefixRoute {
         private final String prefix;
         private final RoutingObject routingObject;
 
@@ -90,17 +92,6 @@ public class PathPrefixRouter implements RoutingObject {
             this.prefix = requireNonNull(prefix);
             this.routingObject = requireNonNull(routingObject);
         }
-
-        @Override
-        public int compareTo(@NotNull PrefixRoute o) {
-            if (prefix.length() > o.prefix.length()) {
-                return -1;
-            } else if (prefix.length() < o.prefix.length()) {
-                return 1;
-            } else {
-                return prefix.compareTo(o.prefix);
-            }
-        }
     }
 
     /**
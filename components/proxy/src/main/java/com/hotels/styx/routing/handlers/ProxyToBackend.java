@@ -113,6 +113,8 @@ public class ProxyToBackend implements RoutingObject {
                                     .build())
                     .tlsSettings(backendService.tlsSettings().orElse(null))
                     .httpConfig(newHttpConfigBuilder().setMaxHeadersSize(backendService.maxHeaderSize()).build())
+                    .metrics(context.environment().centralisedMetrics())
+                    .addressResolverGroup(context.environment().addressResolverGroup())
                     .build();
 
             ConnectionPoolSettings poolSettings = backendService.connectionPoolConfig();
@@ -20,6 +20,7 @@ import com.hotels.styx.api.HttpHandler;
 import com.hotels.styx.api.HttpInterceptor;
 import com.hotels.styx.api.LiveHttpRequest;
 import com.hotels.styx.api.LiveHttpResponse;
+import com.hotels.styx.server.track.CurrentRequest;
 import com.hotels.styx.server.track.RequestTracker;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
@@ -27,6 +28,7 @@ import org.reactivestreams.Subscriber;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static com.hotels.styx.server.track.RequestTracker.CURRENT_REQUEST;
 import static java.util.Collections.emptyList;
 import static java.util.Objects.requireNonNull;
 
@@ -51,7 +53,8 @@ class StandardHttpPipeline implements HttpHandler {
 
     @Override
     public Eventual<LiveHttpResponse> handle(LiveHttpRequest request, HttpInterceptor.Context context) {
-        HttpInterceptorChain interceptorsChain = new HttpInterceptorChain(interceptors, 0, handler, context, requestTracker);
+        CurrentRequest currentRequest = context == null ? null : context.getIfAvailable(CURRENT_REQUEST, CurrentRequest.class).orElse(null);
+        HttpInterceptorChain interceptorsChain = new HttpInterceptorChain(interceptors, 0, handler, context, requestTracker, currentRequest);
 
         return interceptorsChain.proceed(request);
     }
@@ -62,17 +65,20 @@ class StandardHttpPipeline implements HttpHandler {
         private final HttpHandler client;
         private final HttpInterceptor.Context context;
         private final RequestTracker requestTracker;
+        private final CurrentRequest currentRequest;
 
-        HttpInterceptorChain(List<HttpInterceptor> interceptors, int index, HttpHandler client, HttpInterceptor.Context context, RequestTracker requestTracker) {
+        HttpInterceptorChain(List<HttpInterceptor> interceptors, int index, HttpHandler client, HttpInterceptor.Context context,
+                             RequestTracker requestTracker, CurrentRequest currentRequest) {
             this.interceptors = interceptors;
             this.index = index;
             this.client = client;
             this.context = context;
             this.requestTracker = requireNonNull(requestTracker);
+            this.currentRequest = currentRequest;
         }
 
         HttpInterceptorChain(HttpInterceptorChain adapter, int index) {
-            this(adapter.interceptors, index, adapter.client, adapter.context, adapter.requestTracker);
+            this(adapter.interceptors, index, adapter.client, adapter.context, adapter.requestTracker, adapter.currentRequest);
         }
 
         @Override
@@ -82,7 +88,10 @@ class StandardHttpPipeline implements HttpHandler {
 
         @Override
         public Eventual<LiveHttpResponse> proceed(LiveHttpRequest request) {
-            requestTracker.trackRequest(request);
+            // The tracker needs updating only when an interceptor has moved the request to another thread:
+            if (currentRequest != null && currentRequest.currentThread() != Thread.currentThread()) {
+                requestTracker.trackRequest(currentRequest);
+            }
 
             if (index < interceptors.size()) {
                 HttpInterceptor.Chain chain = new HttpInterceptorChain(this, index + 1);
@@ -95,7 +104,9 @@ class StandardHttpPipeline implements HttpHandler {
                 }
             }
 
-            requestTracker.markRequestAsSent(request);
+            if (currentRequest != null) {
+                requestTracker.markRequestAsSent(currentRequest);
+            }
 
             return new Eventual<>(new SingleSubscriptionPublisher(client.handle(request, this.context)));
         }
@@ -17,15 +17,16 @@ package com.hotels.styx
 
 import com.fasterxml.jackson.databind.JsonNode
 import com.hotels.styx.api.extension.service.spi.StyxService
+import com.hotels.styx.routing.db.Tagged
 
 /**
  * A routing object and its associated configuration metadata.
  */
 data class StyxObjectRecord<T>(
         val type: String,
-        val tags: Set<String>,
+        override val tags: Set<String>,
         val config: JsonNode,
-        val styxService: T)
+        val styxService: T) : Tagged
 
 internal typealias ProviderObjectRecord = StyxObjectRecord<StyxService>
 
@@ -17,8 +17,11 @@ package com.hotels.styx.routing.db
 
 import com.hotels.styx.api.configuration.ObjectStore
 import org.pcollections.HashTreePMap
+import org.pcollections.HashTreePSet
 import org.pcollections.PMap
+import org.pcollections.PSet
 import reactor.core.publisher.FluxSink
+import java.util.AbstractMap.SimpleImmutableEntry
 import java.util.Optional
 import java.util.concurrent.ConcurrentHashMap
 import java.util.concurrent.CopyOnWriteArrayList
@@ -97,21 +100,84 @@ internal class NotificationQueue<T : Any>(val watchers: CopyOnWriteArrayList<Cha
         listeners.remove(key)
     }
 
-    private fun newSnapshot(snapshot: IndexedSnapshot<T>) = object : ObjectStore<T> {
-        override fun get(key: String?): Optional<T> {
-            return Optional.ofNullable(snapshot.snapshot[key])
-        }
-
-        override fun entrySet(): Collection<Map.Entry<String, T>> = entrySet(snapshot.snapshot)
+    private fun newSnapshot(snapshot: IndexedSnapshot<T>) = ObjectStoreSnapshot(snapshot)
+}
 
-        override fun index() = snapshot.index
+/**
+ * An immutable view of the object store contents at the time of a change notification.
+ */
+internal class ObjectStoreSnapshot<T : Any>(private val snapshot: IndexedSnapshot<T>) : ObjectStore<T> {
+    override fun get(key: String?): Optional<T> {
+        return Optional.ofNullable(snapshot.snapshot[key])
     }
+
+    override fun entrySet(): Collection<Map.Entry<String, T>> = entrySet(snapshot.snapshot)
+
+    override fun index() = snapshot.index
+
+    /**
+     * Retrieves the entries that have a given tag.
+     */
+    fun tagged(tag: String): Collection<Map.Entry<String, T>> = snapshot.tagged(tag)
 }
 
 internal fun <T> entrySet(snapshot: PMap<String, T>): Collection<Map.Entry<String, T>> = snapshot.entries
 
-internal data class IndexedSnapshot<T>(val index: Long, val snapshot: PMap<String, T>) {
-    fun map(modification: (PMap<String, T>) -> PMap<String, T>) = IndexedSnapshot(this.index + 1, modification(this.snapshot))
+/**
+ * An object store snapshot, together with an index from tag strings to the names of
+ * the objects that carry them. Only [Tagged] objects are indexed.
+ *
+ * The tag index is null until it is first needed. From then on it is kept up to date
+ * incrementally as the snapshot is modified.
+ */
+internal data class IndexedSnapshot<T>(
+        val index: Long,
+        val snapshot: PMap<String, T>,
+        val tagIndex: PMap<String, PSet<String>>? = null) {
+
+    fun plus(key: String, value: T) = IndexedSnapshot(
+            index + 1,
+            snapshot.plus(key, value),
+            tagIndex?.let { reindex(it, key, tagsOf(snapshot[key]), tagsOf(value)) })
+
+    fun minus(key: String) = IndexedSnapshot(
+            index + 1,
+            snapshot.minus(key),
+            tagIndex?.let { reindex(it, key, tagsOf(snapshot[key]), emptySet()) })
+
+    /**
+     * Returns this snapshot with its tag index built.
+     */
+    fun withTagIndex(): IndexedSnapshot<T> = if (tagIndex != null) {
+        this
+    } else {
+        copy(tagIndex = snapshot.entries.fold(HashTreePMap.empty<String, PSet<String>>() as PMap<String, PSet<String>>) { index, (key, value) ->
+            reindex(index, key, emptySet(), tagsOf(value))
+        })
+    }
+
+    fun tagged(tag: String): Collection<Map.Entry<String, T>> = withTagIndex().tagIndex!![tag]
+            ?.map { SimpleImmutableEntry(it, snapshot.getValue(it)) }
+            ?: emptyList()
+
+    private fun reindex(tagIndex: PMap<String, PSet<String>>, key: String, oldTags: Set<String>, newTags: Set<String>): PMap<String, PSet<String>> {
+        var newIndex = tagIndex
+
+        oldTags.forEach {
+            if (it !in newTags) {
+                val keys = newIndex[it]!!.minus(key)
+                newIndex = if (keys.isEmpty()) newIndex.minus(it) else newIndex.plus(it, keys)
+            }
+        }
+        newTags.forEach {
+            if (it !in oldTags) {
+                newIndex = newIndex.plus(it, (newIndex[it] ?: HashTreePSet.empty()).plus(key))
+            }
+        }
+        return newIndex
+    }
+
+    private fun tagsOf(value: T?): Set<String> = (value as? Tagged)?.tags ?: emptySet()
 }
 
 internal typealias ChangeWatcher<T> = (ObjectStore<T>) -> Unit
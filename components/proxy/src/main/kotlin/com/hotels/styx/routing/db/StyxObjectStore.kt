@@ -62,6 +62,18 @@ class StyxObjectStore<T : Any> internal constructor(executor: ExecutorService):
      */
     override fun entrySet(): Collection<Map.Entry<String, T>> = entrySet(objects.get().snapshot)
 
+    /**
+     * Retrieves all entries that have a given tag, such as `lbGroup=shopping`.
+     *
+     * Only objects implementing [Tagged] are indexed. The index is built on the
+     * first lookup or watch by tag, and is kept up to date from then on. Later
+     * lookups do not scan the other objects in the store.
+     *
+     * @property tag a tag string
+     * @return entries having the tag
+     */
+    fun tagged(tag: String): Collection<Map.Entry<String, T>> = indexedObjects().tagged(tag)
+
     /**
      * Inserts a new object in object store.
      *
@@ -80,11 +92,11 @@ class StyxObjectStore<T : Any> internal constructor(executor: ExecutorService):
         require(key.isNotEmpty()) { "ObjectStore insert: empty keys are not allowed." }
 
         var current = objects.get()
-        var new = current.map { it.plus(key, payload) }
+        var new = current.plus(key, payload)
 
         while (!objects.compareAndSet(current, new)) {
             current = objects.get()
-            new = current.map { it.plus(key, payload) }
+            new = current.plus(key, payload)
         }
 
         notificationQueue.publishChange(new)
@@ -135,10 +147,10 @@ class StyxObjectStore<T : Any> internal constructor(executor: ExecutorService):
 
             new = if (existingValue != null && result == null) {
                 //New value is null, removing key
-                current.map { it.minus(key) }
+                current.minus(key)
             } else if (result != existingValue) {
                 // Consumer REPLACES an existing value or ADDS a new value
-                current.map { it.plus(key, result) }
+                current.plus(key, result!!)
             } else {
                 // Consumer KEEPS the existing value
                 current
@@ -169,13 +181,13 @@ class StyxObjectStore<T : Any> internal constructor(executor: ExecutorService):
      */
     fun remove(key: String): Optional<T> {
         var current = objects.get()
-        var new = current.map { it.minus(key) }
+        var new = current.minus(key)
 
         // Unnecessarily increments the index when "key" doesn't exist:
         // We will live with this for now.
         while (!objects.compareAndSet(current, new)) {
             current = objects.get()
-            new = current.map { it.minus(key) }
+            new = current.minus(key)
         }
 
         if (current.snapshot != new.snapshot) {
@@ -205,12 +217,57 @@ class StyxObjectStore<T : Any> internal constructor(executor: ExecutorService):
         }
     }
 
+    /**
+     * Returns a Publisher that emits the changes to the entries having a given tag.
+     *
+     * The first change, emitted on subscription, has all the tagged entries as updated.
+     * Thereafter a change is emitted only when an entry gains or loses the tag, or when
+     * a tagged entry is modified, and it contains only those entries. Changes to other
+     * objects are not emitted.
+     *
+     * @property tag a tag string
+     */
+    fun watch(tag: String): Publisher<TaggedChange<T>> = Flux.defer {
+        indexedObjects()
+        var previous: Map<String, T>? = null
+
+        Flux.from(watch()).handle<TaggedChange<T>> { snapshot, sink ->
+            val current = (snapshot as ObjectStoreSnapshot<T>).tagged(tag).associate { it.key to it.value }
+            val change = changeBetween(previous, current)
+            previous = current
+
+            if (change != null) {
+                sink.next(change)
+            }
+        }
+    }
+
     internal fun watchers() = watchers.size
 
     private fun objects() = objects.get()
 
+    private fun indexedObjects(): IndexedSnapshot<T> {
+        while (true) {
+            val current = objects.get()
+            val indexed = current.withTagIndex()
+            if (indexed === current || objects.compareAndSet(current, indexed)) {
+                return indexed
+            }
+        }
+    }
+
     override fun index() = objects.get().index
 
+    private fun changeBetween(previous: Map<String, T>?, current: Map<String, T>): TaggedChange<T>? {
+        if (previous == null) {
+            return TaggedChange(current, emptySet())
+        }
+        val updated = current.filter { (key, value) -> previous[key] !== value }
+        val removed = previous.keys.filterNot { it in current }.toSet()
+
+        return if (updated.isEmpty() && removed.isEmpty()) null else TaggedChange(updated, removed)
+    }
+
     internal fun addDispatchListener(key: String, listener: DispatchListener<T>) {
         notificationQueue.addDispatchListener(key, listener)
     }
@@ -0,0 +1,24 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.routing.db
+
+/**
+ * A change to the set of entries that have a tag, as emitted by [StyxObjectStore.watch].
+ *
+ * @property updated entries that gained the tag or were modified, by name
+ * @property removed names of the entries that lost the tag or were removed
+ */
+data class TaggedChange<T>(val updated: Map<String, T>, val removed: Set<String>)
@@ -20,7 +20,6 @@ import com.hotels.styx.api.Eventual
 import com.hotels.styx.api.HttpInterceptor
 import com.hotels.styx.api.Id
 import com.hotels.styx.api.LiveHttpRequest
-import com.hotels.styx.api.configuration.ObjectStore
 import com.hotels.styx.api.extension.ActiveOrigins
 import com.hotels.styx.api.extension.Origin
 import com.hotels.styx.api.extension.Origin.newOriginBuilder
@@ -28,6 +27,8 @@ import com.hotels.styx.api.extension.RemoteHost
 import com.hotels.styx.api.extension.RemoteHost.remoteHost
 import com.hotels.styx.api.extension.loadbalancing.spi.LoadBalancer
 import com.hotels.styx.api.extension.loadbalancing.spi.LoadBalancingMetricSupplier
+import com.hotels.styx.api.extension.service.HedgingConfig
+import com.hotels.styx.api.extension.service.RetryBudgetConfig
 import com.hotels.styx.api.extension.service.StickySessionConfig
 import com.hotels.styx.client.OriginRestrictionLoadBalancingStrategy
 import com.hotels.styx.client.StyxBackendServiceClient
@@ -36,6 +37,7 @@ import com.hotels.styx.client.stickysession.StickySessionLoadBalancingStrategy
 import com.hotels.styx.config.schema.SchemaDsl.bool
 import com.hotels.styx.config.schema.SchemaDsl.field
 import com.hotels.styx.config.schema.SchemaDsl.integer
+import com.hotels.styx.config.schema.SchemaDsl.number
 import com.hotels.styx.config.schema.SchemaDsl.`object`
 import com.hotels.styx.config.schema.SchemaDsl.optional
 import com.hotels.styx.config.schema.SchemaDsl.string
@@ -45,6 +47,7 @@ import com.hotels.styx.routing.RoutingObject
 import com.hotels.styx.routing.RoutingObjectRecord
 import com.hotels.styx.routing.config.RoutingObjectFactory
 import com.hotels.styx.routing.config.StyxObjectDefinition
+import com.hotels.styx.routing.db.TaggedChange
 import com.hotels.styx.stateTag
 import org.slf4j.LoggerFactory
 import reactor.core.Disposable
@@ -75,6 +78,17 @@ internal class LoadBalancingGroup(val client: StyxBackendServiceClient, val chan
                 optional("stickySession", `object`(
                         field("enabled", bool()),
                         field("timeoutSeconds", integer())
+                )),
+                optional("hedging", `object`(
+                        field("enabled", bool()),
+                        optional("delayMillis", integer()),
+                        optional("percentile", number()),
+                        optional("budgetPercent", integer())
+                )),
+                optional("retryBudget", `object`(
+                        field("enabled", bool()),
+                        optional("percent", integer()),
+                        optional("burst", integer())
                 ))
         )
 
@@ -89,35 +103,40 @@ internal class LoadBalancingGroup(val client: StyxBackendServiceClient, val chan
 
             val routeDb = context.routeDb()
             val remoteHosts = AtomicReference<Set<RemoteHost>>(setOf())
+            val activeMembers = HashMap<String, RemoteHost>()
 
-            val watch = routeDb.watch()
+            val watch = routeDb.watch(lbGroupTag(config.origins))
                     .toFlux()
                     .subscribe(
-                            { routeDatabaseChanged(config.origins, it, remoteHosts) },
+                            { routeDatabaseChanged(config.origins, it, activeMembers, remoteHosts) },
                             { watchFailed(appId, it) },
                             { watchCompleted(appId) }
                     )
 
 
+            val activeOrigins = object: ActiveOrigins {
+                override fun  snapshot(): Iterable<RemoteHost> {
+                    return remoteHosts.get();
+                }
+
+                override fun getApplicationId(): String {
+                    return "";
+                }
+
+                override fun origins(): MutableList<Origin> {
+                    return arrayListOf();
+                }
+            }
+
             val client = StyxBackendServiceClient.Builder(Id.id(appId))
-                    .loadBalancer(loadBalancer(config, object: ActiveOrigins {
-                        override fun  snapshot(): Iterable<RemoteHost> {
-                            return remoteHosts.get();
-                        }
-
-                        override fun getApplicationId(): String {
-                            return "";
-                        }
-
-                        override fun origins(): MutableList<Origin> {
-                            return arrayListOf();
-                        }
-                    }
-                    ))
+                    .loadBalancer(loadBalancer(config, activeOrigins))
+                    .activeOrigins(activeOrigins)
                     .metrics(context.environment().centralisedMetrics())
                     .originIdHeader(context.environment().configuration().styxHeaderConfig().originIdHeaderName())
                     .stickySessionConfig(config.stickySession ?: StickySessionConfig.stickySessionDisabled())
                     .originsRestrictionCookieName(config.originRestrictionCookie)
+                    .hedgingConfig(config.hedging ?: HedgingConfig.hedgingDisabled())
+                    .retryBudgetConfig(config.retryBudget ?: RetryBudgetConfig.retryBudgetDisabled())
                     .build()
 
             return LoadBalancingGroup(client, watch)
@@ -134,16 +153,22 @@ internal class LoadBalancingGroup(val client: StyxBackendServiceClient, val chan
             }
         }
 
-        private fun routeDatabaseChanged(appId: String, snapshot: ObjectStore<RoutingObjectRecord>, remoteHosts: AtomicReference<Set<RemoteHost>>) {
-            val newSet = snapshot.entrySet()
-                    .filter { it.value.tags.contains(lbGroupTag(appId)) }
-                    .filter { stateTag.find(it.value.tags)
-                            .let { it == null || it == "active" }
-                    }
-                    .map { toRemoteHost(appId, it) }
-                    .toSet()
+        private fun routeDatabaseChanged(
+            appId: String,
+            change: TaggedChange<RoutingObjectRecord>,
+            activeMembers: MutableMap<String, RemoteHost>,
+            remoteHosts: AtomicReference<Set<RemoteHost>>
+        ) {
+            change.removed.forEach { activeMembers.remove(it) }
+            change.updated.entries.forEach { member ->
+                if (stateTag.find(member.value.tags).let { it == null || it == "active" }) {
+                    activeMembers[member.key] = toRemoteHost(appId, member)
+                } else {
+                    activeMembers.remove(member.key)
+                }
+            }
 
-            remoteHosts.set(newSet)
+            remoteHosts.set(activeMembers.values.toSet())
         }
 
         private fun toRemoteHost(appId: String, record: Map.Entry<String, RoutingObjectRecord>): RemoteHost {
@@ -173,7 +198,9 @@ internal class LoadBalancingGroup(val client: StyxBackendServiceClient, val chan
     data class Config(
             @JsonProperty val origins: String,
             @JsonProperty val originRestrictionCookie: String?,
-            @JsonProperty val stickySession: StickySessionConfig?
+            @JsonProperty val stickySession: StickySessionConfig?,
+            @JsonProperty val hedging: HedgingConfig? = null,
+            @JsonProperty val retryBudget: RetryBudgetConfig? = null
     ) {
         val stickySessionConfig: StickySessionConfig
             get() = stickySession ?: StickySessionConfig.stickySessionDisabled()
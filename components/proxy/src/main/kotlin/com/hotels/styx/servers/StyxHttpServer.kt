@@ -45,6 +45,8 @@ object StyxHttpServer {
             field("port", integer()),
             field("handler", string()),
             optional("compressResponses", bool()),
+            optional("coalesceResponseWrites", bool()),
+            optional("http2", bool()),
             optional("tlsSettings", `object`(
                     optional("sslProvider", string()),
                     optional("certificateFile", string()),
@@ -85,6 +87,8 @@ private data class StyxHttpServerConfiguration(
         val port: Int,
         val handler: String,
         val compressResponses: Boolean = false,
+        val coalesceResponseWrites: Boolean = false,
+        val http2: Boolean = false,
         val tlsSettings: StyxHttpServerTlsSettings?,
 
         val maxInitialLength: Int = 4096,
@@ -120,6 +124,7 @@ internal class StyxHttpServerFactory : StyxServerFactory {
                         ProxyConnectorFactory(
                                 ProxyServerConfig.Builder()
                                         .setCompressResponses(config.compressResponses)
+                                        .setCoalesceResponseWrites(config.coalesceResponseWrites)
                                         .setMaxInitialLength(config.maxInitialLength)
                                         .setMaxHeaderSize(config.maxHeaderSize)
                                         .setRequestTimeoutMillis(config.requestTimeoutMillis)
@@ -140,10 +145,11 @@ internal class StyxHttpServerFactory : StyxServerFactory {
                                 null)
                                 .create(
                                         if (config.tlsSettings == null) {
-                                            HttpConnectorConfig(config.port)
+                                            HttpConnectorConfig(config.port, config.http2)
                                         } else {
                                             HttpsConnectorConfig.Builder()
                                                     .port(config.port)
+                                                    .http2(config.http2)
                                                     .sslProvider(config.tlsSettings.sslProvider)
                                                     .certificateFile(config.tlsSettings.certificateFile)
                                                     .certificateKeyFile(config.tlsSettings.certificateKeyFile)
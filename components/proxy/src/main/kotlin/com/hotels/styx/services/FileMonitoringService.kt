@@ -16,15 +16,17 @@
 package com.hotels.styx.services
 
 import com.hotels.styx.api.extension.service.spi.AbstractStyxService
-import com.hotels.styx.proxy.backends.file.FileChangeMonitor
+import com.hotels.styx.proxy.backends.file.FileWatchMonitor
 import org.slf4j.LoggerFactory
 import java.nio.charset.StandardCharsets.UTF_8
 import java.nio.file.Files
 import java.nio.file.Paths
 import java.time.Duration
+import java.util.Arrays
 import java.util.concurrent.CompletableFuture
 
 private val oneSecond = Duration.ofSeconds(1)
+private val debounce = Duration.ofMillis(100)
 
 class FileMonitoringService(
         name: String,
@@ -34,8 +36,12 @@ class FileMonitoringService(
         ) : AbstractStyxService(name) {
     val LOGGER = LoggerFactory.getLogger(FileMonitoringService::class.java)
 
-    // NOTE: FileChangeMonitor rejects any non-existing paths:
-    val monitor = FileChangeMonitor(path, Duration.ofSeconds(0), pollInterval)
+    // NOTE: FileWatchMonitor rejects any non-existing paths.
+    // The poll interval is only used when the file system cannot be watched:
+    val monitor = FileWatchMonitor(path, debounce, pollInterval)
+
+    @Volatile
+    private var content: ByteArray? = null
 
     override fun startService() = CompletableFuture.runAsync {
         monitor.start {
@@ -51,8 +57,11 @@ class FileMonitoringService(
         runCatching {
             Files.readAllBytes(Paths.get(path))
         }.mapCatching {
-            val string = String(it, UTF_8)
-            action.invoke(string)
+            // A file can be rewritten with the same content:
+            if (!Arrays.equals(it, content)) {
+                action.invoke(String(it, UTF_8))
+                content = it
+            }
         }.onFailure {
             LOGGER.warn("Unable to read file {}. Cause={}", path, it.localizedMessage)
         }
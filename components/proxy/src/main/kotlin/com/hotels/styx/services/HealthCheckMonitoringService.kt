@@ -122,9 +122,8 @@ internal class HealthCheckMonitoringService(
     fun isRunning() = futureRef.get()?.let { !it.isCancelled && !it.isDone } == true
 
     internal fun runChecks(application: String, objectStore: StyxObjectStore<RoutingObjectRecord>) {
-        val monitoredObjects = objectStore.entrySet()
+        val monitoredObjects = objectStore.tagged(lbGroupTag(application))
                 .map { Pair(it.key, it.value) }
-                .filter { (_, record) -> record.tags.contains(lbGroupTag(application)) }
                 .map { (name, record) ->
                     val tags = record.tags
                     val objectHealth = objectHealthFrom(stateTag.find(tags), healthCheckTag.find(tags))
@@ -1,5 +1,5 @@
 /*
-  Copyright (C) 2013-2023 Expedia Inc.
+  Copyright (C) 2013-2026 Expedia Inc.
 
   Licensed under the Apache License, Version 2.0 (the "License");
   you may not use this file except in compliance with the License.
@@ -28,6 +28,8 @@ import com.hotels.styx.api.extension.Origin
 import com.hotels.styx.api.extension.service.BackendService
 import com.hotels.styx.api.extension.service.ConnectionPoolSettings
 import com.hotels.styx.api.extension.service.HealthCheckConfig
+import com.hotels.styx.api.extension.service.HedgingConfig
+import com.hotels.styx.api.extension.service.RetryBudgetConfig
 import com.hotels.styx.api.extension.service.StickySessionConfig
 import com.hotels.styx.api.extension.service.TcpKeepAliveSettings
 import com.hotels.styx.api.extension.service.TlsSettings
@@ -147,7 +149,8 @@ internal class OriginsConfigConverter(
                         origin,
                         "origins",
                         app.isOverrideHostHeader(),
-                        app.tcpKeepAliveSettings()))
+                        app.tcpKeepAliveSettings(),
+                        app.httpVersion()))
     }
 
     private fun hostProxyConfig(poolSettings: ConnectionPoolSettings,
@@ -157,7 +160,8 @@ internal class OriginsConfigConverter(
                                 origin: Origin,
                                 metricsPrefix: String,
                                 overrideHostHeader: Boolean,
-                                tcpKeepAliveSettings: TcpKeepAliveSettings?): JsonNode = MAPPER.valueToTree(
+                                tcpKeepAliveSettings: TcpKeepAliveSettings?,
+                                httpVersion: String?): JsonNode = MAPPER.valueToTree(
             HostProxyConfiguration(
                     "${origin.host()}:${origin.port()}",
                     poolSettings,
@@ -167,7 +171,8 @@ internal class OriginsConfigConverter(
                     metricsPrefix,
                     executor,
                     overrideHostHeader,
-                    tcpKeepAliveSettings))
+                    tcpKeepAliveSettings,
+                    httpVersion))
 
     companion object {
         val LOGGER = LoggerFactory.getLogger(this::class.java)
@@ -189,7 +194,7 @@ internal class OriginsConfigConverter(
             StyxObjectDefinition(
                     "${app.id()}",
                     LOAD_BALANCING_GROUP,
-                    loadBalancingGroupConfig(app.id().toString(), originRestrictionCookie, app.stickySessionConfig()))
+                    loadBalancingGroupConfig(app.id().toString(), originRestrictionCookie, app.stickySessionConfig(), hedgingConfig(app), retryBudgetConfig(app)))
         } else {
             interceptorPipelineConfig(app, originRestrictionCookie)
         }
@@ -199,8 +204,14 @@ internal class OriginsConfigConverter(
 
         private fun loadBalancingGroupConfig(origins: String,
                                              originRestrictionCookie: String?,
-                                             stickySession: StickySessionConfig?): JsonNode = MAPPER.valueToTree(
-                LoadBalancingGroup.Config(origins, originRestrictionCookie, stickySession))
+                                             stickySession: StickySessionConfig?,
+                                             hedging: HedgingConfig?,
+                                             retryBudget: RetryBudgetConfig?): JsonNode = MAPPER.valueToTree(
+                LoadBalancingGroup.Config(origins, originRestrictionCookie, stickySession, hedging, retryBudget))
+
+        private fun hedgingConfig(app: BackendService): HedgingConfig? = app.hedgingConfig().takeIf { it.hedgingEnabled() }
+
+        private fun retryBudgetConfig(app: BackendService): RetryBudgetConfig? = app.retryBudgetConfig().takeIf { it.retryBudgetEnabled() }
 
         internal fun interceptorPipelineConfig(app: BackendService, originRestrictionCookie: String?): StyxObjectDefinition {
             val rewrites = app.rewrites()
@@ -215,7 +226,7 @@ internal class OriginsConfigConverter(
                 """.trimIndent()
                     .replace("__rewrites__", rewrites)
 
-            val lbConfig = MAPPER.writeValueAsString(loadBalancingGroupConfig(app.id().toString(), originRestrictionCookie, app.stickySessionConfig()))
+            val lbConfig = MAPPER.writeValueAsString(loadBalancingGroupConfig(app.id().toString(), originRestrictionCookie, app.stickySessionConfig(), hedgingConfig(app), retryBudgetConfig(app)))
                     .dropWhile { it == '-' || it == '\n' }
                     .prependIndent("  ")
 
@@ -70,6 +70,10 @@ internal class YamlFileConfigurationService(
     @Volatile
     private var originsConfig = ""
 
+    // Routing object definitions from the last applied configuration, by name:
+    @Volatile
+    private var appliedObjectDefs = mapOf<String, StyxObjectDefinition>()
+
     companion object {
         @JvmField
         val SCHEMA = SchemaDsl.`object`(
@@ -146,6 +150,9 @@ internal class YamlFileConfigurationService(
 
     private fun changed(one: JsonNode, another: JsonNode) = !one.equals(another)
 
+    private fun changed(one: StyxObjectDefinition, another: StyxObjectDefinition) =
+            one.type() != another.type() || one.tags() != another.tags() || changed(one.config(), another.config())
+
     internal fun updateRoutingObjects(objectDefs: List<StyxObjectDefinition>) {
         val previousObjectNames = routeDb.entrySet()
                 .filter { it.value.tags.contains(objectSourceTag) }
@@ -154,7 +161,16 @@ internal class YamlFileConfigurationService(
         val newObjectNames = objectDefs.map { it.name() }
         val removedObjects = previousObjectNames.minus(newObjectNames)
 
-        objectDefs.forEach { objectDef ->
+        // Only the definitions that differ from the last applied configuration are considered:
+        val previousObjectDefs = appliedObjectDefs
+        val changedObjectDefs = objectDefs.filter { objectDef ->
+            previousObjectDefs[objectDef.name()]
+                    ?.let { changed(objectDef, it) || !routeDb.get(objectDef.name()).isPresent }
+                    ?: true
+        }
+        LOGGER.debug("Routing objects changed={}, removed={}", changedObjectDefs.map { it.name() }, removedObjects)
+
+        changedObjectDefs.forEach { objectDef ->
             routeDb.compute(objectDef.name()) { previous ->
                 if (previous == null || changed(objectDef.config(), previous.config)) {
                     previous?.routingObject?.stop()
@@ -170,6 +186,8 @@ internal class YamlFileConfigurationService(
                 it.routingObject.stop()
             }
         }
+
+        appliedObjectDefs = objectDefs.associateBy { it.name() }
     }
 
     private fun updateHealthCheckServices(objectDb: StyxObjectStore<ProviderObjectRecord>, objects: List<Pair<String, ProviderObjectRecord>>): Unit {
@@ -0,0 +1,70 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.admin.handlers;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hotels.styx.admin.handlers.ChunkedContent.chunkedContent;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+public class ChunkedContentTest {
+    private static final String CHUNK = "x".repeat(16 * 1024);
+
+    @Test
+    public void writesContentOnlyAsFastAsItIsRequested() {
+        AtomicInteger chunksWritten = new AtomicInteger();
+
+        Flux<?> body = Flux.from(chunkedContent(false, writer -> {
+            for (int i = 0; i < 10; i++) {
+                writer.write(CHUNK);
+                chunksWritten.incrementAndGet();
+            }
+        }));
+
+        StepVerifier.create(body, 1)
+                .expectNextCount(1)
+                .thenAwait(Duration.ofMillis(200))
+                .then(() -> assertThat(chunksWritten.get(), lessThanOrEqualTo(2)))
+                .thenRequest(Long.MAX_VALUE)
+                .expectNextCount(9)
+                .verifyComplete();
+    }
+
+    @Test
+    public void stopsWritingWhenCancelled() {
+        AtomicInteger chunksWritten = new AtomicInteger();
+
+        Flux<?> body = Flux.from(chunkedContent(false, writer -> {
+            while (true) {
+                writer.write(CHUNK);
+                chunksWritten.incrementAndGet();
+            }
+        }));
+
+        StepVerifier.create(body, 1)
+                .expectNextCount(1)
+                .thenCancel()
+                .verify();
+
+        assertThat(chunksWritten.get(), lessThanOrEqualTo(2));
+    }
+}
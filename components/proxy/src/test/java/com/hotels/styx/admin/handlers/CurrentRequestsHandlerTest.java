@@ -56,8 +56,7 @@ public class CurrentRequestsHandlerTest {
     @Test
     public void testStackTraceForSentRequest() {
         Thread.currentThread().setName("Test-Thread-1");
-        tracker.trackRequest(req1);
-        tracker.markRequestAsSent(req1);
+        tracker.markRequestAsSent(tracker.trackRequest(req1));
         HttpResponse response = Mono.from(handler.handle(adminRequest, requestContext())).block();
         assertThat(response.bodyAs(UTF_8).contains("Request state: Waiting response from origin."), is(true));
     }
@@ -15,6 +15,7 @@
  */
 package com.hotels.styx.admin.handlers;
 
+import com.hotels.styx.api.HttpRequest;
 import com.hotels.styx.api.HttpResponse;
 import com.hotels.styx.api.metrics.codahale.CodaHaleMetricRegistry;
 import com.hotels.styx.api.metrics.codahale.NoopMetricRegistry;
@@ -23,7 +24,9 @@ import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Mono;
 
+import java.io.ByteArrayInputStream;
 import java.util.Optional;
+import java.util.zip.GZIPInputStream;
 
 import static com.hotels.styx.api.HttpHeaderValues.APPLICATION_JSON;
 import static com.hotels.styx.support.Support.requestContext;
@@ -48,7 +51,7 @@ public class MetricsHandlerTest {
 
     @Test
     public void respondsToRequestWithJsonResponse() {
-        HttpResponse response = Mono.from(handler.handle(get("/admin/metrics").build(), requestContext())).block();
+        HttpResponse response = handle(get("/admin/metrics").build());
         assertThat(response.status(), is(OK));
         assertThat(response.contentType().get(), is(APPLICATION_JSON.toString()));
     }
@@ -57,7 +60,7 @@ public class MetricsHandlerTest {
     @Test
     public void exposesRegisteredMetrics() {
         metricRegistry.counter("foo").inc();
-        HttpResponse response = Mono.from(handler.handle(get("/admin/metrics").build(), requestContext())).block();
+        HttpResponse response = handle(get("/admin/metrics").build());
         assertThat(response.bodyAs(UTF_8), matchesRegex(quote("{\"version\":\"") +
                 "\\d+\\.\\d+\\.\\d+" +
                 quote("\",\"gauges\":{},\"counters\":{\"foo\":{\"count\":1}},\"histograms\":{},\"meters\":{},\"timers\":{}}")));
@@ -69,13 +72,13 @@ public class MetricsHandlerTest {
         metricRegistry.counter("foo.bar.baz").inc(1);
         metricRegistry.counter("foo.barx").inc(1); // should not be included
 
-        HttpResponse response = Mono.from(handler.handle(get("/admin/metrics/foo.bar").build(), requestContext())).block();
+        HttpResponse response = handle(get("/admin/metrics/foo.bar").build());
         assertThat(response.bodyAs(UTF_8), is("{\"foo.bar\":{\"count\":1},\"foo.bar.baz\":{\"count\":1}}"));
     }
 
     @Test
     public void ifNoMetricsMatchNameThen404NotFoundIsReturned() {
-        HttpResponse response = Mono.from(handler.handle(get("/admin/metrics/foo.bar").build(), requestContext())).block();
+        HttpResponse response = handle(get("/admin/metrics/foo.bar").build());
         assertThat(response.status(), is(NOT_FOUND));
     }
 
@@ -86,7 +89,7 @@ public class MetricsHandlerTest {
         metricRegistry.counter("baz.bar.foo").inc(1);
         metricRegistry.counter("foo.baz.a").inc(1);
 
-        HttpResponse response =  Mono.from(handler.handle(get("/admin/metrics/?filter=bar").build(), requestContext())).block();
+        HttpResponse response = handle(get("/admin/metrics/?filter=bar").build());
         assertThat(response.status(), is(OK));
         assertThat(response.bodyAs(UTF_8), is("{" +
                 "\"baz.bar.foo\":{\"count\":1}," +
@@ -103,7 +106,7 @@ public class MetricsHandlerTest {
         metricRegistry.counter("foo.baz.a").inc(1);
         metricRegistry.counter("foo.baz.a.bar").inc(1);
 
-        HttpResponse response = Mono.from(handler.handle(get("/admin/metrics/foo?filter=bar").build(), requestContext())).block();
+        HttpResponse response = handle(get("/admin/metrics/foo?filter=bar").build());
         assertThat(response.status(), is(OK));
         assertThat(response.bodyAs(UTF_8), is("{" +
                 "\"foo.bar.a\":{\"count\":1}," +
@@ -117,8 +120,29 @@ public class MetricsHandlerTest {
         metricRegistry.counter("foo.bar.a").inc(1);
         metricRegistry.counter("foo.bar.b").inc(1);
 
-        HttpResponse response = Mono.from(handler.handle(get("/admin/metrics/?filter=notpresent").build(), requestContext())).block();
+        HttpResponse response = handle(get("/admin/metrics/?filter=notpresent").build());
         assertThat(response.status(), is(OK));
         assertThat(response.bodyAs(UTF_8), is("{}"));
     }
+
+    @Test
+    public void compressesMetricsWhenClientAcceptsGzip() throws Exception {
+        metricRegistry.counter("foo.bar").inc(1);
+
+        HttpResponse response = handle(get("/admin/metrics/foo").header("Accept-Encoding", "gzip, deflate").build());
+        assertThat(response.status(), is(OK));
+        assertThat(response.header("Content-Encoding"), is(Optional.of("gzip")));
+        assertThat(gunzip(response.body()), is("{\"foo.bar\":{\"count\":1}}"));
+    }
+
+    private HttpResponse handle(HttpRequest request) {
+        return Mono.from(handler.handle(request.stream(), requestContext())
+                .flatMap(response -> response.aggregate(1024 * 1024))).block();
+    }
+
+    private static String gunzip(byte[] content) throws Exception {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(content))) {
+            return new String(in.readAllBytes(), UTF_8);
+        }
+    }
 }
@@ -0,0 +1,116 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.admin.handlers;
+
+import com.hotels.styx.api.HttpRequest;
+import com.hotels.styx.api.HttpResponse;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import io.prometheus.client.exporter.common.TextFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+import static com.hotels.styx.api.HttpRequest.get;
+import static com.hotels.styx.api.HttpResponseStatus.OK;
+import static com.hotels.styx.support.Support.requestContext;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+public class PrometheusHandlerTest {
+    private PrometheusMeterRegistry registry;
+    private PrometheusHandler handler;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        registry.counter("foo.requests").increment();
+        registry.counter("bar.requests").increment(2);
+        handler = new PrometheusHandler(registry);
+    }
+
+    @Test
+    public void respondsWithPrometheusTextFormat() {
+        HttpResponse response = handle(get("/metrics").build());
+
+        assertThat(response.status(), is(OK));
+        assertThat(response.header("Content-Type"), is(Optional.of(TextFormat.CONTENT_TYPE_004)));
+        assertThat(response.bodyAs(UTF_8), is(registry.scrape()));
+    }
+
+    @Test
+    public void respondsWithOpenMetricsTextFormatWhenAccepted() {
+        HttpResponse response = handle(get("/metrics").header("Accept", "application/openmetrics-text; version=1.0.0").build());
+
+        assertThat(response.header("Content-Type"), is(Optional.of(TextFormat.CONTENT_TYPE_OPENMETRICS_100)));
+        assertThat(response.bodyAs(UTF_8), containsString("foo_requests_total 1.0"));
+        assertThat(response.bodyAs(UTF_8), endsWith("# EOF\n"));
+    }
+
+    @Test
+    public void scrapesOnlyNamedMetrics() {
+        HttpResponse response = handle(get("/metrics?name%5B%5D=foo_requests_total").build());
+
+        assertThat(response.bodyAs(UTF_8), containsString("foo_requests_total 1.0"));
+        assertThat(response.bodyAs(UTF_8), not(containsString("bar_requests_total")));
+    }
+
+    @Test
+    public void compressesScrapeWhenClientAcceptsGzip() throws Exception {
+        HttpResponse response = handle(get("/metrics").header("Accept-Encoding", "gzip").build());
+
+        assertThat(response.header("Content-Encoding"), is(Optional.of("gzip")));
+        assertThat(gunzip(response.body()), is(registry.scrape()));
+    }
+
+    @Test
+    public void doesNotCompressWhenGzipIsRefused() {
+        HttpResponse response = handle(get("/metrics").header("Accept-Encoding", "gzip;q=0, identity").build());
+
+        assertThat(response.header("Content-Encoding"), is(Optional.empty()));
+        assertThat(response.bodyAs(UTF_8), is(registry.scrape()));
+    }
+
+    @Test
+    public void streamsLargeScrapesInSeveralChunks() {
+        for (int i = 0; i < 2000; i++) {
+            registry.counter("many.requests", "origin", "origin-" + i).increment();
+        }
+
+        HttpResponse response = handle(get("/metrics").build());
+
+        assertThat(response.bodyAs(UTF_8), is(registry.scrape()));
+    }
+
+    private HttpResponse handle(HttpRequest request) {
+        return Mono.from(handler.handle(request.stream(), requestContext())
+                .flatMap(response -> response.aggregate(10 * 1024 * 1024))).block();
+    }
+
+    private static String gunzip(byte[] content) throws Exception {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(content))) {
+            return new String(in.readAllBytes(), UTF_8);
+        }
+    }
+}
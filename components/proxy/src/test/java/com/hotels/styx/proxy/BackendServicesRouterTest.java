@@ -39,6 +39,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static com.hotels.styx.api.HttpResponseStatus.OK;
 import static com.hotels.styx.api.LiveHttpRequest.get;
@@ -54,6 +55,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.ArgumentCaptor.forClass;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -256,6 +258,31 @@ public class BackendServicesRouterTest {
         verify(clientFactory).createClient(eq(bookingAppMinusOneOrigin), any(OriginsInventory.class), any(OriginStatsFactory.class));
     }
 
+    @Test
+    public void publishesNewRoutesBeforeClosingReplacedClient() {
+        BackendServiceClientFactory clientFactory = mock(BackendServiceClientFactory.class);
+        when(clientFactory.createClient(any(BackendService.class), any(OriginsInventory.class), any(OriginStatsFactory.class)))
+                .thenReturn(mock(BackendServiceClient.class));
+
+        BackendServicesRouter router = new BackendServicesRouter(clientFactory, environment, executor);
+        router.onChange(added(appB()));
+
+        ArgumentCaptor<OriginsInventory> originsInventory = forClass(OriginsInventory.class);
+        verify(clientFactory).createClient(eq(appB()), originsInventory.capture(), any(OriginStatsFactory.class));
+
+        AtomicReference<Optional<HttpHandler>> routeWhenClosed = new AtomicReference<>();
+        originsInventory.getValue().addOriginsChangeListener(snapshot -> {
+            if (originsInventory.getValue().closed()) {
+                routeWhenClosed.set(router.route(get("/appB/").build(), context));
+            }
+        });
+
+        router.onChange(updated(bookingAppMinusOneOrigin()));
+
+        assertThat(originsInventory.getValue().closed(), is(true));
+        assertThat(routeWhenClosed.get().get(), is(sameInstance(router.routes().get("/appB/"))));
+    }
+
     @Test
     public void closesClientWhenBackendServicesAreRemoved() {
         BackendServiceClient firstClient = mock(BackendServiceClient.class);
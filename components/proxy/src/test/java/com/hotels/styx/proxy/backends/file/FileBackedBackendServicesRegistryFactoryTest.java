@@ -112,11 +112,11 @@ public class FileBackedBackendServicesRegistryFactoryTest {
     }
 
     @Test
-    public void createsWithFileChangeMonitor() {
+    public void createsWithFileWatchMonitor() {
         Configuration configuration = mockConfiguration(Optional.of(monitoredFile.toString()), Optional.of(new FileMonitorSettings(true)));
 
         FileBackedBackendServicesRegistry registry = (FileBackedBackendServicesRegistry)new FileBackedBackendServicesRegistry.Factory().create(environment, configuration);
-        assertThat(registry.monitor(), instanceOf(FileChangeMonitor.class));
+        assertThat(registry.monitor(), instanceOf(FileWatchMonitor.class));
     }
 
     private Configuration mockConfiguration(Optional<String> path) {
@@ -0,0 +1,161 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.proxy.backends.file;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.copy;
+import static java.nio.file.Files.createTempDirectory;
+import static java.nio.file.Files.delete;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class FileWatchMonitorTest {
+    private Path tempDir;
+    private Path monitoredFile;
+    private Path otherFile;
+    private FileWatcher watcher;
+    private FileMonitor.Listener listener;
+    private FileWatchMonitor monitor;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        tempDir = createTempDirectory("");
+        monitoredFile = tempDir.resolve("origins.yml");
+        otherFile = tempDir.resolve("other.yml");
+        write(monitoredFile, "content-v0");
+        write(otherFile, "other-v0");
+        watcher = new FileWatcher("FileWatchMonitorTest");
+        listener = mock(FileMonitor.Listener.class);
+        monitor = newMonitor(monitoredFile);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        monitor.stop();
+        for (Path path : new Path[]{monitoredFile, otherFile}) {
+            try {
+                delete(path);
+            } catch (NoSuchFileException cause) {
+                // Pass ...
+            }
+        }
+
+        delete(tempDir);
+    }
+
+    @Test
+    public void throwExceptionIfFileDoesNotExist() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new FileWatchMonitor("/nonexistant/file"));
+    }
+
+    @Test
+    public void canBeStartedOnlyOnce() {
+        monitor.start(listener);
+        Exception e = assertThrows(IllegalStateException.class,
+                () -> monitor.start(listener));
+        assertThat(e.getMessage(), matchesPattern("File monitor for '.*' is already started"));
+    }
+
+    @Test
+    public void notifiesListenersWhenStarted() {
+        monitor.start(listener);
+        verify(listener, times(1)).fileChanged();
+    }
+
+    @Test
+    public void notifiesListenersOnFileChange() throws Exception {
+        monitor.start(listener);
+        verify(listener, times(1)).fileChanged();
+
+        for (int i = 2; i < 6; i++) {
+            write(monitoredFile, format("content-v%d", i));
+            verify(listener, timeout(3000).times(i)).fileChanged();
+        }
+    }
+
+    @Test
+    public void ignoresChangesToOtherFilesInTheSameDirectory() throws Exception {
+        monitor.start(listener);
+
+        write(otherFile, "other-v1");
+        verify(listener, after(500).times(1)).fileChanged();
+    }
+
+    @Test
+    public void recoversFromFileDeletions() throws Exception {
+        monitor.start(listener);
+
+        delete(monitoredFile);
+        verify(listener, after(500).times(1)).fileChanged();
+
+        write(monitoredFile, "some new content");
+        verify(listener, timeout(3000).times(2)).fileChanged();
+    }
+
+    @Test
+    public void sharesDirectoryRegistrationBetweenMonitors() throws Exception {
+        FileMonitor.Listener otherListener = mock(FileMonitor.Listener.class);
+        FileWatchMonitor otherMonitor = newMonitor(otherFile);
+
+        monitor.start(listener);
+        otherMonitor.start(otherListener);
+        assertThat(watcher.watchedDirectories(), is(1));
+
+        write(otherFile, "other-v1");
+        verify(otherListener, timeout(3000).times(2)).fileChanged();
+
+        otherMonitor.stop();
+        assertThat(watcher.watchedDirectories(), is(1));
+        monitor.stop();
+        assertThat(watcher.watchedDirectories(), is(0));
+    }
+
+    @Test
+    public void stopsNotifyingWhenStopped() throws Exception {
+        monitor.start(listener);
+        monitor.stop();
+
+        write(monitoredFile, "content-v1");
+        verify(listener, after(500).times(1)).fileChanged();
+    }
+
+    private FileWatchMonitor newMonitor(Path file) {
+        return new FileWatchMonitor(file.toString(), Duration.ofMillis(20), Duration.ofMillis(50), watcher);
+    }
+
+    private static void write(Path path, String text) throws Exception {
+        copy(new ByteArrayInputStream(text.getBytes(UTF_8)), path, REPLACE_EXISTING);
+    }
+}
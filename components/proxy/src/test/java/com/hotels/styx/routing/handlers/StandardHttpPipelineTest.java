@@ -18,8 +18,11 @@ package com.hotels.styx.routing.handlers;
 import com.hotels.styx.api.Eventual;
 import com.hotels.styx.api.HttpHandler;
 import com.hotels.styx.api.HttpInterceptor;
+import com.hotels.styx.api.LiveHttpRequest;
 import com.hotels.styx.api.LiveHttpResponse;
 import com.hotels.styx.server.HttpInterceptorContext;
+import com.hotels.styx.server.track.CurrentRequest;
+import com.hotels.styx.server.track.CurrentRequestTracker;
 import com.hotels.styx.server.track.RequestTracker;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -30,6 +33,7 @@ import reactor.core.publisher.Mono;
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
@@ -38,6 +42,7 @@ import static com.hotels.styx.support.Support.requestContext;
 import static com.hotels.styx.api.HttpResponseStatus.OK;
 import static com.hotels.styx.api.LiveHttpRequest.get;
 import static com.hotels.styx.api.LiveHttpResponse.response;
+import static com.hotels.styx.server.track.RequestTracker.CURRENT_REQUEST;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -45,6 +50,10 @@ import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 public class StandardHttpPipelineTest {
     @Test
@@ -182,6 +191,39 @@ public class StandardHttpPipelineTest {
                 () -> Mono.from(responseObservable).block());
     }
 
+    @Test
+    public void tracksRequestOnceWhenInterceptorsRunOnTheSameThread() {
+        CurrentRequestTracker tracker = spy(new CurrentRequestTracker());
+        HttpInterceptor passThrough = (request, chain) -> chain.proceed(request);
+        StandardHttpPipeline pipeline = new StandardHttpPipeline(asList(passThrough, passThrough, passThrough),
+                (request, context) -> Eventual.of(response(OK).build()), tracker);
+
+        LiveHttpRequest request = get("/").build();
+        CurrentRequest currentRequest = tracker.trackRequest(request);
+        Mono.from(pipeline.handle(request, trackingContext(currentRequest))).block();
+
+        verify(tracker, never()).trackRequest(currentRequest);
+        verify(tracker).markRequestAsSent(currentRequest);
+    }
+
+    @Test
+    public void tracksRequestAgainWhenInterceptorMovesItToAnotherThread() {
+        CurrentRequestTracker tracker = spy(new CurrentRequestTracker());
+        HttpInterceptor passThrough = (request, chain) -> chain.proceed(request);
+        HttpInterceptor changesThread = (request, chain) ->
+                Eventual.from(CompletableFuture.supplyAsync(() -> chain.proceed(request)))
+                        .flatMap(response -> response);
+        StandardHttpPipeline pipeline = new StandardHttpPipeline(asList(passThrough, changesThread, passThrough),
+                (request, context) -> Eventual.of(response(OK).build()), tracker);
+
+        LiveHttpRequest request = get("/").build();
+        CurrentRequest currentRequest = tracker.trackRequest(request);
+        Mono.from(pipeline.handle(request, trackingContext(currentRequest))).block();
+
+        verify(tracker, times(1)).trackRequest(currentRequest);
+        assertThat(currentRequest.currentThread() == Thread.currentThread(), is(false));
+    }
+
     private static Stream<Arguments> multipleSubscriptionInterceptors() {
         return Stream.of(
                 Arguments.of(subscribeInPluginBeforeSubscription())
@@ -215,6 +257,12 @@ public class StandardHttpPipelineTest {
         return Mono.from(pipeline.handle(get("/").build(), context)).block();
     }
 
+    private static HttpInterceptor.Context trackingContext(CurrentRequest currentRequest) {
+        HttpInterceptor.Context context = new HttpInterceptorContext(false, null, Runnable::run);
+        context.add(CURRENT_REQUEST, currentRequest);
+        return context;
+    }
+
     private StandardHttpPipeline pipeline(HttpInterceptor... interceptors) {
         return new StandardHttpPipeline(asList(interceptors), (request, context) -> Eventual.of(response(OK).build()), RequestTracker.NO_OP);
     }
@@ -57,6 +57,8 @@ public class TlsSettingsTest {
                 .cipherSuites(List.of("TLS_RSA_WITH_AES_128_CBC_SHA"))
                 .sendSni(false)
                 .sniHost("some.sni.host")
+                .sessionCacheSize(100)
+                .sessionTimeoutSeconds(60)
                 .build();
 
         String result = mapper.writerWithDefaultPrettyPrinter().writeValueAsString(tlsSettings);
@@ -73,6 +75,8 @@ public class TlsSettingsTest {
 
         assertThat(result, containsString("\"sendSni\" : " + tlsSettings.sendSni()));
         assertThat(result, containsString("\"sniHost\" : \"" + tlsSettings.sniHost().orElse("") + "\""));
+        assertThat(result, containsString("\"sessionCacheSize\" : 100"));
+        assertThat(result, containsString("\"sessionTimeoutSeconds\" : 60"));
 
     }
 
@@ -90,6 +94,41 @@ public class TlsSettingsTest {
         assertThat(tlsSettings.cipherSuites(), is(Collections.emptyList()));
         assertThat(tlsSettings.sendSni(), is(true));
         assertThat(tlsSettings.sniHost(), is(Optional.empty()));
+        assertThat(tlsSettings.sessionCacheSize(), is(1024));
+        assertThat(tlsSettings.sessionTimeoutSeconds(), is(300));
+    }
+
+    @Test
+    public void deserialisesSessionCacheSettings() throws Exception {
+        TlsSettings tlsSettings = mapper.readValue("{\"sessionCacheSize\": 100, \"sessionTimeoutSeconds\": 60}", TlsSettings.class);
+
+        assertThat(tlsSettings.sessionCacheSize(), is(100));
+        assertThat(tlsSettings.sessionTimeoutSeconds(), is(60));
+    }
+
+    @Test
+    public void sessionCacheSizeMustBePositive() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TlsSettings.Builder()
+                .sessionCacheSize(0)
+                .build());
+    }
+
+    @Test
+    public void sessionTimeoutMustBePositive() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TlsSettings.Builder()
+                .sessionTimeoutSeconds(0)
+                .build());
+    }
+
+    @Test
+    public void equalsToConsidersSessionCacheSettings() {
+        TlsSettings defaults = new TlsSettings.Builder().build();
+
+        assertThat(new TlsSettings.Builder().sessionCacheSize(100).build().equals(defaults), is(false));
+        assertThat(new TlsSettings.Builder().sessionTimeoutSeconds(60).build().equals(defaults), is(false));
+        assertThat(new TlsSettings.Builder().sessionCacheSize(100).build(), is(new TlsSettings.Builder().sessionCacheSize(100).build()));
     }
 
     @Test
@@ -23,6 +23,7 @@ import io.kotest.matchers.collections.shouldBeEmpty
 import io.kotest.matchers.collections.shouldNotBeEmpty
 import io.kotest.matchers.ints.shouldBeGreaterThanOrEqual
 import io.kotest.matchers.longs.shouldBeGreaterThanOrEqual
+import io.kotest.matchers.maps.shouldBeEmpty
 import io.kotest.matchers.shouldBe
 import io.kotest.matchers.shouldNotBe
 import reactor.core.publisher.Flux
@@ -549,6 +550,82 @@ class StyxObjectStoreTest : FeatureSpec() {
                 }
             }
         }
+
+        feature("Tag index") {
+            scenario("Retrieves entries by tag") {
+                val db = StyxObjectStore<TaggedRecord>()
+                db.insert("a-01", TaggedRecord("a-01", "lbGroup=a", "state=active"))
+                db.insert("a-02", TaggedRecord("a-02", "lbGroup=a"))
+                db.insert("b-01", TaggedRecord("b-01", "lbGroup=b", "state=active"))
+
+                db.tagged("lbGroup=a").map { it.key }.toSet() shouldBe setOf("a-01", "a-02")
+                db.tagged("state=active").map { it.key }.toSet() shouldBe setOf("a-01", "b-01")
+                db.tagged("lbGroup=c").shouldBeEmpty()
+            }
+
+            scenario("Keeps index up to date with modifications") {
+                val db = StyxObjectStore<TaggedRecord>()
+                db.insert("a-01", TaggedRecord("a-01", "lbGroup=a", "state=active"))
+                db.insert("a-02", TaggedRecord("a-02", "lbGroup=a", "state=active"))
+
+                db.compute("a-01") { it!!.copy(tags = setOf("lbGroup=a", "state=unreachable")) }
+                db.insert("a-02", TaggedRecord("a-02", "lbGroup=b"))
+
+                db.tagged("state=active").shouldBeEmpty()
+                db.tagged("state=unreachable").map { it.key } shouldBe listOf("a-01")
+                db.tagged("lbGroup=a").map { it.value.name } shouldBe listOf("a-01")
+
+                db.remove("a-01")
+                db.tagged("lbGroup=a").shouldBeEmpty()
+                db.tagged("lbGroup=b").map { it.key } shouldBe listOf("a-02")
+            }
+
+            scenario("Does not index untagged objects") {
+                val db = StyxObjectStore<String>()
+                db.insert("x", "lbGroup=a")
+
+                db.tagged("lbGroup=a").shouldBeEmpty()
+            }
+
+            scenario("Tag watch emits only changes to tagged entries") {
+                val db = StyxObjectStore<TaggedRecord>()
+                db.insert("a-01", TaggedRecord("a-01", "lbGroup=a"))
+
+                StepVerifier.create(db.watch("lbGroup=a"))
+                        .assertNext {
+                            it.updated.keys shouldBe setOf("a-01")
+                            it.removed.shouldBeEmpty()
+                        }
+                        .then {
+                            db.insert("b-01", TaggedRecord("b-01", "lbGroup=b"))
+                            db.insert("a-02", TaggedRecord("a-02", "lbGroup=a"))
+                        }
+                        .assertNext {
+                            it.updated.keys shouldBe setOf("a-02")
+                            it.removed.shouldBeEmpty()
+                        }
+                        .then {
+                            db.insert("b-02", TaggedRecord("b-02", "lbGroup=b"))
+                            db.compute("a-01") { it!!.copy(tags = setOf("lbGroup=a", "state=active")) }
+                        }
+                        .assertNext {
+                            it.updated.keys shouldBe setOf("a-01")
+                            it.updated["a-01"]!!.tags shouldBe setOf("lbGroup=a", "state=active")
+                        }
+                        .then { db.remove("a-02") }
+                        .assertNext {
+                            it.updated.shouldBeEmpty()
+                            it.removed shouldBe setOf("a-02")
+                        }
+                        .thenCancel()
+                        .verify(4.seconds.toJavaDuration())
+
+                db.watchers() shouldBe 0
+            }
+        }
     }
 
+    private data class TaggedRecord(val name: String, override val tags: Set<String>) : Tagged {
+        constructor(name: String, vararg tags: String) : this(name, tags.toSet())
+    }
 }
@@ -32,11 +32,17 @@ import com.hotels.styx.api.HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE
 import com.hotels.styx.api.HttpResponseStatus.REQUEST_TIMEOUT
 import com.hotels.styx.api.LiveHttpRequest
 import com.hotels.styx.api.extension.Origin.newOriginBuilder
+import com.hotels.styx.api.extension.service.ConnectionPoolSettings
+import com.hotels.styx.api.extension.service.Http2ConnectionPoolSettings
+import com.hotels.styx.api.extension.service.TlsSettings
 import com.hotels.styx.client.ConnectionSettings
 import com.hotels.styx.client.DummyContext
 import com.hotels.styx.client.StyxHttpClient
+import com.hotels.styx.client.connectionpool.Http2ConnectionPool
+import com.hotels.styx.client.netty.connectionpool.Http2ConnectionFactory
 import com.hotels.styx.client.netty.connectionpool.NettyConnectionFactory
 import com.hotels.styx.configBlock
+import com.hotels.styx.NettyExecutor
 import com.hotels.styx.executorObjects
 import com.hotels.styx.ref
 import com.hotels.styx.routeLookup
@@ -114,6 +120,116 @@ class StyxHttpServerTest : FeatureSpec({
         }
     }
 
+    feature("HTTP/2 request handling") {
+        val h2cServer = StyxHttpServerFactory().create("test-01", routingContext.get(), configBlock("""
+                port: 0
+                handler: aHandler
+                http2: true
+              """.trimIndent()), db)
+
+        val h2Server = StyxHttpServerFactory().create("test-02", routingContext.get(), configBlock("""
+                port: 0
+                handler: aHandler
+                http2: true
+                tlsSettings:
+                  certificateFile: $crtFile
+                  certificateKeyFile: $keyFile
+                  sslProvider: JDK
+              """.trimIndent()), db)
+
+        val guavaServers = listOf(toGuavaService(h2cServer), toGuavaService(h2Server))
+
+        try {
+            guavaServers.forEach { it.startAsync().awaitRunning() }
+
+            scenario("Serves concurrent streams over a plain text HTTP/2 connection") {
+                val port = h2cServer.inetAddress()!!.port
+                val connection = createHttp2Connection(port, null)
+
+                val stream1 = connection.openStream().blockRequired()
+                val stream2 = connection.openStream().blockRequired()
+
+                // Both requests are sent before either response is read:
+                Flux.merge(listOf(stream1, stream2)
+                        .map { it.write(get("/bar").header(HOST, "localhost:$port").build().stream(), DummyContext) })
+                        .flatMap { it.aggregate(1024) }
+                        .collectList()
+                        .blockRequired()
+                        .let { responses ->
+                            responses.size shouldBe 2
+                            responses.forEach {
+                                it.status() shouldBe OK
+                                it.bodyAs(UTF_8) shouldBe "Hello, test!"
+                            }
+                        }
+
+                connection.isConnected shouldBe (true)
+                connection.close()
+            }
+
+            scenario("Multiplexes pooled requests over one HTTP/2 connection") {
+                val port = h2cServer.inetAddress()!!.port
+                val pool = Http2ConnectionPool(
+                        newOriginBuilder("localhost", port).build(),
+                        ConnectionPoolSettings.Builder()
+                                .http2ConnectionPoolSettings(Http2ConnectionPoolSettings(1, 1, 10, 10))
+                                .build(),
+                        Http2ConnectionFactory.Builder().executor(http2ClientExecutor).build())
+
+                Flux.range(0, 5)
+                        .flatMap { pool.borrowConnection() }
+                        .flatMap { stream ->
+                            stream.write(get("/bar").header(HOST, "localhost:$port").build().stream(), DummyContext)
+                                    .flatMap { it.aggregate(1024) }
+                                    .doOnTerminate { pool.returnConnection(stream) }
+                        }
+                        .collectList()
+                        .blockRequired()
+                        .forEach {
+                            it.status() shouldBe OK
+                            it.bodyAs(UTF_8) shouldBe "Hello, test!"
+                        }
+
+                pool.stats().connectionAttempts() shouldBe 1
+                pool.stats().busyConnectionCount() shouldBe 0
+                pool.close()
+            }
+
+            scenario("Still serves HTTP/1.1 requests when HTTP/2 is enabled") {
+                StyxHttpClient.Builder().build()
+                        .send(get("/bar")
+                                .header(HOST, "localhost:${h2cServer.inetAddress()!!.port}")
+                                .build())
+                        .wait()
+                        .let {
+                            it.status() shouldBe OK
+                            it.bodyAs(UTF_8) shouldBe "Hello, test!"
+                        }
+            }
+
+            scenario("Negotiates HTTP/2 with ALPN over TLS") {
+                val port = h2Server.inetAddress()!!.port
+                val connection = createHttp2Connection(port, TlsSettings.Builder().build())
+
+                connection.openStream().blockRequired()
+                        .write(get("/bar").header(HOST, "localhost:$port").build().stream(), DummyContext)
+                        .toMono()
+                        .blockRequired()
+                        .aggregate(1024)
+                        .toMono()
+                        .blockRequired()
+                        .let {
+                            it.status() shouldBe OK
+                            it.bodyAs(UTF_8) shouldBe "Hello, test!"
+                        }
+
+                connection.close()
+            }
+        } finally {
+            guavaServers.forEach { it.stopAsync().awaitTerminated() }
+        }
+    }
+
     feature("Response compression") {
 
         val serverConfig = configBlock("""
@@ -377,6 +493,15 @@ private fun createConnection(port: Int) = NettyConnectionFactory.Builder()
         .createConnection(newOriginBuilder("localhost", port).build(), ConnectionSettings(250))
         .blockRequired()
 
+private val http2ClientExecutor = NettyExecutor.create("StyxHttpServerTest-Http2-Client", 1)
+
+private fun createHttp2Connection(port: Int, tlsSettings: TlsSettings?) = Http2ConnectionFactory.Builder()
+        .executor(http2ClientExecutor)
+        .tlsSettings(tlsSettings)
+        .build()
+        .createConnection(newOriginBuilder("localhost", port).build(), ConnectionSettings(1000))
+        .blockRequired()
+
 private val response = response(OK)
         .header("source", "secure")
         .header("content-type", "text/plain")
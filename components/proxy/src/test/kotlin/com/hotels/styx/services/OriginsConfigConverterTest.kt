@@ -74,6 +74,65 @@ class OriginsConfigConverterTest : StringSpec({
                 }
     }
 
+    "Translates hedging configuration to a LoadBalancingGroup" {
+        val config = """
+            ---
+            - id: "app"
+              path: "/"
+              hedging:
+                enabled: true
+                delayMillis: 50
+                percentile: 99.5
+                budgetPercent: 5
+              origins:
+              - { id: "app1", host: "localhost:9090" }
+              - { id: "app2", host: "localhost:9091" }
+            """.trimIndent()
+
+        OriginsConfigConverter(serviceDb, ctx, "")
+                .routingObjects(deserialiseOrigins(config))
+                .let {
+                    it.size shouldBe 3
+
+                    it[2].name() shouldBe "app"
+                    it[2].type().shouldBe("LoadBalancingGroup")
+                    it[2].config()["hedging"].let { hedging ->
+                        hedging["enabled"].booleanValue() shouldBe true
+                        hedging["delayMillis"].intValue() shouldBe 50
+                        hedging["percentile"].doubleValue() shouldBe 99.5
+                        hedging["budgetPercent"].intValue() shouldBe 5
+                    }
+                }
+    }
+
+    "Translates retry budget configuration to a LoadBalancingGroup" {
+        val config = """
+            ---
+            - id: "app"
+              path: "/"
+              retryBudget:
+                enabled: true
+                percent: 10
+                burst: 5
+              origins:
+              - { id: "app1", host: "localhost:9090" }
+            """.trimIndent()
+
+        OriginsConfigConverter(serviceDb, ctx, "")
+                .routingObjects(deserialiseOrigins(config))
+                .let {
+                    it.size shouldBe 2
+
+                    it[1].name() shouldBe "app"
+                    it[1].type().shouldBe("LoadBalancingGroup")
+                    it[1].config()["retryBudget"].let { retryBudget ->
+                        retryBudget["enabled"].booleanValue() shouldBe true
+                        retryBudget["percent"].intValue() shouldBe 10
+                        retryBudget["burst"].intValue() shouldBe 5
+                    }
+                }
+    }
+
     "Translates a HostProxy object with overrideHostHeader" {
         val config = """
             ---
@@ -15,6 +15,7 @@
  */
 package com.hotels.styx.server;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.util.Objects;
@@ -24,9 +25,16 @@ import java.util.Objects;
  */
 public class HttpConnectorConfig implements ConnectorConfig {
     private int port;
+    private final boolean http2;
 
-    public HttpConnectorConfig(@JsonProperty("port") Integer port) {
+    public HttpConnectorConfig(Integer port) {
+        this(port, false);
+    }
+
+    @JsonCreator
+    public HttpConnectorConfig(@JsonProperty("port") Integer port, @JsonProperty("http2") Boolean http2) {
         this.port = port;
+        this.http2 = http2 != null && http2;
     }
 
     public HttpConnectorConfig port(int port) {
@@ -44,9 +52,19 @@ public class HttpConnectorConfig implements ConnectorConfig {
         return "http";
     }
 
+    /**
+     * Whether HTTP/2 is accepted on this connector. Plain text connectors accept HTTP/2
+     * with prior knowledge (h2c), and TLS connectors negotiate it with ALPN.
+     *
+     * @return true if HTTP/2 is enabled
+     */
+    public boolean http2Enabled() {
+        return http2;
+    }
+
     @Override
     public int hashCode() {
-        return Objects.hashCode(port);
+        return Objects.hash(port, http2);
     }
 
     @Override
@@ -58,7 +76,8 @@ public class HttpConnectorConfig implements ConnectorConfig {
             return false;
         }
         final HttpConnectorConfig other = (HttpConnectorConfig) obj;
-        return Objects.equals(this.port, other.port);
+        return Objects.equals(this.port, other.port)
+                && this.http2 == other.http2;
     }
 
 
@@ -68,6 +87,8 @@ public class HttpConnectorConfig implements ConnectorConfig {
                 .append(this.getClass().getSimpleName())
                 .append("{port=")
                 .append(port)
+                .append(", http2=")
+                .append(http2)
                 .append('}')
                 .toString();
     }
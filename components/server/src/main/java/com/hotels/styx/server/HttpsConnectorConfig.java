@@ -44,7 +44,7 @@ public final class HttpsConnectorConfig extends HttpConnectorConfig {
     private final List<String> protocols;
 
     private HttpsConnectorConfig(Builder builder) {
-        super(builder.port);
+        super(builder.port, builder.http2);
         this.sslProvider = builder.sslProvider;
         this.certificateFile = builder.certificateFile;
         this.certificateKeyFile = builder.certificateKeyFile;
@@ -143,6 +143,8 @@ public final class HttpsConnectorConfig extends HttpConnectorConfig {
                 .append(this.getClass().getSimpleName())
                 .append("{port=")
                 .append(port())
+                .append(", http2=")
+                .append(http2Enabled())
                 .append(", sslProvider=")
                 .append(sslProvider)
                 .append(", certificateFile=")
@@ -173,6 +175,7 @@ public final class HttpsConnectorConfig extends HttpConnectorConfig {
     @JsonPOJOBuilder(withPrefix = "")
     public static class Builder {
         private int port;
+        private boolean http2;
 
         private String sslProvider = "JDK";
         private String certificateFile;
@@ -188,6 +191,11 @@ public final class HttpsConnectorConfig extends HttpConnectorConfig {
             return this;
         }
 
+        public Builder http2(boolean http2) {
+            this.http2 = http2;
+            return this;
+        }
+
         public Builder sslProvider(String sslProvider) {
             this.sslProvider = requireNonNull(sslProvider);
             return this;
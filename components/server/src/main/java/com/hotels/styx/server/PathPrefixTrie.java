@@ -0,0 +1,215 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.server;
+
+import java.util.Arrays;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Maps string prefixes to values for a longest matching prefix retrieval.
+ * <p>
+ * Unlike {@link PathTrie}, prefixes are plain character prefixes: a prefix "/foo" matches
+ * "/foo", "/foo/bar" and "/foobar", exactly as {@link String#startsWith(String)} would.
+ * An empty prefix matches every path.
+ * <p>
+ * Implementation notes:
+ * <p>
+ * The prefixes are stored in a compressed radix tree. Each edge is labelled with a
+ * fragment of one or more characters, and the children of a node are indexed by the
+ * first character of their label. A lookup therefore takes time proportional to the
+ * length of the path, independently of the number of prefixes, and compares
+ * characters in place without creating substrings of the path.
+ * <p>
+ * Lookups are thread safe as long as the trie is not modified concurrently. The intended
+ * usage is to populate a trie and then publish it, replacing it with a new trie when the
+ * prefixes change.
+ *
+ * @param <T> the type of mapped values
+ */
+public class PathPrefixTrie<T> {
+    private final Node<T> root = new Node<>("", null);
+    private int size;
+
+    /**
+     * Maps a prefix to a value, replacing any value previously mapped to the same prefix.
+     *
+     * @param prefix path prefix
+     * @param value  value to map prefix to
+     * @return previous value mapped to the prefix, or null if there was none
+     */
+    public T put(String prefix, T value) {
+        return insert(prefix, value, true);
+    }
+
+    /**
+     * Maps a prefix to a value, unless the prefix is already mapped.
+     *
+     * @param prefix path prefix
+     * @param value  value to map prefix to
+     * @return existing value mapped to the prefix, or null if the new value was added
+     */
+    public T putIfAbsent(String prefix, T value) {
+        return insert(prefix, value, false);
+    }
+
+    /**
+     * Returns the value mapped to the longest prefix of a path.
+     *
+     * @param path request path
+     * @return value of the longest matching prefix, or null if no prefix matches
+     */
+    public T longestPrefixOf(CharSequence path) {
+        Node<T> node = root;
+        T best = root.value;
+        int position = 0;
+
+        while (position < path.length()) {
+            node = node.child(path.charAt(position));
+            if (node == null || !node.labelMatches(path, position)) {
+                break;
+            }
+            position += node.label.length();
+            if (node.value != null) {
+                best = node.value;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Number of prefixes in the trie.
+     *
+     * @return number of prefixes
+     */
+    public int size() {
+        return size;
+    }
+
+    private T insert(String prefix, T value, boolean replace) {
+        requireNonNull(prefix);
+        requireNonNull(value);
+
+        Node<T> node = root;
+        int position = 0;
+
+        while (position < prefix.length()) {
+            Node<T> child = node.child(prefix.charAt(position));
+            if (child == null) {
+                node.addChild(new Node<>(prefix.substring(position), value));
+                size++;
+                return null;
+            }
+
+            int common = child.commonPrefixLength(prefix, position);
+            if (common < child.label.length()) {
+                child = node.split(child, common);
+            }
+            node = child;
+            position += common;
+        }
+
+        T existing = node.value;
+        if (existing == null) {
+            node.value = value;
+            size++;
+        } else if (replace) {
+            node.value = value;
+        }
+        return existing;
+    }
+
+    private static final class Node<T> {
+        private static final char[] NO_KEYS = new char[0];
+
+        private String label;
+        private T value;
+
+        // Children sorted by the first character of their label:
+        private char[] keys = NO_KEYS;
+        private Node<T>[] children = newArray(0);
+
+        Node(String label, T value) {
+            this.label = label;
+            this.value = value;
+        }
+
+        Node<T> child(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        boolean labelMatches(CharSequence path, int offset) {
+            int length = label.length();
+            if (path.length() - offset < length) {
+                return false;
+            }
+            // The first character has already been matched by the child lookup:
+            for (int i = 1; i < length; i++) {
+                if (label.charAt(i) != path.charAt(offset + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        int commonPrefixLength(String prefix, int offset) {
+            int max = Math.min(label.length(), prefix.length() - offset);
+            int i = 0;
+            while (i < max && label.charAt(i) == prefix.charAt(offset + i)) {
+                i++;
+            }
+            return i;
+        }
+
+        void addChild(Node<T> child) {
+            char key = child.label.charAt(0);
+            int insertionPoint = -(Arrays.binarySearch(keys, key) + 1);
+
+            char[] newKeys = new char[keys.length + 1];
+            Node<T>[] newChildren = newArray(children.length + 1);
+
+            System.arraycopy(keys, 0, newKeys, 0, insertionPoint);
+            System.arraycopy(children, 0, newChildren, 0, insertionPoint);
+            newKeys[insertionPoint] = key;
+            newChildren[insertionPoint] = child;
+            System.arraycopy(keys, insertionPoint, newKeys, insertionPoint + 1, keys.length - insertionPoint);
+            System.arraycopy(children, insertionPoint, newChildren, insertionPoint + 1, children.length - insertionPoint);
+
+            this.keys = newKeys;
+            this.children = newChildren;
+        }
+
+        //
+        // Splits the label of a child node at given position, inserting a new intermediate node:
+        //
+        //    [this] --"foobar"--> [child]   becomes   [this] --"foo"--> [intermediate] --"bar"--> [child]
+        //
+        Node<T> split(Node<T> child, int position) {
+            Node<T> intermediate = new Node<>(child.label.substring(0, position), null);
+            child.label = child.label.substring(position);
+            intermediate.addChild(child);
+
+            children[Arrays.binarySearch(keys, intermediate.label.charAt(0))] = intermediate;
+            return intermediate;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> Node<T>[] newArray(int length) {
+            return (Node<T>[]) new Node[length];
+        }
+    }
+}
@@ -51,6 +51,7 @@ public class NettyServerConfig {
     private int keepAliveTimeoutMillis = 12000;
     private int maxConnectionsCount = 512;
     private boolean compressResponses;
+    private boolean coalesceResponseWrites;
 
     private final Optional<HttpConnectorConfig> httpConnectorConfig;
     private final Optional<HttpsConnectorConfig> httpsConnectorConfig;
@@ -77,6 +78,7 @@ public class NettyServerConfig {
         this.httpConnectorConfig = Optional.ofNullable(builder.httpConnectorConfig);
         this.httpsConnectorConfig = Optional.ofNullable(builder.httpsConnectorConfig);
         this.compressResponses = builder.compressResponses;
+        this.coalesceResponseWrites = builder.coalesceResponseWrites;
         this.connectors = connectorsIterable();
     }
 
@@ -188,6 +190,15 @@ public class NettyServerConfig {
         return compressResponses;
     }
 
+    /**
+     * Whether response writes should be coalesced into fewer flushes.
+     *
+     * @return true if response write coalescing is enabled
+     */
+    public boolean coalesceResponseWrites() {
+        return coalesceResponseWrites;
+    }
+
     /**
      * Builder.
      *
@@ -207,6 +218,7 @@ public class NettyServerConfig {
         protected HttpConnectorConfig httpConnectorConfig;
         protected HttpsConnectorConfig httpsConnectorConfig;
         protected boolean compressResponses;
+        protected boolean coalesceResponseWrites;
 
         public Builder httpPort(int port) {
             return (T) setHttpConnector(new HttpConnectorConfig(port));
@@ -308,6 +320,12 @@ public class NettyServerConfig {
             return (T) this;
         }
 
+        @JsonProperty("coalesceResponseWrites")
+        public T setCoalesceResponseWrites(boolean coalesceResponseWrites) {
+            this.coalesceResponseWrites = coalesceResponseWrites;
+            return (T) this;
+        }
+
         public NettyServerConfig build() {
             return new NettyServerConfig(this);
         }
@@ -18,6 +18,7 @@ package com.hotels.styx.server.netty.codec;
 import com.google.common.annotations.VisibleForTesting;
 import com.hotels.styx.api.Buffers;
 import com.hotels.styx.api.ByteStream;
+import com.hotels.styx.api.HttpHeaders;
 import com.hotels.styx.api.HttpMethod;
 import com.hotels.styx.api.HttpVersion;
 import com.hotels.styx.api.LiveHttpRequest;
@@ -49,10 +50,9 @@ import static com.google.common.collect.Iterables.getOnlyElement;
 import static com.google.common.collect.Iterables.size;
 import static com.hotels.styx.api.HttpHeaderNames.EXPECT;
 import static com.hotels.styx.api.HttpHeaderNames.HOST;
-import static com.hotels.styx.server.UniqueIdSuppliers.UUID_VERSION_ONE_SUPPLIER;
+import static com.hotels.styx.server.UniqueIdSuppliers.SEQUENTIAL_ID_SUPPLIER;
 import static com.hotels.styx.server.netty.codec.UnwiseCharsEncoder.IGNORE;
 import static java.util.Objects.requireNonNull;
-import static java.util.stream.StreamSupport.stream;
 
 /**
  * This {@link MessageToMessageDecoder} is responsible for decode {@link io.netty.handler.codec.http.HttpRequest}
@@ -95,7 +95,10 @@ public final class NettyToStyxRequestDecoder extends MessageToMessageDecoder<Htt
                 HttpRequest request = (HttpRequest) httpObject;
                 LiveHttpRequest styxRequest = toStyxRequest(request, contentPublisher);
                 out.add(styxRequest);
-            } else if (httpObject instanceof HttpContent && contentBuffer != null) {
+            }
+
+            // HTTP/2 streams deliver a request without a body as a single FullHttpRequest:
+            if (httpObject instanceof HttpContent && contentBuffer != null) {
                 contentBuffer.addChunk(content(httpObject));
 
                 if (httpObject instanceof LastHttpContent) {
@@ -174,12 +177,10 @@ public final class NettyToStyxRequestDecoder extends MessageToMessageDecoder<Htt
             .method(toStyxMethod(request.method()))
             .url(url)
             .version(toStyxVersion(request.protocolVersion()))
-            .id(uniqueIdSupplier.get())
+            .id(uniqueIdSupplier.id())
+            .headers(HttpHeaders.fromNettyHeaders(request.headers()))
             .body(new ByteStream(content.map(Buffers::fromByteBuf)));
 
-        stream(request.headers().spliterator(), false)
-            .forEach(entry -> requestBuilder.addHeader(entry.getKey(), entry.getValue()));
-
         return requestBuilder;
     }
 
@@ -240,7 +241,7 @@ public final class NettyToStyxRequestDecoder extends MessageToMessageDecoder<Htt
      */
     public static final class Builder {
         private boolean flowControlEnabled;
-        private UniqueIdSupplier uniqueIdSupplier = UUID_VERSION_ONE_SUPPLIER;
+        private UniqueIdSupplier uniqueIdSupplier = SEQUENTIAL_ID_SUPPLIER;
         private UnwiseCharsEncoder unwiseCharEncoder = IGNORE;
         private HttpMessageFormatter httpMessageFormatter = new DefaultHttpMessageFormatter();
 
@@ -37,6 +37,8 @@ import com.hotels.styx.metrics.ContextualTimers;
 import com.hotels.styx.server.HttpErrorStatusListener;
 import com.hotels.styx.server.HttpInterceptorContext;
 import com.hotels.styx.server.RequestProgressListener;
+import com.hotels.styx.server.RequestProgressListener.RequestProgress;
+import com.hotels.styx.server.track.CurrentRequest;
 import com.hotels.styx.server.track.RequestTracker;
 import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
 import io.netty.channel.ChannelHandlerContext;
@@ -70,6 +72,7 @@ import static com.hotels.styx.server.netty.connectors.HttpPipelineHandler.State.
 import static com.hotels.styx.server.netty.connectors.HttpPipelineHandler.State.TERMINATED;
 import static com.hotels.styx.server.netty.connectors.HttpPipelineHandler.State.WAITING_FOR_RESPONSE;
 import static com.hotels.styx.server.netty.connectors.ResponseEnhancer.DO_NOT_MODIFY_RESPONSE;
+import static com.hotels.styx.server.track.RequestTracker.CURRENT_REQUEST;
 import static io.netty.channel.ChannelFutureListener.CLOSE;
 import static io.netty.handler.codec.http.LastHttpContent.EMPTY_LAST_CONTENT;
 import static java.lang.String.format;
@@ -99,6 +102,8 @@ public class HttpPipelineHandler extends SimpleChannelInboundHandler<LiveHttpReq
 
     private volatile Subscription subscription;
     private volatile LiveHttpRequest ongoingRequest;
+    private volatile RequestProgress ongoingProgress;
+    private volatile CurrentRequest trackedRequest;
     private volatile LiveHttpResponse ongoingResponse;
     private volatile LiveHttpRequest prematureRequest;
 
@@ -180,14 +185,30 @@ public class HttpPipelineHandler extends SimpleChannelInboundHandler<LiveHttpReq
     }
 
 
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+        // The pipeline is configured after the channel becomes active when
+        // the application protocol is negotiated (ALPN or HTTP/2 prior knowledge):
+        if (ctx.channel().isActive()) {
+            createEventProcessor(ctx);
+        }
+        super.handlerAdded(ctx);
+    }
+
     @Override
     public void channelActive(ChannelHandlerContext ctx) throws Exception {
-        String loggingPrefix = format("%s -> %s", ctx.channel().remoteAddress(), ctx.channel().localAddress());
-        this.eventProcessor = new QueueDrainingEventProcessor(new FsmEventProcessor<>(stateMachine, (throwable, state) -> {
-        }, loggingPrefix));
+        createEventProcessor(ctx);
         super.channelActive(ctx);
     }
 
+    private void createEventProcessor(ChannelHandlerContext ctx) {
+        if (this.eventProcessor == null) {
+            String loggingPrefix = format("%s -> %s", ctx.channel().remoteAddress(), ctx.channel().localAddress());
+            this.eventProcessor = new QueueDrainingEventProcessor(new FsmEventProcessor<>(stateMachine, (throwable, state) -> {
+            }, loggingPrefix));
+        }
+    }
+
     @Override
     protected void channelRead0(ChannelHandlerContext ctx, LiveHttpRequest request) throws Exception {
         eventProcessor.submit(new RequestReceivedEvent(request, ctx));
@@ -209,8 +230,8 @@ public class HttpPipelineHandler extends SimpleChannelInboundHandler<LiveHttpReq
         LOGGER.warn(warningMessage("message='Spurious request received while handling another request', spuriousRequest=" + request));
 
         metrics.proxy().server().requestsCancelled("spuriousRequest").increment();
-        statsSink.onTerminate(ongoingRequest.id());
-        tracker.endTrack(ongoingRequest);
+        ongoingProgress.onTerminate();
+        tracker.endTrack(trackedRequest);
         cancelSubscription();
         return TERMINATED;
     }
@@ -221,8 +242,8 @@ public class HttpPipelineHandler extends SimpleChannelInboundHandler<LiveHttpReq
 
             metrics.proxy().server().requestsCancelled("spuriousRequest").increment();
             cancelSubscription();
-            statsSink.onTerminate(ongoingRequest.id());
-            tracker.endTrack(ongoingRequest);
+            ongoingProgress.onTerminate();
+            tracker.endTrack(trackedRequest);
             future.cancel(false);
             ctx.close();
             return TERMINATED;
@@ -233,9 +254,9 @@ public class HttpPipelineHandler extends SimpleChannelInboundHandler<LiveHttpReq
     }
 
     private State onLegitimateRequest(LiveHttpRequest request, ChannelHandlerContext ctx) {
-        statsSink.onRequest(request.id());
+        ongoingProgress = statsSink.onRequest(request.id());
         LiveHttpRequest v11Request = request.newBuilder().version(HTTP_1_1).build();
-        tracker.trackRequest(request, () -> this.state().toString());
+        trackedRequest = tracker.trackRequest(request, () -> this.state().toString());
         ongoingRequest = request;
 
         // Note, it is possible for onCompleted, onError, and onNext events to be emitted in
@@ -245,6 +266,9 @@ public class HttpPipelineHandler extends SimpleChannelInboundHandler<LiveHttpReq
             ContextualTimers timers = new ContextualTimers();
 
             HttpInterceptorContext context = new HttpInterceptorContext(secure, remoteAddress(ctx), ctx.executor(), timers);
+            if (trackedRequest != null) {
+                context.add(CURRENT_REQUEST, trackedRequest);
+            }
             Eventual<LiveHttpResponse> responseEventual = httpPipeline.handle(v11Request, context);
             responseEventual.subscribe(new BaseSubscriber<>() {
                 @Override
@@ -280,8 +304,8 @@ public class HttpPipelineHandler extends SimpleChannelInboundHandler<LiveHttpReq
         } catch (Throwable cause) {
             LiveHttpResponse response = exceptionToResponse(cause, request, originsHeaderName);
             httpErrorStatusListener.proxyErrorOccurred(request, remoteAddress(ctx), response.status(), cause);
-            statsSink.onTerminate(request.id());
-            tracker.endTrack(ongoingRequest);
+            ongoingProgress.onTerminate();
+            tracker.endTrack(trackedRequest);
             if (ctx.channel().isActive()) {
                 respondAndClose(ctx, response);
             }
@@ -310,8 +334,8 @@ public class HttpPipelineHandler extends SimpleChannelInboundHandler<LiveHttpReq
     }
 
     private State onResponseSent(ChannelHandlerContext ctx) {
-        statsSink.onComplete(ongoingRequest.id(), ongoingResponse.status().code());
-        tracker.endTrack(ongoingRequest);
+        ongoingProgress.onComplete(ongoingResponse.status().code());
+        tracker.endTrack(trackedRequest);
         if (ongoingRequest.keepAlive()) {
             ongoingRequest = null;
             ongoingResponse = null;
@@ -330,8 +354,8 @@ public class HttpPipelineHandler extends SimpleChannelInboundHandler<LiveHttpReq
     }
 
     private State onResponseSentAfterClientClosed(ChannelHandlerContext ctx) {
-        statsSink.onComplete(ongoingRequest.id(), ongoingResponse.status().code());
-        tracker.endTrack(ongoingRequest);
+        ongoingProgress.onComplete(ongoingResponse.status().code());
+        tracker.endTrack(trackedRequest);
         ongoingRequest = null;
         ctx.close();
         return TERMINATED;
@@ -340,8 +364,8 @@ public class HttpPipelineHandler extends SimpleChannelInboundHandler<LiveHttpReq
     private State onResponseWriteError(ChannelHandlerContext ctx, Throwable cause) {
         metrics.proxy().server().requestsCancelled("responseWriteError").increment();
         cancelSubscription();
-        statsSink.onTerminate(ongoingRequest.id());
-        tracker.endTrack(ongoingRequest);
+        ongoingProgress.onTerminate();
+        tracker.endTrack(trackedRequest);
         ctx.channel().writeAndFlush(EMPTY_LAST_CONTENT).addListener(CLOSE);
 
         httpErrorStatusListener.proxyWriteFailure(ongoingRequest, ongoingResponse, cause);
@@ -356,16 +380,16 @@ public class HttpPipelineHandler extends SimpleChannelInboundHandler<LiveHttpReq
             future.cancel(false);
         }
         cancelSubscription();
-        statsSink.onTerminate(ongoingRequest.id());
-        tracker.endTrack(ongoingRequest);
+        ongoingProgress.onTerminate();
+        tracker.endTrack(trackedRequest);
         return TERMINATED;
     }
 
     private State onChannelExceptionWhenSendingResponse(ChannelHandlerContext ctx, Throwable cause) {
         metrics.proxy().server().requestsCancelled("channelExceptionWhileSendingResponse").increment();
         cancelSubscription();
-        statsSink.onTerminate(ongoingRequest.id());
-        tracker.endTrack(ongoingRequest);
+        ongoingProgress.onTerminate();
+        tracker.endTrack(trackedRequest);
         ctx.channel().writeAndFlush(EMPTY_LAST_CONTENT).addListener(CLOSE);
         httpErrorStatusListener.proxyErrorOccurred(cause);
 
@@ -374,8 +398,8 @@ public class HttpPipelineHandler extends SimpleChannelInboundHandler<LiveHttpReq
 
     private State onChannelExceptionWhenWaitingForResponse(ChannelHandlerContext ctx, Throwable cause) {
         metrics.proxy().server().requestsCancelled("channelExceptionWhileWaitingForResponse").increment();
-        statsSink.onTerminate(ongoingRequest.id());
-        tracker.endTrack(ongoingRequest);
+        ongoingProgress.onTerminate();
+        tracker.endTrack(trackedRequest);
         cancelSubscription();
         return handleChannelException(ctx, cause);
     }
@@ -457,15 +481,15 @@ public class HttpPipelineHandler extends SimpleChannelInboundHandler<LiveHttpReq
                         httpErrorStatusListener.proxyErrorOccurred(exception);
                     } else {
                         httpErrorStatusListener.proxyErrorOccurred(ongoingRequest, remoteAddress(ctx), response.status(), cause);
-                        statsSink.onComplete(ongoingRequest.id(), response.status().code());
-                        tracker.endTrack(ongoingRequest);
+                        ongoingProgress.onComplete(response.status().code());
+                        tracker.endTrack(trackedRequest);
                     }
                     ctx.close();
                     return null;
                 })
                 .handle((ignore, exception) -> {
-                    statsSink.onTerminate(ongoingRequest.id());
-                    tracker.endTrack(ongoingRequest);
+                    ongoingProgress.onTerminate();
+                    tracker.endTrack(trackedRequest);
                     if (exception != null) {
                         LOGGER.error(warningMessage("message='Error during write completion handling'"), exception);
                     }
@@ -483,8 +507,8 @@ public class HttpPipelineHandler extends SimpleChannelInboundHandler<LiveHttpReq
         }
 
         cancelSubscription();
-        statsSink.onTerminate(ongoingRequest.id());
-        tracker.endTrack(ongoingRequest);
+        ongoingProgress.onTerminate();
+        tracker.endTrack(trackedRequest);
         responseWriterFactory.create(ctx).write(response(INTERNAL_SERVER_ERROR).build())
                 .handle((dontCare, ignore) -> ctx.close());
         return TERMINATED;
@@ -702,6 +726,19 @@ public class HttpPipelineHandler extends SimpleChannelInboundHandler<LiveHttpReq
             return this;
         }
 
+        /**
+         * Enables write coalescing in response writers. By default, each response write is flushed separately.
+         *
+         * @param coalesceResponseWrites true to enable write coalescing
+         * @return this builder
+         */
+        public Builder coalesceResponseWrites(boolean coalesceResponseWrites) {
+            this.responseWriterFactory = coalesceResponseWrites
+                    ? ctx -> new HttpResponseWriter(ctx, true)
+                    : HttpResponseWriter::new;
+            return this;
+        }
+
         /**
          * Sets the meter registry. By default, the metrics will not be available.
          *
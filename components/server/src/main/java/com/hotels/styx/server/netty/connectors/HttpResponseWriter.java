@@ -22,7 +22,9 @@ import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
 import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.EmptyHttpHeaders;
 import org.reactivestreams.Subscription;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,17 +34,30 @@ import reactor.core.publisher.Flux;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
+import static io.netty.buffer.Unpooled.EMPTY_BUFFER;
 import static io.netty.handler.codec.http.HttpHeaders.setTransferEncodingChunked;
 import static io.netty.handler.codec.http.LastHttpContent.EMPTY_LAST_CONTENT;
 import static java.util.Objects.requireNonNull;
 
 /**
  * Netty HTTP response writer.
+ * <p>
+ * By default, the response headers and each content chunk are written and flushed one at a time,
+ * and the next content chunk is requested only when the previous one has been written.
+ * <p>
+ * When write coalescing is enabled, several content chunks are requested at once. They are
+ * written without flushing, and the channel is flushed once all the writes that arrived together
+ * have been made. A response whose content completes before the headers have been flushed is
+ * written as a single {@link io.netty.handler.codec.http.FullHttpResponse}.
  */
 class HttpResponseWriter {
     private static final Logger LOGGER = LoggerFactory.getLogger(HttpResponseWriter.class);
+
+    // Maximum number of content chunks requested, but not yet written, in coalescing mode:
+    private static final int COALESCING_WINDOW = 8;
     private final AtomicLong writeOps = new AtomicLong(0);
     private final AtomicLong contentBytesWritten = new AtomicLong(0);
     private final AtomicLong writeOpsAcked = new AtomicLong(0);
@@ -51,18 +66,31 @@ class HttpResponseWriter {
 
     private final ChannelHandlerContext ctx;
     private final ResponseTranslator responseTranslator;
+    private final boolean coalesceWrites;
 
     HttpResponseWriter(ChannelHandlerContext ctx) {
         this(ctx, new StyxToNettyResponseTranslator());
     }
 
     HttpResponseWriter(ChannelHandlerContext ctx, ResponseTranslator responseTranslator) {
+        this(ctx, responseTranslator, false);
+    }
+
+    HttpResponseWriter(ChannelHandlerContext ctx, boolean coalesceWrites) {
+        this(ctx, new StyxToNettyResponseTranslator(), coalesceWrites);
+    }
+
+    HttpResponseWriter(ChannelHandlerContext ctx, ResponseTranslator responseTranslator, boolean coalesceWrites) {
         this.ctx = requireNonNull(ctx);
         this.responseTranslator = requireNonNull(responseTranslator);
+        this.coalesceWrites = coalesceWrites;
     }
 
     // CHECKSTYLE:OFF
     public CompletableFuture<Void> write(LiveHttpResponse response) {
+        if (coalesceWrites) {
+            return writeCoalesced(response);
+        }
         CompletableFuture<Void> future = new CompletableFuture<>();
         try {
             writeHeaders(response).addListener((ChannelFutureListener) writeOp -> {
@@ -164,6 +192,21 @@ class HttpResponseWriter {
     }
     // CHECKSTYLE:ON
 
+    private CompletableFuture<Void> writeCoalesced(LiveHttpResponse response) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        io.netty.handler.codec.http.HttpResponse nettyResponse;
+        try {
+            nettyResponse = toNettyResponse(response);
+        } catch (Throwable cause) {
+            LOGGER.warn("Failed to convert response headers. response={}, Cause={}", new Object[]{response, cause});
+            Flux.from(response.body()).subscribe(it -> Buffers.toByteBuf(it).release());
+            future.completeExceptionally(cause);
+            return future;
+        }
+
+        response.body().subscribe(new CoalescingContentSubscriber(nettyResponse, future));
+        return future;
+    }
 
     private void completeIfAllSent(CompletableFuture<Void> future) {
         if (contentCompleted.get() && writeOps.get() == writeOpsAcked.get()) {
@@ -172,16 +215,219 @@ class HttpResponseWriter {
     }
 
     private ChannelFuture writeHeaders(LiveHttpResponse response) {
+        return nettyWriteAndFlush(toNettyResponse(response));
+    }
+
+    private io.netty.handler.codec.http.HttpResponse toNettyResponse(LiveHttpResponse response) {
         io.netty.handler.codec.http.HttpResponse nettyResponse = responseTranslator.toNettyResponse(response);
         if (!(response.contentLength().isPresent() || response.chunked())) {
             setTransferEncodingChunked(nettyResponse);
         }
-
-        return nettyWriteAndFlush(nettyResponse);
+        return nettyResponse;
     }
 
     private ChannelFuture nettyWriteAndFlush(Object msg) {
         writeOps.incrementAndGet();
         return ctx.writeAndFlush(msg);
     }
+
+    private ChannelFuture nettyWrite(Object msg) {
+        writeOps.incrementAndGet();
+        return ctx.write(msg);
+    }
+
+    private void logWriteError(String message, Throwable cause) {
+        LOGGER.warn(message + " Written content bytes {}/{} (ackd/sent). Write events {}/{} (ackd/writes). Exception={}",
+                new Object[]{
+                        contentBytesAcked.get(),
+                        contentBytesWritten.get(),
+                        writeOpsAcked.get(),
+                        writeOps.get(),
+                        cause});
+    }
+
+    /**
+     * Writes the content in coalescing mode.
+     * <p>
+     * All state is confined to the channel event loop. Content signals arriving from other threads
+     * are handed over to the event loop, where they queue up behind each other. The flush task is
+     * queued behind them, so that one flush covers all the writes that arrived together.
+     * <p>
+     * A signal on the event loop runs at once only when no earlier signal is still queued. Otherwise
+     * it queues up too, as content requested on the event loop must not overtake content that was
+     * produced on another thread before it.
+     */
+    private final class CoalescingContentSubscriber extends BaseSubscriber<Buffer> {
+        private final CompletableFuture<Void> future;
+        private final Runnable flushTask = this::flushPending;
+        private final AtomicInteger queuedSignals = new AtomicInteger();
+
+        // Headers and the first content chunk are held back until the first flush, so that
+        // they can be merged into a full response if the content completes before that:
+        private io.netty.handler.codec.http.HttpResponse pendingHeaders;
+        private ByteBuf pendingChunk;
+        private boolean flushScheduled;
+
+        CoalescingContentSubscriber(io.netty.handler.codec.http.HttpResponse headers, CompletableFuture<Void> future) {
+            this.pendingHeaders = headers;
+            this.future = future;
+        }
+
+        @Override
+        public void hookOnSubscribe(Subscription subscription) {
+            future.handle((ignore, cause) -> {
+                if (future.isCompletedExceptionally() && cause instanceof CancellationException) {
+                    subscription.cancel();
+                }
+                return null;
+            });
+            inEventLoop(this::scheduleFlush);
+            subscription.request(COALESCING_WINDOW);
+        }
+
+        @Override
+        public void hookOnNext(Buffer buffer) {
+            ByteBuf byteBuf = Buffers.toByteBuf(buffer);
+            inEventLoop(() -> {
+                if (future.isDone()) {
+                    byteBuf.release();
+                } else if (pendingHeaders != null && pendingChunk == null) {
+                    contentBytesWritten.addAndGet(byteBuf.readableBytes());
+                    pendingChunk = byteBuf;
+                    scheduleFlush();
+                } else {
+                    contentBytesWritten.addAndGet(byteBuf.readableBytes());
+                    writePendingHeaders();
+                    writeChunk(byteBuf);
+                    scheduleFlush();
+                }
+            });
+        }
+
+        @Override
+        public void hookOnComplete() {
+            inEventLoop(() -> {
+                if (future.isDone()) {
+                    return;
+                }
+                if (pendingHeaders != null) {
+                    writeFullResponse();
+                } else {
+                    nettyWrite(EMPTY_LAST_CONTENT).addListener((ChannelFutureListener) writeOp -> {
+                        // The outcome of the last empty content is ignored, as in the non-coalescing mode:
+                        writeOpsAcked.incrementAndGet();
+                        completeIfAllSent(future);
+                        cancel();
+                    });
+                }
+                ctx.flush();
+                contentCompleted.set(true);
+                completeIfAllSent(future);
+            });
+        }
+
+        @Override
+        public void hookOnError(Throwable cause) {
+            inEventLoop(() -> {
+                flushPending();
+                logWriteError("Content observable error.", cause);
+                future.completeExceptionally(cause);
+            });
+        }
+
+        private void scheduleFlush() {
+            if (!flushScheduled) {
+                flushScheduled = true;
+                ctx.executor().execute(flushTask);
+            }
+        }
+
+        private void flushPending() {
+            flushScheduled = false;
+            if (!future.isDone()) {
+                writePendingHeaders();
+                ctx.flush();
+            } else if (pendingChunk != null) {
+                pendingChunk.release();
+                pendingChunk = null;
+            }
+        }
+
+        private void writePendingHeaders() {
+            if (pendingHeaders == null) {
+                return;
+            }
+            nettyWrite(pendingHeaders).addListener((ChannelFutureListener) this::onHeadersWriteOutcome);
+            pendingHeaders = null;
+
+            if (pendingChunk != null) {
+                ByteBuf chunk = pendingChunk;
+                pendingChunk = null;
+                writeChunk(chunk);
+            }
+        }
+
+        private void writeFullResponse() {
+            io.netty.handler.codec.http.HttpResponse headers = pendingHeaders;
+            ByteBuf content = pendingChunk != null ? pendingChunk : EMPTY_BUFFER;
+            long bufSize = content.readableBytes();
+            pendingHeaders = null;
+            pendingChunk = null;
+
+            DefaultFullHttpResponse fullResponse = new DefaultFullHttpResponse(
+                    headers.protocolVersion(), headers.status(), content, headers.headers(), EmptyHttpHeaders.INSTANCE);
+
+            nettyWrite(fullResponse).addListener((ChannelFutureListener) writeOp -> {
+                if (writeOp.isSuccess()) {
+                    contentBytesAcked.addAndGet(bufSize);
+                }
+                onHeadersWriteOutcome(writeOp);
+            });
+        }
+
+        private void writeChunk(ByteBuf byteBuf) {
+            long bufSize = byteBuf.readableBytes();
+            nettyWrite(new DefaultHttpContent(byteBuf))
+                    .addListener((ChannelFutureListener) writeOp -> onChunkWriteOutcome(writeOp, bufSize));
+        }
+
+        private void onHeadersWriteOutcome(ChannelFuture writeOp) {
+            if (writeOp.isSuccess()) {
+                writeOpsAcked.incrementAndGet();
+                completeIfAllSent(future);
+            } else if (!future.isDone()) {
+                cancel();
+                logWriteError("Unable to send response headers.", writeOp.cause());
+                future.completeExceptionally(writeOp.cause());
+            }
+        }
+
+        private void onChunkWriteOutcome(ChannelFuture writeOp, long bufSize) {
+            if (writeOp.isSuccess()) {
+                contentBytesAcked.addAndGet(bufSize);
+                writeOpsAcked.incrementAndGet();
+                request(1);
+                completeIfAllSent(future);
+            } else if (!future.isDone()) {
+                cancel();
+                logWriteError("Write error.", writeOp.cause());
+                future.completeExceptionally(writeOp.cause());
+            }
+        }
+
+        private void inEventLoop(Runnable task) {
+            if (ctx.executor().inEventLoop() && queuedSignals.get() == 0) {
+                task.run();
+            } else {
+                queuedSignals.incrementAndGet();
+                ctx.executor().execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        queuedSignals.decrementAndGet();
+                    }
+                });
+            }
+        }
+    }
 }
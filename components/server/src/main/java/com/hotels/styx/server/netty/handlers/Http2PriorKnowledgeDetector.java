@@ -0,0 +1,73 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.server.netty.handlers;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPipeline;
+import io.netty.handler.codec.ByteToMessageDecoder;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static io.netty.handler.codec.http2.Http2CodecUtil.connectionPrefaceBuf;
+import static java.lang.Math.min;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Distinguishes plain text HTTP/2 connections with prior knowledge (h2c) from HTTP/1.x connections.
+ * <p>
+ * Inspects the first bytes received on a channel. If they match the HTTP/2 connection preface, the
+ * pipeline is configured for HTTP/2, otherwise for HTTP/1.x. In both cases this handler removes
+ * itself, and passes the bytes it has seen on to the newly added handlers.
+ * <p>
+ * Note that this handler is not sharable, because it buffers the beginning of a single connection.
+ */
+public class Http2PriorKnowledgeDetector extends ByteToMessageDecoder {
+    private static final ByteBuf CONNECTION_PREFACE = connectionPrefaceBuf();
+
+    private final Consumer<ChannelPipeline> http2Configurer;
+    private final Consumer<ChannelPipeline> http1Configurer;
+
+    /**
+     * Constructor.
+     *
+     * @param http2Configurer adds the HTTP/2 handlers to the pipeline
+     * @param http1Configurer adds the HTTP/1.x handlers to the pipeline
+     */
+    public Http2PriorKnowledgeDetector(Consumer<ChannelPipeline> http2Configurer, Consumer<ChannelPipeline> http1Configurer) {
+        this.http2Configurer = requireNonNull(http2Configurer);
+        this.http1Configurer = requireNonNull(http1Configurer);
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+        int prefaceLength = CONNECTION_PREFACE.readableBytes();
+        int bytesToCompare = min(in.readableBytes(), prefaceLength);
+
+        if (!ByteBufUtil.equals(CONNECTION_PREFACE, CONNECTION_PREFACE.readerIndex(), in, in.readerIndex(), bytesToCompare)) {
+            configure(ctx, http1Configurer);
+        } else if (bytesToCompare == prefaceLength) {
+            configure(ctx, http2Configurer);
+        }
+    }
+
+    private void configure(ChannelHandlerContext ctx, Consumer<ChannelPipeline> configurer) {
+        configurer.accept(ctx.pipeline());
+        ctx.pipeline().remove(this);
+    }
+}
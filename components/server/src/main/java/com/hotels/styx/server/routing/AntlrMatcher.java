@@ -19,6 +19,7 @@ import com.hotels.styx.api.HttpInterceptor;
 import com.hotels.styx.api.LiveHttpRequest;
 import com.hotels.styx.api.RequestCookie;
 import com.hotels.styx.server.routing.antlr.AntlrConditionParser;
+import com.hotels.styx.server.routing.antlr.CompiledConditions;
 
 import static com.hotels.styx.api.HttpHeaderNames.USER_AGENT;
 
@@ -26,7 +27,7 @@ import static com.hotels.styx.api.HttpHeaderNames.USER_AGENT;
  * A Route matcher based on ANTLR condition parser.
  */
 public final class AntlrMatcher implements Matcher {
-    private static final Condition.Parser CONDITION_PARSER = new AntlrConditionParser.Builder()
+    private static final AntlrConditionParser CONDITION_PARSER = new AntlrConditionParser.Builder()
             .registerFunction("method", (request, context) -> request.method().name())
             .registerFunction("path", (request, context) -> request.path())
             .registerFunction("userAgent", (request, context) -> request.header(USER_AGENT).orElse(""))
@@ -41,6 +42,16 @@ public final class AntlrMatcher implements Matcher {
         return new AntlrMatcher(condition);
     }
 
+    /**
+     * Returns a builder for a sequence of conditions that are evaluated together, with the same
+     * functions as {@link #antlrMatcher(String)}.
+     *
+     * @return a compiled conditions builder
+     */
+    public static CompiledConditions.Builder compiledConditions() {
+        return CONDITION_PARSER.compiler();
+    }
+
     private AntlrMatcher(Condition condition) {
         this.condition = condition;
     }
@@ -34,7 +34,7 @@ class AntlrCondition implements Condition {
 
     @Override
     public boolean evaluate(LiveHttpRequest request, HttpInterceptor.Context context) {
-        return expression.evaluate(request, context);
+        return expression.evaluate(request, context, FunctionResults.NONE);
     }
 
 }
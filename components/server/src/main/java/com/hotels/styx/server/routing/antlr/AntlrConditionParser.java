@@ -31,14 +31,34 @@ import java.util.Map;
  * A {@link Condition} parser based on ANLR.
  */
 public class AntlrConditionParser implements Condition.Parser {
-    private final ExpressionVisitor expressionVisitor;
+    private final Map<String, Function0> zeroArgumentFunctions;
+    private final Map<String, Function1> oneArgumentFunctions;
 
     public AntlrConditionParser(Builder builder) {
-        this.expressionVisitor = new ExpressionVisitor(builder.zeroArgumentFunctions, builder.oneArgumentFunctions);
+        this.zeroArgumentFunctions = new HashMap<>(builder.zeroArgumentFunctions);
+        this.oneArgumentFunctions = new HashMap<>(builder.oneArgumentFunctions);
     }
 
     @Override
     public Condition parse(String condition) {
+        return new AntlrCondition(newExpressionVisitor().visit(parseTree(condition)));
+    }
+
+    /**
+     * Returns a builder that compiles a sequence of conditions together, so that they can be
+     * evaluated in order with a single {@link CompiledConditions#firstMatch} call.
+     *
+     * @return a compiled conditions builder
+     */
+    public CompiledConditions.Builder compiler() {
+        return new CompiledConditions.Builder(this);
+    }
+
+    ExpressionVisitor newExpressionVisitor() {
+        return new ExpressionVisitor(zeroArgumentFunctions, oneArgumentFunctions);
+    }
+
+    static ConditionParser.ExpressionContext parseTree(String condition) {
         ConditionParser parser = new ConditionParser(
                 new CommonTokenStream(new ConditionLexer(new ANTLRInputStream(condition))));
         parser.addErrorListener(new BaseErrorListener() {
@@ -48,7 +68,7 @@ public class AntlrConditionParser implements Condition.Parser {
             }
         });
 
-        return new AntlrCondition(expressionVisitor.visit(parser.expression()));
+        return parser.expression();
     }
 
     /**
@@ -0,0 +1,185 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.server.routing.antlr;
+
+import com.hotels.styx.api.HttpInterceptor;
+import com.hotels.styx.api.LiveHttpRequest;
+import com.hotels.styx.server.routing.ConditionParser;
+import com.hotels.styx.server.routing.ConditionParser.StringCompareExpressionContext;
+import com.hotels.styx.server.routing.ConditionParser.StringEqualsStringContext;
+import com.hotels.styx.server.routing.ConditionParser.SubExpressionContext;
+import com.hotels.styx.server.routing.antlr.StringCompareVisitor.FunctionCall;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.hotels.styx.server.routing.antlr.Strings.stripFirstAndLastCharacter;
+
+/**
+ * An ordered sequence of conditions, compiled together for evaluation against a request.
+ * <p>
+ * The conditions share memoised function results, so that for example {@code path()} or
+ * {@code cookie('foo')} is evaluated at most once per request however many conditions refer to it.
+ * Consecutive conditions of the form {@code function(...) == 'literal'} that test the same function
+ * call are looked up in a hash table, rather than tested one by one.
+ */
+public final class CompiledConditions {
+    private final Step[] steps;
+    private final int functionSlots;
+    private final int size;
+
+    private CompiledConditions(Step[] steps, int functionSlots, int size) {
+        this.steps = steps;
+        this.functionSlots = functionSlots;
+        this.size = size;
+    }
+
+    /**
+     * Evaluates the conditions in order, and returns the index of the first one that matches.
+     *
+     * @param request HTTP request
+     * @param context request context
+     * @return index of the first matching condition, or -1 if none match
+     */
+    public int firstMatch(LiveHttpRequest request, HttpInterceptor.Context context) {
+        FunctionResults results = functionSlots == 0 ? FunctionResults.NONE : new FunctionResults(functionSlots);
+
+        for (Step step : steps) {
+            int index = step.firstMatch(request, context, results);
+            if (index >= 0) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of compiled conditions.
+     *
+     * @return number of conditions
+     */
+    public int size() {
+        return size;
+    }
+
+    private interface Step {
+        int firstMatch(LiveHttpRequest request, HttpInterceptor.Context context, FunctionResults results);
+    }
+
+    private static final class ConditionStep implements Step {
+        private final int index;
+        private final Expression<Boolean> condition;
+
+        ConditionStep(int index, Expression<Boolean> condition) {
+            this.index = index;
+            this.condition = condition;
+        }
+
+        @Override
+        public int firstMatch(LiveHttpRequest request, HttpInterceptor.Context context, FunctionResults results) {
+            return condition.evaluate(request, context, results) ? index : -1;
+        }
+    }
+
+    private static final class EqualityDispatch implements Step {
+        private final FunctionCall function;
+        private final Map<String, Integer> indices = new HashMap<>();
+
+        EqualityDispatch(FunctionCall function) {
+            this.function = function;
+        }
+
+        void add(String literal, int index) {
+            // An earlier condition with the same literal always wins:
+            indices.putIfAbsent(literal, index);
+        }
+
+        @Override
+        public int firstMatch(LiveHttpRequest request, HttpInterceptor.Context context, FunctionResults results) {
+            String value = function.evaluate(request, context, results);
+            Integer index = indices.get(value == null ? "" : value);
+            return index == null ? -1 : index;
+        }
+    }
+
+    /**
+     * Builder for {@link CompiledConditions}. Conditions are evaluated in the order they are added.
+     */
+    public static final class Builder {
+        private final ExpressionVisitor visitor;
+        private final List<Step> steps = new ArrayList<>();
+        private int size;
+
+        Builder(AntlrConditionParser parser) {
+            this.visitor = parser.newExpressionVisitor();
+        }
+
+        /**
+         * Adds a condition.
+         *
+         * @param condition condition expression
+         * @return this builder
+         * @throws DslSyntaxError if the condition cannot be parsed
+         * @throws DslFunctionResolutionError if the condition refers to an unknown function
+         */
+        public Builder add(String condition) {
+            ConditionParser.ExpressionContext tree = AntlrConditionParser.parseTree(condition);
+            StringEqualsStringContext equality = functionEqualsLiteral(tree);
+
+            if (equality != null) {
+                FunctionCall function = (FunctionCall) visitor.stringVisitor().visitStringExpression(equality.stringExpression(0));
+                String literal = stripFirstAndLastCharacter(equality.stringExpression(1).string().getText());
+                dispatchFor(function).add(literal, size);
+            } else {
+                steps.add(new ConditionStep(size, visitor.visit(tree)));
+            }
+            size++;
+            return this;
+        }
+
+        public CompiledConditions build() {
+            return new CompiledConditions(steps.toArray(new Step[0]), visitor.stringVisitor().functionSlots(), size);
+        }
+
+        private EqualityDispatch dispatchFor(FunctionCall function) {
+            Step last = steps.isEmpty() ? null : steps.get(steps.size() - 1);
+            if (last instanceof EqualityDispatch && ((EqualityDispatch) last).function.slot() == function.slot()) {
+                return (EqualityDispatch) last;
+            }
+            EqualityDispatch dispatch = new EqualityDispatch(function);
+            steps.add(dispatch);
+            return dispatch;
+        }
+
+        private static StringEqualsStringContext functionEqualsLiteral(ConditionParser.ExpressionContext tree) {
+            ConditionParser.ExpressionContext expression = tree;
+            while (expression instanceof SubExpressionContext) {
+                expression = ((SubExpressionContext) expression).expression();
+            }
+
+            if (expression instanceof StringCompareExpressionContext
+                    && ((StringCompareExpressionContext) expression).stringComparison() instanceof StringEqualsStringContext) {
+                StringEqualsStringContext equality = (StringEqualsStringContext) ((StringCompareExpressionContext) expression).stringComparison();
+                if (equality.stringExpression(0).function() != null && equality.stringExpression(1).string() != null) {
+                    return equality;
+                }
+            }
+            return null;
+        }
+    }
+}
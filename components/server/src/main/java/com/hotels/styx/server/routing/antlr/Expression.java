@@ -19,5 +19,5 @@ import com.hotels.styx.api.HttpInterceptor;
 import com.hotels.styx.api.LiveHttpRequest;
 
 interface Expression<T> {
-    T evaluate(LiveHttpRequest request, HttpInterceptor.Context context);
+    T evaluate(LiveHttpRequest request, HttpInterceptor.Context context, FunctionResults results);
 }
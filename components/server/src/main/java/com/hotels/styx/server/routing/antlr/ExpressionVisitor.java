@@ -33,24 +33,28 @@ class ExpressionVisitor extends ConditionBaseVisitor<Expression<Boolean>> {
                 new FunctionResolver(zeroArgumentFunctions, oneArgumentFunctions));
     }
 
+    StringCompareVisitor stringVisitor() {
+        return stringVisitor;
+    }
+
     @Override
     public Expression<Boolean> visitAndExpression(ConditionParser.AndExpressionContext ctx) {
         Expression<Boolean> left = visit(ctx.expression(0));
         Expression<Boolean> right = visit(ctx.expression(1));
-        return (request, context) -> left.evaluate(request, context) && right.evaluate(request, context);
+        return (request, context, results) -> left.evaluate(request, context, results) && right.evaluate(request, context, results);
     }
 
     @Override
     public Expression<Boolean> visitOrExpression(ConditionParser.OrExpressionContext ctx) {
         Expression<Boolean> left = visit(ctx.expression(0));
         Expression<Boolean> right = visit(ctx.expression(1));
-        return (request, context) -> left.evaluate(request, context) || right.evaluate(request, context);
+        return (request, context, results) -> left.evaluate(request, context, results) || right.evaluate(request, context, results);
     }
 
     @Override
     public Expression<Boolean> visitNotExpression(ConditionParser.NotExpressionContext ctx) {
         Expression<Boolean> expression = visit(ctx.expression());
-        return (request, context) -> !expression.evaluate(request, context);
+        return (request, context, results) -> !expression.evaluate(request, context, results);
     }
 
     @Override
@@ -62,16 +66,16 @@ class ExpressionVisitor extends ConditionBaseVisitor<Expression<Boolean>> {
     @Override
     public Expression<Boolean> visitStringIsPresent(StringIsPresentContext ctx) {
         Expression<String> stringExpression = stringVisitor.visitStringExpression(ctx.stringExpression());
-        return (request, context) -> isNotEmpty(stringExpression.evaluate(request, context));
+        return (request, context, results) -> isNotEmpty(stringExpression.evaluate(request, context, results));
     }
 
     @Override
     public Expression<Boolean> visitStringEqualsString(ConditionParser.StringEqualsStringContext ctx) {
         Expression<String> left = stringVisitor.visitStringExpression(ctx.stringExpression(0));
         Expression<String> right = stringVisitor.visitStringExpression(ctx.stringExpression(1));
-        return (request, context) -> {
-            String leftValue = left.evaluate(request, context);
-            return (leftValue == null ? "" : leftValue).equals(right.evaluate(request, context));
+        return (request, context, results) -> {
+            String leftValue = left.evaluate(request, context, results);
+            return (leftValue == null ? "" : leftValue).equals(right.evaluate(request, context, results));
         };
     }
 
@@ -79,8 +83,8 @@ class ExpressionVisitor extends ConditionBaseVisitor<Expression<Boolean>> {
     public Expression<Boolean> visitStringMatchesRegexp(ConditionParser.StringMatchesRegexpContext ctx) {
         Expression<String> stringExpression = stringVisitor.visitStringExpression(ctx.stringExpression());
         Pattern pattern = Pattern.compile(stripFirstAndLastCharacter(ctx.string().getText()));
-        return (request, context) -> {
-            String evaluate = stringExpression.evaluate(request, context);
+        return (request, context, results) -> {
+            String evaluate = stringExpression.evaluate(request, context, results);
             return pattern.matcher(evaluate).matches();
         };
     }
@@ -0,0 +1,52 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.server.routing.antlr;
+
+import com.hotels.styx.api.HttpInterceptor;
+import com.hotels.styx.api.LiveHttpRequest;
+
+/**
+ * Memoises DSL function results while conditions are evaluated against one request.
+ * <p>
+ * Not thread safe. A new instance is used for each request.
+ */
+class FunctionResults {
+    /**
+     * Does not memoise anything. Functions are called each time their value is needed.
+     */
+    static final FunctionResults NONE = new FunctionResults(0) {
+        @Override
+        String value(int slot, FunctionResolver.PartialFunction function, LiveHttpRequest request, HttpInterceptor.Context context) {
+            return function.call(request, context);
+        }
+    };
+
+    private final String[] values;
+    private final boolean[] evaluated;
+
+    FunctionResults(int slots) {
+        this.values = new String[slots];
+        this.evaluated = new boolean[slots];
+    }
+
+    String value(int slot, FunctionResolver.PartialFunction function, LiveHttpRequest request, HttpInterceptor.Context context) {
+        if (!evaluated[slot]) {
+            values[slot] = function.call(request, context);
+            evaluated[slot] = true;
+        }
+        return values[slot];
+    }
+}
@@ -15,17 +15,23 @@
  */
 package com.hotels.styx.server.routing.antlr;
 
+import com.hotels.styx.api.HttpInterceptor;
+import com.hotels.styx.api.LiveHttpRequest;
 import com.hotels.styx.server.routing.ConditionBaseVisitor;
 import com.hotels.styx.server.routing.ConditionParser;
 import org.antlr.v4.runtime.RuleContext;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static com.hotels.styx.server.routing.antlr.Strings.stripFirstAndLastCharacter;
 
 class StringCompareVisitor extends ConditionBaseVisitor<Expression<String>> {
     private final FunctionResolver functionResolver;
+    private final Map<List<String>, Integer> functionSlots = new HashMap<>();
 
     public StringCompareVisitor(FunctionResolver functionResolver) {
         this.functionResolver = functionResolver;
@@ -33,7 +39,8 @@ class StringCompareVisitor extends ConditionBaseVisitor<Expression<String>> {
 
     @Override
     public Expression<String> visitString(ConditionParser.StringContext ctx) {
-        return (request, context) -> stripFirstAndLastCharacter(ctx.getText());
+        String value = stripFirstAndLastCharacter(ctx.getText());
+        return (request, context, results) -> value;
     }
 
     @Override
@@ -41,8 +48,47 @@ class StringCompareVisitor extends ConditionBaseVisitor<Expression<String>> {
         String name = ctx.ID().getSymbol().getText();
         List<String> arguments = extractArguments(ctx.arglist());
         FunctionResolver.PartialFunction function = functionResolver.resolveFunction(name, arguments);
-        return function::call;
+        return new FunctionCall(functionSlot(name, arguments), function);
+    }
+
+    /**
+     * Returns the number of distinct function calls seen by this visitor.
+     *
+     * @return number of function result slots
+     */
+    int functionSlots() {
+        return functionSlots.size();
+    }
+
+    // Identical calls, such as header('Host') in several conditions, share one slot,
+    // so that they are evaluated at most once per request.
+    private int functionSlot(String name, List<String> arguments) {
+        List<String> key = new ArrayList<>(arguments.size() + 1);
+        key.add(name);
+        key.addAll(arguments);
+        return functionSlots.computeIfAbsent(key, it -> functionSlots.size());
+    }
+
+    /**
+     * A call to a DSL function, whose result is memoised in a function result slot.
+     */
+    static final class FunctionCall implements Expression<String> {
+        private final int slot;
+        private final FunctionResolver.PartialFunction function;
+
+        private FunctionCall(int slot, FunctionResolver.PartialFunction function) {
+            this.slot = slot;
+            this.function = function;
+        }
+
+        int slot() {
+            return slot;
+        }
 
+        @Override
+        public String evaluate(LiveHttpRequest request, HttpInterceptor.Context context, FunctionResults results) {
+            return results.value(slot, function, request, context);
+        }
     }
 
     private List<String> extractArguments(ConditionParser.ArglistContext arglist) {
@@ -17,26 +17,40 @@ package com.hotels.styx.server.track;
 
 import static java.lang.System.currentTimeMillis;
 
+import java.util.Set;
 import java.util.function.Supplier;
 
+import com.hotels.styx.api.HttpMethod;
+import com.hotels.styx.api.HttpVersion;
 import com.hotels.styx.api.LiveHttpRequest;
+import com.hotels.styx.api.Url;
 
 /**
  * Bean that represent the current request.
  */
 public class CurrentRequest {
-    private final String request;
+    // Only the request line is kept, so that a tracked request does not pin its headers and body:
+    private final HttpVersion version;
+    private final HttpMethod method;
+    private final Url url;
+    private final Object id;
     private final long startingTimeMillies;
     private final Supplier<String> stateSupplier;
+    private final Set<CurrentRequest> registry;
 
     private volatile boolean requestSent;
     private volatile Thread currentThread;
+    private volatile String requestText;
 
-    CurrentRequest(LiveHttpRequest request, Supplier<String> stateSupplier) {
+    CurrentRequest(LiveHttpRequest request, Supplier<String> stateSupplier, Set<CurrentRequest> registry) {
         this.startingTimeMillies = currentTimeMillis();
         this.currentThread = Thread.currentThread();
-        this.request = request.toString();
+        this.version = request.version();
+        this.method = request.method();
+        this.url = request.url();
+        this.id = request.id();
         this.stateSupplier = stateSupplier;
+        this.registry = registry;
     }
 
     public Thread currentThread() {
@@ -44,7 +58,16 @@ public class CurrentRequest {
     }
 
     public String request() {
-        return request;
+        // Rendered only when the current requests are displayed:
+        String text = requestText;
+        if (text == null) {
+            text = "{version=" + version
+                    + ", method=" + method
+                    + ", uri=" + url
+                    + ", id=" + id + "}";
+            requestText = text;
+        }
+        return text;
     }
 
     public long startingTimeMillies() {
@@ -66,4 +89,8 @@ public class CurrentRequest {
     void requestSent() {
         this.requestSent = true;
     }
+
+    Set<CurrentRequest> registry() {
+        return registry;
+    }
 }
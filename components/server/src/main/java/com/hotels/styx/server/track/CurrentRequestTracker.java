@@ -17,45 +17,63 @@ package com.hotels.styx.server.track;
 
 import com.hotels.styx.api.LiveHttpRequest;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Supplier;
 
 /**
  * Manger class to manage the current requests.
+ * <p>
+ * The requests are registered with the thread that starts tracking them, normally a server
+ * event loop, so that threads do not contend on one registry. The current requests are
+ * collected from all the registries when they are displayed.
  */
 public class CurrentRequestTracker implements RequestTracker {
     public static final CurrentRequestTracker INSTANCE = new CurrentRequestTracker();
 
-    private final ConcurrentHashMap<Object, CurrentRequest> currentRequests = new ConcurrentHashMap<>();
+    private final List<Set<CurrentRequest>> registries = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<Set<CurrentRequest>> registry = ThreadLocal.withInitial(this::newRegistry);
 
-    public void trackRequest(LiveHttpRequest request, Supplier<String> state) {
-        if (currentRequests.containsKey(request.id())) {
-            currentRequests.get(request.id()).setCurrentThread(Thread.currentThread());
-        } else {
-            currentRequests.put(request.id(), new CurrentRequest(request, state));
-        }
+    @Override
+    public CurrentRequest trackRequest(LiveHttpRequest request, Supplier<String> state) {
+        Set<CurrentRequest> requests = registry.get();
+        CurrentRequest current = new CurrentRequest(request, state, requests);
+        requests.add(current);
+        return current;
     }
 
-    public void trackRequest(LiveHttpRequest request) {
-        if (currentRequests.containsKey(request.id())) {
-            currentRequests.get(request.id()).setCurrentThread(Thread.currentThread());
-        } else {
-            trackRequest(request, () -> "Status NOT Available.");
-        }
+    public CurrentRequest trackRequest(LiveHttpRequest request) {
+        return trackRequest(request, () -> "Status NOT Available.");
     }
 
-    public void markRequestAsSent(LiveHttpRequest request) {
-        if (currentRequests.containsKey(request.id())) {
-            currentRequests.get(request.id()).requestSent();
-        }
+    @Override
+    public void trackRequest(CurrentRequest request) {
+        request.setCurrentThread(Thread.currentThread());
     }
 
-    public void endTrack(LiveHttpRequest request) {
-        currentRequests.remove(request.id());
+    @Override
+    public void markRequestAsSent(CurrentRequest request) {
+        request.requestSent();
+    }
+
+    @Override
+    public void endTrack(CurrentRequest request) {
+        request.registry().remove(request);
     }
 
     public Collection<CurrentRequest> currentRequests() {
-        return currentRequests.values();
+        List<CurrentRequest> requests = new ArrayList<>();
+        registries.forEach(requests::addAll);
+        return requests;
+    }
+
+    private Set<CurrentRequest> newRegistry() {
+        Set<CurrentRequest> requests = ConcurrentHashMap.newKeySet();
+        registries.add(requests);
+        return requests;
     }
 }
@@ -21,29 +21,42 @@ import java.util.function.Supplier;
 
 /**
  * An interface for tracking requests as they pass through Styx.
+ * <p>
+ * The tracked state of a request is held by whoever handles it, and is passed
+ * along the interceptor chain in the interceptor context under {@link #CURRENT_REQUEST}.
  */
 public interface RequestTracker {
+    String CURRENT_REQUEST = "styx.currentRequest";
+
     RequestTracker NO_OP = new RequestTracker() {
         @Override
-        public void trackRequest(LiveHttpRequest request, Supplier<String> state) {
+        public CurrentRequest trackRequest(LiveHttpRequest request, Supplier<String> state) {
+            return null;
         }
 
         @Override
-        public void trackRequest(LiveHttpRequest request) {
+        public void trackRequest(CurrentRequest request) {
         }
 
         @Override
-        public void markRequestAsSent(LiveHttpRequest request) {
+        public void markRequestAsSent(CurrentRequest request) {
         }
 
         @Override
-        public void endTrack(LiveHttpRequest request) {
+        public void endTrack(CurrentRequest request) {
 
         }
     };
 
-    void trackRequest(LiveHttpRequest request, Supplier<String> state);
-    void trackRequest(LiveHttpRequest request);
-    void markRequestAsSent(LiveHttpRequest request);
-    void endTrack(LiveHttpRequest request);
+    /**
+     * Starts tracking a request.
+     *
+     * @param request request
+     * @param state   supplies the state of the request
+     * @return the tracked request, or null if requests are not tracked
+     */
+    CurrentRequest trackRequest(LiveHttpRequest request, Supplier<String> state);
+    void trackRequest(CurrentRequest request);
+    void markRequestAsSent(CurrentRequest request);
+    void endTrack(CurrentRequest request);
 }
@@ -23,32 +23,38 @@ interface RequestProgressListener {
      * To be called when a request begins.
      *
      * @param requestId a unique ID to identify the request
+     * @return the progress of the request, to be kept by the caller until the request completes or terminates
      */
-    fun onRequest(requestId: Any)
+    fun onRequest(requestId: Any): RequestProgress
 
     /**
-     * To be called when a request completes successfully.
-     * If onComplete or onTerminate has already been called. This method should do nothing.
-     *
-     * @param requestId a unique ID to identify the request
-     * @param responseStatus the status code of the response
+     * The progress of a request that has begun.
      */
-    fun onComplete(requestId: Any, responseStatus: Int)
+    interface RequestProgress {
+        /**
+         * To be called when the request completes successfully.
+         * If onComplete or onTerminate has already been called. This method should do nothing.
+         *
+         * @param responseStatus the status code of the response
+         */
+        fun onComplete(responseStatus: Int)
 
-    /**
-     * To be called when a request is terminated after being unable to complete successfully.
-     * If onComplete or onTerminate has already been called. This method should do nothing.
-     *
-     * @param requestId a unique ID to identify the request
-     */
-    fun onTerminate(requestId: Any)
+        /**
+         * To be called when the request is terminated after being unable to complete successfully.
+         * If onComplete or onTerminate has already been called. This method should do nothing.
+         */
+        fun onTerminate()
+    }
 
     companion object {
         @JvmField
         val IGNORE_REQUEST_PROGRESS: RequestProgressListener = object : RequestProgressListener {
-            override fun onRequest(requestId: Any) {}
-            override fun onComplete(requestId: Any, responseStatus: Int) {}
-            override fun onTerminate(requestId: Any) {}
+            private val ignoredProgress = object : RequestProgress {
+                override fun onComplete(responseStatus: Int) {}
+                override fun onTerminate() {}
+            }
+
+            override fun onRequest(requestId: Any): RequestProgress = ignoredProgress
         }
     }
 }
@@ -17,9 +17,9 @@ package com.hotels.styx.server
 
 import com.hotels.styx.metrics.CentralisedMetrics
 import com.hotels.styx.metrics.TimerMetric
-import java.util.concurrent.ConcurrentHashMap
-import java.util.concurrent.ConcurrentMap
-
+import com.hotels.styx.server.RequestProgressListener.RequestProgress
+import java.util.concurrent.atomic.AtomicReference
+import java.util.concurrent.atomic.LongAdder
 
 /**
  * An implementation of request event sink that maintains Styx request statistics.
@@ -28,30 +28,38 @@ import java.util.concurrent.ConcurrentMap
  */
 open class RequestStatsCollector(private val metrics: CentralisedMetrics) : RequestProgressListener {
     private val latencyTimer: TimerMetric
-    private val ongoingRequests: ConcurrentMap<Any, TimerMetric.Stopper> = ConcurrentHashMap()
+    // The timer of each request is kept by its progress, so only the count of ongoing requests is shared:
+    private val ongoingRequests = LongAdder()
 
     init {
-        metrics.proxy.requestsInProgress.register(ongoingRequests) { it.size }
+        metrics.proxy.requestsInProgress.register(ongoingRequests) { it.sum() }
         latencyTimer = metrics.proxy.endToEndRequestLatency
     }
 
-    override fun onRequest(requestId: Any) {
-        val previous = ongoingRequests.putIfAbsent(requestId, latencyTimer.startTiming())
-        if (previous == null) {
-            metrics.proxy.server.requestsReceived.increment()
-        }
+    override fun onRequest(requestId: Any): RequestProgress {
+        metrics.proxy.server.requestsReceived.increment()
+        ongoingRequests.increment()
+        return Progress(latencyTimer.startTiming())
     }
 
-    override fun onComplete(requestId: Any, responseStatus: Int) {
-        val startTime = ongoingRequests.remove(requestId)
-        if (startTime != null) {
-            metrics.proxy.server.responsesByStatus(responseStatus).increment()
-            startTime.stop()
+    private inner class Progress(startTime: TimerMetric.Stopper) : RequestProgress {
+        private val startTime = AtomicReference(startTime)
+
+        override fun onComplete(responseStatus: Int) {
+            if (end()) {
+                metrics.proxy.server.responsesByStatus(responseStatus).increment()
+            }
         }
-    }
 
-    override fun onTerminate(requestId: Any) {
-        val startTime = ongoingRequests.remove(requestId)
-        startTime?.stop()
+        override fun onTerminate() {
+            end()
+        }
+
+        private fun end(): Boolean {
+            val startTime = startTime.getAndSet(null) ?: return false
+            ongoingRequests.decrement()
+            startTime.stop()
+            return true
+        }
     }
 }
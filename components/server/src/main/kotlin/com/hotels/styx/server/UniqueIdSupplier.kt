@@ -20,4 +20,14 @@ import java.util.function.Supplier
 /**
  * A Unique id provider.
  */
-fun interface UniqueIdSupplier : Supplier<String?>
+fun interface UniqueIdSupplier : Supplier<String?> {
+    /**
+     * Returns a new unique id that need not be a string yet. It is rendered with `toString()` when it is logged
+     * or sent in a header, and compared with `equals()` and `hashCode()` when used as a key.
+     *
+     * By default, this is the string returned by `get()`.
+     *
+     * @return a new unique id
+     */
+    fun id(): Any? = get()
+}
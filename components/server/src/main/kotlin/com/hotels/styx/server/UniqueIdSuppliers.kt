@@ -18,12 +18,16 @@ package com.hotels.styx.server
 import com.fasterxml.uuid.EthernetAddress
 import com.fasterxml.uuid.Generators
 import com.fasterxml.uuid.NoArgGenerator
+import java.security.SecureRandom
+import java.util.UUID
 
 /**
  * Useful unique id suppliers.
  */
 object UniqueIdSuppliers {
     private val TIME_BASED_GENERATOR: NoArgGenerator = Generators.timeBasedGenerator(EthernetAddress.fromInterface())
+    private val RANDOM = SecureRandom()
+    private val SEQUENCES: ThreadLocal<Sequence> = ThreadLocal.withInitial { Sequence(RANDOM.nextLong()) }
 
     /**
      * A unique ID supplier which uses a UUID Version One implementation.
@@ -31,6 +35,19 @@ object UniqueIdSuppliers {
     @JvmField
     val UUID_VERSION_ONE_SUPPLIER = UniqueIdSupplier { TIME_BASED_GENERATOR.generate().toString() }
 
+    /**
+     * A unique ID supplier which needs neither locks nor shared counters. Each thread draws a random 64-bit
+     * prefix once, and then numbers its IDs sequentially, so the IDs are unique across threads and Styx instances.
+     *
+     * The IDs returned by `id()` are formatted as UUIDs only when they are first converted to strings.
+     */
+    @JvmField
+    val SEQUENTIAL_ID_SUPPLIER: UniqueIdSupplier = object : UniqueIdSupplier {
+        override fun get(): String = id().toString()
+
+        override fun id(): Any = SEQUENCES.get().next()
+    }
+
     /**
      * Returns a supplier whose `get()` method returns the `uniqueId` passed in.
      *
@@ -39,3 +56,20 @@ object UniqueIdSuppliers {
     @JvmStatic
     fun fixedUniqueIdSupplier(uniqueId: String): UniqueIdSupplier = UniqueIdSupplier { uniqueId }
 }
+
+private class Sequence(private val prefix: Long) {
+    private var next = 0L
+
+    fun next() = SequentialId(prefix, next++)
+}
+
+private class SequentialId(private val prefix: Long, private val sequence: Long) {
+    private var text: String? = null
+
+    override fun equals(other: Any?) =
+        other is SequentialId && prefix == other.prefix && sequence == other.sequence
+
+    override fun hashCode() = (prefix xor sequence).hashCode()
+
+    override fun toString() = text ?: UUID(prefix, sequence).toString().also { text = it }
+}
@@ -17,6 +17,11 @@ package com.hotels.styx.server.netty
 
 import com.hotels.styx.metrics.CentralisedMetrics
 import com.hotels.styx.server.HttpsConnectorConfig
+import io.netty.handler.ssl.ApplicationProtocolConfig
+import io.netty.handler.ssl.ApplicationProtocolConfig.Protocol
+import io.netty.handler.ssl.ApplicationProtocolConfig.SelectedListenerFailureBehavior
+import io.netty.handler.ssl.ApplicationProtocolConfig.SelectorFailureBehavior
+import io.netty.handler.ssl.ApplicationProtocolNames
 import io.netty.handler.ssl.OpenSslSessionContext
 import io.netty.handler.ssl.OpenSslSessionStats
 import io.netty.handler.ssl.SslContext
@@ -36,8 +41,20 @@ fun HttpsConnectorConfig.newSSLContext(): SslContext =
         sslContextFromConfiguration()
     } else {
         sslContextFromSelfSignedCertificate()
+    }.apply {
+        if (http2Enabled()) {
+            applicationProtocolConfig(HTTP2_OR_HTTP1_ALPN)
+        }
     }.build()
 
+private val HTTP2_OR_HTTP1_ALPN = ApplicationProtocolConfig(
+    Protocol.ALPN,
+    SelectorFailureBehavior.NO_ADVERTISE,
+    SelectedListenerFailureBehavior.ACCEPT,
+    ApplicationProtocolNames.HTTP_2,
+    ApplicationProtocolNames.HTTP_1_1
+)
+
 /**
  * Produce an SslContext that will record metrics, based on the provided configuration.
  *
@@ -0,0 +1,127 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class PathPrefixTrieTest {
+    @Test
+    public void matchesLongestPrefix() {
+        PathPrefixTrie<Integer> trie = new PathPrefixTrie<>();
+        trie.put("/", 1);
+        trie.put("/foo", 2);
+        trie.put("/foo/", 3);
+        trie.put("/foo/bar", 4);
+
+        assertThat(trie.longestPrefixOf("/"), is(1));
+        assertThat(trie.longestPrefixOf("/fo"), is(1));
+        assertThat(trie.longestPrefixOf("/foo"), is(2));
+        assertThat(trie.longestPrefixOf("/foobar"), is(2));
+        assertThat(trie.longestPrefixOf("/foo/"), is(3));
+        assertThat(trie.longestPrefixOf("/foo/ba"), is(3));
+        assertThat(trie.longestPrefixOf("/foo/bar/baz"), is(4));
+    }
+
+    @Test
+    public void returnsNullWhenNothingMatches() {
+        PathPrefixTrie<Integer> trie = new PathPrefixTrie<>();
+        assertThat(trie.longestPrefixOf("/foo"), is(nullValue()));
+
+        trie.put("/foo", 1);
+        assertThat(trie.longestPrefixOf("/bar"), is(nullValue()));
+        assertThat(trie.longestPrefixOf("/fo"), is(nullValue()));
+        assertThat(trie.longestPrefixOf(""), is(nullValue()));
+    }
+
+    @Test
+    public void emptyPrefixMatchesEverything() {
+        PathPrefixTrie<Integer> trie = new PathPrefixTrie<>();
+        trie.put("", 1);
+        trie.put("/a", 2);
+
+        assertThat(trie.longestPrefixOf(""), is(1));
+        assertThat(trie.longestPrefixOf("x"), is(1));
+        assertThat(trie.longestPrefixOf("/ab"), is(2));
+    }
+
+    @Test
+    public void splitsSharedLabels() {
+        PathPrefixTrie<Integer> trie = new PathPrefixTrie<>();
+        trie.put("/foobar", 1);
+        trie.put("/foobaz", 2);
+        trie.put("/fo", 3);
+
+        assertThat(trie.size(), is(3));
+        assertThat(trie.longestPrefixOf("/foobar/x"), is(1));
+        assertThat(trie.longestPrefixOf("/foobaz"), is(2));
+        assertThat(trie.longestPrefixOf("/fooba"), is(3));
+        assertThat(trie.longestPrefixOf("/f"), is(nullValue()));
+    }
+
+    @Test
+    public void putReplacesAndPutIfAbsentKeepsExistingValue() {
+        PathPrefixTrie<Integer> trie = new PathPrefixTrie<>();
+
+        assertThat(trie.put("/a", 1), is(nullValue()));
+        assertThat(trie.putIfAbsent("/a", 2), is(1));
+        assertThat(trie.longestPrefixOf("/a"), is(1));
+
+        assertThat(trie.put("/a", 3), is(1));
+        assertThat(trie.longestPrefixOf("/a"), is(3));
+        assertThat(trie.size(), is(1));
+    }
+
+    @Test
+    public void agreesWithLinearPrefixScan() {
+        Random random = new Random(7);
+        List<String> prefixes = new ArrayList<>();
+        PathPrefixTrie<String> trie = new PathPrefixTrie<>();
+
+        for (int i = 0; i < 200; i++) {
+            String prefix = randomPath(random);
+            prefixes.add(prefix);
+            trie.putIfAbsent(prefix, prefix);
+        }
+
+        for (int i = 0; i < 2000; i++) {
+            String path = randomPath(random);
+            String expected = null;
+            for (String prefix : prefixes) {
+                if (path.startsWith(prefix) && (expected == null || prefix.length() > expected.length())) {
+                    expected = prefix;
+                }
+            }
+            assertThat(path, trie.longestPrefixOf(path), is(expected));
+        }
+    }
+
+    private static String randomPath(Random random) {
+        StringBuilder path = new StringBuilder();
+        int length = random.nextInt(8);
+        for (int i = 0; i < length; i++) {
+            path.append("/ab".charAt(random.nextInt(3)));
+        }
+        return path.toString();
+    }
+}
@@ -18,6 +18,7 @@ package com.hotels.styx.server;
 import com.hotels.styx.api.MeterRegistry;
 import com.hotels.styx.api.MicrometerRegistry;
 import com.hotels.styx.metrics.CentralisedMetrics;
+import com.hotels.styx.server.RequestProgressListener.RequestProgress;
 import io.micrometer.core.instrument.Clock;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
@@ -55,66 +56,58 @@ public class RequestStatsCollectorTest {
 
     @Test
     public void maintainsOutstandingRequestsCount() {
-        sink.onRequest(requestId);
+        RequestProgress progress = sink.onRequest(requestId);
         assertThat(requestOutstandingValue(), is(1.0));
 
-        sink.onComplete(requestId, 200);
+        progress.onComplete(200);
         assertThat(requestOutstandingValue(), is(0.0));
     }
 
-    @Test
-    public void ignoresAdditionalCallsToOnRequestWithSameRequestId() {
-        sink.onRequest(requestId);
-        assertThat(requestOutstandingValue(), is(1.0));
-
-        sink.onRequest(requestId);
-        assertThat(requestOutstandingValue(), is(1.0));
-    }
-
     @Test
     public void maintainsOutstandingRequestsCountForSeveralSimultaneousRequests() {
-        sink.onRequest(requestId);
+        RequestProgress progress = sink.onRequest(requestId);
         assertThat(requestOutstandingValue(), is(1.0));
 
-        sink.onRequest(requestId2);
+        RequestProgress progress2 = sink.onRequest(requestId2);
         assertThat(requestOutstandingValue(), is(2.0));
 
-        sink.onComplete(requestId, 200);
+        progress.onComplete(200);
         assertThat(requestOutstandingValue(), is(1.0));
 
-        sink.onTerminate(requestId2);
+        progress2.onTerminate();
         assertThat(requestOutstandingValue(), is(0.0));
     }
 
     @Test
-    public void doesNotDecrementOutstandingRequestForUnknownRequestIds() {
-        sink.onRequest(requestId);
-        assertThat(requestOutstandingValue(), is(1.0));
+    public void ignoresAdditionalCallsAfterRequestHasEnded() {
+        RequestProgress progress = sink.onRequest(requestId);
+        RequestProgress progress2 = sink.onRequest(requestId2);
 
-        sink.onComplete(requestId2, 200);
-        assertThat(requestOutstandingValue(), is(1.0));
-
-        sink.onTerminate(requestId2);
+        progress.onComplete(200);
+        progress.onComplete(200);
+        progress.onTerminate();
         assertThat(requestOutstandingValue(), is(1.0));
+        assertThat(counterValue("proxy.server.responses", Tags.of("statusClass", "2xx")), is(1.0));
+        assertThat(metrics.get("proxy.latency").timer().count(), is(1L));
 
-        sink.onComplete(requestId, 200);
+        progress2.onTerminate();
         assertThat(requestOutstandingValue(), is(0.0));
     }
 
     @Test
     public void decrementsOutstandingRequestCountWithOnTerminated() {
-        sink.onRequest(requestId);
+        RequestProgress progress = sink.onRequest(requestId);
         assertThat(requestOutstandingValue(), is(1.0));
 
-        sink.onTerminate(requestId);
+        progress.onTerminate();
         assertThat(requestOutstandingValue(), is(0.0));
     }
 
     @Test
     public void maintainsRequestLatencyTimer() {
-        sink.onRequest(requestId);
+        RequestProgress progress = sink.onRequest(requestId);
         clock.setNanoTime(100, MILLISECONDS);
-        sink.onComplete(requestId, 200);
+        progress.onComplete(200);
 
         Timer timer = metrics.get("proxy.latency").timer();
         assertThat(timer.count(), is(1L));
@@ -123,19 +116,19 @@ public class RequestStatsCollectorTest {
 
     @Test
     public void maintainsRequestLatencyTimerForMultipleOngoingRequests() {
-        sink.onRequest(requestId);
-        sink.onRequest(requestId2);
+        RequestProgress progress = sink.onRequest(requestId);
+        RequestProgress progress2 = sink.onRequest(requestId2);
 
         clock.setNanoTime(100, MILLISECONDS);
 
-        sink.onComplete(requestId, 200);
+        progress.onComplete(200);
         Timer timer = metrics.get("proxy.latency").timer();
         assertThat(timer.count(), is(1L));
         assertThat(timer.mean(MILLISECONDS), is(closeTo(100, 2)));
 
         clock.setNanoTime(200, MILLISECONDS);
 
-        sink.onTerminate(requestId2);
+        progress2.onTerminate();
         timer = metrics.get("proxy.latency").timer();
         assertThat(timer.count(), is(2L));
         assertThat(timer.mean(MILLISECONDS), is(closeTo(150, 2)));
@@ -143,9 +136,9 @@ public class RequestStatsCollectorTest {
 
     @Test
     public void stopsLatencyTimerWhenConnectionResets() {
-        sink.onRequest(requestId);
+        RequestProgress progress = sink.onRequest(requestId);
         clock.setNanoTime(100, MILLISECONDS);
-        sink.onTerminate(requestId);
+        progress.onTerminate();
 
         Timer timer = metrics.get("proxy.latency").timer();
         assertThat(timer.count(), is(1L));
@@ -154,81 +147,69 @@ public class RequestStatsCollectorTest {
 
     @Test
     public void maintainsIncomingRequestRate() {
-        sink.onRequest(requestId);
-        sink.onComplete(requestId, 200);
-        sink.onRequest(requestId);
-        sink.onComplete(requestId, 200);
+        sink.onRequest(requestId).onComplete(200);
+        sink.onRequest(requestId).onComplete(200);
 
         assertThat(counterValue("proxy.server.requestsReceived", Tags.empty()), is(2.0));
     }
 
     @Test
     public void reports200ResponsesAs2xx() {
-        sink.onRequest(requestId);
-        sink.onComplete(requestId, 200);
+        sink.onRequest(requestId).onComplete(200);
         assertThat(counterValue("proxy.server.responses", Tags.of("statusClass", "2xx")), is(1.0));
     }
 
     @Test
     public void reports201ResponsesAs2xx() {
-        sink.onRequest(requestId);
-        sink.onComplete(requestId, 201);
+        sink.onRequest(requestId).onComplete(201);
         assertThat(counterValue("proxy.server.responses", Tags.of("statusClass", "2xx")), is(1.0));
     }
 
     @Test
     public void reports204ResponsesAs2xx() {
-        sink.onRequest(requestId);
-        sink.onComplete(requestId, 204);
+        sink.onRequest(requestId).onComplete(204);
         assertThat(counterValue("proxy.server.responses", Tags.of("statusClass", "2xx")), is(1.0));
     }
 
     @Test
     public void reports400ResponsesAs4xx() {
-        sink.onRequest(requestId);
-        sink.onComplete(requestId, 400);
+        sink.onRequest(requestId).onComplete(400);
         assertThat(counterValue("proxy.server.responses", Tags.of("statusClass", "4xx")), is(1.0));
     }
 
     @Test
     public void reports404ResponsesAs4xx() {
-        sink.onRequest(requestId);
-        sink.onComplete(requestId, 404);
+        sink.onRequest(requestId).onComplete(404);
         assertThat(counterValue("proxy.server.responses", Tags.of("statusClass", "4xx")), is(1.0));
     }
 
     @Test
     public void reports500Responses() {
-        sink.onRequest(requestId);
-        sink.onComplete(requestId, 500);
+        sink.onRequest(requestId).onComplete(500);
         assertThat(counterValue("proxy.server.responses", Tags.of("statusClass", "5xx").and("statusCode", "500")), is(1.0));
     }
 
     @Test
     public void reports504Responses() {
-        sink.onRequest(requestId);
-        sink.onComplete(requestId, 504);
+        sink.onRequest(requestId).onComplete(504);
         assertThat(counterValue("proxy.server.responses", Tags.of("statusClass", "5xx").and("statusCode", "504")), is(1.0));
     }
 
     @Test
     public void reportsUnknownServerErrorCodesAs5xx() {
-        sink.onRequest(requestId);
-        sink.onComplete(requestId, 566);
+        sink.onRequest(requestId).onComplete(566);
         assertThat(counterValue("proxy.server.responses", Tags.of("statusClass", "5xx").and("statusCode", "566")), is(1.0));
     }
 
     @Test
     public void reportsUnrecognisedHttpStatusCodesLessThan100() {
-        sink.onRequest(requestId);
-        sink.onComplete(requestId, 99);
+        sink.onRequest(requestId).onComplete(99);
         assertThat(counterValue("proxy.server.responses", Tags.of("statusClass", "unrecognised")), is(1.0));
     }
 
     @Test
     public void reportsUnrecognisedHttpSatusCodesGreaterThan599() {
-        sink.onRequest(requestId);
-        sink.onComplete(requestId, 600);
+        sink.onRequest(requestId).onComplete(600);
         assertThat(counterValue("proxy.server.responses", Tags.of("statusClass", "unrecognised")), is(1.0));
     }
 
@@ -0,0 +1,83 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import static com.hotels.styx.server.UniqueIdSuppliers.SEQUENTIAL_ID_SUPPLIER;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+public class SequentialIdSupplierTest {
+
+    @Test
+    public void suppliesDistinctIds() {
+        Object first = SEQUENTIAL_ID_SUPPLIER.id();
+        Object second = SEQUENTIAL_ID_SUPPLIER.id();
+
+        assertThat(first, is(not(second)));
+        assertThat(first.toString(), is(not(second.toString())));
+    }
+
+    @Test
+    public void formatsIdsAsUuids() {
+        String id = SEQUENTIAL_ID_SUPPLIER.id().toString();
+
+        assertThat(UUID.fromString(id).toString(), is(id));
+        assertThat(SEQUENTIAL_ID_SUPPLIER.id().toString(), is(not(id)));
+    }
+
+    @Test
+    public void suppliesIdsAsUuidStrings() {
+        String id = SEQUENTIAL_ID_SUPPLIER.get();
+
+        assertThat(UUID.fromString(id).toString(), is(id));
+        assertThat(SEQUENTIAL_ID_SUPPLIER.get(), is(not(id)));
+    }
+
+    @Test
+    public void idsAreUniqueAcrossThreads() throws Exception {
+        Set<Object> ids = ConcurrentHashMap.newKeySet();
+        Set<String> texts = ConcurrentHashMap.newKeySet();
+        CountDownLatch done = new CountDownLatch(4);
+
+        List<Thread> threads = IntStream.range(0, 4)
+                .mapToObj(i -> new Thread(() -> {
+                    for (int j = 0; j < 10_000; j++) {
+                        Object id = SEQUENTIAL_ID_SUPPLIER.id();
+                        ids.add(id);
+                        texts.add(id.toString());
+                    }
+                    done.countDown();
+                }))
+                .collect(toList());
+        threads.forEach(Thread::start);
+        done.await();
+
+        assertThat(ids, hasSize(40_000));
+        assertThat(texts, hasSize(40_000));
+    }
+}
@@ -28,6 +28,7 @@ import com.hotels.styx.client.StyxClientException;
 import com.hotels.styx.metrics.CentralisedMetrics;
 import com.hotels.styx.server.BadRequestException;
 import com.hotels.styx.server.HttpErrorStatusListener;
+import com.hotels.styx.server.RequestProgressListener.RequestProgress;
 import com.hotels.styx.server.RequestStatsCollector;
 import com.hotels.styx.server.RequestTimeoutException;
 import com.hotels.styx.server.netty.codec.NettyToStyxRequestDecoder;
@@ -128,6 +129,7 @@ public class HttpPipelineHandlerTest {
     private HttpHandler pipeline;
     private HttpResponseWriterFactory responseWriterFactory;
     private RequestStatsCollector statsCollector;
+    private RequestProgress requestProgress;
     private LiveHttpRequest request;
     private LiveHttpRequest request2;
     private LiveHttpResponse response;
@@ -145,6 +147,8 @@ public class HttpPipelineHandlerTest {
         logger = new LoggingTestSupport(HttpPipelineHandler.class);
 
         statsCollector = mock(RequestStatsCollector.class);
+        requestProgress = mock(RequestProgress.class);
+        when(statsCollector.onRequest(any())).thenReturn(requestProgress);
         errorListener = mock(HttpErrorStatusListener.class);
         ctx = mockCtx();
         responseObservable = EmitterProcessor.create();
@@ -256,7 +260,7 @@ public class HttpPipelineHandlerTest {
         adapter.channelRead0(ctx, request);
         future.complete(null);
 
-        verify(statsCollector).onComplete(eq(request.id()), eq(200));
+        verify(requestProgress).onComplete(eq(200));
     }
 
     @Test
@@ -293,8 +297,8 @@ public class HttpPipelineHandlerTest {
 
         // ... then treat it like a successfully sent response:
         writerFuture.complete(null);
-        verify(statsCollector, never()).onTerminate(eq(request.id()));
-        verify(statsCollector).onComplete(eq(request.id()), eq(200));
+        verify(requestProgress, never()).onTerminate();
+        verify(requestProgress).onComplete(eq(200));
     }
 
     @Test
@@ -313,8 +317,8 @@ public class HttpPipelineHandlerTest {
         // ... the PipelineHandler is now in SENDING_RESPONSE_CLIENT_DISCONNECTED state,
         // and response writer indicates a failure:
         writerFuture.completeExceptionally(cause);
-        verify(statsCollector).onTerminate(eq(request.id()));
-        verify(statsCollector, never()).onComplete(eq(request.id()), eq(200));
+        verify(requestProgress).onTerminate();
+        verify(requestProgress, never()).onComplete(eq(200));
         assertThat(metrics.counter("proxy.server.requests.cancelled", "cause", "responseWriteError").count(), is(1.0));
 
         assertThat(responseUnsubscribed.get(), is(true));
@@ -378,7 +382,7 @@ public class HttpPipelineHandlerTest {
 
         writerFuture.complete(null);
         assertThat(handler.state(), is(ACCEPTING_REQUESTS));
-        verify(statsCollector).onComplete(request.id(), response.status().code());
+        verify(requestProgress).onComplete(response.status().code());
         verify(ctx.channel(), never()).close();
         verify(ctx, never()).close();
     }
@@ -474,7 +478,7 @@ public class HttpPipelineHandlerTest {
         assertThat(metrics.counter("proxy.server.requests.cancelled", "cause", "spuriousRequest").count(), is(1.0));
         assertThat(writerFuture.isCancelled(), is(true));
         assertThat(responseUnsubscribed.get(), is(true));
-        verify(statsCollector).onTerminate(request.id());
+        verify(requestProgress).onTerminate();
 
         assertThat(handler.state(), is(TERMINATED));
         verify(ctx).close();
@@ -495,7 +499,7 @@ public class HttpPipelineHandlerTest {
 
         writerFuture.complete(null);
         assertThat(handler.state(), is(ACCEPTING_REQUESTS));
-        verify(statsCollector).onComplete(request.id(), response.status().code());
+        verify(requestProgress).onComplete(response.status().code());
         verify(ctx, never()).close();
         verify(ctx.channel(), never()).close();
     }
@@ -520,7 +524,7 @@ public class HttpPipelineHandlerTest {
 
         writerFuture.complete(null);
         assertThat(handler.state(), is(TERMINATED));
-        verify(statsCollector).onComplete(oneShotRequest.id(), response.status().code());
+        verify(requestProgress).onComplete(response.status().code());
         verify(ctx).close();
     }
 
@@ -582,7 +586,7 @@ public class HttpPipelineHandlerTest {
 
         verify(responseEnhancer).enhance(any(LiveHttpResponse.Transformer.class), eq(request));
         verify(errorListener).proxyErrorOccurred(request, InetSocketAddress.createUnresolved("localhost", 2), INTERNAL_SERVER_ERROR, cause);
-        verify(statsCollector).onTerminate(request.id());
+        verify(requestProgress).onTerminate();
         assertThat(handler.state(), is(TERMINATED));
     }
 
@@ -639,7 +643,7 @@ public class HttpPipelineHandlerTest {
 
         assertThat(responseUnsubscribed.get(), is(true));
         writerFuture.complete(null);
-        verify(statsCollector).onComplete(request.id(), 500);
+        verify(requestProgress).onComplete(500);
 
         // NOTE: channel closure is not verified. This is because cannot mock channel future.
         assertThat(handler.state(), is(TERMINATED));
@@ -668,7 +672,7 @@ public class HttpPipelineHandlerTest {
         verify(responseEnhancer).enhance(any(LiveHttpResponse.Transformer.class), eq(request));
 
         writerFuture.complete(null);
-        verify(statsCollector).onComplete(request.id(), 502);
+        verify(requestProgress).onComplete(502);
         verify(errorListener).proxyErrorOccurred(any(LiveHttpRequest.class), any(InetSocketAddress.class), eq(BAD_GATEWAY), any(RuntimeException.class));
 
         // NOTE: channel closure is not verified. This is because cannot mock channel future.
@@ -697,7 +701,7 @@ public class HttpPipelineHandlerTest {
         assertThat(response.bodyAs(UTF_8), is("Site temporarily unavailable."));
 
         writerFuture.complete(null);
-        verify(statsCollector).onComplete(request.id(), 500);
+        verify(requestProgress).onComplete(500);
         verify(errorListener).proxyErrorOccurred(any(LiveHttpRequest.class), any(InetSocketAddress.class), eq(INTERNAL_SERVER_ERROR), any(RuntimeException.class));
 
         // NOTE: channel closure is not verified. This is because cannot mock channel future.
@@ -714,7 +718,7 @@ public class HttpPipelineHandlerTest {
         handler.channelInactive(ctx);
 
         assertThat(responseUnsubscribed.get(), is(true));
-        verify(statsCollector).onTerminate(request.id());
+        verify(requestProgress).onTerminate();
         assertThat(handler.state(), is(TERMINATED));
     }
 
@@ -727,7 +731,7 @@ public class HttpPipelineHandlerTest {
         handler.exceptionCaught(ctx, new IOException("TCP connection broke"));
 
         assertThat(responseUnsubscribed.get(), is(true));
-        verify(statsCollector).onTerminate(request.id());
+        verify(requestProgress).onTerminate();
         assertThat(handler.state(), is(TERMINATED));
     }
 
@@ -743,7 +747,7 @@ public class HttpPipelineHandlerTest {
         assertThat(responseUnsubscribed.get(), is(true));
         verify(errorListener).proxyErrorOccurred(INTERNAL_SERVER_ERROR, cause);
         responseWriter.write(response(INTERNAL_SERVER_ERROR).build());
-        verify(statsCollector).onTerminate(request.id());
+        verify(requestProgress).onTerminate();
         assertThat(handler.state(), is(TERMINATED));
     }
 
@@ -805,7 +809,7 @@ public class HttpPipelineHandlerTest {
         writerFuture.completeExceptionally(cause);
 
         assertThat(responseUnsubscribed.get(), is(true));
-        verify(statsCollector).onTerminate(request.id());
+        verify(requestProgress).onTerminate();
         verify(errorListener).proxyWriteFailure(any(LiveHttpRequest.class), eq(response(OK).build()), any(RuntimeException.class));
 
         assertThat(handler.state(), is(TERMINATED));
@@ -819,7 +823,7 @@ public class HttpPipelineHandlerTest {
 
         handler.exceptionCaught(ctx, new IOException(JustATestException.DEFAULT_MESSAGE));
         assertThat(responseUnsubscribed.get(), is(true));
-        verify(statsCollector).onTerminate(request.id());
+        verify(requestProgress).onTerminate();
         assertThat(handler.state(), is(TERMINATED));
     }
 
@@ -831,7 +835,7 @@ public class HttpPipelineHandlerTest {
 
         handler.exceptionCaught(ctx, new JustATestException());
         assertThat(responseUnsubscribed.get(), is(true));
-        verify(statsCollector).onTerminate(request.id());
+        verify(requestProgress).onTerminate();
         assertThat(handler.state(), is(TERMINATED));
     }
 
@@ -930,7 +934,7 @@ public class HttpPipelineHandlerTest {
 
         handler.channelRead0(ctx, spurious);
 
-        verify(statsCollector).onTerminate(request.id());
+        verify(requestProgress).onTerminate();
         assertThat(handler.state(), is(TERMINATED));
         assertThat(logger.lastMessage(), is(
                 loggingEvent(WARN, "message='Spurious request received while handling another request'.*")));
@@ -22,12 +22,22 @@ import com.hotels.styx.api.ByteStream;
 import com.hotels.styx.api.LiveHttpResponse;
 import com.hotels.styx.api.exceptions.TransportLostException;
 import com.hotels.styx.support.matchers.LoggingTestSupport;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelOutboundHandlerAdapter;
 import io.netty.channel.ChannelPromise;
+import io.netty.channel.DefaultEventLoopGroup;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalServerChannel;
 import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.handler.logging.LoggingHandler;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -41,8 +51,11 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static com.hotels.styx.api.Buffers.toByteBuf;
 import static com.hotels.styx.api.HttpResponseStatus.OK;
@@ -54,8 +67,10 @@ import static io.netty.handler.codec.http.LastHttpContent.EMPTY_LAST_CONTENT;
 import static java.net.InetAddress.getLoopbackAddress;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.core.Is.is;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -386,6 +401,163 @@ public class HttpResponseWriterTest {
                         "Connection to origin lost. origin=\"generic-app:anonymous-origin:localhost:5050\", remoteAddress=\"localhost/127.0.0.1:5050.*")));
     }
 
+    @Test
+    public void coalescingWriterMergesCompletedContentIntoFullResponse() {
+        CaptureHttpResponseWriteEventsHandler writeEventsCollector = new CaptureHttpResponseWriteEventsHandler();
+        AtomicReference<CompletableFuture<Void>> future = new AtomicReference<>();
+
+        EmbeddedChannel ch = new EmbeddedChannel(
+                writeEventsCollector,
+                new SimpleChannelInboundHandler<LiveHttpResponse>() {
+                    @Override
+                    protected void channelRead0(ChannelHandlerContext ctx, LiveHttpResponse response) throws Exception {
+                        future.set(new HttpResponseWriter(ctx, true).write(response));
+                    }
+                }
+        );
+
+        ch.writeInbound(response(OK).body(ByteStream.from("hello", UTF_8)).build());
+        ch.runPendingTasks();
+
+        assertThat(future.get().isDone(), is(true));
+        assertThat(ch.outboundMessages().size(), is(1));
+
+        List<Object> writeEvents = writeEventsCollector.writeEvents();
+        assertThat(writeEvents.size(), is(1));
+        assertThat(writeEvents.get(0), instanceOf(FullHttpResponse.class));
+        assertThat(((FullHttpResponse) writeEvents.get(0)).content().toString(UTF_8), is("hello"));
+    }
+
+    @Test
+    public void coalescingWriterFlushesOncePerBatchOfChunks() {
+        CaptureHttpResponseWriteEventsHandler writeEventsCollector = new CaptureHttpResponseWriteEventsHandler();
+        FlushCountingHandler flushes = new FlushCountingHandler();
+        AtomicReference<CompletableFuture<Void>> future = new AtomicReference<>();
+
+        EmbeddedChannel ch = new EmbeddedChannel(
+                flushes,
+                writeEventsCollector,
+                new SimpleChannelInboundHandler<LiveHttpResponse>() {
+                    @Override
+                    protected void channelRead0(ChannelHandlerContext ctx, LiveHttpResponse response) throws Exception {
+                        future.set(new HttpResponseWriter(ctx, true).write(response));
+                    }
+                }
+        );
+
+        ch.writeInbound(response(OK).body(new ByteStream(contentObservable)).build());
+        int flushesBefore = flushes.count();
+
+        contentObservable.onNext(new Buffer("aaa", UTF_8));
+        contentObservable.onNext(new Buffer("bbb", UTF_8));
+        contentObservable.onNext(new Buffer("ccc", UTF_8));
+        assertThat(flushes.count(), is(flushesBefore));
+
+        ch.runPendingTasks();
+        assertThat(flushes.count(), is(flushesBefore + 1));
+        assertThat(future.get().isDone(), is(false));
+
+        contentObservable.onComplete();
+        assertThat(flushes.count(), is(flushesBefore + 2));
+        assertThat(future.get().isDone(), is(true));
+
+        List<Object> writeEvents = writeEventsCollector.writeEvents();
+        assertThat(writeEvents.size(), is(5));
+        assertThat(writeEvents.get(0), instanceOf(DefaultHttpResponse.class));
+        assertThat(writeEvents.get(1), instanceOf(HttpContent.class));
+        assertThat(writeEvents.get(4), is(EMPTY_LAST_CONTENT));
+    }
+
+    @Test
+    public void coalescingWriterSendsHeadersBeforeDelayedContent() {
+        CaptureHttpResponseWriteEventsHandler writeEventsCollector = new CaptureHttpResponseWriteEventsHandler();
+        AtomicReference<CompletableFuture<Void>> future = new AtomicReference<>();
+
+        EmbeddedChannel ch = new EmbeddedChannel(
+                writeEventsCollector,
+                new SimpleChannelInboundHandler<LiveHttpResponse>() {
+                    @Override
+                    protected void channelRead0(ChannelHandlerContext ctx, LiveHttpResponse response) throws Exception {
+                        future.set(new HttpResponseWriter(ctx, true).write(response));
+                    }
+                }
+        );
+
+        ch.writeInbound(response(OK).body(new ByteStream(contentObservable)).build());
+        ch.runPendingTasks();
+
+        assertThat(writeEventsCollector.writeEvents().size(), is(1));
+        assertThat(writeEventsCollector.writeEvents().get(0), is(not(instanceOf(FullHttpResponse.class))));
+
+        contentObservable.onNext(new Buffer("aaa", UTF_8));
+        contentObservable.onComplete();
+
+        assertThat(future.get().isDone(), is(true));
+        assertThat(future.get().isCompletedExceptionally(), is(false));
+        assertThat(writeEventsCollector.writeEvents().get(2), is(EMPTY_LAST_CONTENT));
+    }
+
+    @Test
+    public void coalescingWriterKeepsContentInOrderWhenProducedOnDifferentThreads() throws Exception {
+        DefaultEventLoopGroup eventLoops = new DefaultEventLoopGroup(2);
+        LocalAddress address = new LocalAddress("HttpResponseWriterTest");
+        CompletableFuture<ChannelHandlerContext> serverContext = new CompletableFuture<>();
+        List<String> received = new CopyOnWriteArrayList<>();
+        CountDownLatch lastContentReceived = new CountDownLatch(1);
+
+        try {
+            new ServerBootstrap()
+                    .group(eventLoops)
+                    .channel(LocalServerChannel.class)
+                    .childHandler(new ChannelInboundHandlerAdapter() {
+                        @Override
+                        public void handlerAdded(ChannelHandlerContext ctx) {
+                            serverContext.complete(ctx);
+                        }
+                    })
+                    .bind(address).sync();
+
+            new Bootstrap()
+                    .group(eventLoops)
+                    .channel(LocalChannel.class)
+                    .handler(new SimpleChannelInboundHandler<HttpContent>() {
+                        @Override
+                        protected void channelRead0(ChannelHandlerContext ctx, HttpContent content) {
+                            received.add(content.content().toString(UTF_8));
+                            if (content instanceof LastHttpContent) {
+                                lastContentReceived.countDown();
+                            }
+                        }
+                    })
+                    .connect(address).sync();
+
+            ChannelHandlerContext ctx = serverContext.get(1, SECONDS);
+            CompletableFuture<Void> future = new HttpResponseWriter(ctx, true)
+                    .write(response(OK).body(new ByteStream(contentObservable)).build());
+
+            // A chunk produced off the event loop is queued behind the blocked event loop, where
+            // the rest of the content is then produced, as it is when the event loop requests more:
+            CountDownLatch offLoopChunkSent = new CountDownLatch(1);
+            ctx.executor().execute(() -> {
+                try {
+                    offLoopChunkSent.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                contentObservable.onNext(new Buffer("c", UTF_8));
+                contentObservable.onComplete();
+            });
+            contentObservable.onNext(new Buffer("b", UTF_8));
+            offLoopChunkSent.countDown();
+
+            future.get(5, SECONDS);
+            assertThat(lastContentReceived.await(5, SECONDS), is(true));
+            assertThat(String.join("", received), is("bc"));
+        } finally {
+            eventLoops.shutdownGracefully(0, 0, SECONDS).sync();
+        }
+    }
+
     @Disabled
     @Test
     public void releasesUnsentContentBuffersAfterHeaderWriteFailure() throws Exception {
@@ -426,7 +598,7 @@ public class HttpResponseWriterTest {
         args.promise().setSuccess();
     }
 
-    private class ChannelWriteArguments {
+    private static class ChannelWriteArguments {
         private ChannelHandlerContext ctx;
         private Object msg;
         private ChannelPromise promise;
@@ -464,6 +636,33 @@ public class HttpResponseWriterTest {
         }
     }
 
+    /**
+     * Holds writes back until they are flushed. The embedded channel runs pending tasks
+     * whenever a write reaches it, which would otherwise hide unflushed writes.
+     */
+    private static class FlushCountingHandler extends ChannelOutboundHandlerAdapter {
+        private final List<ChannelWriteArguments> pendingWrites = new ArrayList<>();
+        private int flushes;
+
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+            pendingWrites.add(new ChannelWriteArguments(ctx, msg, promise));
+        }
+
+        @Override
+        public void flush(ChannelHandlerContext ctx) throws Exception {
+            flushes++;
+            List<ChannelWriteArguments> writes = new ArrayList<>(pendingWrites);
+            pendingWrites.clear();
+            writes.forEach(write -> ctx.write(write.msg(), write.promise()));
+            super.flush(ctx);
+        }
+
+        int count() {
+            return flushes;
+        }
+    }
+
     private class CaptureHttpResponseWriteEventsHandler extends ChannelOutboundHandlerAdapter {
         private final List<Object> writeEvents = new ArrayList<>();
 
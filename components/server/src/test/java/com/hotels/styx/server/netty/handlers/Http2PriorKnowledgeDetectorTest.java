@@ -0,0 +1,111 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.server.netty.handlers;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Consumer;
+
+import static io.netty.buffer.Unpooled.copiedBuffer;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+public class Http2PriorKnowledgeDetectorTest {
+    private static final String PREFACE = "PRI * HTTP/2.0\r\n\r\nSM\r\n\r\n";
+
+    private EmbeddedChannel channel;
+
+    @BeforeEach
+    public void setUp() {
+        channel = new EmbeddedChannel(new Http2PriorKnowledgeDetector(
+                addHandler("http2-handler"),
+                addHandler("http1-handler")));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void configuresHttp2WhenConnectionPrefaceIsReceived() {
+        channel.writeInbound(ascii(PREFACE + "settings"));
+
+        assertThat(channel.pipeline().get("http2-handler"), is(notNullValue()));
+        assertThat(channel.pipeline().get("http1-handler"), is(nullValue()));
+        assertThat(channel.pipeline().get(Http2PriorKnowledgeDetector.class), is(nullValue()));
+        assertThat(readInboundAscii(), is(PREFACE + "settings"));
+    }
+
+    @Test
+    public void configuresHttp1ForOtherRequests() {
+        channel.writeInbound(ascii("GET / HTTP/1.1\r\n"));
+
+        assertThat(channel.pipeline().get("http1-handler"), is(notNullValue()));
+        assertThat(channel.pipeline().get("http2-handler"), is(nullValue()));
+        assertThat(channel.pipeline().get(Http2PriorKnowledgeDetector.class), is(nullValue()));
+        assertThat(readInboundAscii(), is("GET / HTTP/1.1\r\n"));
+    }
+
+    @Test
+    public void waitsForCompleteConnectionPreface() {
+        channel.writeInbound(ascii("PRI * HTTP/2.0"));
+
+        assertThat(channel.pipeline().get(Http2PriorKnowledgeDetector.class), is(notNullValue()));
+        assertThat(channel.pipeline().get("http2-handler"), is(nullValue()));
+        assertThat(channel.pipeline().get("http1-handler"), is(nullValue()));
+
+        channel.writeInbound(ascii("\r\n\r\nSM\r\n\r\n"));
+
+        assertThat(channel.pipeline().get("http2-handler"), is(notNullValue()));
+        assertThat(readInboundAscii(), is(PREFACE));
+    }
+
+    @Test
+    public void detectsHttp1FromPartialInput() {
+        channel.writeInbound(ascii("PO"));
+
+        assertThat(channel.pipeline().get("http1-handler"), is(notNullValue()));
+        assertThat(readInboundAscii(), is("PO"));
+    }
+
+    private String readInboundAscii() {
+        StringBuilder received = new StringBuilder();
+        ByteBuf buf;
+        while ((buf = channel.readInbound()) != null) {
+            received.append(buf.toString(US_ASCII));
+            buf.release();
+        }
+        return received.toString();
+    }
+
+    private static ByteBuf ascii(String content) {
+        return copiedBuffer(content, US_ASCII);
+    }
+
+    private static Consumer<ChannelPipeline> addHandler(String name) {
+        return pipeline -> pipeline.addLast(name, new ChannelInboundHandlerAdapter());
+    }
+}
@@ -0,0 +1,120 @@
+/*
+  Copyright (C) 2013-2026 Expedia Inc.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+ */
+package com.hotels.styx.server.routing.antlr;
+
+import com.hotels.styx.api.HttpInterceptor;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hotels.styx.api.LiveHttpRequest.get;
+import static com.hotels.styx.support.Support.requestContext;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CompiledConditionsTest {
+    private final AtomicInteger headerCalls = new AtomicInteger();
+    private final AtomicInteger pathCalls = new AtomicInteger();
+
+    private final AntlrConditionParser parser = new AntlrConditionParser.Builder()
+            .registerFunction("method", (request, context) -> request.method().name())
+            .registerFunction("path", (request, context) -> {
+                pathCalls.incrementAndGet();
+                return request.path();
+            })
+            .registerFunction("header", (request, context, input) -> {
+                headerCalls.incrementAndGet();
+                return request.header(input).orElse("");
+            })
+            .build();
+
+    private final HttpInterceptor.Context context = requestContext();
+
+    @Test
+    public void returnsIndexOfFirstMatchingCondition() {
+        CompiledConditions conditions = parser.compiler()
+                .add("method() == 'POST'")
+                .add("path() =~ '/a/.*'")
+                .add("path() =~ '/a/b.*'")
+                .build();
+
+        assertThat(conditions.size(), is(3));
+        assertThat(conditions.firstMatch(get("/a/b").build(), context), is(1));
+        assertThat(conditions.firstMatch(get("/c").build(), context), is(-1));
+    }
+
+    @Test
+    public void evaluatesEachFunctionCallOncePerRequest() {
+        CompiledConditions conditions = parser.compiler()
+                .add("header('X-Foo') == 'a' AND path() =~ '/x.*'")
+                .add("header('X-Foo') == 'b' AND path() =~ '/y.*'")
+                .add("header('X-Foo') == 'c' OR path() == '/z'")
+                .build();
+
+        assertThat(conditions.firstMatch(get("/z").header("X-Foo", "d").build(), context), is(2));
+        assertThat(headerCalls.get(), is(1));
+        assertThat(pathCalls.get(), is(1));
+
+        assertThat(conditions.firstMatch(get("/y").header("X-Foo", "b").build(), context), is(1));
+        assertThat(headerCalls.get(), is(2));
+    }
+
+    @Test
+    public void dispatchesEqualityConditionsOnSameFunction() {
+        CompiledConditions conditions = parser.compiler()
+                .add("path() == '/one'")
+                .add("(path() == '/two')")
+                .add("path() == '/one'")
+                .add("header('Host') == 'example.com'")
+                .add("path() == '/three'")
+                .build();
+
+        assertThat(conditions.firstMatch(get("/one").build(), context), is(0));
+        assertThat(conditions.firstMatch(get("/two").build(), context), is(1));
+        assertThat(conditions.firstMatch(get("/three").header("Host", "example.com").build(), context), is(3));
+        assertThat(conditions.firstMatch(get("/three").build(), context), is(4));
+        assertThat(conditions.firstMatch(get("/four").build(), context), is(-1));
+    }
+
+    @Test
+    public void preservesOrderBetweenDispatchedAndOtherConditions() {
+        CompiledConditions conditions = parser.compiler()
+                .add("path() == '/a'")
+                .add("path() =~ '/.*'")
+                .add("path() == '/b'")
+                .build();
+
+        assertThat(conditions.firstMatch(get("/b").build(), context), is(1));
+    }
+
+    @Test
+    public void matchesEmptyLiteralWhenFunctionValueIsEmpty() {
+        CompiledConditions conditions = parser.compiler()
+                .add("header('X-Missing') == ''")
+                .build();
+
+        assertThat(conditions.firstMatch(get("/").build(), context), is(0));
+    }
+
+    @Test
+    public void rejectsInvalidConditions() {
+        CompiledConditions.Builder builder = parser.compiler();
+
+        assertThrows(DslSyntaxError.class, () -> builder.add("path() == "));
+        assertThrows(DslFunctionResolutionError.class, () -> builder.add("nonexistent() == '/'"));
+    }
+}
@@ -19,6 +19,8 @@ import com.hotels.styx.api.LiveHttpRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.CompletableFuture;
+
 import static com.hotels.styx.api.LiveHttpRequest.get;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
@@ -44,47 +46,64 @@ public class CurrentRequestTrackerTest {
     @Test
     public void testChangeWorkingThread() {
         Thread.currentThread().setName("thread-1");
-        tracker.trackRequest(req1);
+        CurrentRequest current = tracker.trackRequest(req1);
         assertThat("thread-1", is(tracker.currentRequests().iterator().next().currentThread().getName()));
         Thread.currentThread().setName("thread-2");
-        tracker.trackRequest(req1);
+        tracker.trackRequest(current);
         assertThat("thread-2", is(tracker.currentRequests().iterator().next().currentThread().getName()));
     }
 
     @Test
     public void testTrackingSameReqMultipleTimesWillNotGenerateMultipleEntries() {
         assertThat(tracker.currentRequests().size(), is(0));
-        tracker.trackRequest(req1);
-        tracker.trackRequest(req1);
-        tracker.trackRequest(req1);
-        tracker.trackRequest(req1);
+        CurrentRequest current = tracker.trackRequest(req1);
+        tracker.trackRequest(current);
+        tracker.trackRequest(current);
+        tracker.trackRequest(current);
         assertThat(tracker.currentRequests().size(), is(1));
         assertThat(tracker.currentRequests().iterator().next().request(), is(req1.toString()));
     }
 
+    @Test
+    public void testMarkRequestAsSent() {
+        CurrentRequest current = tracker.trackRequest(req1);
+        tracker.markRequestAsSent(current);
+        assertThat(tracker.currentRequests().iterator().next().isRequestSent(), is(true));
+    }
+
     @Test
     public void testEndTrack() {
-        tracker.trackRequest(req1);
+        CurrentRequest current = tracker.trackRequest(req1);
         assertThat(tracker.currentRequests().size(), is(1));
         assertThat(tracker.currentRequests().iterator().next().request(), is(req1.toString()));
-        tracker.endTrack(req1);
+        tracker.endTrack(current);
         assertThat(tracker.currentRequests().size(), is(0));
     }
 
     @Test
     public void testEndTrackWillEffectOneRequest() {
-        tracker.trackRequest(req1);
+        CurrentRequest current = tracker.trackRequest(req1);
         tracker.trackRequest(req2);
         assertThat(tracker.currentRequests().size(), is(2));
-        tracker.endTrack(req1);
+        tracker.endTrack(current);
         assertThat(tracker.currentRequests().size(), is(1));
     }
 
     @Test
     public void testEndTrackWillEffectTheCorrectRequest() {
-        tracker.trackRequest(req1);
+        CurrentRequest current = tracker.trackRequest(req1);
         tracker.trackRequest(req2);
-        tracker.endTrack(req1);
+        tracker.endTrack(current);
         assertThat(tracker.currentRequests().iterator().next().request(), is(req2.toString()));
     }
+
+    @Test
+    public void testCollectsRequestsTrackedOnAllThreads() {
+        tracker.trackRequest(req1);
+        CurrentRequest current = CompletableFuture.supplyAsync(() -> tracker.trackRequest(req2)).join();
+        assertThat(tracker.currentRequests().size(), is(2));
+
+        tracker.endTrack(current);
+        assertThat(tracker.currentRequests().iterator().next().request(), is(req1.toString()));
+    }
 }